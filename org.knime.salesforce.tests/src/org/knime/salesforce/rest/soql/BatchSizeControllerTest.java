@@ -0,0 +1,170 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.salesforce.rest.soql;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.OptionalInt;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.knime.salesforce.rest.Timeouts;
+
+/**
+ * Tests {@link BatchSizeController}: growth towards higher throughput, shrinking when a page exceeds the latency
+ * budget (a quarter of the read timeout, i.e. 15s here), halving on read timeouts and the bounds accepted by
+ * Salesforce.
+ *
+ * @author agent
+ */
+final class BatchSizeControllerTest {
+
+    private static final Timeouts TIMEOUTS = new Timeouts(30, 60);
+
+    private static BatchSizeController adaptive() {
+        return new BatchSizeController(OptionalInt.empty(), TIMEOUTS);
+    }
+
+    private static void pageRead(final BatchSizeController controller, final int recordCount, final double seconds) {
+        controller.onPageRead(recordCount, (long)(seconds * TimeUnit.SECONDS.toNanos(1)), 1000L * recordCount);
+    }
+
+    @Test
+    void testStartsWithMaximum() {
+        final var controller = adaptive();
+        assertEquals(BatchSizeController.MAX_BATCH_SIZE, controller.getBatchSize());
+        assertEquals("batchSize=2000", controller.getQueryOptionsHeaderValue());
+    }
+
+    @Test
+    void testShrinksOnBudgetOverrun() {
+        final var controller = adaptive();
+        pageRead(controller, 2000, 30.0); // twice the budget
+        assertEquals(1000, controller.getBatchSize());
+        pageRead(controller, 1000, 20.0); // still 4/3 of the budget
+        assertEquals(750, controller.getBatchSize());
+    }
+
+    @Test
+    void testGrowsWhenThroughputDropsWhileShrinking() {
+        final var controller = adaptive();
+        pageRead(controller, 2000, 30.0);
+        assertEquals(1000, controller.getBatchSize());
+        pageRead(controller, 1000, 1.0); // within budget, keeps probing smaller sizes
+        assertEquals(750, controller.getBatchSize());
+        pageRead(controller, 750, 1.0); // throughput dropped from 1000 to 750 records/s, reverse
+        assertEquals(938, controller.getBatchSize());
+        pageRead(controller, 938, 0.5); // throughput increased, keep growing
+        assertEquals(1173, controller.getBatchSize());
+        pageRead(controller, 1173, 0.5);
+        assertEquals(1466, controller.getBatchSize());
+    }
+
+    @Test
+    void testGrowthLimitedByPredictedLatency() {
+        final var controller = adaptive();
+        pageRead(controller, 2000, 14.0); // within budget
+        assertEquals(1500, controller.getBatchSize());
+        pageRead(controller, 1500, 14.0); // throughput dropped, reverse; 1875 records are predicted to take ~17.5s
+        assertEquals(1607, controller.getBatchSize());
+    }
+
+    @Test
+    void testHalvesOnReadTimeout() {
+        final var controller = adaptive();
+        assertTrue(controller.onReadTimeout());
+        assertEquals(1000, controller.getBatchSize());
+        assertTrue(controller.onReadTimeout());
+        assertEquals(500, controller.getBatchSize());
+        assertTrue(controller.onReadTimeout());
+        assertEquals(250, controller.getBatchSize());
+        assertTrue(controller.onReadTimeout());
+        assertEquals(BatchSizeController.MIN_BATCH_SIZE, controller.getBatchSize());
+        assertFalse(controller.onReadTimeout(), "no retry once the minimum is reached");
+        assertEquals(BatchSizeController.MIN_BATCH_SIZE, controller.getBatchSize());
+    }
+
+    @Test
+    void testBounds() {
+        assertEquals(200, BatchSizeController.clamp(1));
+        assertEquals(200, BatchSizeController.clamp(200));
+        assertEquals(1234, BatchSizeController.clamp(1234));
+        assertEquals(2000, BatchSizeController.clamp(2000));
+        assertEquals(2000, BatchSizeController.clamp(Integer.MAX_VALUE));
+
+        final var controller = adaptive();
+        pageRead(controller, 2000, 600.0); // way over budget
+        assertEquals(BatchSizeController.MIN_BATCH_SIZE, controller.getBatchSize());
+
+        final var growing = adaptive();
+        pageRead(growing, 2000, 1.0);
+        pageRead(growing, 1500, 2.0); // throughput dropped, reverse
+        for (int i = 0; i < 10; i++) {
+            pageRead(growing, growing.getBatchSize(), 0.1);
+            assertTrue(growing.getBatchSize() <= BatchSizeController.MAX_BATCH_SIZE);
+        }
+        assertEquals(BatchSizeController.MAX_BATCH_SIZE, growing.getBatchSize());
+    }
+
+    @Test
+    void testFixedBatchSize() {
+        final var controller = new BatchSizeController(OptionalInt.of(500), TIMEOUTS);
+        pageRead(controller, 500, 60.0);
+        assertEquals(500, controller.getBatchSize());
+        pageRead(controller, 500, 0.1);
+        assertEquals(500, controller.getBatchSize());
+        assertFalse(controller.onReadTimeout());
+        assertEquals(500, controller.getBatchSize());
+
+        assertEquals(2000, new BatchSizeController(OptionalInt.of(5000), TIMEOUTS).getBatchSize());
+        assertEquals(200, new BatchSizeController(OptionalInt.of(10), TIMEOUTS).getBatchSize());
+    }
+}
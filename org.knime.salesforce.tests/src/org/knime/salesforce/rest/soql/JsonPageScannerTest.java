@@ -0,0 +1,172 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.salesforce.rest.soql;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.OptionalInt;
+
+import org.junit.jupiter.api.Test;
+import org.knime.salesforce.rest.SalesforceResponseException;
+
+/**
+ * Tests {@link JsonPageScanner}, which slices the records out of a SOQL response page.
+ *
+ * @author agent
+ */
+final class JsonPageScannerTest {
+
+    private static JsonPageScanner scan(final String json) throws SalesforceResponseException {
+        return JsonPageScanner.scan(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String write(final JsonPageScanner page, final int index, final boolean stripAttributes)
+        throws SalesforceResponseException, IOException {
+        final var out = new ByteArrayOutputStream();
+        page.writeRecord(index, stripAttributes, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void testPageFields() throws SalesforceResponseException {
+        final var page = scan("""
+            {"totalSize":4711,"done":false,"nextRecordsUrl":"\\/services\\/data\\/v60.0\\/query\\/01g-2000",\
+            "records":[]}""");
+        assertEquals(OptionalInt.of(4711), page.getTotalSize());
+        assertEquals(Optional.of("/services/data/v60.0/query/01g-2000"), page.getNextRecordsUrl());
+        assertTrue(page.hasRecordsArray());
+        assertEquals(0, page.getRecordCount());
+
+        final var last = scan("{\"done\":true,\"totalSize\":\"n/a\"}");
+        assertEquals(OptionalInt.empty(), last.getTotalSize(), "non-int total size is ignored");
+        assertEquals(Optional.empty(), last.getNextRecordsUrl());
+        assertFalse(last.hasRecordsArray());
+        assertEquals(0, scan(" { } ").getRecordCount());
+    }
+
+    @Test
+    void testRecords() throws SalesforceResponseException {
+        final var page = scan("""
+            {"records":[{"Id":"001A","Name":"a \\"quoted\\" name with } and ]"},\
+            {"Id":"001B","Tags":[1,2,{"x":[]}],"Owner":{"Name":"O'Neil","Manager":null}},\
+            {"Id":"001C","Amount":-1.5E3,"IsDeleted":false}],"totalSize":3}""");
+        assertEquals(3, page.getRecordCount());
+        assertEquals(OptionalInt.of(3), page.getTotalSize());
+        assertEquals("{\"Id\":\"001A\",\"Name\":\"a \\\"quoted\\\" name with } and ]\"}", page.getRecord(0, false));
+        assertEquals("{\"Id\":\"001B\",\"Tags\":[1,2,{\"x\":[]}],\"Owner\":{\"Name\":\"O'Neil\",\"Manager\":null}}",
+            page.getRecord(1, false));
+        assertEquals("{\"Id\":\"001C\",\"Amount\":-1.5E3,\"IsDeleted\":false}", page.getRecord(2, false));
+        assertThrows(IndexOutOfBoundsException.class, () -> page.getRecord(3, false));
+        assertThrows(IndexOutOfBoundsException.class, () -> page.getRecord(-1, false));
+    }
+
+    @Test
+    void testEscapes() throws SalesforceResponseException {
+        // unicode escapes in page fields are decoded, record slices are kept as they are
+        final var page = scan("""
+            {"nextRecordsUrl":"\\u002Fquery\\u002F\\u00e9\\t\\\\x",\
+            "records":[{"Name":"caf\\u00e9 \\\\\\"","Text":"line\\nbreak"},{"Name":"zo\u00eb"}]}""");
+        assertEquals(Optional.of("/query/\u00e9\t\\x"), page.getNextRecordsUrl());
+        assertEquals("{\"Name\":\"caf\\u00e9 \\\\\\\"\",\"Text\":\"line\\nbreak\"}", page.getRecord(0, false));
+        assertEquals("{\"Name\":\"zo\u00eb\"}", page.getRecord(1, false), "multi-byte UTF-8");
+    }
+
+    @Test
+    void testStripAttributes() throws SalesforceResponseException, IOException {
+        final var page = scan("""
+            {"records":[{"attributes":{"type":"Contact","url":"/services/data/v60.0/sobjects/Contact/003A"},\
+            "Id":"003A","Account":{"attributes":{"type":"Account","url":"/x"},"Name":"Acme"},\
+            "Cases":{"records":[{"attributes":{"type":"Case"},"Subject":"s"}]},"attributes__c":"kept"},\
+            {"Id":"003B","attributes":"not an object, kept"}]}""");
+        assertEquals("{\"Id\":\"003A\",\"Account\":{\"Name\":\"Acme\"},\"Cases\":{\"records\":[{\"Subject\":\"s\"}]},"
+            + "\"attributes__c\":\"kept\"}", page.getRecord(0, true));
+        assertEquals("{\"Id\":\"003B\",\"attributes\":\"not an object, kept\"}", page.getRecord(1, true));
+        assertEquals(page.getRecord(0, true), write(page, 0, true));
+        assertTrue(write(page, 0, false).startsWith("{\"attributes\":{\"type\":\"Contact\""));
+    }
+
+    @Test
+    void testMultiLineRecords() throws SalesforceResponseException, IOException {
+        final var page = scan("""
+            {
+              "totalSize" : 2,
+              "records" : [ {
+                "Id" : "001A",
+                "Description" : "first\\nsecond, with  spaces",
+                "Values" : [ 1, 2 ]
+              },
+              {"Id":"001B"} ],
+              "done" : true
+            }
+            """);
+        assertEquals(2, page.getRecordCount());
+        assertEquals(OptionalInt.of(2), page.getTotalSize());
+        // written as single line, whitespace in strings is preserved
+        assertEquals("{\"Id\":\"001A\",\"Description\":\"first\\nsecond, with  spaces\",\"Values\":[1,2]}",
+            write(page, 0, false));
+        assertEquals("{\"Id\":\"001B\"}", write(page, 1, false));
+    }
+
+    @Test
+    void testMalformed() {
+        assertThrows(SalesforceResponseException.class, () -> scan("[]"));
+        assertThrows(SalesforceResponseException.class, () -> scan("{\"records\":[{\"Id\":\"001A\"}"));
+        assertThrows(SalesforceResponseException.class, () -> scan("{\"records\":[{\"Id\":\"001A}]}"));
+        assertThrows(SalesforceResponseException.class, () -> scan("{\"totalSize\" 1}"));
+        assertThrows(SalesforceResponseException.class, () -> scan("{\"nextRecordsUrl\":42}"));
+        assertThrows(SalesforceResponseException.class, () -> scan(""));
+    }
+}
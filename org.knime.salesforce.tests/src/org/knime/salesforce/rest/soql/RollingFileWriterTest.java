@@ -0,0 +1,252 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.salesforce.rest.soql;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.knime.salesforce.rest.SalesforceResponseException;
+import org.knime.salesforce.rest.soql.FileOutputSOQLExecutor.FileFormat;
+import org.knime.salesforce.rest.soql.FileOutputSOQLExecutor.FileOptions;
+import org.knime.salesforce.rest.soql.RollingFileWriter.WrittenFile;
+
+/**
+ * Tests {@link RollingFileWriter}, which writes the records of the SOQL to File and Snapshot nodes: rollover,
+ * compression, the file descriptions listed in the manifest and CSV quoting.
+ *
+ * @author agent
+ */
+final class RollingFileWriterTest {
+
+    private static final String PAGE = """
+        {"totalSize":3,"done":true,"records":[\
+        {"attributes":{"type":"Account"},"Id":"001A","Name":"Acme"},\
+        {"attributes":{"type":"Account"},"Id":"001B","Name":"Globex"},\
+        {"attributes":{"type":"Account"},"Id":"001C","Name":"Initech"}]}""";
+
+    private Path m_folder;
+
+    @BeforeEach
+    void createFolder() throws IOException {
+        m_folder = Files.createTempDirectory("rolling-file-writer-test");
+    }
+
+    @AfterEach
+    void deleteFolder() throws IOException {
+        try (Stream<Path> paths = Files.walk(m_folder)) {
+            for (var path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    private FileOptions options(final FileFormat format, final long maxBytesPerFile, final boolean gzip,
+        final boolean overwrite) {
+        return new FileOptions(m_folder, "test", format, maxBytesPerFile, gzip, true, overwrite);
+    }
+
+    private static JsonPageScanner scan(final String json) throws SalesforceResponseException {
+        return JsonPageScanner.scan(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Writes all records of the page and closes the writer. */
+    private static List<WrittenFile> writeAll(final RollingFileWriter writer, final JsonPageScanner page)
+        throws IOException, SalesforceResponseException {
+        final List<WrittenFile> files = new ArrayList<>();
+        for (int i = 0; i < page.getRecordCount(); i++) {
+            writer.write(page, i);
+            files.addAll(writer.pollClosedFiles());
+        }
+        writer.close();
+        files.addAll(writer.pollClosedFiles());
+        return files;
+    }
+
+    private static String sha256(final byte[] bytes) throws NoSuchAlgorithmException {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+    }
+
+    /** Checks that the description of the file (as listed in the manifest) matches the file on disk. */
+    private static void assertDescribes(final WrittenFile file, final String expectedName,
+        final long expectedRecordCount) throws IOException, NoSuchAlgorithmException {
+        assertEquals(expectedName, file.path().getFileName().toString());
+        assertEquals(expectedRecordCount, file.recordCount());
+        assertEquals(Files.size(file.path()), file.size(), "size on disk");
+        assertEquals(sha256(Files.readAllBytes(file.path())), file.sha256(), "checksum of the bytes on disk");
+    }
+
+    @Test
+    void testSingleFile() throws Exception {
+        final List<WrittenFile> files;
+        try (var writer = new RollingFileWriter(options(FileFormat.NDJSON, 1024, false, false))) {
+            files = writeAll(writer, scan(PAGE));
+        }
+        assertEquals(1, files.size());
+        assertDescribes(files.get(0), "test-00001.ndjson", 3);
+        assertEquals("""
+            {"Id":"001A","Name":"Acme"}
+            {"Id":"001B","Name":"Globex"}
+            {"Id":"001C","Name":"Initech"}
+            """, Files.readString(files.get(0).path()), "one record per line, attributes stripped");
+    }
+
+    @Test
+    void testRollover() throws Exception {
+        final var page = scan(PAGE);
+        try (var writer = new RollingFileWriter(options(FileFormat.NDJSON, 1, false, false))) {
+            // the size is checked before a record is written, each file holds one record
+            writer.write(page, 0);
+            assertTrue(writer.pollClosedFiles().isEmpty(), "first file still open");
+            writer.write(page, 1);
+            final var first = writer.pollClosedFiles();
+            assertEquals(1, first.size());
+            assertDescribes(first.get(0), "test-00001.ndjson", 1);
+            assertTrue(writer.pollClosedFiles().isEmpty(), "files are polled only once");
+            writer.write(page, 2);
+            writer.close();
+            final var rest = writer.pollClosedFiles();
+            assertEquals(2, rest.size());
+            assertDescribes(rest.get(0), "test-00002.ndjson", 1);
+            assertDescribes(rest.get(1), "test-00003.ndjson", 1);
+            assertEquals("{\"Id\":\"001C\",\"Name\":\"Initech\"}\n", Files.readString(rest.get(1).path()));
+        }
+    }
+
+    @Test
+    void testGzip() throws Exception {
+        final List<WrittenFile> files;
+        try (var writer = new RollingFileWriter(options(FileFormat.NDJSON, 1024 * 1024, true, false))) {
+            files = writeAll(writer, scan(PAGE));
+        }
+        assertEquals(1, files.size());
+        // size and checksum refer to the compressed file
+        assertDescribes(files.get(0), "test-00001.ndjson.gz", 3);
+        try (var in = new GZIPInputStream(Files.newInputStream(files.get(0).path()))) {
+            assertEquals("""
+                {"Id":"001A","Name":"Acme"}
+                {"Id":"001B","Name":"Globex"}
+                {"Id":"001C","Name":"Initech"}
+                """, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void testOverwrite() throws Exception {
+        Files.writeString(m_folder.resolve("test-00001.ndjson"), "old");
+        final var page = scan(PAGE);
+        try (var writer = new RollingFileWriter(options(FileFormat.NDJSON, 1024, false, false))) {
+            assertThrows(FileAlreadyExistsException.class, () -> writer.write(page, 0));
+        }
+        final List<WrittenFile> files;
+        try (var writer = new RollingFileWriter(options(FileFormat.NDJSON, 1024, false, true))) {
+            files = writeAll(writer, page);
+        }
+        assertDescribes(files.get(0), "test-00001.ndjson", 3);
+    }
+
+    @Test
+    void testAbort() throws Exception {
+        final var page = scan(PAGE);
+        try (var writer = new RollingFileWriter(options(FileFormat.NDJSON, 1024, false, false))) {
+            writer.write(page, 0);
+            writer.abort();
+            writer.close();
+            assertTrue(writer.pollClosedFiles().isEmpty(), "aborted file is not listed");
+        }
+    }
+
+    @Test
+    void testCSVQuoting() throws Exception {
+        final var page = scan("""
+            {"records":[\
+            {"attributes":{"type":"Account"},"Id":"001A","Name":"Smith, John","Note":"say \\"hi\\"",\
+            "Amount":1.5,"Owner":null},\
+            {"attributes":{"type":"Account"},"Id":"001B","Name":"two\\nlines","Note":"cr\\rhere",\
+            "Amount":-2,"Owner":{"Name":"O'Neil"}}]}""");
+        final List<WrittenFile> files;
+        try (var writer = new RollingFileWriter(options(FileFormat.CSV, 1024, false, false))) {
+            files = writeAll(writer, page);
+        }
+        assertEquals(1, files.size());
+        assertDescribes(files.get(0), "test-00001.csv", 2);
+        assertEquals("Id,Name,Note,Amount,Owner\r\n" //
+            + "001A,\"Smith, John\",\"say \"\"hi\"\"\",1.5,\r\n" //
+            + "001B,\"two\nlines\",\"cr\rhere\",-2,\"{\"\"Name\"\":\"\"O'Neil\"\"}\"\r\n", //
+            Files.readString(files.get(0).path()));
+    }
+
+    @Test
+    void testCSVRolloverRepeatsHeader() throws Exception {
+        final List<WrittenFile> files;
+        try (var writer = new RollingFileWriter(options(FileFormat.CSV, 1, false, false))) {
+            files = writeAll(writer, scan(PAGE));
+        }
+        assertEquals(3, files.size());
+        assertEquals("Id,Name\r\n001A,Acme\r\n", Files.readString(files.get(0).path()));
+        assertEquals("Id,Name\r\n001C,Initech\r\n", Files.readString(files.get(2).path()));
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.salesforce.simplequery;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.knime.salesforce.rest.SalesforceResponseException;
+import org.knime.salesforce.simplequery.RecordHashIndex.Change;
+
+/**
+ * Tests the merge join of {@link RecordHashIndex} with the (sorted) records of a query.
+ *
+ * @author agent
+ */
+final class RecordHashIndexTest {
+
+    private Path m_folder;
+
+    private Path m_file;
+
+    @BeforeEach
+    void createFolder() throws IOException {
+        m_folder = Files.createTempDirectory("hash-index-test");
+        m_file = m_folder.resolve("index.bin");
+    }
+
+    @AfterEach
+    void deleteFolder() throws IOException {
+        try (Stream<Path> paths = Files.walk(m_folder)) {
+            for (var path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    /** @return the 18 character ID of the i-th record (all digits, hence the suffix "AAA") */
+    private static String id(final int i) {
+        return String.format("001%012dAAA", i);
+    }
+
+    @Test
+    void testToId18() {
+        assertEquals("001A0000006Vm9rIAC", RecordHashIndex.toId18("001A0000006Vm9r"));
+        assertEquals("000000000000000AAA", RecordHashIndex.toId18("000000000000000"));
+        assertEquals("ABCDEFGHIJKLMNO555", RecordHashIndex.toId18("ABCDEFGHIJKLMNO"));
+        assertEquals("001A0000006Vm9rIAC", RecordHashIndex.toId18("001A0000006Vm9rIAC"), "converted already");
+        assertEquals("001A0000006Vm9r", RecordHashIndex.toKey("001A0000006Vm9rIAC"));
+    }
+
+    @Test
+    void testChanges() throws SalesforceResponseException {
+        final List<String> removed = new ArrayList<>();
+        // no index yet, all records are inserted
+        try (var index = RecordHashIndex.open(m_file)) {
+            assertEquals(Change.INSERTED, index.next(id(1), 1L, removed::add));
+            assertEquals(Change.INSERTED, index.next(id(2), 2L, removed::add));
+            assertEquals(Change.INSERTED, index.next(id(3), 3L, removed::add));
+            index.finish(removed::add);
+            index.commit();
+        }
+        assertEquals(List.of(), removed);
+
+        try (var index = RecordHashIndex.open(m_file)) {
+            assertEquals(Change.UNCHANGED, index.next(id(1), 1L, removed::add));
+            assertEquals(Change.CHANGED, index.next(id(3), 4L, removed::add));
+            assertEquals(List.of(id(2)), removed, "records with smaller ID are removed before the next record");
+            assertEquals(Change.INSERTED, index.next(id(4), 4L, removed::add));
+            index.finish(removed::add);
+            index.commit();
+        }
+        assertEquals(List.of(id(2)), removed);
+
+        // not committed, the index of the previous execution is kept
+        for (int run = 0; run < 2; run++) {
+            removed.clear();
+            try (var index = RecordHashIndex.open(m_file)) {
+                assertEquals(Change.UNCHANGED, index.next(id(1), 1L, removed::add));
+                index.finish(removed::add);
+            }
+            assertEquals(List.of(id(3), id(4)), removed);
+        }
+    }
+
+    @Test
+    void testManyRecords() throws SalesforceResponseException {
+        // more entries than read at a time
+        final int count = 150_000;
+        try (var index = RecordHashIndex.open(m_file)) {
+            for (int i = 0; i < count; i++) {
+                index.next(id(i), i, r -> {
+                });
+            }
+            index.finish(r -> {
+            });
+            index.commit();
+        }
+        final List<String> removed = new ArrayList<>();
+        int changedCount = 0;
+        try (var index = RecordHashIndex.open(m_file)) {
+            for (int i = 0; i < count; i += 2) {
+                final var change = index.next(id(i), i % 3 == 0 ? -i : i, removed::add);
+                if (change == Change.CHANGED) {
+                    changedCount++;
+                } else {
+                    assertEquals(Change.UNCHANGED, change, id(i));
+                }
+            }
+            index.finish(removed::add);
+        }
+        assertEquals(count / 6 - 1, changedCount); // hash of record 0 is unchanged
+        assertEquals(count / 2, removed.size());
+        assertEquals(id(1), removed.get(0));
+        assertEquals(id(count - 1), removed.get(removed.size() - 1));
+    }
+
+    @Test
+    void testUnsortedRecords() throws SalesforceResponseException {
+        try (var index = RecordHashIndex.open(m_file)) {
+            index.next(id(2), 2L, r -> {
+            });
+            assertThrows(SalesforceResponseException.class, () -> index.next(id(1), 1L, r -> {
+            }));
+        }
+    }
+
+    @Test
+    void testInvalidFile() throws IOException {
+        Files.writeString(m_file, "not an index");
+        assertThrows(SalesforceResponseException.class, () -> RecordHashIndex.open(m_file));
+    }
+
+    @Test
+    void testConcurrentIndexes() throws SalesforceResponseException, IOException {
+        // e.g. two nodes using the same file, each writes its own temporary file
+        try (var index1 = RecordHashIndex.open(m_file); var index2 = RecordHashIndex.open(m_file)) {
+            index1.next(id(1), 1L, r -> {
+            });
+            index2.next(id(2), 2L, r -> {
+            });
+            index1.commit();
+            index2.commit();
+        }
+        try (Stream<Path> files = Files.list(m_folder)) {
+            assertEquals(List.of(m_file), files.toList(), "temporary files are moved or deleted");
+        }
+        final List<String> removed = new ArrayList<>();
+        try (var index = RecordHashIndex.open(m_file)) {
+            assertEquals(Change.UNCHANGED, index.next(id(2), 2L, removed::add));
+            index.finish(removed::add);
+        }
+        assertEquals(List.of(), removed, "the index committed last wins");
+    }
+}
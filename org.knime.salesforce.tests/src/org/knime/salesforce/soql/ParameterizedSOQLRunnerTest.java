@@ -0,0 +1,144 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.salesforce.soql;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpec;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.def.BooleanCell;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.data.time.localdate.LocalDateCellFactory;
+import org.knime.core.data.time.localdatetime.LocalDateTimeCellFactory;
+import org.knime.core.data.time.zoneddatetime.ZonedDateTimeCellFactory;
+import org.knime.core.node.InvalidSettingsException;
+
+/**
+ * Tests the placeholder substitution of {@link ParameterizedSOQLRunner#resolve(org.knime.core.data.DataRow)}.
+ *
+ * @author agent
+ */
+final class ParameterizedSOQLRunnerTest {
+
+    /** Resolves the SOQL for a single row, the columns are named c0, c1, ... */
+    private static String resolve(final String soql, final DataCell... cells) throws InvalidSettingsException {
+        final var columns = new DataColumnSpec[cells.length];
+        for (int i = 0; i < cells.length; i++) {
+            final DataType type = cells[i].isMissing() ? StringCell.TYPE : cells[i].getType();
+            columns[i] = new DataColumnSpecCreator("c" + i, type).createSpec();
+        }
+        return new ParameterizedSOQLRunner(soql, new DataTableSpec(columns), 1)
+            .resolve(new DefaultRow(RowKey.createRowKey(0L), cells));
+    }
+
+    @Test
+    void testFormatByType() throws InvalidSettingsException {
+        assertEquals("SELECT Id FROM Opportunity WHERE Amount > 15000000 AND Probability = 0.25 AND IsWon = true "
+            + "AND CloseDate = 2026-10-18 AND LastModifiedDate > 2026-10-18T12:30:15Z "
+            + "AND CreatedDate < 2026-01-02T03:04:05Z AND Count__c = 42",
+            resolve("SELECT Id FROM Opportunity WHERE Amount > $c0$ AND Probability = $c1$ AND IsWon = $c2$ "
+                + "AND CloseDate = $c3$ AND LastModifiedDate > $c4$ AND CreatedDate < $c5$ AND Count__c = $c6$",
+                new DoubleCell(1.5E7), //
+                new DoubleCell(0.25), //
+                BooleanCell.TRUE, //
+                LocalDateCellFactory.create(LocalDate.of(2026, 10, 18)), //
+                ZonedDateTimeCellFactory
+                    .create(ZonedDateTime.of(2026, 10, 18, 14, 30, 15, 123_000_000, ZoneId.of("Europe/Berlin"))), //
+                LocalDateTimeCellFactory.create(LocalDateTime.of(2026, 1, 2, 3, 4, 5)), //
+                new IntCell(42)));
+    }
+
+    @Test
+    void testQuotedValuesAreEscaped() throws InvalidSettingsException {
+        assertEquals("SELECT Id FROM Contact WHERE LastName = 'O\\'Brien \\\\ \\\"x\\\"\\n' AND Age__c = '5'",
+            resolve("SELECT Id FROM Contact WHERE LastName = '$c0$' AND Age__c = '$c1$'",
+                new StringCell("O'Brien \\ \"x\"\n"), new IntCell(5)));
+    }
+
+    @Test
+    void testUnquotedValuesAreValidated() throws InvalidSettingsException {
+        assertEquals("SELECT Id FROM Contact WHERE AccountId = 001000000000001AAA AND CreatedDate = LAST_N_DAYS:30",
+            resolve("SELECT Id FROM Contact WHERE AccountId = $c0$ AND CreatedDate = $c1$",
+                new StringCell("001000000000001AAA"), new StringCell("LAST_N_DAYS:30")));
+        assertThrows(InvalidSettingsException.class,
+            () -> resolve("SELECT Id FROM Contact WHERE LastName = $c0$", new StringCell("x' OR LastName != 'y")));
+        assertThrows(InvalidSettingsException.class,
+            () -> resolve("SELECT Id FROM Contact WHERE Age__c = $c0$", new StringCell("1 OR Age__c > 0")));
+        assertThrows(InvalidSettingsException.class,
+            () -> resolve("SELECT Id FROM Contact WHERE Age__c = $c0$", new DoubleCell(Double.NaN)));
+    }
+
+    @Test
+    void testMissingValues() throws InvalidSettingsException {
+        assertEquals("SELECT Id FROM Contact WHERE LastName = NULL AND Age__c = NULL",
+            resolve("SELECT Id FROM Contact WHERE LastName = '$c0$' AND Age__c = $c1$", DataType.getMissingCell(),
+                DataType.getMissingCell()));
+    }
+
+    @Test
+    void testPlaceholdersInValuesAreNotReplaced() throws InvalidSettingsException {
+        assertEquals("SELECT Id FROM Contact WHERE LastName = '$c1$' AND FirstName = 'x'",
+            resolve("SELECT Id FROM Contact WHERE LastName = '$c0$' AND FirstName = '$c1$'", new StringCell("$c1$"),
+                new StringCell("x")));
+    }
+}
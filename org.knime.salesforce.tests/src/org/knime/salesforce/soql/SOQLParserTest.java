@@ -0,0 +1,166 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.salesforce.soql;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.knime.salesforce.soql.SOQLQuery.ClauseType;
+import org.knime.salesforce.soql.SOQLQuery.FieldItem;
+import org.knime.salesforce.soql.SOQLQuery.FieldPath;
+import org.knime.salesforce.soql.SOQLQuery.FunctionItem;
+import org.knime.salesforce.soql.SOQLQuery.SubqueryItem;
+import org.knime.salesforce.soql.SOQLQuery.TypeOfItem;
+
+/**
+ * Tests {@link SOQLParser}.
+ *
+ * @author agent
+ */
+final class SOQLParserTest {
+
+    @Test
+    void testSelectItems() throws SOQLParseException {
+        final var query = SOQLParser.parse("SELECT Id, Account.Name acc, COUNT(Id), "
+            + "(SELECT LastName FROM Contacts), TYPEOF What WHEN Account THEN Phone END FROM Opportunity o");
+        final var items = query.selectItems();
+        assertEquals(5, items.size());
+        assertEquals(new FieldPath(List.of("Id")), assertInstanceOf(FieldItem.class, items.get(0)).path());
+        final var relationshipItem = assertInstanceOf(FieldItem.class, items.get(1));
+        assertEquals(new FieldPath(List.of("Account", "Name")), relationshipItem.path());
+        assertEquals(Optional.of("acc"), relationshipItem.alias());
+        final var functionItem = assertInstanceOf(FunctionItem.class, items.get(2));
+        assertEquals("COUNT", functionItem.function());
+        assertEquals(List.of(new FieldPath(List.of("Id"))), functionItem.fields());
+        final var subquery = assertInstanceOf(SubqueryItem.class, items.get(3)).query();
+        assertEquals("Contacts", subquery.from().object());
+        assertEquals("TYPEOF What WHEN Account THEN Phone END",
+            assertInstanceOf(TypeOfItem.class, items.get(4)).text());
+        assertEquals("Opportunity", query.from().object());
+        assertEquals(Optional.of("o"), query.from().alias());
+    }
+
+    @Test
+    void testClauses() throws SOQLParseException {
+        final var query = SOQLParser.parse("SELECT Name FROM Account WHERE (Type = 'Customer' OR Rating != null) "
+            + "AND CreatedDate > LAST_N_DAYS:30 AND Id IN (SELECT AccountId FROM Contact) "
+            + "ORDER BY Name DESC NULLS LAST LIMIT 10 OFFSET 5");
+        assertEquals(List.of(ClauseType.WHERE, ClauseType.ORDER_BY, ClauseType.LIMIT, ClauseType.OFFSET),
+            List.copyOf(query.clauses().keySet()));
+        final var where = query.getClause(ClauseType.WHERE).orElseThrow();
+        assertEquals(List.of("Type", "Rating", "CreatedDate", "Id"),
+            where.fields().stream().map(FieldPath::toString).toList());
+        assertEquals(1, where.subqueries().size());
+        assertEquals("Contact", where.subqueries().get(0).from().object());
+        assertEquals("Name DESC NULLS LAST", query.getClause(ClauseType.ORDER_BY).orElseThrow().text());
+        assertEquals("10", query.getClause(ClauseType.LIMIT).orElseThrow().text());
+    }
+
+    @Test
+    void testInLists() throws SOQLParseException {
+        final var query = SOQLParser
+            .parse("SELECT Id FROM Account WHERE Id IN ('a', 'b') AND Type NOT IN ('c') AND NOT Rating IN ('d')");
+        final var where = query.getClause(ClauseType.WHERE).orElseThrow();
+        // negated lists can't be split, hence are not listed
+        assertEquals(1, where.inLists().size());
+        final var list = where.inLists().get(0);
+        assertEquals(List.of("'a'", "'b'"), list.values());
+        assertEquals("('a', 'b')", where.text().substring(list.start(), list.end()));
+    }
+
+    @Test
+    void testFieldsFunction() throws SOQLParseException {
+        final var query = SOQLParser.parse("SELECT FIELDS(ALL) FROM Account LIMIT 200");
+        assertEquals("FIELDS", assertInstanceOf(FunctionItem.class, query.selectItems().get(0)).function());
+        assertTrue(query.getFieldReferences().isEmpty(), "FIELDS(ALL) doesn't reference a field named \"ALL\"");
+        SOQLParser.parse("SELECT Id, fields(standard) FROM Account");
+        SOQLParser.parse("SELECT FIELDS(CUSTOM) FROM Account LIMIT 200");
+        final var ex =
+            assertThrows(SOQLParseException.class, () -> SOQLParser.parse("SELECT FIELDS(Name) FROM Account"));
+        assertEquals(14, ex.getPosition());
+    }
+
+    @Test
+    void testPlaceholders() throws SOQLParseException {
+        final var query = SOQLParser.parse("SELECT Id FROM Account WHERE Name = '$name$' AND Id IN ($id$) LIMIT $n$");
+        assertEquals(List.of("Name", "Id"), query.getClause(ClauseType.WHERE).orElseThrow().fields().stream()
+            .map(FieldPath::toString).toList());
+        assertEquals("$n$", query.getClause(ClauseType.LIMIT).orElseThrow().text());
+    }
+
+    @Test
+    void testRoundTrip() throws SOQLParseException {
+        for (String soql : new String[]{ //
+            "SELECT Id, Name FROM Account", //
+            "SELECT Id FROM Account WHERE Name LIKE 'A%' ORDER BY Name LIMIT 10", //
+            "SELECT Id, (SELECT Id FROM Contacts WHERE Email != null) FROM Account a WHERE a.Type IN ('x', 'y')", //
+            "SELECT Type, COUNT(Id) c FROM Account GROUP BY Type HAVING COUNT(Id) > 1", //
+            "SELECT Id FROM Account WHERE CreatedDate >= 2020-01-31T23:59:00+01:00 FOR VIEW", //
+            "SELECT Id FROM Contact USING SCOPE mine WHERE Name = 'It\\'s' LIMIT 5"}) {
+            assertEquals(soql, SOQLParser.parse(soql).toSOQL());
+        }
+    }
+
+    @Test
+    void testInvalidQueries() {
+        assertEquals(13, assertThrows(SOQLParseException.class, //
+            () -> SOQLParser.parse("SELECT Id, Na")).getPosition());
+        assertThrows(SOQLParseException.class, () -> SOQLParser.parse("Id FROM Account"));
+        assertThrows(SOQLParseException.class, () -> SOQLParser.parse("SELECT Id FROM Account WHERE"));
+        assertThrows(SOQLParseException.class, () -> SOQLParser.parse("SELECT Id FROM Account WHERE (Name = 'a'"));
+        assertThrows(SOQLParseException.class, () -> SOQLParser.parse("SELECT Id FROM Account LIMIT 1 WHERE X = 1"));
+        assertThrows(SOQLParseException.class, () -> SOQLParser.parse("SELECT Id FROM Account WHERE Name = 'a"));
+    }
+}
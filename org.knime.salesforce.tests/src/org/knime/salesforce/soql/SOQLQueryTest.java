@@ -0,0 +1,169 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.salesforce.soql;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the rewrites of {@link SOQLQuery}.
+ *
+ * @author agent
+ */
+final class SOQLQueryTest {
+
+    private static Optional<String> toCountQuery(final String soql) throws SOQLParseException {
+        return SOQLParser.parse(soql).toCountQuery().map(SOQLQuery::toSOQL);
+    }
+
+    @Test
+    void testToCountQuery() throws SOQLParseException {
+        assertEquals(Optional.of("SELECT COUNT() FROM Account WHERE Name LIKE 'A%' LIMIT 10"),
+            toCountQuery("SELECT Id, Name, Owner.Name FROM Account WHERE Name LIKE 'A%' ORDER BY Name LIMIT 10"));
+        assertEquals(Optional.of("SELECT COUNT() FROM Account a WHERE a.Id IN (SELECT AccountId FROM Contact)"),
+            toCountQuery("SELECT Id, (SELECT Id FROM Contacts) FROM Account a "
+                + "WHERE a.Id IN (SELECT AccountId FROM Contact)"));
+        assertEquals(Optional.of("SELECT COUNT() FROM Account"), toCountQuery("SELECT COUNT() FROM Account"));
+    }
+
+    @Test
+    void testToCountQueryNotPossible() throws SOQLParseException {
+        // aggregates count groups, OFFSET and FOR clauses are not allowed with COUNT()
+        assertEquals(Optional.empty(), toCountQuery("SELECT COUNT(Id) FROM Account"));
+        assertEquals(Optional.empty(), toCountQuery("SELECT Type FROM Account GROUP BY Type"));
+        assertEquals(Optional.empty(), toCountQuery("SELECT Id FROM Account LIMIT 10 OFFSET 10"));
+        assertEquals(Optional.empty(), toCountQuery("SELECT Id FROM Account FOR VIEW"));
+        assertEquals(Optional.empty(), toCountQuery("SELECT TYPEOF Owner WHEN User THEN Email END FROM Account"));
+    }
+
+    private static Optional<List<String>> splitInList(final String soql, final int maxLength)
+        throws SOQLParseException {
+        return SOQLParser.parse(soql).splitInList(maxLength).map(l -> l.stream().map(SOQLQuery::toSOQL).toList());
+    }
+
+    /** @return the given number of quoted record IDs, separated by ", " */
+    private static String ids(final int count) {
+        return IntStream.range(0, count).mapToObj(i -> String.format("'001%015d'", i))
+            .collect(Collectors.joining(", "));
+    }
+
+    @Test
+    void testSplitInList() throws SOQLParseException {
+        final var prefix = "SELECT Id, Name FROM Account WHERE Type = 'Customer' AND Id IN (";
+        final var queries = splitInList(prefix + ids(100) + ")", 500).orElseThrow();
+        assertTrue(queries.size() > 1);
+        final List<String> values = new ArrayList<>();
+        for (String soql : queries) {
+            assertTrue(soql.length() <= 500, soql);
+            assertTrue(soql.startsWith(prefix), soql);
+            assertTrue(soql.endsWith(")"), soql);
+            values.add(soql.substring(prefix.length(), soql.length() - 1));
+        }
+        // all values in the original order, each list as long as possible
+        assertEquals(ids(100), String.join(", ", values));
+        assertTrue(queries.get(0).length() + ", '001000000000000000'".length() > 500);
+    }
+
+    @Test
+    void testSplitInListWithOr() throws SOQLParseException {
+        // the union of the results is the result of the query, the other condition is kept in each query
+        final var queries =
+            splitInList("SELECT Id FROM Contact WHERE Email = null OR AccountId IN (" + ids(50) + ")", 300)
+                .orElseThrow();
+        assertTrue(queries.size() > 1);
+        queries.forEach(q -> assertTrue(q.startsWith("SELECT Id FROM Contact WHERE Email = null OR AccountId IN ("),
+            q));
+    }
+
+    @Test
+    void testSplitInListRemovesDuplicates() throws SOQLParseException {
+        final var soql = "SELECT Id FROM Account WHERE Id IN (" + ids(10) + ", " + ids(10) + ")";
+        assertEquals(Optional.of(List.of("SELECT Id FROM Account WHERE Id IN (" + ids(10) + ")")),
+            splitInList(soql, soql.length() - 1));
+    }
+
+    @Test
+    void testSplitInListNotPossible() throws SOQLParseException {
+        final var list = "(" + ids(100) + ")";
+        // short enough already
+        assertEquals(Optional.empty(), splitInList("SELECT Id FROM Account WHERE Id IN " + list, 10_000));
+        // negated lists: the union of the results would contain records excluded by the full list
+        assertEquals(Optional.empty(), splitInList("SELECT Id FROM Account WHERE Id NOT IN " + list, 500));
+        assertEquals(Optional.empty(), splitInList("SELECT Id FROM Account WHERE NOT (Id IN " + list + ")", 500));
+        assertEquals(Optional.empty(),
+            splitInList("SELECT Id FROM Account WHERE NOT (Type = 'x' OR Id IN " + list + ")", 500));
+        // the result depends on all matching records
+        assertEquals(Optional.empty(), splitInList("SELECT Id FROM Account WHERE Id IN " + list + " LIMIT 5", 500));
+        assertEquals(Optional.empty(),
+            splitInList("SELECT Id FROM Account WHERE Id IN " + list + " ORDER BY Name", 500));
+        assertEquals(Optional.empty(), splitInList("SELECT COUNT() FROM Account WHERE Id IN " + list, 500));
+        assertEquals(Optional.empty(), splitInList("SELECT MAX(Name) FROM Account WHERE Id IN " + list, 500));
+        // no IN list, or the query without the list is too long already
+        assertEquals(Optional.empty(), splitInList("SELECT Id FROM Account WHERE Name = '" + "x".repeat(600) + "'",
+            500));
+        assertEquals(Optional.empty(), splitInList("SELECT Id FROM Account WHERE Name = '" + "x".repeat(600)
+            + "' AND Id IN " + list, 500));
+    }
+
+    @Test
+    void testIsCount() throws SOQLParseException {
+        assertTrue(SOQLParser.parse("SELECT count() FROM Account WHERE Name = 'x'").isCount());
+        assertFalse(SOQLParser.parse("SELECT COUNT(Id) FROM Account").isCount());
+        assertFalse(SOQLParser.parse("SELECT Id FROM Account").isCount());
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.salesforce.soql;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.knime.salesforce.rest.gsonbindings.fields.Field;
+import org.knime.salesforce.rest.gsonbindings.sobjects.SObject;
+
+import com.google.gson.Gson;
+
+/**
+ * Tests {@link SOQLValidator} against metadata put into a {@link SalesforceObjectSchemaCache}.
+ *
+ * @author agent
+ */
+final class SOQLValidatorTest {
+
+    private static final SObject ACCOUNT = SObject.of("Account", "Account");
+
+    private static final SObject CONTACT = SObject.of("Contact", "Contact");
+
+    private static final SObject USER = SObject.of("User", "User");
+
+    private static final SObject OPPORTUNITY = SObject.of("Opportunity", "Opportunity");
+
+    private SOQLValidator m_validator;
+
+    /** Parses a field as in a describe response. */
+    private static Field field(final String json) {
+        return new Gson().fromJson(json, Field.class);
+    }
+
+    @BeforeEach
+    void fillCache() {
+        final var cache = new SalesforceObjectSchemaCache();
+        cache.putSObjects(new SObject[]{ACCOUNT, CONTACT, USER, OPPORTUNITY});
+        cache.putFields(ACCOUNT, new Field[]{ //
+            Field.of("Id", "Account ID", "id"), //
+            Field.of("Name", "Account Name", "string"), //
+            field("{name: 'OwnerId', label: 'Owner ID', type: 'reference', referenceTo: ['User'], "
+                + "relationshipName: 'Owner'}")});
+        cache.putFields(CONTACT, new Field[]{ //
+            Field.of("Id", "Contact ID", "id"), //
+            Field.of("LastName", "Last Name", "string"), //
+            field("{name: 'AccountId', label: 'Account ID', type: 'reference', referenceTo: ['Account'], "
+                + "relationshipName: 'Account'}"), //
+            field("{name: 'WhoId', label: 'Name ID', type: 'reference', referenceTo: ['Contact', 'Lead'], "
+                + "relationshipName: 'Who'}")});
+        cache.putFields(USER, new Field[]{Field.of("Email", "Email", "email")});
+        // fields of Opportunity not cached
+        m_validator = new SOQLValidator(cache);
+    }
+
+    private List<String> validate(final String soql) throws SOQLParseException {
+        return m_validator.validate(SOQLParser.parse(soql));
+    }
+
+    @Test
+    void testValidQueries() throws SOQLParseException {
+        assertEquals(List.of(), validate("SELECT Id, name, Account.Name FROM Account ORDER BY Name"));
+        assertEquals(List.of(), validate("SELECT LastName, Account.Owner.Email FROM Contact c "
+            + "WHERE c.AccountId IN (SELECT Id FROM Account WHERE Name LIKE 'A%')"));
+        assertEquals(List.of(), validate("SELECT Name n, COUNT(Id) c FROM Account GROUP BY Name ORDER BY c"));
+        assertEquals(List.of(), validate("SELECT FIELDS(ALL) FROM Account LIMIT 200"));
+        // polymorphic relationships and objects whose fields aren't cached are not checked
+        assertEquals(List.of(), validate("SELECT Who.Anything FROM Contact"));
+        assertEquals(List.of(), validate("SELECT Anything FROM Opportunity"));
+    }
+
+    @Test
+    void testUnknownObject() throws SOQLParseException {
+        assertEquals(List.of("Unknown object \"Acount\""), validate("SELECT Id FROM Acount"));
+    }
+
+    @Test
+    void testUnknownFields() throws SOQLParseException {
+        assertEquals(List.of("No field \"Nme\" in object \"Account\" (Nme)"),
+            validate("SELECT Id FROM Account WHERE Nme = 'x'"));
+        assertEquals(List.of("No field \"Mail\" in object \"User\" (Account.Owner.Mail)"),
+            validate("SELECT Account.Owner.Mail FROM Contact"));
+        assertEquals(List.of("No relationship \"Acount\" in object \"Contact\" (Acount.Name)"),
+            validate("SELECT Acount.Name FROM Contact"));
+        // in semi-join sub-queries
+        assertEquals(List.of("No field \"Nme\" in object \"Account\" (Nme)"),
+            validate("SELECT Id FROM Contact WHERE AccountId IN (SELECT Id FROM Account WHERE Nme = 'x')"));
+    }
+}
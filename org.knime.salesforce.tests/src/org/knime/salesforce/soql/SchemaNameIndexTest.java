@@ -0,0 +1,150 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.salesforce.soql;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link SchemaNameIndex}: prefix ranges, case-insensitivity, the limit and the removal of duplicates (values
+ * indexed under both name and label).
+ *
+ * @author agent
+ */
+final class SchemaNameIndexTest {
+
+    /** Indexes objects by API name and label, like the SOQL editor does. */
+    private static SchemaNameIndex<String> createIndex() {
+        final var index = new SchemaNameIndex<String>();
+        for (String[] nameAndLabel : new String[][]{ //
+            {"Account", "Account"}, //
+            {"AccountContactRelation", "Account Contact Relationship"}, //
+            {"AccountHistory", "Account History"}, //
+            {"Contact", "Contact"}, //
+            {"Contract", "Contract"}, //
+            {"Custom__c", "My Custom Object"}, //
+            {"Opportunity", "Deal"}}) {
+            index.put(nameAndLabel[0], nameAndLabel[0]);
+            index.put(nameAndLabel[1], nameAndLabel[0]);
+        }
+        return index;
+    }
+
+    @Test
+    void testPrefixRange() {
+        final var index = createIndex();
+        assertEquals(List.of("Account", "AccountContactRelation", "AccountHistory"), index.findByPrefix("Acc", 10));
+        assertEquals(List.of("Contact", "Contract"), index.findByPrefix("Con", 10));
+        assertEquals(List.of("Contract"), index.findByPrefix("Contr", 10));
+        assertEquals(List.of("Custom__c"), index.findByPrefix("Custom__c", 10), "full key is its own prefix");
+        assertTrue(index.findByPrefix("Lead", 10).isEmpty());
+        assertTrue(index.findByPrefix("Accountz", 10).isEmpty(), "range ends after the prefix");
+    }
+
+    @Test
+    void testLabels() {
+        final var index = createIndex();
+        assertEquals(List.of("Opportunity"), index.findByPrefix("Dea", 10));
+        assertEquals(List.of("Custom__c"), index.findByPrefix("My Cus", 10));
+        assertEquals(List.of("AccountContactRelation"), index.findByPrefix("Account Contact", 10));
+    }
+
+    @Test
+    void testCaseInsensitive() {
+        final var index = createIndex();
+        assertEquals(index.findByPrefix("Acc", 10), index.findByPrefix("acc", 10));
+        assertEquals(index.findByPrefix("Acc", 10), index.findByPrefix("ACC", 10));
+        assertEquals(List.of("Opportunity"), index.get("OPPORTUNITY"));
+        assertEquals(List.of("Opportunity"), index.get("deal"));
+        assertTrue(index.get("Opp").isEmpty(), "get requires the full key");
+    }
+
+    @Test
+    void testDistinctValues() {
+        final var index = createIndex();
+        // "Account" is indexed under its name and its (identical) label, "AccountHistory" under
+        // "accounthistory" and "account history"
+        assertEquals(List.of("Account"), index.get("account"));
+        assertEquals(3, index.findByPrefix("Account", 10).size());
+        assertEquals(7, index.findByPrefix("", 100).size(), "empty prefix enumerates all values once");
+
+        index.put("Account", "Account");
+        assertEquals(List.of("Account"), index.get("Account"), "same value not added twice under a key");
+
+        index.put("Account", "Account2");
+        assertEquals(List.of("Account", "Account2"), index.get("account"), "several values per key");
+    }
+
+    @Test
+    void testLimit() {
+        final var index = createIndex();
+        assertEquals(List.of("Account", "AccountContactRelation"), index.findByPrefix("Acc", 2));
+        assertEquals(List.of("Account"), index.findByPrefix("", 1));
+        // keys 'accountcontactrelation' and 'accounthistory' repeat values found via the labels, they don't count
+        // towards the limit
+        assertEquals(List.of("Account", "AccountContactRelation", "AccountHistory", "Contact", "Contract"),
+            index.findByPrefix("", 5));
+    }
+
+    @Test
+    void testIgnoresEmptyKeysAndClear() {
+        final var index = createIndex();
+        index.put(null, "Null");
+        index.put("", "Empty");
+        assertEquals(7, index.findByPrefix("", 100).size());
+
+        index.clear();
+        assertTrue(index.findByPrefix("", 100).isEmpty());
+        assertTrue(index.get("Account").isEmpty());
+    }
+}
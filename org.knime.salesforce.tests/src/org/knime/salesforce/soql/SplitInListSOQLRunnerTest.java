@@ -0,0 +1,102 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.salesforce.soql;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the creation of the queries run by {@link SplitInListSOQLRunner}.
+ *
+ * @author agent
+ */
+final class SplitInListSOQLRunnerTest {
+
+    /** @return a list of IDs long enough to exceed the maximum query length */
+    private static String longIdList() {
+        return IntStream.range(0, SplitInListSOQLRunner.MAX_QUERY_LENGTH / 10)
+            .mapToObj(i -> String.format("'001%015d'", i)).collect(Collectors.joining(", ", "(", ")"));
+    }
+
+    @Test
+    void testIdAdded() {
+        final var runner =
+            SplitInListSOQLRunner.create("SELECT Name FROM Account WHERE Id IN " + longIdList(), 4).orElseThrow();
+        assertTrue(runner.getQueryCount() > 1);
+        for (String soql : runner.getQueries()) {
+            assertTrue(soql.startsWith("SELECT Name, Id FROM Account WHERE Id IN ("), soql);
+            assertTrue(soql.length() <= SplitInListSOQLRunner.MAX_QUERY_LENGTH, soql);
+        }
+    }
+
+    @Test
+    void testIdSelected() {
+        // the ID is selected already, qualified by the alias of the object
+        final var runner = SplitInListSOQLRunner
+            .create("SELECT a.Id, Name FROM Account a WHERE a.Id IN " + longIdList(), 4).orElseThrow();
+        runner.getQueries()
+            .forEach(soql -> assertTrue(soql.startsWith("SELECT a.Id, Name FROM Account a WHERE a.Id IN ("), soql));
+    }
+
+    @Test
+    void testNotSplit() {
+        assertEquals(Optional.empty(), SplitInListSOQLRunner.create("SELECT Id FROM Account WHERE Id IN ('x')", 4));
+        assertEquals(Optional.empty(),
+            SplitInListSOQLRunner.create("SELECT Id FROM Account WHERE Id NOT IN " + longIdList(), 4));
+        // not parseable
+        assertEquals(Optional.empty(),
+            SplitInListSOQLRunner.create("SELECT Id FROM Account WHERE (" + longIdList(), 4));
+    }
+}
@@ -52,12 +52,17 @@
 
 import java.io.IOException;
 import java.net.URI;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import org.knime.core.node.NodeLogger;
 import org.knime.core.node.util.CheckUtils;
 import org.knime.credentials.base.Credential;
 import org.knime.credentials.base.CredentialPortViewData;
@@ -68,6 +73,8 @@
 import org.knime.credentials.base.oauth.api.AccessTokenAccessor;
 import org.knime.credentials.base.oauth.api.HttpAuthorizationHeaderCredentialValue;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
 /**
  * {@link Credential} that provides a Salesforce access token (Bearer) and Salesforce instance URL.
  *
@@ -89,10 +96,62 @@ public static class Serializer extends NoOpCredentialSerializer<SalesforceAccess
     public static final CredentialType TYPE =
         CredentialTypeRegistry.getCredentialType("knime.salesforceOAuth2Credential");
 
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(SalesforceAccessTokenCredential.class);
+
+    /**
+     * Session timeout assumed if the expiry is neither part of the token response ('expires_in' is not part of most
+     * Salesforce token responses) nor could be read via token introspection (e.g. JWT bearer flow, see
+     * {@link SalesforceAuthenticationUtil#introspectTokenExpiry}). Salesforce's default is 2 hours, the session timeout
+     * setting of the org may differ (requests after an earlier expiry still recover via the 401 handling).
+     */
+    private static final Duration ASSUMED_SESSION_TIMEOUT =
+        Duration.ofMinutes(Integer.getInteger("knime.salesforce.session.timeout.minutes", 120));
+
+    /** Token is renewed in the background once it's this close to its expiry. */
+    private static final Duration RENEWAL_LEAD_TIME = Duration.ofMinutes(5);
+
+    /** Token is renewed synchronously (the caller waits) once it's this close to its expiry. */
+    private static final Duration EXPIRY_MARGIN = Duration.ofSeconds(30);
+
+    /** Runs background renewals, threads are only created when needed. */
+    private static final ExecutorService RENEWAL_EXECUTOR = Executors.newCachedThreadPool(
+        new ThreadFactoryBuilder().setDaemon(true).setNameFormat("KNIME-Salesforce-Token-Renewal-%d").build());
+
     private URI m_salesforceInstanceUrl;
 
     private AccessTokenAccessor m_wrappedAccessToken;
 
+    /**
+     * Guards access to the wrapped token so that only one refresh is in flight, concurrent callers wait for it and
+     * then use the refreshed token.
+     */
+    private final Object m_refreshLock = new Object();
+
+    /**
+     * The current token and its generation (incremented with each (forced) refresh, see
+     * {@link #refreshAccessToken(long)}), null until first requested. Read without lock, written while holding
+     * m_refreshLock. Both are kept in one object so that a reader never sees a token with the generation of another.
+     */
+    private volatile GenerationalAccessToken m_currentToken;
+
+    /** When {@link #m_currentToken} was obtained (used to estimate the expiry if not known). */
+    private volatile Instant m_tokenObtainedAt;
+
+    /**
+     * An access token together with its generation.
+     *
+     * @param accessToken the access token
+     * @param generation the generation of the token, to be passed to {@link #refreshAccessToken(long)} if a request
+     *            using the token fails with 401 (Unauthorized)
+     */
+    public record GenerationalAccessToken(String accessToken, long generation) {
+    }
+
+    private final AtomicBoolean m_isRenewalScheduled = new AtomicBoolean();
+
+    /** Set if a proactive renewal failed (e.g. token can't be refreshed at all), then only 401s trigger a refresh. */
+    private volatile boolean m_isProactiveRenewalDisabled;
+
     /**
      * Constructor.
      *
@@ -117,14 +176,118 @@ public URI getSalesforceInstanceUrl() {
         return m_salesforceInstanceUrl;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * If the token is about to expire it is renewed before it's returned; if it expires soon a renewal is started in
+     * the background and the current (still valid) token is returned. Long running extractions therefore don't run
+     * into 401 responses, which would cost a full round trip each.
+     */
     @Override
     public String getAccessToken() throws IOException {
-        return m_wrappedAccessToken.getAccessToken();
+        return getGenerationalAccessToken().accessToken();
+    }
+
+    /**
+     * Same as {@link #getAccessToken()} but also returns the generation of the returned token, as needed to
+     * {@linkplain #refreshAccessToken(long) refresh} it if it's rejected. Reading the generation separately (before or
+     * after the token) is racy as the token may be renewed in between.
+     *
+     * @return the current access token and its generation
+     * @throws IOException if the token can't be obtained
+     */
+    public GenerationalAccessToken getGenerationalAccessToken() throws IOException {
+        final GenerationalAccessToken token = m_currentToken;
+        if (token == null) {
+            synchronized (m_refreshLock) {
+                if (m_currentToken == null) {
+                    setCurrentToken(m_wrappedAccessToken.getAccessToken(), 0L);
+                }
+                return m_currentToken;
+            }
+        }
+        final Optional<Instant> expiresAfter = m_isProactiveRenewalDisabled ? Optional.empty() : getExpiresAfter();
+        if (expiresAfter.isPresent()) {
+            final var now = Instant.now();
+            if (now.isAfter(expiresAfter.get().minus(EXPIRY_MARGIN))) {
+                return renewProactively(token.generation()).orElse(token);
+            } else if (now.isAfter(expiresAfter.get().minus(RENEWAL_LEAD_TIME))) {
+                scheduleRenewal(token.generation());
+            }
+        }
+        return token;
+    }
+
+    private void scheduleRenewal(final long generation) {
+        if (m_isRenewalScheduled.compareAndSet(false, true)) {
+            RENEWAL_EXECUTOR.execute(() -> {
+                try {
+                    renewProactively(generation);
+                } finally {
+                    m_isRenewalScheduled.set(false);
+                }
+            });
+        }
+    }
+
+    /** Renews the token, a failure is only logged (the 401 handling of the request will report it). */
+    private Optional<GenerationalAccessToken> renewProactively(final long generation) {
+        try {
+            LOGGER.debugWithFormat("Renewing Salesforce access token (expires after %s)",
+                getExpiresAfter().map(Instant::toString).orElse("<unknown>"));
+            return Optional.of(refresh(generation));
+        } catch (IOException | RuntimeException ex) { // NOSONAR
+            LOGGER.debug("Proactive renewal of Salesforce access token failed, disabling it: " + ex.getMessage(), ex);
+            m_isProactiveRenewalDisabled = true;
+            return Optional.empty();
+        }
+    }
+
+    /** To be called while holding {@link #m_refreshLock}. */
+    private void setCurrentToken(final String token, final long generation) {
+        m_tokenObtainedAt = Instant.now();
+        m_currentToken = new GenerationalAccessToken(token, generation);
     }
 
     @Override
     public String getAccessToken(final boolean forceRefresh) throws IOException {
-        return m_wrappedAccessToken.getAccessToken(forceRefresh);
+        return forceRefresh ? refreshAccessToken(getTokenGeneration()) : getAccessToken();
+    }
+
+    /**
+     * @return the generation of the current access token; use {@link #getGenerationalAccessToken()} to get the
+     *         generation of the token used in a request.
+     */
+    public long getTokenGeneration() {
+        final GenerationalAccessToken token = m_currentToken;
+        return token != null ? token.generation() : 0L;
+    }
+
+    /**
+     * Refreshes the access token unless it has already been refreshed since the caller read it. Concurrent callers
+     * (e.g. parallel requests that all received a 401 when the token expired) are serialized: the first one performs
+     * the refresh, the others wait and then get the new token without triggering another refresh (which could
+     * invalidate the token just issued).
+     *
+     * @param observedGeneration the {@linkplain #getTokenGeneration() generation} of the token that was rejected
+     * @return the current (possibly just refreshed) access token
+     * @throws IOException if the refresh fails
+     */
+    public String refreshAccessToken(final long observedGeneration) throws IOException {
+        return refresh(observedGeneration).accessToken();
+    }
+
+    private GenerationalAccessToken refresh(final long observedGeneration) throws IOException {
+        synchronized (m_refreshLock) {
+            final GenerationalAccessToken current = m_currentToken;
+            if (current != null && observedGeneration != current.generation()) {
+                return current;
+            }
+            final long generation = current != null ? (current.generation() + 1) : 1L;
+            setCurrentToken(m_wrappedAccessToken.getAccessToken(true), generation);
+            return m_currentToken;
+        }
     }
 
     @Override
@@ -142,9 +305,31 @@ public String getAuthParameters() throws IOException {
         return getAccessToken();
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The expiry as per token response or, if that's not known, an estimate based on the time the token was obtained
+     * and the (default) session timeout.
+     */
     @Override
     public Optional<Instant> getExpiresAfter() {
-        return Optional.empty();
+        final var expiresAfter = m_wrappedAccessToken.getExpiresAfter();
+        if (expiresAfter.isPresent()) {
+            return expiresAfter;
+        }
+        return Optional.ofNullable(m_tokenObtainedAt).map(SalesforceAccessTokenCredential::estimateExpiry);
+    }
+
+    /**
+     * Estimates the expiry of a token whose expiry isn't known, based on the (default) session timeout. Callers that
+     * reuse a token should pass the time it was originally issued, not the time it was taken from a cache.
+     *
+     * @param issuedAt when the token was issued
+     * @return the estimated expiry
+     */
+    public static Instant estimateExpiry(final Instant issuedAt) {
+        return issuedAt.plus(ASSUMED_SESSION_TIMEOUT);
     }
 
     @Override
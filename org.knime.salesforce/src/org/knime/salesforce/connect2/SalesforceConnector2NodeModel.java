@@ -52,6 +52,7 @@
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.net.URI;
+import java.security.PrivateKey;
 import java.time.Instant;
 import java.util.Optional;
 import java.util.UUID;
@@ -75,6 +76,8 @@
 import org.knime.salesforce.auth.port.SalesforceConnectionPortObjectSpec;
 import org.knime.salesforce.connect2.SalesforceConnector2NodeSettings.AuthType;
 import org.knime.salesforce.connect2.SalesforceConnector2NodeSettings.InstanceType;
+import org.knime.salesforce.connect2.SalesforceConnector2NodeSettings.JwtKeySource;
+import org.knime.salesforce.util.FSLocationUtil;
 
 import com.github.scribejava.apis.salesforce.SalesforceToken;
 
@@ -143,6 +146,7 @@ protected PortObject[] execute(final PortObject[] inData, final ExecutionContext
             credential = switch (settings.m_authType) {
                 case INTERACTIVE -> m_interactiveCredentialRef.resolveCredential(SalesforceAccessTokenCredential.class);
                 case USERNAME_PASSWORD -> createCredentialWithUsernamePassword(settings);
+                case JWT_BEARER -> createCredentialWithJwtBearer(settings);
             };
         }
 
@@ -155,38 +159,53 @@ protected PortObject[] execute(final PortObject[] inData, final ExecutionContext
     private static SalesforceAccessTokenCredential
         createCredentialWithUsernamePassword(final SalesforceConnector2NodeSettings settings) throws IOException {
 
-        final var sfToken = fetchSalesforceTokenWithUsernamePassword(settings);
+        final var cachedToken = fetchSalesforceTokenWithUsernamePassword(settings);
 
         return new SalesforceAccessTokenCredential(//
-            URI.create(sfToken.getInstanceUrl()), //
-            toAccessTokenCredential(sfToken, settings));
+            URI.create(cachedToken.token().getInstanceUrl()), //
+            toAccessTokenCredential(cachedToken, settings));
     }
 
-    private static SalesforceToken
+    /**
+     * Returns a cached token (from a previous execution) if available, otherwise logs in and reads the expiry of the
+     * new token via introspection.
+     */
+    private static UsernamePasswordTokenCache.CachedToken
         fetchSalesforceTokenWithUsernamePassword(final SalesforceConnector2NodeSettings settings) throws IOException {
 
         final var userPassCreds = settings.m_usernamePasswordCredentials;
         final var isSandbox = settings.m_salesforceInstanceType == InstanceType.SANDBOX;
 
-        return SalesforceAuthenticationUtil.authenticateUsingUserAndPassword(//
-            userPassCreds.getUsername(), //
-            userPassCreds.getPassword(), //
-            userPassCreds.getSecondFactor(), //
-            isSandbox, //
-            settings.getTimeouts(),//
-            settings.getClientApp());
+        return UsernamePasswordTokenCache.getOrLogin(createTokenCacheKey(settings), () -> {
+            final var issuedAt = Instant.now();
+            final var sfToken = SalesforceAuthenticationUtil.authenticateUsingUserAndPassword(//
+                userPassCreds.getUsername(), //
+                userPassCreds.getPassword(), //
+                userPassCreds.getSecondFactor(), //
+                isSandbox, //
+                settings.getTimeouts(),//
+                settings.getClientApp());
+            final var expiresAfter = SalesforceAuthenticationUtil.introspectTokenExpiry(sfToken.getAccessToken(),
+                isSandbox, settings.getClientApp(), settings.getTimeouts());
+            return new UsernamePasswordTokenCache.CachedToken(sfToken, issuedAt, expiresAfter.orElse(null));
+        });
     }
 
-    private static AccessTokenCredential toAccessTokenCredential(final SalesforceToken sfToken,
-        final SalesforceConnector2NodeSettings settings) {
+    private static UsernamePasswordTokenCache.Key
+        createTokenCacheKey(final SalesforceConnector2NodeSettings settings) {
+        final var userPassCreds = settings.m_usernamePasswordCredentials;
+        return UsernamePasswordTokenCache.Key.of(userPassCreds.getUsername(), userPassCreds.getPassword(),
+            userPassCreds.getSecondFactor(), settings.m_salesforceInstanceType == InstanceType.SANDBOX,
+            settings.getClientApp());
+    }
 
-        final Instant expiresAfter = sfToken.getExpiresIn() != null//
-            ? Instant.now().plusSeconds(sfToken.getExpiresIn()) //
-            : null;
+    private static AccessTokenCredential toAccessTokenCredential(
+        final UsernamePasswordTokenCache.CachedToken cachedToken, final SalesforceConnector2NodeSettings settings) {
 
+        final var sfToken = cachedToken.token();
         return new AccessTokenCredential(//
             sfToken.getAccessToken(), //
-            expiresAfter, //
+            cachedToken.getExpiry(), // based on the original issue time if the token is reused
             sfToken.getTokenType(), //
             () -> refreshAccessTokenWithUsernamePassword(settings));
     }
@@ -195,13 +214,66 @@ private static AccessTokenCredential toAccessTokenCredential(final SalesforceTok
         refreshAccessTokenWithUsernamePassword(final SalesforceConnector2NodeSettings settings) {
 
         try {
-            final var sfToken = fetchSalesforceTokenWithUsernamePassword(settings);
-            return toAccessTokenCredential(sfToken, settings);
+            // called because the current token was rejected (or is about to expire), don't reuse it
+            UsernamePasswordTokenCache.invalidate(createTokenCacheKey(settings));
+            return toAccessTokenCredential(fetchSalesforceTokenWithUsernamePassword(settings), settings);
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
     }
 
+    private static SalesforceAccessTokenCredential
+        createCredentialWithJwtBearer(final SalesforceConnector2NodeSettings settings)
+            throws IOException, InvalidSettingsException {
+
+        // read once, new tokens are minted by signing a new assertion with the same key (no refresh token)
+        final var privateKey = readJwtPrivateKey(settings);
+        final var sfToken = fetchSalesforceTokenWithJwtBearer(settings, privateKey);
+
+        return new SalesforceAccessTokenCredential(//
+            URI.create(sfToken.getInstanceUrl()), //
+            toJwtBearerAccessTokenCredential(sfToken, settings, privateKey));
+    }
+
+    private static PrivateKey readJwtPrivateKey(final SalesforceConnector2NodeSettings settings)
+        throws IOException, InvalidSettingsException {
+        if (settings.m_jwtKeySource == JwtKeySource.CREDENTIALS) {
+            return SalesforceAuthenticationUtil.readPrivateKey(settings.m_jwtPrivateKeyCredentials.getPassword(),
+                "the private key credentials");
+        }
+        try (var keyFile = FSLocationUtil.resolve(settings.m_jwtPrivateKeyFile, "private key file")) {
+            return SalesforceAuthenticationUtil.readPrivateKey(keyFile.getPath());
+        }
+    }
+
+    private static SalesforceToken fetchSalesforceTokenWithJwtBearer(final SalesforceConnector2NodeSettings settings,
+        final PrivateKey privateKey) throws IOException {
+
+        return SalesforceAuthenticationUtil.authenticateUsingJwtBearer(//
+            settings.m_jwtUsername, //
+            settings.m_jwtConsumerKey, //
+            privateKey, //
+            settings.m_salesforceInstanceType == InstanceType.SANDBOX, //
+            settings.getTimeouts());
+    }
+
+    private static AccessTokenCredential toJwtBearerAccessTokenCredential(final SalesforceToken sfToken,
+        final SalesforceConnector2NodeSettings settings, final PrivateKey privateKey) {
+
+        return new AccessTokenCredential(//
+            sfToken.getAccessToken(), //
+            null, // expiry not part of the response
+            sfToken.getTokenType(), //
+            () -> {
+                try {
+                    return toJwtBearerAccessTokenCredential(fetchSalesforceTokenWithJwtBearer(settings, privateKey),
+                        settings, privateKey);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+    }
+
     private void disposeInteractiveCredential() {
         if (m_interactiveCredentialRef != null) {
             m_interactiveCredentialRef.dispose();
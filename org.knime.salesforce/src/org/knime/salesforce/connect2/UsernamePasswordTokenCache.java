@@ -0,0 +1,215 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.salesforce.connect2;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.concurrent.ExecutionException;
+
+import org.apache.commons.lang3.StringUtils;
+import org.knime.core.node.NodeLogger;
+import org.knime.salesforce.auth.credential.SalesforceAccessTokenCredential;
+import org.knime.salesforce.auth.credential.SalesforceAuthenticationUtil.ClientApp;
+
+import com.github.scribejava.apis.salesforce.SalesforceToken;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+/**
+ * In-memory cache of tokens obtained via username/password login, so that re-executing a connector (or several
+ * connectors using the same account) doesn't log in again as long as the session is still valid. Logins are costly
+ * (several hundred milliseconds) and rate limited by Salesforce.
+ *
+ * <p>
+ * Entries are keyed by user, instance type and client app id plus a salted SHA-256 digest of the password, security
+ * token and client secret. Secrets are therefore not kept in the cache, and changing any of them results in a new
+ * login. The salt is random per JVM. Entries are only reused for a limited time (below the default session timeout)
+ * and not once they are about to expire; the expiry is based on the original issue time and, if available, the session
+ * timeout as read via token introspection. A token that was invalidated earlier (e.g. by logout) is rejected with 401,
+ * the refresh then {@linkplain #invalidate(Key) invalidates} the entry and logs in again.
+ *
+ * @author agent
+ */
+final class UsernamePasswordTokenCache {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(UsernamePasswordTokenCache.class);
+
+    /** Tokens are reused for at most this time after login (Salesforce's default session timeout is 2h). */
+    private static final Duration MAX_REUSE_TIME =
+        Duration.ofMinutes(Integer.getInteger("knime.salesforce.token.reuse.minutes", 60));
+
+    /** Tokens that expire within this time are not reused. */
+    private static final Duration MIN_REMAINING_VALIDITY = Duration.ofMinutes(10);
+
+    private static final byte[] SALT = createSalt();
+
+    private static final Cache<Key, CachedToken> CACHE = CacheBuilder.newBuilder() //
+        .expireAfterWrite(MAX_REUSE_TIME) //
+        .maximumSize(100) //
+        .build();
+
+    /** Performs the actual login. */
+    @FunctionalInterface
+    interface Login {
+        CachedToken login() throws IOException;
+    }
+
+    /**
+     * A token as obtained by the login. The issue time is kept so that a reused token isn't considered valid for
+     * longer than it is.
+     *
+     * @param token the token
+     * @param issuedAt when the token was issued (i.e. the time the login started)
+     * @param expiresAfter the expiry as read via token introspection, null if not known
+     */
+    record CachedToken(SalesforceToken token, Instant issuedAt, Instant expiresAfter) {
+
+        /**
+         * @return the expiry as per introspection or token response, or an estimate based on the issue time
+         */
+        Instant getExpiry() {
+            if (expiresAfter != null) {
+                return expiresAfter;
+            }
+            if (token.getExpiresIn() != null) {
+                return issuedAt.plusSeconds(token.getExpiresIn());
+            }
+            return SalesforceAccessTokenCredential.estimateExpiry(issuedAt);
+        }
+    }
+
+    /**
+     * Cache key, see class description.
+     *
+     * @param user the user name
+     * @param isSandbox whether the sandbox instance is used
+     * @param clientId the id of the client app
+     * @param secretsDigest salted digest of password, security token and client secret
+     */
+    record Key(String user, boolean isSandbox, String clientId, String secretsDigest) {
+
+        static Key of(final String user, final String password, final String securityToken, final boolean isSandbox,
+            final ClientApp clientApp) {
+            final var digest = newDigest();
+            digest.update(SALT);
+            for (String secret : new String[]{password, securityToken, clientApp.clientSecret()}) {
+                digest.update(StringUtils.defaultString(secret).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte)0);
+            }
+            return new Key(user, isSandbox, clientApp.clientId(), HexFormat.of().formatHex(digest.digest()));
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s@%s", user, isSandbox ? "sandbox" : "production"); // no secrets in logs
+        }
+    }
+
+    private UsernamePasswordTokenCache() {
+    }
+
+    /**
+     * Returns the cached token for the key or performs the login. Concurrent calls for the same key wait for a single
+     * login.
+     *
+     * @param key the key
+     * @param login performs the login if needed
+     * @return the token together with its issue time
+     * @throws IOException if the login fails
+     */
+    static CachedToken getOrLogin(final Key key, final Login login) throws IOException {
+        final var cached = CACHE.getIfPresent(key);
+        if (cached != null && Instant.now().plus(MIN_REMAINING_VALIDITY).isAfter(cached.getExpiry())) {
+            LOGGER.debugWithFormat("Cached token for %s expires at %s, not reusing it", key, cached.getExpiry());
+            CACHE.asMap().remove(key, cached);
+        }
+        try {
+            return CACHE.get(key, () -> {
+                LOGGER.debugWithFormat("No valid token cached for %s, logging in", key);
+                return login.login();
+            });
+        } catch (ExecutionException | UncheckedExecutionException ex) {
+            final var cause = ex.getCause();
+            if (cause instanceof IOException ioe) {
+                throw ioe;
+            }
+            throw new IOException(cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * Removes the token for the key, e.g. because it was rejected.
+     *
+     * @param key the key
+     */
+    static void invalidate(final Key key) {
+        CACHE.invalidate(key);
+    }
+
+    private static byte[] createSalt() {
+        final var salt = new byte[16];
+        new SecureRandom().nextBytes(salt);
+        return salt;
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.salesforce.download;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.NodeLogger;
+import org.knime.salesforce.auth.credential.SalesforceAccessTokenCredential;
+import org.knime.salesforce.rest.SalesforceRESTUtil;
+import org.knime.salesforce.rest.SalesforceResponseException;
+import org.knime.salesforce.rest.Timeouts;
+
+import jakarta.ws.rs.ProcessingException;
+
+/**
+ * Downloads the content of a single blob field into a local file. If the connection breaks while reading the content
+ * the download is resumed at the last byte written (using a "Range" request), the SHA-256 checksum is computed while
+ * writing.
+ *
+ * @author agent
+ */
+final class ResumableBlobDownload {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(ResumableBlobDownload.class);
+
+    /** Number of attempts per file, including the first one. */
+    static final int MAX_ATTEMPTS = 3;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /** The result of a download, size in bytes and SHA-256 checksum (lower-case hex). */
+    record Result(long size, String sha256) {
+    }
+
+    private final SalesforceAccessTokenCredential m_credential;
+
+    private final Timeouts m_timeouts;
+
+    /** Sum of all bytes received, across all downloads, used for progress reporting. */
+    private final AtomicLong m_bytesReceived;
+
+    ResumableBlobDownload(final SalesforceAccessTokenCredential credential, final Timeouts timeouts,
+        final AtomicLong bytesReceived) {
+        m_credential = credential;
+        m_timeouts = timeouts;
+        m_bytesReceived = bytesReceived;
+    }
+
+    /**
+     * Downloads the resource into the target file (which is created or overwritten).
+     *
+     * @param path the blob path, see {@link SalesforceRESTUtil#getBlobPath(String, String, String)}
+     * @param target the file to write to
+     * @return size and checksum of the content
+     * @throws SalesforceResponseException if the request fails (also after the last attempt)
+     * @throws InterruptedException if the thread is interrupted (download canceled)
+     */
+    Result download(final String path, final Path target) throws SalesforceResponseException, InterruptedException {
+        final var digest = newDigest();
+        // number of bytes that are written to the file and included in the digest
+        final var written = new AtomicLong();
+        for (var attempt = 1;; attempt++) {
+            final long offset = written.get();
+            try {
+                SalesforceRESTUtil.doGetBinary(path, m_credential, offset,
+                    (in, isPartial) -> write(in, target, isPartial ? offset : 0L, digest, written), m_timeouts);
+                return new Result(written.get(), HexFormat.of().formatHex(digest.digest()));
+            } catch (SalesforceResponseException | ProcessingException ex) {
+                // only the interrupt flag and the abort check mean cancelation; an InterruptedIOException may also be a
+                // read timeout (SocketTimeoutException), which is what the resume is for
+                if (Thread.currentThread().isInterrupted()
+                    || ExceptionUtils.throwableOfType(ex, CanceledExecutionException.class) != null) {
+                    throw new InterruptedException("Download of \"" + path + "\" canceled");
+                }
+                // HTTP errors (not found, no access) are not retried, only broken connections and timeouts
+                final boolean isIOProblem = ex instanceof ProcessingException
+                    || ExceptionUtils.throwableOfType(ex, IOException.class) != null;
+                if (!isIOProblem || attempt >= MAX_ATTEMPTS) {
+                    throw ex instanceof SalesforceResponseException sre ? sre
+                        : new SalesforceResponseException(ex.getMessage(), ex);
+                }
+                LOGGER.debugWithFormat("Download of \"%s\" failed after %d bytes (attempt %d/%d), resuming: %s", path,
+                    written.get(), attempt, MAX_ATTEMPTS, ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Writes the stream to the file, starting at the given offset (truncating anything after it). The digest and the
+     * counter are only updated for bytes that made it to the file, so that a later attempt can resume from there.
+     */
+    private Void write(final InputStream in, final Path target, final long offset, final MessageDigest digest,
+        final AtomicLong written) throws IOException {
+        if (offset == 0L) {
+            // full content sent (first attempt or server ignored the range)
+            digest.reset();
+            written.set(0L);
+        }
+        try (var channel = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            channel.truncate(offset);
+            channel.position(offset);
+            final var buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = in.read(buffer)) >= 0) {
+                final var chunk = ByteBuffer.wrap(buffer, 0, read);
+                while (chunk.hasRemaining()) {
+                    channel.write(chunk);
+                }
+                digest.update(buffer, 0, read);
+                written.addAndGet(read);
+                m_bytesReceived.addAndGet(read);
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedIOException("Download canceled");
+                }
+            }
+        }
+        return null;
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.salesforce.download;
+
+import org.knime.core.node.BufferedDataTable;
+import org.knime.credentials.base.CredentialPortObject;
+import org.knime.node.parameters.legacy.nodeimpl.WebUINodeConfiguration;
+import org.knime.node.parameters.legacy.nodeimpl.WebUINodeFactory;
+
+/**
+ * Factory of the Salesforce File Download node.
+ *
+ * @author agent
+ */
+@SuppressWarnings("restriction") // New Node UI is not yet API
+public final class SalesforceFileDownloadNodeFactory extends WebUINodeFactory<SalesforceFileDownloadNodeModel> {
+
+    private static final String FULL_DESCRIPTION = """
+<p>
+Downloads the content of Salesforce Files (<i>ContentVersion</i>), Attachments or Documents. The IDs of the records
+are read from a column of the input table, e.g. as retrieved with the Salesforce SOQL or Simple Query node. The
+content is fetched from the REST blob endpoint of each record and either appended as binary cell or written to a
+folder (of any file system supported by KNIME, e.g. relative to the workflow), in which case the path is appended as
+path cell. Size and SHA-256 checksum of each file are appended as well.
+</p>
+<p>
+Several files are downloaded in parallel. The content is streamed to disk, i.e. large files do not need to fit into
+memory. If the connection breaks during a download, the download is resumed where it stopped (up to two times).
+Files are first downloaded to a local temporary file and then copied to the output folder.
+</p>
+""";
+
+    private static final WebUINodeConfiguration CONFIG = WebUINodeConfiguration.builder()//
+        .name("Salesforce File Download")//
+        .icon("./salesforce.png").shortDescription("Download file content from Salesforce")//
+        .fullDescription(FULL_DESCRIPTION)//
+        .modelSettingsClass(SalesforceFileDownloadNodeParameters.class)//
+        .nodeType(NodeType.Source)//
+        .addInputPort("Salesforce Connection", CredentialPortObject.TYPE, "Salesforce connection")//
+        .addInputPort("Record IDs", BufferedDataTable.TYPE, "Table containing the IDs of the records to download")//
+        .addOutputPort("Downloaded Files", BufferedDataTable.TYPE, """
+                The input table with the content (or path) of each file, its size in bytes and the SHA-256
+                checksum appended.
+                """)//
+        .sinceVersion(5, 11, 0).build();
+
+    /** Called by framework. */
+    public SalesforceFileDownloadNodeFactory() {
+        super(CONFIG);
+    }
+
+    @Override
+    public SalesforceFileDownloadNodeModel createNodeModel() {
+        return new SalesforceFileDownloadNodeModel(CONFIG);
+    }
+}
@@ -0,0 +1,405 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.salesforce.download;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.apache.commons.lang3.StringUtils;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpec;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.StringValue;
+import org.knime.core.data.append.AppendedColumnRow;
+import org.knime.core.data.blob.BinaryObjectCellFactory;
+import org.knime.core.data.blob.BinaryObjectDataCell;
+import org.knime.core.data.def.LongCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.data.filestore.FileStoreFactory;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.port.PortObject;
+import org.knime.core.node.port.PortObjectSpec;
+import org.knime.core.node.util.CheckUtils;
+import org.knime.core.util.FileUtil;
+import org.knime.core.util.UniqueNameGenerator;
+import org.knime.credentials.base.NoSuchCredentialException;
+import org.knime.filehandling.core.connections.FSLocationSpec;
+import org.knime.filehandling.core.connections.FSPath;
+import org.knime.filehandling.core.data.location.FSLocationValueMetaData;
+import org.knime.filehandling.core.data.location.cell.SimpleFSLocationCellFactory;
+import org.knime.node.parameters.legacy.nodeimpl.WebUINodeConfiguration;
+import org.knime.node.parameters.legacy.nodeimpl.WebUINodeModel;
+import org.knime.salesforce.auth.credential.SalesforceAccessTokenCredential;
+import org.knime.salesforce.auth.port.SalesforceConnectionPortObjectSpec;
+import org.knime.salesforce.download.SalesforceFileDownloadNodeParameters.BlobObject;
+import org.knime.salesforce.download.SalesforceFileDownloadNodeParameters.FileNaming;
+import org.knime.salesforce.download.SalesforceFileDownloadNodeParameters.OutputMode;
+import org.knime.salesforce.rest.FutureUtil;
+import org.knime.salesforce.rest.SalesforceRESTUtil;
+import org.knime.salesforce.rest.SalesforceResponseException;
+import org.knime.salesforce.rest.Timeouts;
+import org.knime.salesforce.util.FSLocationUtil;
+
+/**
+ * Model of the Salesforce File Download node. Downloads the blob content of the records listed in the input table
+ * with a bounded number of parallel requests and appends content (or path), size and checksum. Rows are committed in
+ * input order while later downloads are still running.
+ *
+ * <p>
+ * Downloads always go to a local temporary file first as they are resumed at an offset, which needs random access.
+ * In folder mode the file is then copied to the output folder, which can be on any file system.
+ *
+ * @author agent
+ */
+@SuppressWarnings("restriction") // New Node UI is not yet API
+final class SalesforceFileDownloadNodeModel extends WebUINodeModel<SalesforceFileDownloadNodeParameters> {
+
+    /** Salesforce IDs are 15 (case-sensitive) or 18 (case-insensitive) alphanumeric characters. */
+    private static final Pattern ID_PATTERN = Pattern.compile("[a-zA-Z0-9]{15}|[a-zA-Z0-9]{18}");
+
+    /** Characters not allowed in file names on (at least) one of the common file systems. */
+    private static final Pattern INVALID_FILE_NAME_CHARS = Pattern.compile("[\\\\/:*?\"<>|\\p{Cntrl}]");
+
+    private static final String CONTENT_COLUMN = "Content";
+
+    private static final String PATH_COLUMN = "Path";
+
+    private static final String SIZE_COLUMN = "Size";
+
+    private static final String CHECKSUM_COLUMN = "SHA-256";
+
+    /** Result of a download task, the file name is null unless named after the file name in Salesforce. */
+    private record Download(ResumableBlobDownload.Result result, String fileName) {
+    }
+
+    /** A download in flight (or done), kept in input order. */
+    private record PendingDownload(DataRow row, String id, Future<Download> future, Path tempFile) {
+    }
+
+    /** Writes the downloaded files to the output folder, names them, and creates the path cells. */
+    private static final class FolderWriter {
+
+        private final FSPath m_folder;
+
+        private final boolean m_overwrite;
+
+        private final SimpleFSLocationCellFactory m_cellFactory;
+
+        /** The names of the files written so far (lower case, file systems may be case-insensitive) to their ID. */
+        private final Map<String, String> m_writtenNames = new HashMap<>();
+
+        FolderWriter(final FSPath folder, final boolean overwrite, final SimpleFSLocationCellFactory cellFactory) {
+            m_folder = folder;
+            m_overwrite = overwrite;
+            m_cellFactory = cellFactory;
+        }
+
+        /** Copies the temporary file to the folder (via a temporary name, readers never see partial content). */
+        DataCell write(final Path tempFile, final String id, final String name)
+            throws IOException, InvalidSettingsException {
+            final String fileName = getUniqueName(id, name);
+            final var file = (FSPath)m_folder.resolve(fileName);
+            final var writtenBefore = m_writtenNames.put(fileName.toLowerCase(Locale.ROOT), id) != null;
+            CheckUtils.checkSetting(m_overwrite || writtenBefore || !Files.exists(file),
+                "File \"%s\" already exists (enable overwrite to replace it)", file);
+            final var partFile = file.resolveSibling(fileName + ".part");
+            try {
+                Files.copy(tempFile, partFile, StandardCopyOption.REPLACE_EXISTING);
+                Files.move(partFile, file, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(partFile);
+            }
+            return m_cellFactory.createCell(file.toFSLocation());
+        }
+
+        /**
+         * The sanitized name, with the ID appended if a different record was written with the same name. The same
+         * record (ID listed twice) is written to the same file again.
+         */
+        private String getUniqueName(final String id, final String name) {
+            final String sanitized = sanitize(name);
+            if (sanitized.isEmpty()) {
+                return id;
+            }
+            final var previousId = m_writtenNames.get(sanitized.toLowerCase(Locale.ROOT));
+            if (previousId == null || previousId.equals(id)) {
+                return sanitized;
+            }
+            final int dot = sanitized.lastIndexOf('.');
+            return dot > 0 ? (sanitized.substring(0, dot) + "_" + id + sanitized.substring(dot))
+                : (sanitized + "_" + id);
+        }
+
+        private static String sanitize(final String name) {
+            // trailing dots and spaces are dropped by Windows
+            return StringUtils.stripEnd(INVALID_FILE_NAME_CHARS.matcher(name).replaceAll("_").strip(), ". ");
+        }
+    }
+
+    SalesforceFileDownloadNodeModel(final WebUINodeConfiguration configuration) {
+        super(configuration, SalesforceFileDownloadNodeParameters.class);
+    }
+
+    @Override
+    protected PortObjectSpec[] configure(final PortObjectSpec[] inSpecs,
+        final SalesforceFileDownloadNodeParameters settings) throws InvalidSettingsException {
+        if (!(inSpecs[0] instanceof SalesforceConnectionPortObjectSpec)) {
+            throw new InvalidSettingsException(
+                "Incompatible input connection. Connect the Salesforce Connector output port.");
+        }
+        final var tableSpec = (DataTableSpec)inSpecs[SalesforceFileDownloadNodeParameters.TABLE_PORT];
+        findIdColumn(tableSpec, settings);
+        if (settings.m_outputMode == OutputMode.FOLDER) {
+            FSLocationUtil.checkSelected(settings.m_outputFolder, "output folder");
+        }
+        CheckUtils.checkSetting(settings.m_maxConcurrentDownloads >= 1,
+            "Maximum concurrent downloads must be at least 1: %d", settings.m_maxConcurrentDownloads);
+        return new PortObjectSpec[]{createOutputSpec(tableSpec, settings)};
+    }
+
+    private static int findIdColumn(final DataTableSpec tableSpec,
+        final SalesforceFileDownloadNodeParameters settings) throws InvalidSettingsException {
+        CheckUtils.checkSetting(StringUtils.isNotBlank(settings.m_idColumn), "No ID column selected");
+        final int index = tableSpec.findColumnIndex(settings.m_idColumn);
+        CheckUtils.checkSetting(index >= 0, "ID column \"%s\" does not exist in the input table",
+            settings.m_idColumn);
+        CheckUtils.checkSetting(tableSpec.getColumnSpec(index).getType().isCompatible(StringValue.class),
+            "ID column \"%s\" is not a string column", settings.m_idColumn);
+        return index;
+    }
+
+    private static DataTableSpec createOutputSpec(final DataTableSpec tableSpec,
+        final SalesforceFileDownloadNodeParameters settings) {
+        final var nameGen = new UniqueNameGenerator(tableSpec);
+        final DataColumnSpec contentColumn;
+        if (settings.m_outputMode == OutputMode.FOLDER) {
+            final FSLocationSpec location = settings.m_outputFolder.getFSLocation();
+            final var creator = nameGen.newCreator(PATH_COLUMN, SimpleFSLocationCellFactory.TYPE);
+            creator.addMetaData(new FSLocationValueMetaData(location.getFileSystemCategory(),
+                location.getFileSystemSpecifier().orElse(null)), true);
+            contentColumn = creator.createSpec();
+        } else {
+            contentColumn = nameGen.newColumn(CONTENT_COLUMN, BinaryObjectDataCell.TYPE);
+        }
+        return new DataTableSpec(tableSpec, new DataTableSpec(contentColumn, //
+            nameGen.newColumn(SIZE_COLUMN, LongCell.TYPE), //
+            nameGen.newColumn(CHECKSUM_COLUMN, StringCell.TYPE)));
+    }
+
+    @Override
+    protected PortObject[] execute(final PortObject[] inObjects, final ExecutionContext exec,
+        final SalesforceFileDownloadNodeParameters settings) throws Exception {
+        final var connectionSpec = (SalesforceConnectionPortObjectSpec)inObjects[0].getSpec();
+        final SalesforceAccessTokenCredential credential;
+        try {
+            credential = connectionSpec.resolveCredential(SalesforceAccessTokenCredential.class);
+        } catch (NoSuchCredentialException e) {
+            throw new InvalidSettingsException(e.getMessage(), e);
+        }
+        final var table = (BufferedDataTable)inObjects[SalesforceFileDownloadNodeParameters.TABLE_PORT];
+        if (settings.m_outputMode != OutputMode.FOLDER) {
+            return new PortObject[]{download(table, credential, connectionSpec.getTimeouts(), null, exec, settings)};
+        }
+        try (var resolved = FSLocationUtil.resolve(settings.m_outputFolder, "output folder")) {
+            final FSPath folder = resolved.getPath();
+            CheckUtils.checkSetting(!Files.exists(folder) || Files.isDirectory(folder),
+                "Output folder \"%s\" is not a directory", folder);
+            Files.createDirectories(folder);
+            final var cellFactory = new SimpleFSLocationCellFactory(FileStoreFactory.createFileStoreFactory(exec),
+                settings.m_outputFolder.getFSLocation());
+            final var writer = new FolderWriter(folder, settings.m_overwrite, cellFactory);
+            return new PortObject[]{download(table, credential, connectionSpec.getTimeouts(), writer, exec, settings)};
+        }
+    }
+
+    /** Downloads the files of all rows, writing them to the folder if the writer is not null. */
+    private static BufferedDataTable download(final BufferedDataTable table,
+        final SalesforceAccessTokenCredential credential, final Timeouts timeouts, final FolderWriter writer,
+        final ExecutionContext exec, final SalesforceFileDownloadNodeParameters settings) throws Exception {
+        final int idIndex = findIdColumn(table.getDataTableSpec(), settings);
+        final var bytesReceived = new AtomicLong();
+        final var downloader = new ResumableBlobDownload(credential, timeouts, bytesReceived);
+        final var container = exec.createDataContainer(createOutputSpec(table.getDataTableSpec(), settings));
+        final var cellFactory = new BinaryObjectCellFactory(exec);
+        final var objectType = settings.m_objectType;
+        final boolean useSalesforceName = writer != null && settings.m_fileNaming == FileNaming.SALESFORCE_NAME;
+        // a few more downloads than threads queued so that the threads don't idle while rows are committed
+        final int maxInFlight = 2 * settings.m_maxConcurrentDownloads;
+        final var pool = KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool(settings.m_maxConcurrentDownloads);
+        final Deque<PendingDownload> pending = new ArrayDeque<>();
+        final long rowCount = table.size();
+        long rowIndex = 0;
+        try (var it = table.iterator()) {
+            while (it.hasNext() || !pending.isEmpty()) {
+                if (it.hasNext() && pending.size() < maxInFlight) {
+                    exec.checkCanceled();
+                    final DataRow row = it.next();
+                    final var idCell = row.getCell(idIndex);
+                    if (idCell.isMissing()) {
+                        pending.add(new PendingDownload(row, null, null, null));
+                        continue;
+                    }
+                    final var id = ((StringValue)idCell).getStringValue().trim();
+                    if (!ID_PATTERN.matcher(id).matches()) {
+                        throw new InvalidSettingsException(
+                            String.format("Invalid ID \"%s\" in row \"%s\"", id, row.getKey()));
+                    }
+                    final Path tempFile = FileUtil.createTempFile("salesforce-download-", ".bin").toPath();
+                    final var path =
+                        SalesforceRESTUtil.getBlobPath(objectType.getObjectName(), id, objectType.getFieldName());
+                    final Future<Download> future = pool.enqueue(() -> {
+                        final var fileName =
+                            useSalesforceName ? readFileName(objectType, id, credential, timeouts, exec) : null;
+                        return new Download(downloadTo(downloader, path, tempFile, exec), fileName);
+                    });
+                    pending.add(new PendingDownload(row, id, future, tempFile));
+                    continue;
+                }
+                final var done = pending.poll();
+                container.addRowToTable(createOutputRow(done, writer, cellFactory, exec));
+                rowIndex++;
+                final long finalRowIndex = rowIndex;
+                exec.setProgress(rowIndex / (double)rowCount, () -> String.format("Downloaded %d/%d (%.1f MB)",
+                    finalRowIndex, rowCount, bytesReceived.get() / (1024.0 * 1024.0)));
+            }
+        } finally {
+            // only if failed or canceled
+            for (var p : pending) {
+                if (p.future() != null) {
+                    p.future().cancel(true);
+                    deleteQuietly(p.tempFile());
+                }
+            }
+        }
+        container.close();
+        return container.getTable();
+    }
+
+    private static void deleteQuietly(final Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ex) { // NOSONAR e.g. still written by a canceled download on Windows
+            file.toFile().deleteOnExit();
+        }
+    }
+
+    /** Runs on a pool thread, reads the name of the file from the record. Empty if the record has no name. */
+    private static String readFileName(final BlobObject objectType, final String id,
+        final SalesforceAccessTokenCredential credential, final Timeouts timeouts, final ExecutionContext exec)
+        throws SalesforceResponseException {
+        final var extensionField = objectType.getExtensionField();
+        final List<String> fields = Stream.of(objectType.getNameField(), extensionField) //
+            .filter(f -> f != null).toList();
+        final Map<String, String> values;
+        try (var scope = SalesforceRESTUtil.openAbortScope(exec::checkCanceled)) {
+            values = SalesforceRESTUtil.getRecordFields(objectType.getObjectName(), id, fields, credential, timeouts);
+        }
+        final var name = values.getOrDefault(objectType.getNameField(), "");
+        final var extension = extensionField != null ? values.get(extensionField) : null;
+        return StringUtils.isBlank(extension) ? name : (name + "." + extension);
+    }
+
+    /**
+     * Runs on a pool thread. Waiting for a response is aborted on node cancelation.
+     */
+    private static ResumableBlobDownload.Result downloadTo(final ResumableBlobDownload downloader, final String path,
+        final Path file, final ExecutionContext exec) throws SalesforceResponseException, InterruptedException {
+        try (var scope = SalesforceRESTUtil.openAbortScope(exec::checkCanceled)) {
+            return downloader.download(path, file);
+        }
+    }
+
+    private static DataRow createOutputRow(final PendingDownload download, final FolderWriter writer,
+        final BinaryObjectCellFactory cellFactory, final ExecutionContext exec) throws SalesforceResponseException,
+        CanceledExecutionException, InterruptedException, IOException, InvalidSettingsException {
+        final DataRow row = download.row();
+        if (download.future() == null) {
+            final var missing = DataType.getMissingCell();
+            return new AppendedColumnRow(row, missing, missing, missing);
+        }
+        final Download result;
+        final DataCell contentCell;
+        // the temporary file is deleted also if the download failed
+        try {
+            result = FutureUtil.waitFor(download.future(), exec,
+                String.format("Download for row \"%s\" failed", download.row().getKey()));
+            if (writer != null) {
+                final var name = result.fileName() != null ? result.fileName() : download.id();
+                contentCell = writer.write(download.tempFile(), download.id(), name);
+            } else {
+                try (InputStream in = Files.newInputStream(download.tempFile())) {
+                    contentCell = cellFactory.create(in);
+                }
+            }
+        } finally {
+            Files.deleteIfExists(download.tempFile());
+        }
+        return new AppendedColumnRow(row, contentCell, new LongCell(result.result().size()),
+            new StringCell(result.result().sha256()));
+    }
+}
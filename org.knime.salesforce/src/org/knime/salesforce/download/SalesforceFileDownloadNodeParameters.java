@@ -0,0 +1,243 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.salesforce.download;
+
+import java.util.List;
+
+import org.knime.core.data.DataColumnSpec;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.StringValue;
+import org.knime.core.webui.node.dialog.defaultdialog.internal.file.FileSelection;
+import org.knime.core.webui.node.dialog.defaultdialog.internal.file.FileSelectionWidget;
+import org.knime.core.webui.node.dialog.defaultdialog.internal.file.SingleFileSelectionMode;
+import org.knime.node.parameters.NodeParameters;
+import org.knime.node.parameters.NodeParametersInput;
+import org.knime.node.parameters.Widget;
+import org.knime.node.parameters.migration.LoadDefaultsForAbsentFields;
+import org.knime.node.parameters.updates.Effect;
+import org.knime.node.parameters.updates.Effect.EffectType;
+import org.knime.node.parameters.updates.EffectPredicate;
+import org.knime.node.parameters.updates.EffectPredicateProvider;
+import org.knime.node.parameters.updates.ParameterReference;
+import org.knime.node.parameters.updates.ValueReference;
+import org.knime.node.parameters.widget.choices.ChoicesProvider;
+import org.knime.node.parameters.widget.choices.ColumnChoicesProvider;
+import org.knime.node.parameters.widget.choices.Label;
+import org.knime.node.parameters.widget.choices.ValueSwitchWidget;
+import org.knime.node.parameters.widget.number.NumberInputWidget;
+import org.knime.node.parameters.widget.number.NumberInputWidgetValidation.MaxValidation;
+import org.knime.node.parameters.widget.number.NumberInputWidgetValidation.MinValidation;
+
+/**
+ * Node parameters for the Salesforce File Download node.
+ *
+ * @author agent
+ */
+@SuppressWarnings("restriction") // New Node UI is not yet API
+@LoadDefaultsForAbsentFields // for new instances of the node when dragged onto the workbench
+final class SalesforceFileDownloadNodeParameters implements NodeParameters {
+
+    /** Index of the table input port (port 0 is the Salesforce connection). */
+    static final int TABLE_PORT = 1;
+
+    /** Default number of parallel downloads. */
+    static final int DEFAULT_MAX_CONCURRENT_DOWNLOADS = 4;
+
+    /**
+     * The objects holding file content, with the name of their blob field and the fields making up the file name
+     * (base name and, if any, extension).
+     */
+    enum BlobObject {
+            @Label(value = "ContentVersion", description = "Salesforce Files, content in field <i>VersionData</i>")
+            CONTENT_VERSION("ContentVersion", "VersionData", "Title", "FileExtension"), //
+            @Label(value = "Attachment", description = "Attachments (legacy), content in field <i>Body</i>")
+            ATTACHMENT("Attachment", "Body", "Name", null), //
+            @Label(value = "Document", description = "Documents, content in field <i>Body</i>")
+            DOCUMENT("Document", "Body", "Name", "Type");
+
+        private final String m_objectName;
+
+        private final String m_fieldName;
+
+        private final String m_nameField;
+
+        private final String m_extensionField;
+
+        BlobObject(final String objectName, final String fieldName, final String nameField,
+            final String extensionField) {
+            m_objectName = objectName;
+            m_fieldName = fieldName;
+            m_nameField = nameField;
+            m_extensionField = extensionField;
+        }
+
+        String getObjectName() {
+            return m_objectName;
+        }
+
+        String getFieldName() {
+            return m_fieldName;
+        }
+
+        String getNameField() {
+            return m_nameField;
+        }
+
+        /** @return the field holding the file extension, null if it's part of the name */
+        String getExtensionField() {
+            return m_extensionField;
+        }
+    }
+
+    static final class OutputModeRef implements ParameterReference<OutputMode> {
+    }
+
+    enum OutputMode {
+            @Label("Binary cells")
+            BINARY_CELLS, //
+            @Label("Files in folder")
+            FOLDER;
+
+        static final class IsFolder implements EffectPredicateProvider {
+            @Override
+            public EffectPredicate init(final PredicateInitializer i) {
+                return i.getEnum(OutputModeRef.class).isOneOf(FOLDER);
+            }
+        }
+    }
+
+    enum FileNaming {
+            @Label("Record ID")
+            RECORD_ID, //
+            @Label("Salesforce file name")
+            SALESFORCE_NAME;
+    }
+
+    /** String columns of the input table. */
+    static final class IdColumnChoicesProvider implements ColumnChoicesProvider {
+        @Override
+        public List<DataColumnSpec> columnChoices(final NodeParametersInput context) {
+            return context.getInTableSpec(TABLE_PORT).stream() //
+                .flatMap(DataTableSpec::stream) //
+                .filter(c -> c.getType().isCompatible(StringValue.class)) //
+                .toList();
+        }
+    }
+
+    static final class MaxConcurrentDownloadsMinValidation extends MinValidation {
+        @Override
+        protected double getMin() {
+            return 1;
+        }
+    }
+
+    static final class MaxConcurrentDownloadsMaxValidation extends MaxValidation {
+        @Override
+        protected double getMax() {
+            return 25;
+        }
+    }
+
+    @Widget(title = "Object type", description = """
+            The type of the records whose content is downloaded. The IDs in the input table must refer to records of
+            this type.""")
+    @ValueSwitchWidget
+    BlobObject m_objectType = BlobObject.CONTENT_VERSION;
+
+    @Widget(title = "ID column", description = """
+            The column containing the record IDs, e.g. as retrieved with the Salesforce SOQL node. Rows with a
+            missing ID result in missing values in the output.""")
+    @ChoicesProvider(IdColumnChoicesProvider.class)
+    String m_idColumn = "";
+
+    @Widget(title = "Output", description = """
+            Where the content is stored:
+            <ul>
+              <li><b>Binary cells</b>: The content is appended as binary object column.</li>
+              <li><b>Files in folder</b>: Each file is written to a folder, the path is appended as column.</li>
+            </ul>""")
+    @ValueSwitchWidget
+    @ValueReference(OutputModeRef.class)
+    OutputMode m_outputMode = OutputMode.BINARY_CELLS;
+
+    @Widget(title = "Output folder", description = """
+            The folder to write the files to, e.g. a local folder or a folder relative to the workflow. It's created
+            if it doesn't exist.""")
+    @FileSelectionWidget(SingleFileSelectionMode.FOLDER)
+    @Effect(predicate = OutputMode.IsFolder.class, type = EffectType.SHOW)
+    FileSelection m_outputFolder = new FileSelection();
+
+    @Widget(title = "File names", description = """
+            How the files are named:
+            <ul>
+              <li><b>Record ID</b>: After the record ID, without extension.</li>
+              <li><b>Salesforce file name</b>: After the name of the file in Salesforce (<i>Title</i> and
+                  <i>FileExtension</i> of a ContentVersion, <i>Name</i> of an Attachment, <i>Name</i> and
+                  <i>Type</i> of a Document), read with an additional request per record. Characters not allowed
+                  in file names are replaced by "_"; if several records have the same name, the record ID is
+                  appended to the name.</li>
+            </ul>""")
+    @ValueSwitchWidget
+    @Effect(predicate = OutputMode.IsFolder.class, type = EffectType.SHOW)
+    FileNaming m_fileNaming = FileNaming.RECORD_ID;
+
+    @Widget(title = "Overwrite existing files", description = """
+            If selected, existing files in the output folder are replaced, otherwise the node fails if a file
+            already exists.""")
+    @Effect(predicate = OutputMode.IsFolder.class, type = EffectType.SHOW)
+    boolean m_overwrite = false; // NOSONAR (explicit assignment)
+
+    @Widget(title = "Maximum concurrent downloads", description = """
+            The number of files downloaded in parallel. Salesforce limits the number of concurrent long-running
+            requests per org, so keep this number low if other applications use the same org.""", advanced = true)
+    @NumberInputWidget(minValidation = MaxConcurrentDownloadsMinValidation.class,
+        maxValidation = MaxConcurrentDownloadsMaxValidation.class)
+    int m_maxConcurrentDownloads = DEFAULT_MAX_CONCURRENT_DOWNLOADS;
+
+}
@@ -0,0 +1,334 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.salesforce.rest;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.NodeLogger;
+import org.knime.core.util.JsonUtil;
+import org.knime.salesforce.auth.credential.SalesforceAccessTokenCredential;
+
+import com.google.common.cache.CacheBuilder;
+
+import jakarta.json.JsonArray;
+import jakarta.json.JsonException;
+import jakarta.json.JsonNumber;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonString;
+import jakarta.json.JsonValue;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.Response.Status.Family;
+
+/**
+ * Sends small GET requests (e.g. object describes) of concurrent threads together as
+ * <a href="https://developer.salesforce.com/docs/atlas.en-us.api_rest.meta/api_rest/resources_composite_batch.htm">
+ * Composite Batch</a> requests of up to {@value #MAX_SUBREQUESTS} sub-requests, so that a dialog fetching the fields
+ * of many objects pays the round trip latency once per batch rather than once per object.
+ *
+ * <p>
+ * Requests are never delayed: a request is sent right away if no other request of the same credential is in flight.
+ * Requests issued while one is in flight are queued and sent together once it's done, by the thread of the oldest
+ * queued request. A batch of a single request is sent as plain GET. If the thread sending a batch is canceled, the
+ * other requests in that batch are sent again by their own threads.
+ *
+ * @author agent
+ */
+final class CompositeBatchCoalescer {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(CompositeBatchCoalescer.class);
+
+    /** Maximum number of sub-requests of a Composite Batch request (as per Salesforce documentation). */
+    static final int MAX_SUBREQUESTS = 25;
+
+    /** Sub-request URLs are relative to that path, e.g. "v48.0/sobjects/Account/describe". */
+    private static final String DATA_PATH = "/services/data/";
+
+    /** Coalescer per credential, weak keys (compared by identity). */
+    private static final ConcurrentMap<SalesforceAccessTokenCredential, CompositeBatchCoalescer> COALESCERS =
+        CacheBuilder.newBuilder().weakKeys().<SalesforceAccessTokenCredential, CompositeBatchCoalescer> build()
+            .asMap();
+
+    /**
+     * The response to a single (sub-)request.
+     *
+     * @param status the HTTP status code
+     * @param body the response body, {@link JsonValue#NULL} if empty
+     */
+    record SubResponse(int status, JsonValue body) {
+
+        /**
+         * @return the body if the status indicates success
+         * @throws SalesforceResponseException otherwise, with the error message from the body
+         */
+        JsonValue getBodyOrFail() throws SalesforceResponseException {
+            if (Family.familyOf(status) == Family.SUCCESSFUL) {
+                return body;
+            }
+            // errors are reported as [{"message": "...", "errorCode": "..."}]
+            final String message = body instanceof JsonArray errors && !errors.isEmpty()
+                && errors.get(0) instanceof JsonObject error && error.get("message") instanceof JsonString s
+                    ? s.getString() : String.valueOf(body);
+            throw new SalesforceResponseException(String.format("Status: %d -- %s", status, message));
+        }
+    }
+
+    /** A queued request; 'turn' is completed when its thread is to send the queued requests. */
+    private static final class PendingRequest {
+
+        private final String m_path;
+
+        private final CompletableFuture<SubResponse> m_response = new CompletableFuture<>();
+
+        private final CompletableFuture<Void> m_turn = new CompletableFuture<>();
+
+        /** The thread that sent the request, set before the response is completed. */
+        private Thread m_sender;
+
+        PendingRequest(final String path) {
+            m_path = path;
+        }
+    }
+
+    private final SalesforceAccessTokenCredential m_credential;
+
+    /** Requests not sent yet, in order of arrival. Also the lock for {@link #m_isSending}. */
+    private final Deque<PendingRequest> m_queue = new ArrayDeque<>();
+
+    /** Whether some thread is sending (or about to send) requests; if false the queue is empty. */
+    private boolean m_isSending;
+
+    private CompositeBatchCoalescer(final SalesforceAccessTokenCredential credential) {
+        m_credential = credential;
+    }
+
+    /**
+     * @param credential the credential
+     * @return the coalescer of requests using that credential
+     */
+    static CompositeBatchCoalescer of(final SalesforceAccessTokenCredential credential) {
+        return COALESCERS.computeIfAbsent(credential, CompositeBatchCoalescer::new);
+    }
+
+    /**
+     * Performs a GET request, possibly as part of a batch with requests of other threads. The request can be aborted
+     * as described in {@link SalesforceRESTUtil#openAbortScope(SalesforceRESTUtil.AbortCheck)}.
+     *
+     * @param path the path, relative to the instance URL (starting with "/services/data/")
+     * @param timeouts connect/read timeouts (used for the batch if sent by this thread)
+     * @return the response, whose status is not checked
+     * @throws SalesforceResponseException if the request fails as a whole or is aborted
+     */
+    SubResponse get(final String path, final Timeouts timeouts) throws SalesforceResponseException {
+        final var request = new PendingRequest(path);
+        synchronized (m_queue) {
+            m_queue.addLast(request);
+            if (!m_isSending) {
+                m_isSending = true;
+                request.m_turn.complete(null);
+            }
+        }
+        final var abortCheck = SalesforceRESTUtil.currentAbortCheck();
+        try {
+            while (!request.m_response.isDone()) {
+                if (request.m_turn.isDone()) {
+                    sendQueued(timeouts); // includes this request as it's first in the queue
+                } else {
+                    awaitResponseOrTurn(request, abortCheck);
+                }
+            }
+        } finally {
+            if (!request.m_response.isDone()) { // aborted while queued
+                leave(request);
+            }
+        }
+        try {
+            return request.m_response.get();
+        } catch (ExecutionException ex) {
+            if (request.m_sender != Thread.currentThread()
+                && (ExceptionUtils.throwableOfType(ex, CanceledExecutionException.class) != null
+                    || ExceptionUtils.throwableOfType(ex, InterruptedException.class) != null)) {
+                // the request was aborted with the batch of another thread
+                return send(List.of(path), m_credential, timeouts).get(0);
+            }
+            final var sre = ExceptionUtils.throwableOfType(ex, SalesforceResponseException.class);
+            if (sre != null) {
+                throw sre;
+            }
+            throw new SalesforceResponseException(ex.getCause().getMessage(), ex.getCause());
+        } catch (InterruptedException ex) { // NOSONAR (not possible, the response is done)
+            Thread.currentThread().interrupt();
+            throw new SalesforceResponseException("Request interrupted", ex);
+        }
+    }
+
+    private static void awaitResponseOrTurn(final PendingRequest request, final SalesforceRESTUtil.AbortCheck check)
+        throws SalesforceResponseException {
+        try {
+            CompletableFuture.anyOf(request.m_response, request.m_turn)
+                .get(SalesforceRESTUtil.ABORT_CHECK_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) { // NOSONAR
+            SalesforceRESTUtil.checkAbort(check);
+        } catch (ExecutionException ex) { // NOSONAR the response failed, evaluated by the caller
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SalesforceResponseException("Request interrupted", ex);
+        }
+    }
+
+    /** Sends the first (up to {@value #MAX_SUBREQUESTS}) queued requests and passes the turn on. */
+    private void sendQueued(final Timeouts timeouts) {
+        final List<PendingRequest> batch = new ArrayList<>();
+        synchronized (m_queue) {
+            while (batch.size() < MAX_SUBREQUESTS && !m_queue.isEmpty()) {
+                batch.add(m_queue.pollFirst());
+            }
+        }
+        batch.forEach(r -> r.m_sender = Thread.currentThread());
+        try {
+            final var responses = send(batch.stream().map(r -> r.m_path).toList(), m_credential, timeouts);
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).m_response.complete(responses.get(i));
+            }
+        } catch (SalesforceResponseException | RuntimeException ex) { // NOSONAR handed to all waiting threads
+            batch.forEach(r -> r.m_response.completeExceptionally(ex));
+        } finally {
+            synchronized (m_queue) {
+                passTurn();
+            }
+        }
+    }
+
+    /** Removes a request whose thread was aborted while the request was queued. */
+    private void leave(final PendingRequest request) {
+        synchronized (m_queue) {
+            if (m_queue.remove(request) && request.m_turn.isDone()) {
+                passTurn();
+            }
+        }
+    }
+
+    /** Called with the lock held. */
+    private void passTurn() {
+        final var next = m_queue.peekFirst();
+        if (next == null) {
+            m_isSending = false;
+        } else {
+            next.m_turn.complete(null);
+        }
+    }
+
+    /**
+     * Sends GET requests as one Composite Batch request, or as plain GET request if it's a single one.
+     *
+     * @param paths the paths, relative to the instance URL (starting with "/services/data/"), at most
+     *            {@value #MAX_SUBREQUESTS}
+     * @param credential ...
+     * @param timeouts connect/read timeouts
+     * @return the responses in the order of the paths
+     * @throws SalesforceResponseException if the (batch) request fails as a whole
+     */
+    static List<SubResponse> send(final List<String> paths, final SalesforceAccessTokenCredential credential,
+        final Timeouts timeouts) throws SalesforceResponseException {
+        if (paths.size() == 1) {
+            final var uri = SalesforceRESTUtil.buildUri(credential, paths.get(0));
+            return List.of(SalesforceRESTUtil.doGet(uri, credential, true,
+                response -> new SubResponse(response.getStatus(), readBody(response)), timeouts));
+        }
+        final var provider = JsonUtil.getProvider();
+        final var batchRequests = provider.createArrayBuilder();
+        for (String path : paths) {
+            batchRequests.add(provider.createObjectBuilder() //
+                .add("method", "GET") //
+                .add("url", StringUtils.removeStart(path, DATA_PATH)));
+        }
+        final var body = provider.createObjectBuilder().add("batchRequests", batchRequests).build().toString();
+        final var uri = SalesforceRESTUtil.buildUri(credential, SalesforceRESTUtil.COMPOSITE_BATCH_PATH);
+        final long start = System.nanoTime();
+        final List<SubResponse> responses = SalesforceRESTUtil.doPostJson(uri, credential, body, response -> {
+            final var batchResponse = new SubResponse(response.getStatus(), readBody(response)).getBodyOrFail();
+            if (!(batchResponse instanceof JsonObject batchObject)
+                || !(batchObject.get("results") instanceof JsonArray results) || results.size() != paths.size()) {
+                throw new SalesforceResponseException("Invalid response to Composite Batch request");
+            }
+            final List<SubResponse> result = new ArrayList<>();
+            for (JsonValue subResult : results) {
+                final var subObject = subResult.asJsonObject();
+                final int status = subObject.get("statusCode") instanceof JsonNumber n ? n.intValue() : 0;
+                result.add(new SubResponse(status, subObject.getOrDefault("result", JsonValue.NULL)));
+            }
+            return result;
+        }, timeouts);
+        LOGGER.debugWithFormat("Sent %d requests as Composite Batch (%d ms)", paths.size(),
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return responses;
+    }
+
+    private static JsonValue readBody(final Response response) {
+        final var body = response.readEntity(String.class);
+        if (StringUtils.isBlank(body)) {
+            return JsonValue.NULL;
+        }
+        try {
+            return SalesforceRESTUtil.readAsJsonStructure(body);
+        } catch (JsonException ex) { // NOSONAR e.g. HTML error pages
+            return JsonUtil.getProvider().createValue(StringUtils.abbreviate(body, 256));
+        }
+    }
+}
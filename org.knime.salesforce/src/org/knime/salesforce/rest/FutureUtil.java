@@ -0,0 +1,184 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.salesforce.rest;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.util.ThreadPool;
+
+/**
+ * Waits for tasks submitted to a thread pool while honoring the cancelation of the node.
+ *
+ * The waiting thread is made {@linkplain ThreadPool#runInvisible(java.util.concurrent.Callable) invisible} to the
+ * global thread pool, so that tasks of sub pools can be executed while a (node execution) thread of the pool blocks on
+ * them; otherwise waiting on sub pool tasks can dead lock when all threads of the pool are busy waiting.
+ *
+ * @author agent
+ */
+public final class FutureUtil {
+
+    private FutureUtil() {
+    }
+
+    /**
+     * Waits for the task to finish, checking for cancelation in between. A {@link CanceledExecutionException} or
+     * {@link SalesforceResponseException} raised by the task is rethrown as is, as are runtime exceptions. Any other
+     * failure is wrapped in a {@link SalesforceResponseException}.
+     *
+     * @param <T> the result type
+     * @param future the task
+     * @param exec for cancelation checks
+     * @return the result of the task
+     * @throws SalesforceResponseException if the task failed
+     * @throws CanceledExecutionException if canceled (the task itself is not canceled)
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public static <T> T waitFor(final Future<T> future, final ExecutionMonitor exec)
+        throws SalesforceResponseException, CanceledExecutionException, InterruptedException {
+        return waitFor(future, exec, null);
+    }
+
+    /**
+     * Waits for the task to finish, checking for cancelation in between. A {@link CanceledExecutionException} raised
+     * by the task is rethrown as is, any other failure (including a {@link SalesforceResponseException}) is reported
+     * as {@link SalesforceResponseException} with the given message prefix.
+     *
+     * @param <T> the result type
+     * @param future the task
+     * @param exec for cancelation checks
+     * @param failureMessage prefixed to the message of the failure, e.g. "Download failed"; if null, the failure is
+     *            reported as described in {@link #waitFor(Future, ExecutionMonitor)}
+     * @return the result of the task
+     * @throws SalesforceResponseException if the task failed
+     * @throws CanceledExecutionException if canceled (the task itself is not canceled)
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public static <T> T waitFor(final Future<T> future, final ExecutionMonitor exec, final String failureMessage)
+        throws SalesforceResponseException, CanceledExecutionException, InterruptedException {
+        return runInvisible(() -> poll(future, exec, failureMessage));
+    }
+
+    /**
+     * Runs the code in the current thread, invisibly to the global thread pool. Used for code that blocks on the
+     * results of sub pool tasks other than via {@link #waitFor(Future, ExecutionMonitor)}, e.g. on a queue filled by
+     * such tasks.
+     *
+     * @param <T> the result type
+     * @param callable the code to run
+     * @return the result of the code
+     * @throws SalesforceResponseException if the code failed with a {@link SalesforceResponseException} or a checked
+     *             exception other than the ones below (runtime exceptions are rethrown as is)
+     * @throws CanceledExecutionException if the code was canceled
+     * @throws InterruptedException if interrupted
+     */
+    public static <T> T runInvisible(final Callable<T> callable)
+        throws SalesforceResponseException, CanceledExecutionException, InterruptedException {
+        try {
+            return KNIMEConstants.GLOBAL_THREAD_POOL.runInvisible(callable);
+        } catch (ExecutionException ex) {
+            // exceptions thrown by the callable, wrapped by runInvisible
+            final var cause = ex.getCause();
+            if (cause instanceof SalesforceResponseException sre) {
+                throw sre;
+            } else if (cause instanceof CanceledExecutionException cee) {
+                throw cee;
+            } else if (cause instanceof InterruptedException ie) {
+                throw ie;
+            } else if (cause instanceof RuntimeException re) {
+                throw re;
+            } else if (cause instanceof Error err) {
+                throw err;
+            }
+            throw new SalesforceResponseException(cause.getMessage(), cause);
+        }
+    }
+
+    private static <T> T poll(final Future<T> future, final ExecutionMonitor exec, final String failureMessage)
+        throws SalesforceResponseException, CanceledExecutionException, InterruptedException {
+        while (true) {
+            try {
+                return future.get(SalesforceRESTUtil.ABORT_CHECK_INTERVAL_MS, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException ex) { // NOSONAR
+                exec.checkCanceled();
+            } catch (ExecutionException ex) {
+                throw toException(ex, failureMessage);
+            }
+        }
+    }
+
+    private static SalesforceResponseException toException(final ExecutionException ex, final String failureMessage)
+        throws CanceledExecutionException {
+        final var canceled = ExceptionUtils.throwableOfType(ex, CanceledExecutionException.class);
+        if (canceled != null) {
+            throw canceled;
+        }
+        final var cause = ex.getCause();
+        if (failureMessage == null) {
+            final var sre = ExceptionUtils.throwableOfType(ex, SalesforceResponseException.class);
+            if (sre != null) {
+                return sre;
+            }
+            if (cause instanceof RuntimeException re) {
+                throw re;
+            }
+        }
+        final var message = StringUtils.defaultIfBlank(cause.getMessage(), cause.getClass().getSimpleName());
+        return new SalesforceResponseException(
+            failureMessage == null ? message : String.format("%s: %s", failureMessage, message), cause);
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.salesforce.rest;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.knime.core.node.util.CheckUtils;
+
+/**
+ * A number of API requests to be shared by several queries (e.g. of a node extracting many objects), so that a job
+ * doesn't use up more of the daily API request allocation of the org than intended. Unlike the
+ * {@link RequestLimiter}, which limits the number of requests at the same time, this limits their total number.
+ * Thread-safe.
+ *
+ * @author agent
+ */
+public final class RequestBudget {
+
+    private final long m_maxRequests;
+
+    private final AtomicLong m_usedRequests = new AtomicLong();
+
+    /**
+     * @param maxRequests the maximum number of requests, must be positive
+     */
+    public RequestBudget(final long maxRequests) {
+        CheckUtils.checkArgument(maxRequests > 0, "Request budget must be positive: %d", maxRequests);
+        m_maxRequests = maxRequests;
+    }
+
+    /**
+     * Takes the given number of requests from the budget if (all of) them are available.
+     *
+     * @param count the number of requests about to be sent
+     * @return whether the requests may be sent, if false nothing was taken from the budget
+     */
+    public boolean tryAcquire(final long count) {
+        final long used = m_usedRequests.getAndUpdate(u -> u + count <= m_maxRequests ? u + count : u);
+        return used + count <= m_maxRequests;
+    }
+
+    /**
+     * Takes a single request from the budget, see {@link #tryAcquire(long)}.
+     *
+     * @throws SalesforceResponseException if the budget is used up
+     */
+    public void acquire() throws SalesforceResponseException {
+        if (!tryAcquire(1)) {
+            throw new SalesforceResponseException(
+                String.format("API request budget of %d requests used up", m_maxRequests));
+        }
+    }
+
+    /**
+     * @return the number of requests taken from the budget so far
+     */
+    public long getUsedRequests() {
+        return m_usedRequests.get();
+    }
+
+    /**
+     * @return whether no request is left
+     */
+    public boolean isUsedUp() {
+        return m_usedRequests.get() >= m_maxRequests;
+    }
+
+    /**
+     * @return the maximum number of requests
+     */
+    public long getMaxRequests() {
+        return m_maxRequests;
+    }
+}
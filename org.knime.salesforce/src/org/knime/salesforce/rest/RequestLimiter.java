@@ -0,0 +1,303 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.salesforce.rest;
+
+import java.net.URI;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang3.function.FailableSupplier;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.NodeLogger;
+import org.knime.salesforce.rest.SalesforceRESTUtil.AbortCheck;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Limits the number of concurrent queries per Salesforce instance across the whole JVM. Salesforce rejects requests
+ * with <code>REQUEST_LIMIT_EXCEEDED</code> once an org has more than 25 long-running requests in flight; several
+ * workflows (or parallel node executions) querying the same org could easily exceed that. Only query requests (the
+ * first and all subsequent pages) are limited as only those run long; describes, blob downloads and other short
+ * requests are not. Queries wait for a permit instead (fair, i.e. in order of arrival) and only fail if they don't get
+ * one within the timeout.
+ *
+ * <p>
+ * The limit is configured in the Salesforce Connector node (see {@link Timeouts#maxConcurrentQueries()}), the one of
+ * the most recent request applies if connections to the same instance use different limits. The default limit and
+ * the timeout can be changed via system properties: <code>knime.salesforce.maxConcurrentRequests</code> (default 20
+ * to leave room for other clients of the org) and <code>knime.salesforce.requestPermitTimeoutSeconds</code> (default
+ * 600).
+ *
+ * @author agent
+ */
+public final class RequestLimiter {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(RequestLimiter.class);
+
+    /** The limit used if none is configured in the connector. */
+    static final int DEFAULT_MAX_CONCURRENT_QUERIES =
+        Math.max(1, Integer.getInteger("knime.salesforce.maxConcurrentRequests", 20));
+
+    private static final long PERMIT_TIMEOUT_S =
+        Math.max(1L, Long.getLong("knime.salesforce.requestPermitTimeoutSeconds", 600L));
+
+    /** Waits shorter than that are not logged. */
+    private static final long LOG_WAIT_THRESHOLD_NS = TimeUnit.SECONDS.toNanos(1);
+
+    /** Paths of the query resources, incl. the 'nextRecordsUrl' of subsequent pages. */
+    private static final Pattern QUERY_PATH_PATTERN = Pattern.compile("/services/data/v[^/]+/query(All)?(/.*)?");
+
+    /** Semaphores per instance ("scheme://host:port"). */
+    private static final ConcurrentMap<String, LimitSemaphore> PERMITS = new ConcurrentHashMap<>();
+
+    /** Set while a {@link #recordWaitTime(LongAdder, FailableSupplier) recording} call is active on the thread. */
+    private static final ThreadLocal<LongAdder> WAIT_TIME_RECORDER = new ThreadLocal<>();
+
+    /** Calls the abort checks of waiting threads, which are interrupted if their check fails. */
+    private static final ScheduledExecutorService ABORT_CHECKER = Executors.newSingleThreadScheduledExecutor(
+        new ThreadFactoryBuilder().setDaemon(true).setNameFormat("KNIME-Salesforce-Request-Abort-Check-%d").build());
+
+    /** A permit, to be closed when the request (incl. reading the response) is done. */
+    static final class Permit implements AutoCloseable {
+
+        /** Permit of requests that are not limited. */
+        static final Permit NONE = new Permit(null);
+
+        private final Semaphore m_semaphore;
+
+        private boolean m_isReleased;
+
+        private Permit(final Semaphore semaphore) {
+            m_semaphore = semaphore;
+        }
+
+        @Override
+        public void close() {
+            if (m_semaphore != null && !m_isReleased) {
+                m_isReleased = true;
+                m_semaphore.release();
+            }
+        }
+    }
+
+    /** A fair semaphore whose number of permits follows the configured limit. */
+    @SuppressWarnings("serial")
+    private static final class LimitSemaphore extends Semaphore {
+
+        private int m_limit;
+
+        LimitSemaphore(final int limit) {
+            super(limit, true);
+            m_limit = limit;
+        }
+
+        /** Changes the limit, permits currently held are released as usual. */
+        synchronized void setLimit(final int limit) {
+            if (limit > m_limit) {
+                release(limit - m_limit);
+            } else if (limit < m_limit) {
+                reducePermits(m_limit - limit);
+            }
+            m_limit = limit;
+        }
+
+        synchronized int getLimit() {
+            return m_limit;
+        }
+    }
+
+    /**
+     * Run periodically by the {@link #ABORT_CHECKER} while a thread waits for a permit. The waiting thread is
+     * interrupted when its check fails, so it waits in a single (interruptible) call and keeps its position in the
+     * fair queue of the semaphore.
+     */
+    private static final class Waiter implements Runnable {
+
+        private final Thread m_thread = Thread.currentThread();
+
+        private final AbortCheck m_abortCheck;
+
+        private boolean m_isWaiting = true;
+
+        private boolean m_isAborted;
+
+        Waiter(final AbortCheck abortCheck) {
+            m_abortCheck = abortCheck;
+        }
+
+        @Override
+        public synchronized void run() {
+            if (m_isWaiting && !m_isAborted) {
+                try {
+                    m_abortCheck.check();
+                } catch (CanceledExecutionException | SalesforceResponseException ex) { // NOSONAR rethrown by waiter
+                    m_isAborted = true;
+                    m_thread.interrupt();
+                }
+            }
+        }
+
+        /**
+         * Called by the waiting thread when done waiting. No interrupt is sent after this method returns.
+         *
+         * @return whether the thread was interrupted because the check failed
+         */
+        synchronized boolean stopWaiting() {
+            m_isWaiting = false;
+            return m_isAborted;
+        }
+    }
+
+    private RequestLimiter() {
+    }
+
+    /**
+     * Acquires a permit for a request to the given URI, waiting if it's a query and the instance is at its limit.
+     *
+     * @param uri the request URI (scheme, host and port identify the instance, the path whether it's a query)
+     * @param maxConcurrentQueries the limit as configured in the connector, 0 or less for the default
+     * @param abortCheck called periodically while waiting, may be null
+     * @return the permit, to be closed after the request
+     * @throws SalesforceResponseException if no permit could be acquired in time, the abort check throws or the thread
+     *             is interrupted
+     */
+    static Permit acquire(final URI uri, final int maxConcurrentQueries, final AbortCheck abortCheck)
+        throws SalesforceResponseException {
+        if (uri.getPath() == null || !QUERY_PATH_PATTERN.matcher(uri.getPath()).matches()) {
+            return Permit.NONE;
+        }
+        final var instance = (uri.getScheme() + "://" + uri.getAuthority()).toLowerCase(Locale.ROOT);
+        final int limit = maxConcurrentQueries > 0 ? maxConcurrentQueries : DEFAULT_MAX_CONCURRENT_QUERIES;
+        final var semaphore = PERMITS.computeIfAbsent(instance, k -> new LimitSemaphore(limit));
+        if (semaphore.getLimit() != limit) {
+            semaphore.setLimit(limit);
+        }
+        if (semaphore.tryAcquire()) { // fast path (barging is fine if a permit is available)
+            return new Permit(semaphore);
+        }
+        final long start = System.nanoTime();
+        final var waiter = abortCheck != null ? new Waiter(abortCheck) : null;
+        final ScheduledFuture<?> checks = waiter != null ? ABORT_CHECKER.scheduleWithFixedDelay(waiter,
+            SalesforceRESTUtil.ABORT_CHECK_INTERVAL_MS, SalesforceRESTUtil.ABORT_CHECK_INTERVAL_MS,
+            TimeUnit.MILLISECONDS) : null;
+        var isAcquired = false;
+        InterruptedException interrupted = null;
+        try {
+            isAcquired = semaphore.tryAcquire(PERMIT_TIMEOUT_S, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            interrupted = ex;
+        } finally {
+            if (checks != null) {
+                checks.cancel(false);
+            }
+        }
+        if (waiter != null && waiter.stopWaiting()) {
+            Thread.interrupted(); // NOSONAR clears the interrupt of the abort check, if not consumed by the wait
+            if (isAcquired) {
+                semaphore.release();
+            }
+            SalesforceRESTUtil.checkAbort(abortCheck); // throws as the check failed before (cancelation is final)
+            throw new SalesforceResponseException("Aborted while waiting for a free request slot");
+        }
+        if (interrupted != null) {
+            Thread.currentThread().interrupt();
+            throw new SalesforceResponseException("Interrupted while waiting for a free request slot", interrupted);
+        }
+        if (!isAcquired) {
+            throw new SalesforceResponseException(String.format("Timed out after %ds waiting for a free request "
+                + "slot for %s (limit is %d concurrent queries per instance, see \"Maximum concurrent queries\" in "
+                + "the Salesforce Connector node)", PERMIT_TIMEOUT_S, instance, limit));
+        }
+        return onAcquired(semaphore, instance, System.nanoTime() - start);
+    }
+
+    private static Permit onAcquired(final Semaphore semaphore, final String instance, final long waited) {
+        final var recorder = WAIT_TIME_RECORDER.get();
+        if (recorder != null) {
+            recorder.add(waited);
+        }
+        if (waited >= LOG_WAIT_THRESHOLD_NS) {
+            LOGGER.debugWithFormat("Waited %d ms for a free request slot for %s (%d requests queued)",
+                TimeUnit.NANOSECONDS.toMillis(waited), instance, semaphore.getQueueLength());
+        }
+        return new Permit(semaphore);
+    }
+
+    /**
+     * Runs the call and adds the time the current thread spends waiting for request permits to the given adder.
+     *
+     * @param <R> the result type
+     * @param waitTimeNanos accumulates the wait time (in nanoseconds)
+     * @param call the call, typically a request via {@link SalesforceRESTUtil}
+     * @return the result of the call
+     * @throws SalesforceResponseException as thrown by the call
+     */
+    public static <R> R recordWaitTime(final LongAdder waitTimeNanos,
+        final FailableSupplier<R, SalesforceResponseException> call) throws SalesforceResponseException {
+        final var previous = WAIT_TIME_RECORDER.get();
+        WAIT_TIME_RECORDER.set(waitTimeNanos);
+        try {
+            return call.get();
+        } finally {
+            if (previous != null) {
+                WAIT_TIME_RECORDER.set(previous);
+            } else {
+                WAIT_TIME_RECORDER.remove();
+            }
+        }
+    }
+}
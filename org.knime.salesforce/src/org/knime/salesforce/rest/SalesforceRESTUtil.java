@@ -49,22 +49,39 @@
 package org.knime.salesforce.rest;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.StringReader;
 import java.net.URI;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.function.FailableBiFunction;
 import org.apache.commons.lang3.function.FailableFunction;
 import org.apache.cxf.jaxrs.client.WebClient;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
+import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.NodeLogger;
+import org.knime.core.node.util.CheckUtils;
 import org.knime.core.util.JsonUtil;
 import org.knime.core.util.ThreadLocalHTTPAuthenticator;
 import org.knime.core.util.ThreadLocalHTTPAuthenticator.AuthenticationCloseable;
 import org.knime.salesforce.auth.credential.SalesforceAccessTokenCredential;
+import org.knime.salesforce.auth.credential.SalesforceAccessTokenCredential.GenerationalAccessToken;
 import org.knime.salesforce.rest.gsonbindings.ErrorResponse;
 import org.knime.salesforce.rest.gsonbindings.fields.Field;
 import org.knime.salesforce.rest.gsonbindings.fields.SObjectDescription;
@@ -74,11 +91,16 @@
 import com.google.gson.Gson;
 import com.google.gson.JsonSyntaxException;
 
+import jakarta.json.JsonArray;
+import jakarta.json.JsonObject;
 import jakarta.json.JsonPointer;
 import jakarta.json.JsonString;
 import jakarta.json.JsonStructure;
 import jakarta.json.JsonValue;
 import jakarta.ws.rs.ProcessingException;
+import jakarta.ws.rs.client.Entity;
+import jakarta.ws.rs.client.InvocationCallback;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.Response.Status;
@@ -103,21 +125,239 @@ public final class SalesforceRESTUtil {
     // get latest version by browsing, e.g. https://knime.my.salesforce.com/services/data/
     private static final String PREFIX_PATH = "/services/data/v48.0/"; // NOSONAR
 
+    /** Composite Batch path, see {@link CompositeBatchCoalescer}. */
+    static final String COMPOSITE_BATCH_PATH = PREFIX_PATH + "composite/batch";
+
     /** SOQL path. */
     public static final String QUERY_PATH = PREFIX_PATH + "query/";
 
     /** QueryAll path to include archived and deleted records. */
     public static final String QUERY_ALL_PATH = PREFIX_PATH + "queryAll/";
 
+    /**
+     * Maximum length of a single query. The query is sent URL encoded as part of the request URI, which Salesforce
+     * limits to 16,384 characters; encoding quotes, commas and spaces roughly doubles the length of a value list.
+     */
+    public static final int MAX_QUERY_LENGTH = 8000;
+
     /** SObjects path (object and field description). */
     private static final String SOBJECTS_PATH = PREFIX_PATH + "sobjects/";
 
     /** Field description path. */
     private static final String SOBJECT_FIELDS_PATH = SOBJECTS_PATH + "{sobjectname}/describe";
 
+    /** Blob field path, e.g. the "VersionData" of a ContentVersion or the "Body" of an Attachment. */
+    private static final String SOBJECT_BLOB_PATH = SOBJECTS_PATH + "{sobjectname}/{id}/{fieldname}";
+
+    /** Single record path (selected fields of a record). */
+    private static final String SOBJECT_RECORD_PATH = SOBJECTS_PATH + "{sobjectname}/{id}";
+
+    /** Approximate record counts of objects. */
+    private static final String RECORD_COUNT_PATH = PREFIX_PATH + "limits/recordCount";
+
+    /** Path of the OpenID Connect user info of the authenticated user. */
+    private static final String USER_INFO_PATH = "/services/oauth2/userinfo";
+
+    /**
+     * Request header to control query options, e.g. the batch size ("batchSize=2000"). See
+     * https://developer.salesforce.com/docs/atlas.en-us.api_rest.meta/api_rest/headers_queryoptions.htm
+     */
+    public static final String QUERY_OPTIONS_HEADER = "Sforce-Query-Options";
+
+    /** Interval in which requests in an {@link AbortScope} call their {@link AbortCheck}. */
+    static final long ABORT_CHECK_INTERVAL_MS = 200L;
+
+    /** Set while an {@link AbortScope} is open on the thread. */
+    private static final ThreadLocal<AbortCheck> ABORT_CHECK = new ThreadLocal<>();
+
+    /**
+     * Decides whether in-flight requests are to be aborted, e.g. because the node execution was canceled. Called
+     * before and periodically during each request made in an {@link AbortScope}.
+     */
+    @FunctionalInterface
+    public interface AbortCheck {
+
+        /**
+         * @throws CanceledExecutionException to abort the request due to cancelation
+         * @throws SalesforceResponseException to abort the request for other reasons, e.g. an exceeded time limit
+         */
+        void check() throws CanceledExecutionException, SalesforceResponseException;
+    }
+
+    /** Scope in which requests of the current thread can be aborted, see {@link #openAbortScope(AbortCheck)}. */
+    public static final class AbortScope implements AutoCloseable {
+
+        private final AbortCheck m_previous;
+
+        private AbortScope(final AbortCheck previous) {
+            m_previous = previous;
+        }
+
+        @Override
+        public void close() {
+            if (m_previous != null) {
+                ABORT_CHECK.set(m_previous);
+            } else {
+                ABORT_CHECK.remove();
+            }
+        }
+    }
+
+    /**
+     * The client and the request permit of a single request. Both are released when the request is done or, if the
+     * request was abandoned while in flight, only once the exchange completed in the background, so that abandoned
+     * requests still count against the {@linkplain RequestLimiter request limit}.
+     */
+    private static final class Exchange implements AutoCloseable {
+
+        private final WebClient m_client;
+
+        private final AtomicBoolean m_isAbandoned = new AtomicBoolean();
+
+        private final AtomicBoolean m_isReleased = new AtomicBoolean();
+
+        private RequestLimiter.Permit m_permit;
+
+        private Exchange(final WebClient client) {
+            m_client = client;
+        }
+
+        WebClient client() {
+            return m_client;
+        }
+
+        void setPermit(final RequestLimiter.Permit permit) {
+            m_permit = permit;
+        }
+
+        /** Called by the requesting thread, the exchange is then released by {@link #release()} once completed. */
+        void abandon() {
+            m_isAbandoned.set(true);
+        }
+
+        void release() {
+            if (m_isReleased.compareAndSet(false, true)) {
+                try {
+                    if (m_permit != null) {
+                        m_permit.close();
+                    }
+                } finally {
+                    m_client.close();
+                }
+            }
+        }
+
+        /** Releases the exchange unless it was abandoned. */
+        @Override
+        public void close() {
+            if (!m_isAbandoned.get()) {
+                release();
+            }
+        }
+    }
+
+    /**
+     * Receives the response of an asynchronously sent request. If the request was abandoned before, a late response
+     * is closed and the {@link Exchange} is released.
+     */
+    private static final class ResponseCallback implements InvocationCallback<Response> {
+
+        private final CompletableFuture<Response> m_response = new CompletableFuture<>();
+
+        private final Exchange m_exchange;
+
+        private ResponseCallback(final Exchange exchange) {
+            m_exchange = exchange;
+        }
+
+        @Override
+        public void completed(final Response response) {
+            if (!m_response.complete(response)) { // abandoned
+                response.close();
+                m_exchange.release();
+            }
+        }
+
+        @Override
+        public void failed(final Throwable throwable) {
+            if (!m_response.completeExceptionally(throwable)) { // abandoned
+                m_exchange.release();
+            }
+        }
+
+        Response get(final long timeout, final TimeUnit unit)
+            throws InterruptedException, ExecutionException, TimeoutException {
+            return m_response.get(timeout, unit);
+        }
+
+        /**
+         * Abandons the request unless it completed already. The exchange is then released by the callback once the
+         * request completes in the background (the CXF exchange itself can't be aborted).
+         */
+        void abandon() {
+            if (m_response.cancel(false)) {
+                m_exchange.abandon();
+            } else {
+                m_response.thenAccept(Response::close); // completed concurrently, the response is not consumed
+            }
+        }
+    }
+
+    /**
+     * The result of a GET request sent with an "If-Modified-Since" header.
+     *
+     * @param <T> the type of the response body
+     * @param value the response body, empty if the resource was not modified
+     * @param date the "Date" header of the response (in RFC 1123 format), to be sent as "If-Modified-Since" header
+     *            of the next request
+     */
+    public record ConditionalResponse<T>(Optional<T> value, String date) {
+    }
+
     private SalesforceRESTUtil() {
     }
 
+    /**
+     * Makes the requests of the current thread abortable until the returned scope is closed. Requests are then sent
+     * asynchronously and the thread waits for the response while periodically calling the check (also while waiting
+     * for a {@linkplain RequestLimiter request slot}). A request is aborted if the check throws or if the thread is
+     * interrupted (e.g. when a dialog is closed or a Swing worker is canceled); it then fails with a
+     * {@link SalesforceResponseException} whose cause is the {@link CanceledExecutionException} or
+     * {@link InterruptedException}, respectively.
+     *
+     * @param check the check
+     * @return the scope, to be closed by the caller
+     */
+    public static AbortScope openAbortScope(final AbortCheck check) {
+        final var previous = ABORT_CHECK.get();
+        ABORT_CHECK.set(CheckUtils.checkArgumentNotNull(check));
+        return new AbortScope(previous);
+    }
+
+    /**
+     * @return the check of the {@link AbortScope} open on the current thread, null if none
+     */
+    static AbortCheck currentAbortCheck() {
+        return ABORT_CHECK.get();
+    }
+
+    /**
+     * Calls the check, converting a {@link CanceledExecutionException} into a {@link SalesforceResponseException}.
+     *
+     * @param check the check or null
+     * @throws SalesforceResponseException if the check throws
+     */
+    static void checkAbort(final AbortCheck check) throws SalesforceResponseException {
+        if (check == null) {
+            return;
+        }
+        try {
+            check.check();
+        } catch (CanceledExecutionException ex) {
+            throw new SalesforceResponseException("Request canceled", ex);
+        }
+    }
+
     /**
      * Simple String to JSON conversion.
      *
@@ -131,7 +371,7 @@ public static JsonStructure readAsJsonStructure(final String body) {
         }
     }
 
-    private static URI buildUri(final SalesforceAccessTokenCredential credential, final String path,
+    static URI buildUri(final SalesforceAccessTokenCredential credential, final String path,
         final Object... values) {
 
         return UriBuilder.fromUri(credential.getSalesforceInstanceUrl())//
@@ -157,25 +397,244 @@ public static <R> R doGet(final URI uri, final SalesforceAccessTokenCredential c
         final boolean refreshTokenIff,
         final FailableFunction<Response, R, SalesforceResponseException> callback, //
         final Timeouts timeouts) throws SalesforceResponseException {
+        return doGet(uri, credential, refreshTokenIff, Map.of(), callback, timeouts);
+    }
 
-        final WebClient client = getClient(uri, credential, timeouts);
-        client.accept(MediaType.APPLICATION_JSON);
-        client.acceptEncoding("deflate");
+    /**
+     * Perform a GET request with additional request headers.
+     *
+     * @param <R> result type
+     *
+     * @param uri
+     * @param credential The Salesforce credential to use.
+     * @param refreshTokenIff if true and the auth object contains refresh token, it will attempt to refresh the access
+     *            token (and also save it in auth).
+     * @param headers additional request headers (e.g. {@link #QUERY_OPTIONS_HEADER}), not null.
+     * @param callback response transformer callback
+     * @param timeouts connect/read timeouts
+     * @return the response
+     * @throws SalesforceResponseException
+     */
+    public static <R> R doGet(final URI uri, final SalesforceAccessTokenCredential credential, //
+        final boolean refreshTokenIff, final Map<String, String> headers,
+        final FailableFunction<Response, R, SalesforceResponseException> callback, //
+        final Timeouts timeouts) throws SalesforceResponseException {
+        return doGet(uri, credential, refreshTokenIff, MediaType.APPLICATION_JSON, headers, callback, timeouts);
+    }
 
-        try (final AuthenticationCloseable c = ThreadLocalHTTPAuthenticator.suppressAuthenticationPopups();
-            final var response = client.get()) {
+    /**
+     * Perform a GET request on a binary resource, e.g. the blob URL returned for base64 fields in query results
+     * ("/services/data/v48.0/sobjects/Attachment/00P.../Body"). The content is not buffered but handed to the
+     * consumer as stream.
+     *
+     * @param <R> result type
+     * @param path the path of the resource, relative to the instance URL
+     * @param credential The Salesforce credential to use.
+     * @param consumer reads the content
+     * @param timeouts connect/read timeouts
+     * @return the result of the consumer
+     * @throws SalesforceResponseException if the request fails or the consumer throws an {@link IOException}
+     */
+    public static <R> R doGetBinary(final String path, final SalesforceAccessTokenCredential credential,
+        final FailableFunction<InputStream, R, IOException> consumer, final Timeouts timeouts)
+        throws SalesforceResponseException {
+        return doGetBinary(path, credential, 0L, (in, isPartial) -> consumer.apply(in), timeouts);
+    }
 
-            if (refreshTokenIff && response.getStatus() == Status.UNAUTHORIZED.getStatusCode()) {
+    /**
+     * Perform a GET request on a binary resource, starting at the given byte offset. If the offset is positive a
+     * "Range" header is sent; the consumer is told whether the server honored it (status 206 - the stream starts at
+     * the offset) or whether it sent the full content (status 200 - the stream starts at 0).
+     *
+     * @param <R> result type
+     * @param path the path of the resource, relative to the instance URL
+     * @param credential The Salesforce credential to use.
+     * @param offset the number of bytes to skip, 0 to request the full content
+     * @param consumer reads the content, 2nd argument is true if the stream starts at the offset
+     * @param timeouts connect/read timeouts
+     * @return the result of the consumer
+     * @throws SalesforceResponseException if the request fails or the consumer throws an {@link IOException} (which
+     *             is then the cause of the exception)
+     */
+    public static <R> R doGetBinary(final String path, final SalesforceAccessTokenCredential credential,
+        final long offset, final FailableBiFunction<InputStream, Boolean, R, IOException> consumer,
+        final Timeouts timeouts) throws SalesforceResponseException {
+        final var uri = UriBuilder.fromUri(credential.getSalesforceInstanceUrl()).path(path).build();
+        final Map<String, String> headers = offset > 0 ? Map.of(HttpHeaders.RANGE, "bytes=" + offset + "-") : Map.of();
+        return doGet(uri, credential, true, MediaType.WILDCARD, headers, response -> {
+            if (response.getStatusInfo().getFamily() != Family.SUCCESSFUL) {
+                final String error =
+                    readErrorFromResponseBody(response).orElse(response.getStatusInfo().getReasonPhrase());
+                throw new SalesforceResponseException(String.format("Status: %d -- %s", response.getStatus(), error));
+            }
+            final boolean isPartial = response.getStatus() == Status.PARTIAL_CONTENT.getStatusCode();
+            try (var in = response.readEntity(InputStream.class)) {
+                return consumer.apply(in, isPartial);
+            } catch (IOException ex) {
+                throw new SalesforceResponseException(
+                    String.format("Reading binary content from \"%s\" failed: %s", path, ex.getMessage()), ex);
+            }
+        }, timeouts);
+    }
+
+    /**
+     * The path of a blob field of a single record, as used by {@link #doGetBinary(String,
+     * SalesforceAccessTokenCredential, long, FailableBiFunction, Timeouts)}.
+     *
+     * @param objectName the object, e.g. "ContentVersion"
+     * @param id the record id
+     * @param fieldName the blob field, e.g. "VersionData"
+     * @return the path, relative to the instance URL
+     */
+    public static String getBlobPath(final String objectName, final String id, final String fieldName) {
+        return UriBuilder.fromPath(SOBJECT_BLOB_PATH).build(objectName, id, fieldName).getRawPath();
+    }
+
+    /**
+     * Read fields of a single record
+     * (<a href="https://developer.salesforce.com/docs/atlas.en-us.api_rest.meta/api_rest/resources_sobject_retrieve.htm">
+     * SObject Rows</a>).
+     *
+     * @param objectName the object, e.g. "ContentVersion"
+     * @param id the record id
+     * @param fieldNames the fields to read
+     * @param credential ...
+     * @param timeouts connect/read timeout
+     * @return the string representation of the field values by field name; null values are missing
+     * @throws SalesforceResponseException if the request fails, e.g. because the record doesn't exist
+     */
+    public static Map<String, String> getRecordFields(final String objectName, final String id,
+        final Collection<String> fieldNames, final SalesforceAccessTokenCredential credential,
+        final Timeouts timeouts) throws SalesforceResponseException {
+        final var uri = UriBuilder.fromUri(credential.getSalesforceInstanceUrl()) //
+            .path(SOBJECT_RECORD_PATH) //
+            .queryParam("fields", String.join(",", fieldNames)) //
+            .build(objectName, id);
+        return doGet(uri, credential, true, response -> {
+            if (response.getStatusInfo().getFamily() != Family.SUCCESSFUL) {
+                final String error =
+                    readErrorFromResponseBody(response).orElse(response.getStatusInfo().getReasonPhrase());
+                throw new SalesforceResponseException(String.format("Status: %d -- %s", response.getStatus(), error));
+            }
+            final Map<String, String> values = new LinkedHashMap<>();
+            if (readAsJsonStructure(response.readEntity(String.class)) instanceof JsonObject object) {
+                for (var fieldName : fieldNames) {
+                    final var value = object.get(fieldName);
+                    if (value instanceof JsonString string) {
+                        values.put(fieldName, string.getString());
+                    } else if (value != null && value.getValueType() != JsonValue.ValueType.NULL) {
+                        values.put(fieldName, value.toString());
+                    }
+                }
+            }
+            return values;
+        }, timeouts);
+    }
+
+    private static <R> R doGet(final URI uri, final SalesforceAccessTokenCredential credential, //
+        final boolean refreshTokenIff, final String acceptType, final Map<String, String> headers,
+        final FailableFunction<Response, R, SalesforceResponseException> callback, //
+        final Timeouts timeouts) throws SalesforceResponseException {
+        return doRequest(uri, credential, refreshTokenIff, acceptType, headers, null, callback, timeouts);
+    }
+
+    /**
+     * Perform a POST request with a JSON body, with the same token refresh and abort handling as GET requests.
+     *
+     * @param <R> result type
+     * @param uri
+     * @param credential The Salesforce credential to use.
+     * @param jsonBody the request body
+     * @param callback response transformer callback
+     * @param timeouts connect/read timeouts
+     * @return the response
+     * @throws SalesforceResponseException
+     */
+    static <R> R doPostJson(final URI uri, final SalesforceAccessTokenCredential credential, final String jsonBody,
+        final FailableFunction<Response, R, SalesforceResponseException> callback, //
+        final Timeouts timeouts) throws SalesforceResponseException {
+        return doRequest(uri, credential, true, MediaType.APPLICATION_JSON, Map.of(),
+            CheckUtils.checkArgumentNotNull(jsonBody), callback, timeouts);
+    }
+
+    /** A GET request if the body is null, otherwise a POST request with that (JSON) body. */
+    private static <R> R doRequest(final URI uri, final SalesforceAccessTokenCredential credential, //
+        final boolean refreshTokenIff, final String acceptType, final Map<String, String> headers,
+        final String jsonBody, final FailableFunction<Response, R, SalesforceResponseException> callback, //
+        final Timeouts timeouts) throws SalesforceResponseException {
+
+        // the generation identifies the token put into the request in case it's rejected
+        final GenerationalAccessToken token = credential != null ? getAccessToken(credential) : null;
+        final WebClient client = getClient(uri, credential, token, timeouts);
+        client.accept(acceptType);
+        client.acceptEncoding("deflate");
+        headers.forEach((name, value) -> client.header(name, value));
+
+        final var abortCheck = ABORT_CHECK.get();
+        // releases the permit (held until the response is consumed, reading large responses is part of the request)
+        // and the client, deferred until the exchange is completed if the request is abandoned
+        try (final var exchange = new Exchange(client)) {
+            checkAbort(abortCheck);
+            exchange.setPermit(RequestLimiter.acquire(uri, timeouts.maxConcurrentQueries(), abortCheck));
+            try (final AuthenticationCloseable c = ThreadLocalHTTPAuthenticator.suppressAuthenticationPopups();
+                    final var response = send(exchange, jsonBody, abortCheck)) {
+
+                if (!refreshTokenIff || response.getStatus() != Status.UNAUTHORIZED.getStatusCode()) {
+                    return callback.apply(response);
+                }
                 LOG.debugWithFormat("Received %s (%d) -- attempting to refresh the access token and retry", //
                     Status.UNAUTHORIZED.name(), //
                     Status.UNAUTHORIZED.getStatusCode());
+            }
+        }
+        // permit released, the retry acquires a new one
+        tryAccessTokenRefresh(credential, token.generation()); // no-op if another request refreshed already
+        return doRequest(uri, credential, false, acceptType, headers, jsonBody, callback, timeouts);
+    }
 
-                tryAccessTokenRefresh(credential); // force a refresh
-                return doGet(uri, credential, false, callback, timeouts);
+    /**
+     * Sends the GET (or POST if there is a body) request, asynchronously if there is an abort check so that the
+     * request can be abandoned while waiting for the response. An abandoned exchange completes in the background, it
+     * keeps its permit until then and its response is closed, see {@link ResponseCallback}.
+     */
+    private static Response send(final Exchange exchange, final String jsonBody, final AbortCheck abortCheck)
+        throws SalesforceResponseException {
+        final WebClient client = exchange.client();
+        if (abortCheck == null) {
+            return jsonBody == null ? client.get() : client.type(MediaType.APPLICATION_JSON).post(jsonBody);
+        }
+        final var responseCallback = new ResponseCallback(exchange);
+        if (jsonBody == null) {
+            client.async().get(responseCallback);
+        } else {
+            client.async().post(Entity.json(jsonBody), responseCallback);
+        }
+        var isDone = false;
+        try {
+            while (true) {
+                try {
+                    final var response = responseCallback.get(ABORT_CHECK_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                    isDone = true;
+                    return response;
+                } catch (TimeoutException ex) { // NOSONAR
+                    checkAbort(abortCheck);
+                }
+            }
+        } catch (ExecutionException ex) {
+            isDone = true;
+            // same as in the synchronous case, e.g. callers handle read timeouts
+            if (ex.getCause() instanceof RuntimeException rte) {
+                throw rte;
             }
-            return callback.apply(response);
+            throw new ProcessingException(ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SalesforceResponseException("Request interrupted", ex);
         } finally {
-            client.close();
+            if (!isDone) {
+                LOG.debugWithFormat("Abandoning request to %s", client.getCurrentURI());
+                responseCallback.abandon();
+            }
         }
     }
 
@@ -210,11 +669,11 @@ private static <T> T checkResponse(final Response response, final Class<T> respo
     /**
      * Get a web client that accesses the given url with the given authentication
      *
+     * @param token the token of the credential (null if the credential is null)
      * @param timeouts connect/read timeout
-     * @throws SalesforceResponseException
      */
     private static WebClient getClient(final URI uri, final SalesforceAccessTokenCredential auth,
-        final Timeouts timeouts) throws SalesforceResponseException {
+        final GenerationalAccessToken token, final Timeouts timeouts) {
 
         final var client = WebClient.create(uri);
 
@@ -225,7 +684,7 @@ private static WebClient getClient(final URI uri, final SalesforceAccessTokenCre
 
         // Set the auth token
         if (auth != null) {
-            client.authorization(getAuthenticationHeader(auth));
+            client.authorization(String.format("%s %s", auth.getAuthScheme(), token.accessToken()));
         }
         return client;
     }
@@ -233,21 +692,21 @@ private static WebClient getClient(final URI uri, final SalesforceAccessTokenCre
     private static final String REFRESH_FAIL_MSG =
         "The access token is not valid anymore and could not be refreshed. Please update the authentication.";
 
-    private static void tryAccessTokenRefresh(final SalesforceAccessTokenCredential auth)
-        throws SalesforceResponseException {
+    private static void tryAccessTokenRefresh(final SalesforceAccessTokenCredential auth,
+        final long rejectedTokenGeneration) throws SalesforceResponseException {
 
         try {
-            auth.getAccessToken(true);
+            auth.refreshAccessToken(rejectedTokenGeneration);
         } catch (IOException e) {
             throw new SalesforceResponseException(REFRESH_FAIL_MSG, e);
         }
     }
 
-    private static String getAuthenticationHeader(final SalesforceAccessTokenCredential auth)
+    private static GenerationalAccessToken getAccessToken(final SalesforceAccessTokenCredential auth)
         throws SalesforceResponseException {
 
         try {
-            return String.format("%s %s", auth.getAuthScheme(), auth.getAccessToken());
+            return auth.getGenerationalAccessToken();
         } catch (IOException e) {
             throw new SalesforceResponseException(REFRESH_FAIL_MSG, e);
         }
@@ -269,7 +728,8 @@ public static SObject[] getSObjects(final SalesforceAccessTokenCredential creden
             timeouts);
     }
 
-    /** Read objects from Salesforce. Used to populate components in the dialog UI.
+    /** Read objects from Salesforce. Used to populate components in the dialog UI. Describe requests of other
+     * threads that are issued while one is in flight are sent together, see {@link CompositeBatchCoalescer}.
      *
      * @param object ...
      * @param credential ...
@@ -281,10 +741,174 @@ public static Field[] getSObjectFields(final SObject object,//
         final SalesforceAccessTokenCredential credential,//
         final Timeouts timeouts) throws SalesforceResponseException {
 
-        final var uri = buildUri(credential, SOBJECT_FIELDS_PATH, object.getName());
+        final var path = getSObjectFieldsPath(object);
+        return toFields(object, CompositeBatchCoalescer.of(credential).get(path, timeouts));
+    }
 
-        return doGet(uri, credential, true, response -> checkResponse(response, SObjectDescription.class).getFields(),
-            timeouts);
+    /**
+     * Read the fields of several objects, using a single
+     * <a href="https://developer.salesforce.com/docs/atlas.en-us.api_rest.meta/api_rest/resources_composite_batch.htm">
+     * Composite Batch</a> request per {@value CompositeBatchCoalescer#MAX_SUBREQUESTS} objects.
+     *
+     * @param objects the objects
+     * @param credential ...
+     * @param timeouts connect/read timeout
+     * @return the fields of the objects, in iteration order of the argument; objects whose describe request failed
+     *         are missing (the failure is logged)
+     * @throws SalesforceResponseException if a batch request fails as a whole
+     */
+    public static Map<SObject, Field[]> getSObjectFields(final Collection<SObject> objects,
+        final SalesforceAccessTokenCredential credential, final Timeouts timeouts)
+        throws SalesforceResponseException {
+        final Map<SObject, Field[]> result = new LinkedHashMap<>();
+        final List<SObject> objectList = List.copyOf(objects);
+        for (int from = 0; from < objectList.size(); from += CompositeBatchCoalescer.MAX_SUBREQUESTS) {
+            final var chunk =
+                objectList.subList(from, Math.min(objectList.size(), from + CompositeBatchCoalescer.MAX_SUBREQUESTS));
+            final var responses = CompositeBatchCoalescer.send(
+                chunk.stream().map(SalesforceRESTUtil::getSObjectFieldsPath).toList(), credential, timeouts);
+            for (int i = 0; i < chunk.size(); i++) {
+                try {
+                    result.put(chunk.get(i), toFields(chunk.get(i), responses.get(i)));
+                } catch (SalesforceResponseException ex) {
+                    LOG.debug(String.format("Unable to read fields of object \"%s\": %s", chunk.get(i).getName(),
+                        ex.getMessage()), ex);
+                }
+            }
+        }
+        return result;
+    }
+
+    private static String getSObjectFieldsPath(final SObject object) {
+        return UriBuilder.fromPath(SOBJECT_FIELDS_PATH).build(object.getName()).getRawPath();
+    }
+
+    private static Field[] toFields(final SObject object, final CompositeBatchCoalescer.SubResponse response)
+        throws SalesforceResponseException {
+        try {
+            return new Gson().fromJson(response.getBodyOrFail().toString(), SObjectDescription.class).getFields();
+        } catch (final JsonSyntaxException e) {
+            throw new SalesforceResponseException(
+                String.format("Invalid response from Salesforce for object \"%s\".", object.getName()), e);
+        }
+    }
+
+    /**
+     * Read the approximate number of records of the given objects
+     * (<a href="https://developer.salesforce.com/docs/atlas.en-us.api_rest.meta/api_rest/resources_record_count.htm">
+     * Record Count</a>). The counts are taken from the storage statistics of the org and can be outdated by some
+     * hours, they are meant for estimates such as the order in which to extract objects.
+     *
+     * @param objectNames the (API) names of the objects
+     * @param credential ...
+     * @param timeouts connect/read timeout
+     * @return the counts by object name; objects without statistics (e.g. unknown or empty objects) are missing
+     * @throws SalesforceResponseException
+     */
+    public static Map<String, Long> getRecordCounts(final Collection<String> objectNames,
+        final SalesforceAccessTokenCredential credential, final Timeouts timeouts)
+        throws SalesforceResponseException {
+        final var uri = UriBuilder.fromUri(credential.getSalesforceInstanceUrl()) //
+            .path(RECORD_COUNT_PATH) //
+            .queryParam("sObjects", String.join(",", objectNames)) //
+            .build();
+        return doGet(uri, credential, true, response -> {
+            if (response.getStatusInfo().getFamily() != Family.SUCCESSFUL) {
+                final String error =
+                    readErrorFromResponseBody(response).orElse(response.getStatusInfo().getReasonPhrase());
+                throw new SalesforceResponseException(String.format("Status: %d -- %s", response.getStatus(), error));
+            }
+            final Map<String, Long> counts = new LinkedHashMap<>();
+            final var body = readAsJsonStructure(response.readEntity(String.class));
+            if (body instanceof JsonObject object && object.get("sObjects") instanceof JsonArray array) {
+                for (var entry : array.getValuesAs(JsonObject.class)) {
+                    final var count = entry.getJsonNumber("count");
+                    if (count != null) {
+                        counts.put(entry.getString("name", ""), count.longValue());
+                    }
+                }
+            }
+            return counts;
+        }, timeouts);
+    }
+
+    /**
+     * Read the ID of the user the credential was issued for
+     * (<a href="https://help.salesforce.com/s/articleView?id=sf.remoteaccess_using_userinfo_endpoint.htm">
+     * UserInfo</a> endpoint). Requires a token with one of the scopes <i>openid</i>, <i>id</i> or <i>full</i>.
+     *
+     * @param credential ...
+     * @param timeouts connect/read timeout
+     * @return the (18 character) user ID
+     * @throws SalesforceResponseException if the request fails, e.g. due to missing scopes
+     */
+    public static String getUserId(final SalesforceAccessTokenCredential credential, final Timeouts timeouts)
+        throws SalesforceResponseException {
+        return doGet(buildUri(credential, USER_INFO_PATH), credential, true, response -> {
+            if (response.getStatusInfo().getFamily() != Family.SUCCESSFUL) {
+                final String error =
+                    readErrorFromResponseBody(response).orElse(response.getStatusInfo().getReasonPhrase());
+                throw new SalesforceResponseException(String.format("Status: %d -- %s", response.getStatus(), error));
+            }
+            if (readAsJsonStructure(response.readEntity(String.class)) instanceof JsonObject object
+                && object.get("user_id") instanceof JsonString userId) {
+                return userId.getString();
+            }
+            throw new SalesforceResponseException("User info response doesn't contain a user ID");
+        }, timeouts);
+    }
+
+    /**
+     * Read the objects from Salesforce unless the metadata of none of them changed since the given date
+     * (<a href="https://developer.salesforce.com/docs/atlas.en-us.api_rest.meta/api_rest/resources_describeGlobal.htm">
+     * Describe Global</a> with "If-Modified-Since" header).
+     *
+     * @param since the date of the previous request as returned by {@link ConditionalResponse#date()}, or null to
+     *            read the objects unconditionally
+     * @param credential ...
+     * @param timeouts connect/read timeout
+     * @return the objects, empty if not modified
+     * @throws SalesforceResponseException
+     */
+    public static ConditionalResponse<SObject[]> getSObjectsIfModifiedSince(final String since,
+        final SalesforceAccessTokenCredential credential, final Timeouts timeouts)
+        throws SalesforceResponseException {
+        return doConditionalGet(SOBJECTS_PATH, since, credential,
+            response -> checkResponse(response, SObjects.class).getSobjects(), timeouts);
+    }
+
+    /**
+     * Read the fields of an object unless its metadata didn't change since the given date (sObject Describe with
+     * "If-Modified-Since" header). Unlike {@link #getSObjectFields(Collection, SalesforceAccessTokenCredential,
+     * Timeouts)} this sends a request per object as sub-requests of Composite Batch requests can't carry headers.
+     *
+     * @param object the object
+     * @param since the date of a previous request as returned by {@link ConditionalResponse#date()}, not null
+     * @param credential ...
+     * @param timeouts connect/read timeout
+     * @return the fields, empty if not modified
+     * @throws SalesforceResponseException
+     */
+    public static Optional<Field[]> getSObjectFieldsIfModifiedSince(final SObject object, final String since,
+        final SalesforceAccessTokenCredential credential, final Timeouts timeouts)
+        throws SalesforceResponseException {
+        return doConditionalGet(getSObjectFieldsPath(object), CheckUtils.checkArgumentNotNull(since), credential,
+            response -> checkResponse(response, SObjectDescription.class).getFields(), timeouts).value();
+    }
+
+    private static <R> ConditionalResponse<R> doConditionalGet(final String path, final String since,
+        final SalesforceAccessTokenCredential credential,
+        final FailableFunction<Response, R, SalesforceResponseException> callback, final Timeouts timeouts)
+        throws SalesforceResponseException {
+        final Map<String, String> headers = since != null ? Map.of(HttpHeaders.IF_MODIFIED_SINCE, since) : Map.of();
+        return doGet(buildUri(credential, path), credential, true, headers, response -> {
+            final String date = Optional.ofNullable(response.getHeaderString(HttpHeaders.DATE))
+                .orElseGet(() -> DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC)));
+            if (response.getStatus() == Status.NOT_MODIFIED.getStatusCode()) {
+                return new ConditionalResponse<>(Optional.empty(), date);
+            }
+            return new ConditionalResponse<>(Optional.of(callback.apply(response)), date);
+        }, timeouts);
     }
 
     /**
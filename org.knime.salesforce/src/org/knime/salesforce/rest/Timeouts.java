@@ -52,14 +52,18 @@
 import org.knime.core.node.config.base.ConfigBaseWO;
 
 /**
- * Connect and read timeout in a record, incl backward compatible read/write operations.
+ * Connect and read timeout in a record, incl backward compatible read/write operations. Also holds the other request
+ * limits configured in the connector.
  *
  * @param connectionTimeoutS Connection timeout in seconds
  * @param readTimeoutS Read timeout in seconds
+ * @param executionTimeoutS Maximum time a single node execution may spend on requests in seconds, 0 for no limit
+ * @param maxConcurrentQueries Maximum number of concurrent queries against the instance, 0 for the default (see
+ *            {@link RequestLimiter})
  *
  * @author Bernd Wiswedel, KNIME
  */
-public record Timeouts(int connectionTimeoutS, int readTimeoutS) {
+public record Timeouts(int connectionTimeoutS, int readTimeoutS, int executionTimeoutS, int maxConcurrentQueries) {
 
     static final int DEFAULT_CONNECTION_TIMEOUT = 30;
 
@@ -69,6 +73,20 @@ public record Timeouts(int connectionTimeoutS, int readTimeoutS) {
 
     private static final String CFG_CONNECT_TIMEOUT = "connect_timeout";
 
+    private static final String CFG_EXECUTION_TIMEOUT = "execution_timeout";
+
+    private static final String CFG_MAX_CONCURRENT_QUERIES = "max_concurrent_queries";
+
+    /**
+     * Timeouts without an execution time limit and the default limit of concurrent queries.
+     *
+     * @param connectionTimeoutS Connection timeout in seconds
+     * @param readTimeoutS Read timeout in seconds
+     */
+    public Timeouts(final int connectionTimeoutS, final int readTimeoutS) {
+        this(connectionTimeoutS, readTimeoutS, 0, 0);
+    }
+
     /**
      * Save fields into the root of the argument.
      * @param settings to save to
@@ -76,6 +94,8 @@ public record Timeouts(int connectionTimeoutS, int readTimeoutS) {
     public void save(final ConfigBaseWO settings) {
         settings.addInt(CFG_CONNECT_TIMEOUT, connectionTimeoutS);
         settings.addInt(CFG_READ_TIMEOUT, readTimeoutS);
+        settings.addInt(CFG_EXECUTION_TIMEOUT, executionTimeoutS);
+        settings.addInt(CFG_MAX_CONCURRENT_QUERIES, maxConcurrentQueries);
     }
 
     /**
@@ -87,6 +107,8 @@ public void save(final ConfigBaseWO settings) {
     public static Timeouts read(final ConfigBaseRO settings) {
         final var connectTimeout = settings.getInt(CFG_CONNECT_TIMEOUT, DEFAULT_CONNECTION_TIMEOUT); // added in 5.2.1
         final var readTimeout = settings.getInt(CFG_READ_TIMEOUT, DEFAULT_READ_TIMEOUT); // added in 5.2.1
-        return new Timeouts(connectTimeout, readTimeout);
+        final var executionTimeout = settings.getInt(CFG_EXECUTION_TIMEOUT, 0); // added in 5.11
+        final var maxConcurrentQueries = settings.getInt(CFG_MAX_CONCURRENT_QUERIES, 0); // added in 5.11
+        return new Timeouts(connectTimeout, readTimeout, executionTimeout, maxConcurrentQueries);
     }
 }
@@ -49,6 +49,7 @@
 package org.knime.salesforce.rest.gsonbindings.fields;
 
 import java.util.Objects;
+import java.util.Optional;
 
 /**
  *
@@ -59,6 +60,11 @@ public final class Field implements Comparable<Field> {
     private String name;
     private String label;
     private String type;
+    private int length;
+    private boolean nillable;
+    private String[] referenceTo;
+    private String relationshipName;
+    private PicklistValue[] picklistValues;
 
     /**
      * @return the name
@@ -79,6 +85,41 @@ public String getType() {
         return type;
     }
 
+    /**
+     * @return the maximum length (for string fields, 0 otherwise)
+     */
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * @return whether the field can be empty
+     */
+    public boolean isNillable() {
+        return nillable;
+    }
+
+    /**
+     * @return the names of the objects referenced by a reference field, an empty array for other fields
+     */
+    public String[] getReferenceTo() {
+        return referenceTo == null ? new String[0] : referenceTo.clone();
+    }
+
+    /**
+     * @return the name of the relationship (for reference fields)
+     */
+    public Optional<String> getRelationshipName() {
+        return Optional.ofNullable(relationshipName);
+    }
+
+    /**
+     * @return the values of a picklist or multipicklist field, an empty array for other fields
+     */
+    public PicklistValue[] getPicklistValues() {
+        return picklistValues == null ? new PicklistValue[0] : picklistValues.clone();
+    }
+
     @Override
     public String toString() {
         return getLabel() + " [" + getType() + "]";
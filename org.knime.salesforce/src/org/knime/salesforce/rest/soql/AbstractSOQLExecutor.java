@@ -48,20 +48,34 @@
  */
 package org.knime.salesforce.rest.soql;
 
-import java.io.StringReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalInt;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.apache.commons.lang3.function.FailableSupplier;
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionContext;
 import org.knime.core.node.NodeLogger;
+import org.knime.core.node.streamable.BufferedDataTableRowOutput;
+import org.knime.core.node.streamable.RowOutput;
 import org.knime.core.node.util.CheckUtils;
 import org.knime.core.util.JsonUtil;
 import org.knime.salesforce.auth.credential.SalesforceAccessTokenCredential;
+import org.knime.salesforce.rest.RequestBudget;
+import org.knime.salesforce.rest.RequestLimiter;
 import org.knime.salesforce.rest.SalesforceRESTUtil;
+import org.knime.salesforce.rest.SalesforceRESTUtil.AbortCheck;
 import org.knime.salesforce.rest.SalesforceResponseException;
 import org.knime.salesforce.rest.Timeouts;
 
@@ -72,6 +86,8 @@
 import jakarta.json.JsonStructure;
 import jakarta.json.JsonValue;
 import jakarta.json.JsonValue.ValueType;
+import jakarta.ws.rs.ProcessingException;
+import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.Response.Status;
 import jakarta.ws.rs.core.UriBuilder;
 
@@ -109,6 +125,38 @@ public abstract class AbstractSOQLExecutor {
      */
     private boolean m_isRetrieveDeletedAndArchived;
 
+    /** Determines the 'batchSize' query option sent with each request. */
+    private final BatchSizeController m_batchSizeController;
+
+    /** Wait times from that on are reported as node warning, see {@link #createRequestWaitWarning(Duration)}. */
+    private static final Duration REQUEST_WAIT_WARNING_THRESHOLD = Duration.ofSeconds(1);
+
+    /** Total time spent waiting for a request slot (see {@link RequestLimiter}), in nanoseconds. */
+    private final LongAdder m_permitWaitNanos = new LongAdder();
+
+    /**
+     * Network time of the last successful {@link #fetchPage(URI)} request (without waiting for a request slot and
+     * without parsing the response), reported to the {@link BatchSizeController}.
+     */
+    private long m_lastPageFetchNanos;
+
+    /** Maximum age of a cached result to be reused, null if the {@link QueryResultCache} is not used. */
+    private Duration m_resultCacheTimeToLive;
+
+    /** Non-null while pages are read from the {@link QueryResultCache} (or from an identical query running). */
+    private QueryResultCache.Reader m_cacheReader;
+
+    /** Non-null while pages read from the REST API are written to the {@link QueryResultCache}. */
+    private QueryResultCache.Spool m_cacheSpool;
+
+    private boolean m_isLastPageFromCache;
+
+    /** The check of the running {@link #execute(ExecutionContext)}, see {@link #callAbortable(FailableSupplier)}. */
+    private volatile AbortCheck m_abortCheck;
+
+    /** Budget each page request is taken from, null if not limited. */
+    private RequestBudget m_requestBudget;
+
     /**
      * @param credential
      * @param timeouts
@@ -117,10 +165,48 @@ public abstract class AbstractSOQLExecutor {
      */
     protected AbstractSOQLExecutor(final SalesforceAccessTokenCredential credential, final Timeouts timeouts,
         final String soql, final boolean isRetrieveDeletedAndArchived) {
+        this(credential, timeouts, soql, isRetrieveDeletedAndArchived, OptionalInt.empty());
+    }
+
+    /**
+     * @param credential
+     * @param timeouts
+     * @param soql
+     * @param isRetrieveDeletedAndArchived
+     * @param batchSize a fixed batch size (clamped to 200 - 2000) or empty to adapt the batch size to the measured
+     *            page latencies
+     */
+    protected AbstractSOQLExecutor(final SalesforceAccessTokenCredential credential, final Timeouts timeouts,
+        final String soql, final boolean isRetrieveDeletedAndArchived, final OptionalInt batchSize) {
         m_credential = CheckUtils.checkArgumentNotNull(credential);
         m_timeouts = CheckUtils.checkArgumentNotNull(timeouts);
         m_soql = CheckUtils.checkArgumentNotNull(soql);
         m_isRetrieveDeletedAndArchived = isRetrieveDeletedAndArchived;
+        m_batchSizeController = new BatchSizeController(CheckUtils.checkArgumentNotNull(batchSize), m_timeouts);
+    }
+
+    /**
+     * Enables the {@link QueryResultCache}: results of identical queries (same org and user, SOQL, endpoint and
+     * executor type) are reused if not older than the given time, and identical queries that run at the same time share
+     * the HTTP requests. Off by default. The cache is bypassed if the user can't be determined (the token requires one
+     * of the scopes <i>openid</i>, <i>id</i> or <i>full</i>).
+     *
+     * @param timeToLive the maximum age of a cached result to be reused, must be positive
+     */
+    public final void enableResultCache(final Duration timeToLive) {
+        CheckUtils.checkArgument(timeToLive != null && !timeToLive.isNegative() && !timeToLive.isZero(),
+            "Cache time to live must be positive: %s", timeToLive);
+        m_resultCacheTimeToLive = timeToLive;
+    }
+
+    /**
+     * Sets a budget each page request (i.e. each request not served by the result cache) is taken from. The query
+     * fails once the budget is used up. Not limited by default.
+     *
+     * @param budget the budget, possibly shared with other executors, or null
+     */
+    public final void setRequestBudget(final RequestBudget budget) {
+        m_requestBudget = budget;
     }
 
     /**
@@ -136,9 +222,115 @@ protected AbstractSOQLExecutor(final SalesforceAccessTokenCredential credential,
      * @return a non-null table
      * @throws SalesforceResponseException all sorts of problems.
      * @throws CanceledExecutionException Cancelation.
+     * @throws InterruptedException Cancelation.
      */
-    public abstract BufferedDataTable execute(final ExecutionContext context)
-        throws SalesforceResponseException, CanceledExecutionException;
+    public final BufferedDataTable execute(final ExecutionContext context)
+        throws SalesforceResponseException, CanceledExecutionException, InterruptedException {
+        final BufferedDataTable table;
+        m_abortCheck = createAbortCheck(context);
+        try (var scope = SalesforceRESTUtil.openAbortScope(m_abortCheck)) {
+            final var spec = createOutputSpec()
+                .orElseThrow(() -> new IllegalStateException("Output spec must be known prior execution"));
+            // domain in the spec (e.g. picklist values) is the initial domain, values not listed there are added
+            final var output = new BufferedDataTableRowOutput(context.createDataContainer(spec, true));
+            executeQuery(output, context);
+            table = output.getDataTable();
+        } catch (SalesforceResponseException ex) {
+            throw unwrapCancelation(ex);
+        } finally {
+            m_abortCheck = null;
+            closeResultCache(); // the query might not have been read to the end
+        }
+        final var waitTime = getRequestWaitTime();
+        if (!waitTime.isZero()) {
+            LOGGER.infoWithFormat("Spent %d ms waiting for free request slots (too many concurrent requests against "
+                + "the Salesforce instance)", waitTime.toMillis());
+        }
+        return table;
+    }
+
+    /**
+     * Runs the query/queries and pushes the rows into the output as soon as a page is processed. Used directly in
+     * streaming execution, otherwise via {@link #execute(ExecutionContext)}. Implementations close the output when
+     * done.
+     *
+     * @param output the output to push the rows to
+     * @param context ...
+     * @throws SalesforceResponseException all sorts of problems.
+     * @throws CanceledExecutionException Cancelation.
+     * @throws InterruptedException Cancelation (while waiting for downstream nodes to consume the rows).
+     */
+    public final void execute(final RowOutput output, final ExecutionContext context)
+        throws SalesforceResponseException, CanceledExecutionException, InterruptedException {
+        m_abortCheck = createAbortCheck(context);
+        try (var scope = SalesforceRESTUtil.openAbortScope(m_abortCheck)) {
+            executeQuery(output, context);
+        } catch (SalesforceResponseException ex) {
+            throw unwrapCancelation(ex);
+        } finally {
+            m_abortCheck = null;
+            closeResultCache(); // the query might not have been read to the end
+        }
+    }
+
+    /**
+     * Requests made during execution are aborted when the node is canceled or when the execution timeout configured
+     * in the connector (see {@link Timeouts#executionTimeoutS()}) is exceeded.
+     */
+    private AbortCheck createAbortCheck(final ExecutionContext context) {
+        final int timeoutS = m_timeouts.executionTimeoutS();
+        final long startNanos = System.nanoTime();
+        return () -> {
+            context.checkCanceled();
+            if (timeoutS > 0 && System.nanoTime() - startNanos > TimeUnit.SECONDS.toNanos(timeoutS)) {
+                throw new SalesforceResponseException(String.format("Execution didn't finish within %d seconds "
+                    + "(\"Execution timeout\" as configured in the Salesforce Connector node)", timeoutS));
+            }
+        };
+    }
+
+    /** Failed requests due to node cancelation are reported as such. */
+    private static SalesforceResponseException unwrapCancelation(final SalesforceResponseException ex)
+        throws CanceledExecutionException {
+        final var canceled = ExceptionUtils.throwableOfType(ex, CanceledExecutionException.class);
+        if (canceled != null) {
+            throw canceled;
+        }
+        return ex;
+    }
+
+    /**
+     * Runs requests on a thread other than the executing one (e.g. a worker thread converting records) such that they
+     * are aborted along with the requests of the execution, see {@link SalesforceRESTUtil#openAbortScope(AbortCheck)}.
+     *
+     * @param <R> result type
+     * @param requests the code making the requests
+     * @return its result
+     * @throws SalesforceResponseException if thrown by the code, incl. aborted requests
+     */
+    protected final <R> R callAbortable(final FailableSupplier<R, SalesforceResponseException> requests)
+        throws SalesforceResponseException {
+        final var check = m_abortCheck;
+        if (check == null) {
+            return requests.get();
+        }
+        try (var scope = SalesforceRESTUtil.openAbortScope(check)) {
+            return requests.get();
+        }
+    }
+
+    /**
+     * Implements {@link #execute(RowOutput, ExecutionContext)}, i.e. runs the query via {@link #execute()} (or
+     * {@link #executeRaw()}) and {@link #readNext()} (or {@link #readNextRaw()}) and closes the output when done.
+     *
+     * @param output the output to push the rows to
+     * @param context ...
+     * @throws SalesforceResponseException all sorts of problems.
+     * @throws CanceledExecutionException Cancelation.
+     * @throws InterruptedException Cancelation (while waiting for downstream nodes to consume the rows).
+     */
+    protected abstract void executeQuery(final RowOutput output, final ExecutionContext context)
+        throws SalesforceResponseException, CanceledExecutionException, InterruptedException;
 
     /**
      * Performs the query and returns the response.
@@ -147,31 +339,77 @@ public abstract BufferedDataTable execute(final ExecutionContext context)
      * @throws SalesforceResponseException if the result set does not comply with the schema etc
      */
     protected JsonStructure execute() throws SalesforceResponseException {
+        final byte[] body = readFirstPage();
+        final var jsonStructure = parse(body);
+        onPageRead(countRecords(jsonStructure), body.length);
+        m_totalSize = readTotalSize(jsonStructure);
+        m_totalSize.ifPresent(i -> LOGGER.debugWithFormat("Query return %d results", i));
+        setNextRecordsUrl(readNextRecordsUrlString(jsonStructure));
+        return jsonStructure;
+    }
+
+    /**
+     * Performs the query like {@link #execute()} but only tokenizes the response instead of building a DOM.
+     *
+     * @return The scanned first page
+     * @throws SalesforceResponseException if the result set does not comply with the schema etc
+     */
+    JsonPageScanner executeRaw() throws SalesforceResponseException {
+        final var page = JsonPageScanner.scan(readFirstPage());
+        onPageRead(page.getRecordCount(), page.getByteCount());
+        m_totalSize = page.getTotalSize();
+        m_totalSize.ifPresent(i -> LOGGER.debugWithFormat("Query return %d results", i));
+        setNextRecordsUrl(page.getNextRecordsUrl());
+        return page;
+    }
+
+    private URI createQueryURI() {
         var uri = UriBuilder.fromUri(m_credential.getSalesforceInstanceUrl()) //
             .path(m_isRetrieveDeletedAndArchived ? SalesforceRESTUtil.QUERY_ALL_PATH : SalesforceRESTUtil.QUERY_PATH) //
             .queryParam("q", "{soql}") // need to use templates for proper encoding, see AP-17072 and
             .resolveTemplate("soql", m_soql) // https://issues.apache.org/jira/browse/CXF-8553
             .build();
         var uriAsString = uri.toString();
-        LOGGER.debugWithFormat("Executing SOQL - %s",uriAsString,
+        LOGGER.debugWithFormat("Executing SOQL - %s",
             StringUtils.substring(uriAsString, 0, StringUtils.indexOf(uriAsString, "q=") + 20) + "...");
-        String body = SalesforceRESTUtil.doGet(uri, m_credential, true, response -> {
-            if (response.getStatusInfo().getFamily() != Status.Family.SUCCESSFUL) {
-                Optional<String> errorOpt = SalesforceRESTUtil.readErrorFromResponseBody(response);
-                String error = errorOpt.orElse(response.getStatusInfo().getReasonPhrase());
-                throw new SalesforceResponseException(String.format("Status: %d -- %s", response.getStatus(), error));
-            }
-            return response.readEntity(String.class);
-        }, m_timeouts);
+        return uri;
+    }
+
+    /**
+     * @return the credential used for all requests
+     */
+    protected SalesforceAccessTokenCredential getCredential() {
+        return m_credential;
+    }
+
+    /**
+     * @return the timeouts used for all requests
+     */
+    protected Timeouts getTimeouts() {
+        return m_timeouts;
+    }
+
+    /**
+     * @return the total time spent waiting for a free request slot because too many requests were running against the
+     *         same Salesforce instance (see {@link RequestLimiter})
+     */
+    public Duration getRequestWaitTime() {
+        return Duration.ofNanos(m_permitWaitNanos.sum());
+    }
 
-        JsonStructure jsonStructure;
-        try (var reader = new StringReader(body); var jsonReader = JsonUtil.getProvider().createReader(reader)) {
-            jsonStructure = jsonReader.read();
+    /**
+     * Formats the warning shown by nodes that waited a significant time (a second or more) for free request slots.
+     *
+     * @param waitTime the total time spent waiting, see {@link #getRequestWaitTime()}
+     * @return the warning, empty if the wait time is not significant
+     */
+    public static Optional<String> createRequestWaitWarning(final Duration waitTime) {
+        if (waitTime.compareTo(REQUEST_WAIT_WARNING_THRESHOLD) < 0) {
+            return Optional.empty();
         }
-        m_totalSize = readTotalSize(jsonStructure);
-        m_totalSize.ifPresent(i -> LOGGER.debugWithFormat("Query return %d results", i));
-        m_nextRecordsUrlString = readNextRecordsUrlString(jsonStructure);
-        return jsonStructure;
+        return Optional.of(String.format("Queries waited %.1f s for free request slots, too many queries ran "
+            + "concurrently against the Salesforce instance (see \"Maximum concurrent queries\" in the Salesforce "
+            + "Connector node)", waitTime.toMillis() / 1000.0));
     }
 
     /**
@@ -186,34 +424,192 @@ protected OptionalInt getTotalSize() {
      * @return the next piece of data
      * @throws SalesforceResponseException ... */
     public Optional<JsonStructure> readNext() throws SalesforceResponseException {
+        final Optional<URI> uri = createNextRecordsURI();
+        if (uri.isEmpty()) {
+            return Optional.empty();
+        }
+        final var body = readPage(uri.get());
+
+        final var jsonStructure = parse(body);
+        onPageRead(countRecords(jsonStructure), body.length);
+        setNextRecordsUrl(readNextRecordsUrlString(jsonStructure));
 
+        return Optional.of(jsonStructure);
+    }
+
+    /**
+     * Reads the next page like {@link #readNext()} but only tokenizes the response instead of building a DOM.
+     *
+     * @return the next scanned page or an empty optional if there are no more pages
+     * @throws SalesforceResponseException ...
+     */
+    Optional<JsonPageScanner> readNextRaw() throws SalesforceResponseException {
+        final Optional<URI> uri = createNextRecordsURI();
+        if (uri.isEmpty()) {
+            return Optional.empty();
+        }
+        final var page = JsonPageScanner.scan(readPage(uri.get()));
+        onPageRead(page.getRecordCount(), page.getByteCount());
+        setNextRecordsUrl(page.getNextRecordsUrl());
+        return Optional.of(page);
+    }
+
+    private Optional<URI> createNextRecordsURI() {
         if (!m_nextRecordsUrlString.isPresent()) {
             return Optional.empty();
         }
+        LOGGER.debugWithFormat("Reading next result set (%s)", m_nextRecordsUrlString.get());
+        return Optional.of(UriBuilder.fromUri(m_credential.getSalesforceInstanceUrl()) //
+            .path(m_nextRecordsUrlString.get())//
+            .build());
+    }
 
-        final var uri = UriBuilder.fromUri(m_credential.getSalesforceInstanceUrl()) //
-                    .path(m_nextRecordsUrlString.get())//
-                    .build();
+    /** Reads the first page, either from the {@link QueryResultCache} (if enabled) or via a new query. */
+    private byte[] readFirstPage() throws SalesforceResponseException {
+        closeResultCache(); // in case of re-execution
+        final var key = m_resultCacheTimeToLive != null ? createResultCacheKey() : null;
+        if (key != null) {
+            try {
+                final var lookup = QueryResultCache.getInstance().open(key, m_resultCacheTimeToLive);
+                if (lookup instanceof QueryResultCache.Reader reader) {
+                    LOGGER.debug(reader.isFollowing() ? "Reading result of identical query running concurrently"
+                        : "Reading result from cache");
+                    m_cacheReader = reader;
+                } else {
+                    m_cacheSpool = (QueryResultCache.Spool)lookup;
+                }
+            } catch (IOException ex) {
+                LOGGER.debug("Unable to use query result cache: " + ex.getMessage(), ex);
+            }
+        }
+        return readPage(createQueryURI());
+    }
 
-        LOGGER.debugWithFormat("Reading next result set (%s)", m_nextRecordsUrlString.get());
+    /** The key for the {@link QueryResultCache}, null if the user can't be determined. */
+    private QueryResultCache.Key createResultCacheKey() {
+        try {
+            return QueryResultCache.Key.of(m_credential, m_timeouts, m_soql, m_isRetrieveDeletedAndArchived,
+                getClass().getName());
+        } catch (SalesforceResponseException ex) {
+            LOGGER.warn("Query result cache not used, unable to determine the user: " + ex.getMessage(), ex);
+            return null;
+        }
+    }
 
-        final var body = SalesforceRESTUtil.doGet(uri, m_credential, true, response -> {
-            if (response.getStatusInfo().getFamily() != Status.Family.SUCCESSFUL) {
-                String errorBody  = response.readEntity(String.class);
-                final var jsonError = SalesforceRESTUtil.readAsJsonStructure(errorBody);
-                final var message = jsonError.getValue("/0/message");
-                throw new SalesforceResponseException(
-                    String.format("Status: %d -- %s", response.getStatus(), ((JsonString)message).getString()));
+    /**
+     * Reads the page from the {@link QueryResultCache} if a reader is open, otherwise fetches it from the given URI
+     * (and writes it to the cache if a spool is open). If the cache read fails (e.g. because the concurrently running
+     * query was canceled) the query continues via the URI, which points to the page after the last page read from the
+     * cache. Waiting for the concurrently running query is aborted by the abort check of this execution.
+     */
+    private byte[] readPage(final URI uri) throws SalesforceResponseException {
+        if (m_cacheReader != null) {
+            try {
+                final var page = m_cacheReader.next(m_abortCheck);
+                if (page != null) {
+                    m_isLastPageFromCache = true;
+                    return page;
+                }
+                LOGGER.debug("Cached query result ends prematurely, continuing with live query");
+            } catch (IOException ex) {
+                LOGGER.debug("Cached query result not available (" + ex.getMessage()
+                    + "), continuing with live query");
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new SalesforceResponseException("Interrupted while waiting for identical query", ex);
+            } catch (CanceledExecutionException ex) {
+                throw new SalesforceResponseException("Request canceled", ex);
             }
-            return response.readEntity(String.class);
-        }, m_timeouts);
+            closeResultCache();
+        }
+        m_isLastPageFromCache = false;
+        final var body = fetchPage(uri);
+        if (m_cacheSpool != null && !m_cacheSpool.append(body)) {
+            m_cacheSpool = null;
+        }
+        return body;
+    }
 
-        final var jsonStructure = SalesforceRESTUtil.readAsJsonStructure(body);
-        m_nextRecordsUrlString = readNextRecordsUrlString(jsonStructure);
+    private void setNextRecordsUrl(final Optional<String> nextRecordsUrl) {
+        m_nextRecordsUrlString = nextRecordsUrl;
+        if (nextRecordsUrl.isEmpty() && m_cacheSpool != null) {
+            m_cacheSpool.commit();
+            m_cacheSpool = null;
+        }
+    }
 
-        return Optional.of(jsonStructure);
+    private void closeResultCache() {
+        if (m_cacheReader != null) {
+            m_cacheReader.close();
+            m_cacheReader = null;
+        }
+        if (m_cacheSpool != null) {
+            m_cacheSpool.abort();
+            m_cacheSpool = null;
+        }
+    }
+
+    private void onPageRead(final int recordCount, final int byteCount) {
+        if (!m_isLastPageFromCache) { // cached pages say nothing about response times
+            m_batchSizeController.onPageRead(recordCount, m_lastPageFetchNanos, byteCount);
+        }
+    }
+
+    /**
+     * Performs the GET request for a single page, sending the current batch size as query option. If the request runs
+     * into a read timeout the batch size is reduced and the request is repeated (if possible).
+     */
+    private byte[] fetchPage(final URI uri) throws SalesforceResponseException {
+        while (true) {
+            final var queryOptions = m_batchSizeController.getQueryOptionsHeaderValue();
+            if (m_requestBudget != null) {
+                m_requestBudget.acquire();
+            }
+            final long waitedBefore = m_permitWaitNanos.sum();
+            final long start = System.nanoTime();
+            try {
+                final var body = RequestLimiter.recordWaitTime(m_permitWaitNanos,
+                    () -> SalesforceRESTUtil.doGet(uri, m_credential, true,
+                        Map.of(SalesforceRESTUtil.QUERY_OPTIONS_HEADER, queryOptions),
+                        AbstractSOQLExecutor::readBodyOrFail, m_timeouts));
+                m_lastPageFetchNanos = System.nanoTime() - start - (m_permitWaitNanos.sum() - waitedBefore);
+                return body;
+            } catch (ProcessingException pe) {
+                if (ExceptionUtils.indexOfType(pe, SocketTimeoutException.class) < 0
+                    || !m_batchSizeController.onReadTimeout()) {
+                    throw pe;
+                }
+                LOGGER.debugWithFormat("Read timeout with '%s', retrying with '%s'", queryOptions,
+                    m_batchSizeController.getQueryOptionsHeaderValue());
+            }
+        }
     }
 
+    private static byte[] readBodyOrFail(final Response response) throws SalesforceResponseException {
+        if (response.getStatusInfo().getFamily() != Status.Family.SUCCESSFUL) {
+            Optional<String> errorOpt = SalesforceRESTUtil.readErrorFromResponseBody(response);
+            String error = errorOpt.orElse(response.getStatusInfo().getReasonPhrase());
+            throw new SalesforceResponseException(String.format("Status: %d -- %s", response.getStatus(), error));
+        }
+        return response.readEntity(byte[].class);
+    }
+
+    private static JsonStructure parse(final byte[] body) {
+        try (var jsonReader = JsonUtil.getProvider().createReader(new ByteArrayInputStream(body))) {
+            return jsonReader.read();
+        }
+    }
+
+    private static int countRecords(final JsonStructure response) {
+        JsonPointer recordsPointer = JsonUtil.getProvider().createPointer("/records");
+        if (recordsPointer.containsValue(response)) {
+            JsonValue value = recordsPointer.getValue(response);
+            if (value.getValueType() == ValueType.ARRAY) {
+                return ((JsonArray)value).size();
+            }
+        }
+        return 0;
+    }
 
     private static OptionalInt readTotalSize(final JsonStructure response) {
         JsonPointer sizePointer = JsonUtil.getProvider().createPointer("/totalSize");
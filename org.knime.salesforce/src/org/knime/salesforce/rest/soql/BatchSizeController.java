@@ -0,0 +1,174 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.salesforce.rest.soql;
+
+import java.util.OptionalInt;
+import java.util.concurrent.TimeUnit;
+
+import org.knime.core.node.NodeLogger;
+import org.knime.salesforce.rest.Timeouts;
+
+/**
+ * Steers the batch size requested via the <code>Sforce-Query-Options</code> header. Salesforce accepts values between
+ * {@value #MIN_BATCH_SIZE} and {@value #MAX_BATCH_SIZE} (but does not guarantee to honor them).
+ *
+ * <p>
+ * In adaptive mode the controller measures the network latency (from sending the request until the body is read,
+ * parsing is not included) and number of records of each page and climbs towards the batch size that maximizes records
+ * per second. Pages whose latency gets close to the read timeout (typically very wide objects) shrink the batch size
+ * proportionally, a read timeout halves it. If a fixed size is set by the user no adaptation takes place.
+ *
+ * @author agent
+ */
+final class BatchSizeController {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(BatchSizeController.class);
+
+    /** Smallest batch size accepted by Salesforce. */
+    static final int MIN_BATCH_SIZE = 200;
+
+    /** Largest batch size accepted by Salesforce (also the default). */
+    static final int MAX_BATCH_SIZE = 2000;
+
+    /** Pages should not take longer than this fraction of the read timeout. */
+    private static final double LATENCY_BUDGET_FRACTION = 0.25;
+
+    /** Relative step size when probing larger/smaller batch sizes. */
+    private static final double STEP = 0.25;
+
+    /** Throughput must drop by more than this fraction before the search direction is reversed. */
+    private static final double TOLERANCE = 0.05;
+
+    private final boolean m_isAdaptive;
+
+    private final long m_latencyBudgetNanos;
+
+    private int m_batchSize;
+
+    private int m_direction = -1;
+
+    private double m_lastThroughput = Double.NaN;
+
+    /**
+     * @param fixedBatchSize the user defined batch size or empty for adaptive sizing
+     * @param timeouts the timeouts, used to derive the latency budget per page
+     */
+    BatchSizeController(final OptionalInt fixedBatchSize, final Timeouts timeouts) {
+        m_isAdaptive = fixedBatchSize.isEmpty();
+        m_batchSize = clamp(fixedBatchSize.orElse(MAX_BATCH_SIZE));
+        final int readTimeoutS = timeouts.readTimeoutS() > 0 ? timeouts.readTimeoutS() : 60;
+        m_latencyBudgetNanos = (long)(TimeUnit.SECONDS.toNanos(readTimeoutS) * LATENCY_BUDGET_FRACTION);
+    }
+
+    /** @return the batch size to request for the next page. */
+    synchronized int getBatchSize() {
+        return m_batchSize;
+    }
+
+    /** @return the value of the {@link org.knime.salesforce.rest.SalesforceRESTUtil#QUERY_OPTIONS_HEADER}. */
+    String getQueryOptionsHeaderValue() {
+        return "batchSize=" + getBatchSize();
+    }
+
+    /**
+     * Reports the statistics of a page just read.
+     *
+     * @param recordCount number of records in the page
+     * @param latencyNanos network time of the request, i.e. from sending it until the body was read (not including
+     *            waiting for a request slot or parsing the body)
+     * @param byteCount size of the response body
+     */
+    synchronized void onPageRead(final int recordCount, final long latencyNanos, final long byteCount) {
+        if (!m_isAdaptive || recordCount <= 0 || latencyNanos <= 0) {
+            return;
+        }
+        final int previous = m_batchSize;
+        // records per second
+        final double throughput = recordCount * (double)TimeUnit.SECONDS.toNanos(1) / latencyNanos;
+        if (latencyNanos > m_latencyBudgetNanos) {
+            // too slow, scale down to what fits into the budget
+            m_batchSize = clamp((int)(recordCount * ((double)m_latencyBudgetNanos / latencyNanos)));
+            m_direction = -1;
+        } else {
+            if (!Double.isNaN(m_lastThroughput) && throughput < m_lastThroughput * (1.0 - TOLERANCE)) {
+                m_direction = -m_direction;
+            }
+            int next = clamp((int)Math.round(m_batchSize * (1.0 + m_direction * STEP)));
+            if (next == m_batchSize) { // hit a boundary, probe the other direction next time
+                m_direction = -m_direction;
+            }
+            // never exceed what is predicted to fit into the latency budget
+            final var predictedMax = (long)(recordCount * ((double)m_latencyBudgetNanos / latencyNanos));
+            m_batchSize = clamp((int)Math.min(next, predictedMax));
+        }
+        m_lastThroughput = throughput;
+        LOGGER.debugWithFormat("Page with %d records (%d bytes) took %d ms (%.0f records/s), batch size %d -> %d",
+            recordCount, byteCount, TimeUnit.NANOSECONDS.toMillis(latencyNanos), throughput, previous, m_batchSize);
+    }
+
+    /**
+     * Called when a page request ran into a read timeout.
+     *
+     * @return true if the batch size was reduced and the request should be retried, false if the minimum has already
+     *         been reached (or the size is fixed by the user).
+     */
+    synchronized boolean onReadTimeout() {
+        if (!m_isAdaptive || m_batchSize <= MIN_BATCH_SIZE) {
+            return false;
+        }
+        m_batchSize = clamp(m_batchSize / 2);
+        m_direction = -1;
+        m_lastThroughput = Double.NaN;
+        return true;
+    }
+
+    static int clamp(final int batchSize) {
+        return Math.max(MIN_BATCH_SIZE, Math.min(MAX_BATCH_SIZE, batchSize));
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.salesforce.rest.soql;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.OptionalInt;
+
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.LongCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.streamable.RowOutput;
+import org.knime.core.node.util.CheckUtils;
+import org.knime.salesforce.auth.credential.SalesforceAccessTokenCredential;
+import org.knime.salesforce.rest.SalesforceResponseException;
+import org.knime.salesforce.rest.Timeouts;
+import org.knime.salesforce.rest.soql.RollingFileWriter.WrittenFile;
+
+/**
+ * Runs the SOQL and writes the records straight into (rolling) files instead of a KNIME table. The records are taken
+ * as slices from the response pages, for NDJSON output they are copied without being parsed. The output table is a
+ * manifest listing the files written.
+ *
+ * @author agent
+ */
+public final class FileOutputSOQLExecutor extends AbstractSOQLExecutor {
+
+    /** The format of the files written. */
+    public enum FileFormat {
+            /** One JSON object per line. */
+            NDJSON(".ndjson"),
+            /** Comma separated, with header; nested objects (relationships) are written as JSON. */
+            CSV(".csv");
+
+        private final String m_extension;
+
+        FileFormat(final String extension) {
+            m_extension = extension;
+        }
+
+        /** @return the file extension, including the dot (excluding any compression suffix) */
+        public String getExtension() {
+            return m_extension;
+        }
+    }
+
+    /**
+     * Where and how to write the files.
+     *
+     * @param folder the folder to write to, created if needed
+     * @param filePrefix the file name prefix, files are named "&lt;prefix&gt;-00001.ndjson" etc
+     * @param format the file format
+     * @param maxBytesPerFile the size after which a new file is started
+     * @param gzip whether to compress the files
+     * @param stripAttributes whether to remove the 'attributes' objects (NDJSON only, never written to CSV)
+     * @param overwrite whether existing files may be replaced
+     */
+    public record FileOptions(Path folder, String filePrefix, FileFormat format, long maxBytesPerFile, boolean gzip,
+        boolean stripAttributes, boolean overwrite) {
+    }
+
+    private final FileOptions m_options;
+
+    /**
+     * @param credential
+     * @param timeouts
+     * @param soql the final SOQL
+     * @param isRetrieveDeletedAndArchived
+     * @param batchSize a fixed batch size or empty to adapt it during execution
+     * @param options the file options
+     */
+    public FileOutputSOQLExecutor(final SalesforceAccessTokenCredential credential, final Timeouts timeouts,
+        final String soql, final boolean isRetrieveDeletedAndArchived, final OptionalInt batchSize,
+        final FileOptions options) {
+        super(credential, timeouts, soql, isRetrieveDeletedAndArchived, batchSize);
+        m_options = CheckUtils.checkArgumentNotNull(options);
+    }
+
+    /**
+     * @return the spec of the manifest table
+     */
+    public static DataTableSpec createManifestSpec() {
+        return new DataTableSpec(new String[]{"Path", "Records", "Size", "SHA-256"},
+            new DataType[]{StringCell.TYPE, LongCell.TYPE, LongCell.TYPE, StringCell.TYPE});
+    }
+
+    @Override
+    public Optional<DataTableSpec> createOutputSpec() {
+        return Optional.of(createManifestSpec());
+    }
+
+    @Override
+    protected void executeQuery(final RowOutput output, final ExecutionContext context)
+        throws SalesforceResponseException, CanceledExecutionException, InterruptedException {
+        context.setMessage("Invoking Salesforce REST API");
+        final var writer = new RollingFileWriter(m_options);
+        var isSuccess = false;
+        try {
+            Files.createDirectories(m_options.folder());
+            var nextPage = executeRaw();
+            final var totalSize = getTotalSize();
+            var recordIndex = 0L;
+            var fileIndex = 0L;
+            do {
+                if (!nextPage.hasRecordsArray()) {
+                    throw new SalesforceResponseException("Salesforce response does not contain a 'records' array");
+                }
+                for (int i = 0; i < nextPage.getRecordCount(); i++) {
+                    context.checkCanceled();
+                    writer.write(nextPage, i);
+                    recordIndex++;
+                }
+                fileIndex = pushManifestRows(writer, output, fileIndex);
+                if (totalSize.isPresent() && totalSize.getAsInt() > 0) {
+                    context.setProgress(recordIndex / (double)totalSize.getAsInt(),
+                        String.format("%d/%d records written", recordIndex, totalSize.getAsInt()));
+                } else {
+                    context.setMessage(String.format("%d records written", recordIndex));
+                }
+            } while ((nextPage = readNextRaw().orElse(null)) != null);
+            writer.close();
+            pushManifestRows(writer, output, fileIndex);
+            isSuccess = true;
+        } catch (IOException ex) {
+            throw new SalesforceResponseException(
+                String.format("Writing to folder \"%s\" failed: %s", m_options.folder(), ex.getMessage()), ex);
+        } finally {
+            if (!isSuccess) {
+                writer.abort();
+            }
+        }
+        output.close();
+    }
+
+    private static long pushManifestRows(final RollingFileWriter writer, final RowOutput output, final long fileIndex)
+        throws InterruptedException {
+        var index = fileIndex;
+        for (WrittenFile file : writer.pollClosedFiles()) {
+            output.push(new DefaultRow(RowKey.createRowKey(index), new StringCell(file.path().toString()),
+                new LongCell(file.recordCount()), new LongCell(file.size()), new StringCell(file.sha256())));
+            index++;
+        }
+        return index;
+    }
+}
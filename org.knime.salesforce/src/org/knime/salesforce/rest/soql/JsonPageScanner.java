@@ -0,0 +1,447 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.salesforce.rest.soql;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.OptionalInt;
+
+import org.knime.salesforce.rest.SalesforceResponseException;
+
+/**
+ * A lightweight tokenizer on the UTF-8 bytes of a SOQL response page. It locates the <code>totalSize</code> and
+ * <code>nextRecordsUrl</code> fields as well as the boundaries of the individual elements in the <code>records</code>
+ * array without building a DOM. The records are then returned as (byte) slices of the response, which lets the
+ * {@linkplain RollingFileWriter file output} copy records to JSON Lines files without parsing them. Validation is
+ * limited to the structure (brackets, strings).
+ *
+ * <p>
+ * All structural characters in JSON are ASCII and bytes of multi-byte UTF-8 sequences are always &gt;= 0x80, hence
+ * scanning the bytes (instead of decoded characters) is safe.
+ *
+ * @author agent
+ */
+final class JsonPageScanner {
+
+    private static final byte[] ATTRIBUTES_KEY = "\"attributes\"".getBytes(StandardCharsets.US_ASCII);
+
+    private final byte[] m_bytes;
+
+    private OptionalInt m_totalSize = OptionalInt.empty();
+
+    private Optional<String> m_nextRecordsUrl = Optional.empty();
+
+    /** Start and end (exclusive) offsets of the records, two entries per record. */
+    private int[] m_recordBounds = new int[0];
+
+    private int m_recordCount;
+
+    private boolean m_hasRecordsArray;
+
+    private JsonPageScanner(final byte[] bytes) {
+        m_bytes = bytes;
+    }
+
+    /**
+     * Scans the response page.
+     *
+     * @param bytes the UTF-8 encoded response body
+     * @return the scanner, with all fields and record boundaries determined
+     * @throws SalesforceResponseException if the body is not a well-formed JSON object
+     */
+    static JsonPageScanner scan(final byte[] bytes) throws SalesforceResponseException {
+        final var scanner = new JsonPageScanner(bytes);
+        scanner.scanPage();
+        return scanner;
+    }
+
+    /** @return the 'totalSize' field, if present. */
+    OptionalInt getTotalSize() {
+        return m_totalSize;
+    }
+
+    /** @return the 'nextRecordsUrl' field, if present. */
+    Optional<String> getNextRecordsUrl() {
+        return m_nextRecordsUrl;
+    }
+
+    /** @return whether the page contains a 'records' array. */
+    boolean hasRecordsArray() {
+        return m_hasRecordsArray;
+    }
+
+    /** @return number of elements in the 'records' array. */
+    int getRecordCount() {
+        return m_recordCount;
+    }
+
+    /** @return the number of bytes in the page. */
+    int getByteCount() {
+        return m_bytes.length;
+    }
+
+    /**
+     * @param index the index of the record, 0 &lt;= index &lt; {@link #getRecordCount()}
+     * @param stripAttributes whether to remove 'attributes' objects (on all levels)
+     * @return the JSON of that record
+     * @throws SalesforceResponseException if the record is malformed
+     */
+    String getRecord(final int index, final boolean stripAttributes) throws SalesforceResponseException {
+        if (index < 0 || index >= m_recordCount) {
+            throw new IndexOutOfBoundsException("Invalid record index " + index + ", count is " + m_recordCount);
+        }
+        return toString(m_recordBounds[2 * index], m_recordBounds[2 * index + 1], stripAttributes);
+    }
+
+    private String toString(final int from, final int to, final boolean stripAttributes)
+        throws SalesforceResponseException {
+        if (!stripAttributes) {
+            return new String(m_bytes, from, to - from, StandardCharsets.UTF_8);
+        }
+        final var out = new ByteArrayOutputStream(to - from);
+        copyValue(skipWhitespace(from), out, true);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes the record as single line (no line breaks) to the output. Unless 'attributes' need to be removed or the
+     * record spans multiple lines the bytes are copied as-is.
+     *
+     * @param index the index of the record, 0 &lt;= index &lt; {@link #getRecordCount()}
+     * @param stripAttributes whether to remove 'attributes' objects (on all levels)
+     * @param out the stream to write to
+     * @throws SalesforceResponseException if the record is malformed
+     * @throws IOException if writing fails
+     */
+    void writeRecord(final int index, final boolean stripAttributes, final OutputStream out)
+        throws SalesforceResponseException, IOException {
+        if (index < 0 || index >= m_recordCount) {
+            throw new IndexOutOfBoundsException("Invalid record index " + index + ", count is " + m_recordCount);
+        }
+        final int from = m_recordBounds[2 * index];
+        final int to = m_recordBounds[2 * index + 1];
+        if (!stripAttributes && !containsLineBreak(from, to)) {
+            out.write(m_bytes, from, to - from);
+        } else {
+            // copying drops all whitespace between tokens (line breaks inside strings are always escaped)
+            final var buffer = new ByteArrayOutputStream(to - from);
+            copyValue(skipWhitespace(from), buffer, stripAttributes);
+            buffer.writeTo(out);
+        }
+    }
+
+    private boolean containsLineBreak(final int from, final int to) {
+        for (int i = from; i < to; i++) {
+            if (m_bytes[i] == '\n' || m_bytes[i] == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void scanPage() throws SalesforceResponseException {
+        int pos = expect(skipWhitespace(0), '{');
+        pos = skipWhitespace(pos);
+        if (m_bytes[pos] == '}') {
+            return;
+        }
+        while (true) {
+            final int keyStart = pos;
+            final int keyEnd = skipString(pos);
+            pos = skipWhitespace(expect(skipWhitespace(keyEnd), ':'));
+            final String key = decodeString(keyStart, keyEnd);
+            switch (key) {
+                case "totalSize" -> {
+                    final int end = skipValue(pos);
+                    try {
+                        m_totalSize = OptionalInt.of(Integer.parseInt(asciiString(pos, end)));
+                    } catch (NumberFormatException ex) { // NOSONAR same as DOM based parsing: ignore non-ints
+                        m_totalSize = OptionalInt.empty();
+                    }
+                    pos = end;
+                }
+                case "nextRecordsUrl" -> {
+                    if (m_bytes[pos] != '"') {
+                        throw new SalesforceResponseException(String.format(
+                            "SOQL Response contains a field '%s' but it's not of type STRING", key));
+                    }
+                    final int end = skipString(pos);
+                    m_nextRecordsUrl = Optional.of(decodeString(pos, end));
+                    pos = end;
+                }
+                case "records" -> pos = m_bytes[pos] == '[' ? scanRecords(pos) : skipValue(pos);
+                default -> pos = skipValue(pos);
+            }
+            pos = skipWhitespace(pos);
+            if (m_bytes[pos] == ',') {
+                pos = skipWhitespace(pos + 1);
+            } else {
+                expect(pos, '}');
+                return;
+            }
+        }
+    }
+
+    private int scanRecords(final int arrayStart) throws SalesforceResponseException {
+        m_hasRecordsArray = true;
+        int pos = skipWhitespace(arrayStart + 1);
+        if (m_bytes[pos] == ']') {
+            return pos + 1;
+        }
+        while (true) {
+            final int end = skipValue(pos);
+            if (2 * m_recordCount + 2 > m_recordBounds.length) {
+                m_recordBounds = Arrays.copyOf(m_recordBounds, Math.max(16, m_recordBounds.length * 2));
+            }
+            m_recordBounds[2 * m_recordCount] = pos;
+            m_recordBounds[2 * m_recordCount + 1] = end;
+            m_recordCount++;
+            pos = skipWhitespace(end);
+            if (m_bytes[pos] == ',') {
+                pos = skipWhitespace(pos + 1);
+            } else {
+                return expect(pos, ']');
+            }
+        }
+    }
+
+    /**
+     * Copies the value starting at 'pos' into 'out', dropping whitespace between tokens and, if 'stripAttributes' is
+     * set, omitting members named 'attributes' with object value.
+     */
+    private int copyValue(final int start, final ByteArrayOutputStream out, final boolean stripAttributes)
+        throws SalesforceResponseException {
+        int pos = start;
+        final byte c = m_bytes[pos];
+        if (c == '{') {
+            out.write('{');
+            pos = skipWhitespace(pos + 1);
+            var isFirst = true;
+            while (m_bytes[pos] != '}') {
+                final int keyStart = pos;
+                final int keyEnd = skipString(pos);
+                pos = skipWhitespace(expect(skipWhitespace(keyEnd), ':'));
+                if (stripAttributes && m_bytes[pos] == '{' && isAttributesKey(keyStart, keyEnd)) {
+                    pos = skipValue(pos);
+                } else {
+                    if (!isFirst) {
+                        out.write(',');
+                    }
+                    out.write(m_bytes, keyStart, keyEnd - keyStart);
+                    out.write(':');
+                    pos = copyValue(pos, out, stripAttributes);
+                    isFirst = false;
+                }
+                pos = skipWhitespace(pos);
+                if (m_bytes[pos] == ',') {
+                    pos = skipWhitespace(pos + 1);
+                } else if (m_bytes[pos] != '}') {
+                    throw malformed(pos, "expected ',' or '}'");
+                }
+            }
+            out.write('}');
+            return pos + 1;
+        } else if (c == '[') {
+            out.write('[');
+            pos = skipWhitespace(pos + 1);
+            var isFirst = true;
+            while (m_bytes[pos] != ']') {
+                if (!isFirst) {
+                    out.write(',');
+                }
+                pos = skipWhitespace(copyValue(pos, out, stripAttributes));
+                isFirst = false;
+                if (m_bytes[pos] == ',') {
+                    pos = skipWhitespace(pos + 1);
+                } else if (m_bytes[pos] != ']') {
+                    throw malformed(pos, "expected ',' or ']'");
+                }
+            }
+            out.write(']');
+            return pos + 1;
+        } else {
+            final int end = skipValue(pos);
+            out.write(m_bytes, pos, end - pos);
+            return end;
+        }
+    }
+
+    private boolean isAttributesKey(final int keyStart, final int keyEnd) {
+        return Arrays.equals(m_bytes, keyStart, keyEnd, ATTRIBUTES_KEY, 0, ATTRIBUTES_KEY.length);
+    }
+
+    /** Skips any JSON value (object, array, string or literal), returns the position after it. */
+    private int skipValue(final int start) throws SalesforceResponseException {
+        final byte c = byteAt(start);
+        if (c == '"') {
+            return skipString(start);
+        }
+        if (c != '{' && c != '[') {
+            int pos = start;
+            while (pos < m_bytes.length && !isDelimiter(m_bytes[pos])) {
+                pos++;
+            }
+            if (pos == start) {
+                throw malformed(start, "expected a value");
+            }
+            return pos;
+        }
+        int depth = 0;
+        int pos = start;
+        while (true) {
+            final byte b = byteAt(pos);
+            switch (b) {
+                case '"' -> {
+                    pos = skipString(pos);
+                    continue;
+                }
+                case '{', '[' -> depth++;
+                case '}', ']' -> depth--;
+                default -> {
+                    // nothing to track
+                }
+            }
+            pos++;
+            if (depth == 0) {
+                return pos;
+            }
+        }
+    }
+
+    /** Skips the string starting with the quote at 'start', returns the position after the closing quote. */
+    private int skipString(final int start) throws SalesforceResponseException {
+        int pos = expect(start, '"');
+        while (true) {
+            final byte b = byteAt(pos);
+            if (b == '\\') {
+                pos += 2;
+            } else if (b == '"') {
+                return pos + 1;
+            } else {
+                pos++;
+            }
+        }
+    }
+
+    private int skipWhitespace(final int start) throws SalesforceResponseException {
+        int pos = start;
+        while (isWhitespace(byteAt(pos))) {
+            pos++;
+        }
+        return pos;
+    }
+
+    private int expect(final int pos, final char c) throws SalesforceResponseException {
+        if (byteAt(pos) != c) {
+            throw malformed(pos, "expected '" + c + "'");
+        }
+        return pos + 1;
+    }
+
+    private byte byteAt(final int pos) throws SalesforceResponseException {
+        if (pos >= m_bytes.length) {
+            throw malformed(pos, "unexpected end of input");
+        }
+        return m_bytes[pos];
+    }
+
+    /** Decodes the quoted string between start (incl.) and end (excl.), resolving escape sequences. */
+    private String decodeString(final int start, final int end) throws SalesforceResponseException {
+        final var raw = new String(m_bytes, start + 1, end - start - 2, StandardCharsets.UTF_8);
+        if (raw.indexOf('\\') < 0) {
+            return raw;
+        }
+        final var sb = new StringBuilder(raw.length());
+        for (int i = 0; i < raw.length(); i++) {
+            char c = raw.charAt(i);
+            if (c != '\\' || i + 1 >= raw.length()) {
+                sb.append(c);
+                continue;
+            }
+            c = raw.charAt(++i);
+            switch (c) {
+                case 'b' -> sb.append('\b');
+                case 'f' -> sb.append('\f');
+                case 'n' -> sb.append('\n');
+                case 'r' -> sb.append('\r');
+                case 't' -> sb.append('\t');
+                case 'u' -> {
+                    if (i + 4 >= raw.length()) {
+                        throw malformed(start, "invalid unicode escape");
+                    }
+                    sb.append((char)Integer.parseInt(raw.substring(i + 1, i + 5), 16));
+                    i += 4;
+                }
+                default -> sb.append(c); // '"', '\\', '/'
+            }
+        }
+        return sb.toString();
+    }
+
+    private String asciiString(final int start, final int end) {
+        return new String(m_bytes, start, end - start, StandardCharsets.US_ASCII);
+    }
+
+    private static boolean isWhitespace(final byte b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t';
+    }
+
+    private static boolean isDelimiter(final byte b) {
+        return b == ',' || b == '}' || b == ']' || isWhitespace(b);
+    }
+
+    private static SalesforceResponseException malformed(final int pos, final String message) {
+        return new SalesforceResponseException(
+            String.format("Malformed JSON in Salesforce response at offset %d: %s", pos, message));
+    }
+}
@@ -0,0 +1,449 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.salesforce.rest.soql;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.NodeLogger;
+import org.knime.core.util.FileUtil;
+import org.knime.salesforce.auth.credential.SalesforceAccessTokenCredential;
+import org.knime.salesforce.rest.SalesforceRESTUtil;
+import org.knime.salesforce.rest.SalesforceRESTUtil.AbortCheck;
+import org.knime.salesforce.rest.SalesforceResponseException;
+import org.knime.salesforce.rest.Timeouts;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
+import com.google.common.primitives.Ints;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+/**
+ * JVM-wide, disk-backed cache of SOQL results, used by {@link AbstractSOQLExecutor} if
+ * {@linkplain AbstractSOQLExecutor#enableResultCache(Duration) enabled}. Results are cached as the sequence of raw
+ * response pages, so that an executor reading from the cache behaves exactly like one reading from the REST API.
+ *
+ * <p>
+ * Identical queries that run at the same time share a single HTTP stream: the first one (the "leader") writes the pages
+ * to a {@link Spool} file while the others read them from there as soon as they are written. If the leader fails or is
+ * canceled, the others continue with their own requests (from the page they have read so far). Completed spools become
+ * cache entries. Entries are dropped after 24h or when the total size exceeds the limit (least recently used first,
+ * system property <code>knime.salesforce.resultCache.maxSizeMB</code>, default 1024); how old an entry may be to be
+ * reused is determined by each reader.
+ *
+ * <p>
+ * The {@link Key} contains the org (instance URL) and the ID of the user, so results are only shared between
+ * executions of the same user and hence with the same permissions, also across sessions (e.g. after a token refresh).
+ * The user ID is read once per access token via the UserInfo endpoint.
+ *
+ * @author agent
+ */
+final class QueryResultCache {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(QueryResultCache.class);
+
+    /** Entries are weighed in KB so that the int weight doesn't overflow for large results. */
+    private static final long MAX_SIZE_KB =
+        Math.max(1L, Long.getLong("knime.salesforce.resultCache.maxSizeMB", 1024L)) * 1024L;
+
+    private static final Duration MAX_AGE = Duration.ofHours(24);
+
+    /**
+     * Interval in which waiting readers re-check the spool and call their abort check (they are also notified on each
+     * page).
+     */
+    private static final long WAIT_INTERVAL_MS = 200L;
+
+    private static final QueryResultCache INSTANCE = new QueryResultCache();
+
+    /**
+     * Cache key.
+     *
+     * @param instance the Salesforce instance URL
+     * @param userId the ID of the user the access token was issued for
+     * @param soql the final SOQL
+     * @param isQueryAll whether the 'queryAll' endpoint is used
+     * @param representation the executor type, i.e. how the result is represented in KNIME
+     */
+    record Key(String instance, String userId, String soql, boolean isQueryAll, String representation) {
+
+        /**
+         * @throws SalesforceResponseException if the user ID can't be read, e.g. because the token lacks the scopes
+         */
+        static Key of(final SalesforceAccessTokenCredential credential, final Timeouts timeouts, final String soql,
+            final boolean isQueryAll, final String representation) throws SalesforceResponseException {
+            final String accessToken;
+            try {
+                accessToken = credential.getAccessToken();
+            } catch (IOException ex) {
+                throw new SalesforceResponseException("Unable to retrieve access token: " + ex.getMessage(), ex);
+            }
+            final var tokenDigest =
+                HexFormat.of().formatHex(newDigest().digest(accessToken.getBytes(StandardCharsets.UTF_8)));
+            final String userId;
+            try {
+                userId = USER_IDS.get(tokenDigest, () -> SalesforceRESTUtil.getUserId(credential, timeouts));
+            } catch (ExecutionException | UncheckedExecutionException ex) {
+                if (ex.getCause() instanceof SalesforceResponseException sre) {
+                    throw sre;
+                }
+                throw new SalesforceResponseException("Unable to read user ID: " + ex.getMessage(), ex);
+            }
+            return new Key(credential.getSalesforceInstanceUrl().toString(), userId, soql, isQueryAll,
+                representation);
+        }
+
+        String toFileNamePrefix() {
+            final var digest = newDigest();
+            for (String s : new String[]{instance, userId, soql, Boolean.toString(isQueryAll), representation}) {
+                digest.update(s.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte)0);
+            }
+            return HexFormat.of().formatHex(digest.digest()).substring(0, 32);
+        }
+    }
+
+    /** Result of {@link QueryResultCache#open(Key, Duration)}, either a {@link Reader} or a {@link Spool}. */
+    sealed interface Lookup permits Reader, Spool {
+    }
+
+    /** A completed cache entry. */
+    private record Entry(Path file, long[] pageOffsets, long createdNanos) {
+
+        long size() {
+            return pageOffsets[pageOffsets.length - 1];
+        }
+    }
+
+    /** User IDs by SHA-256 digest of the access token, so the UserInfo endpoint is called once per session. */
+    private static final Cache<String, String> USER_IDS = CacheBuilder.newBuilder() //
+        .expireAfterAccess(MAX_AGE) //
+        .maximumSize(1000) //
+        .build();
+
+    private final Cache<Key, Entry> m_entries = CacheBuilder.newBuilder() //
+        .expireAfterWrite(MAX_AGE) //
+        .maximumWeight(MAX_SIZE_KB) //
+        .weigher((Key k, Entry e) -> Ints.saturatedCast(e.size() / 1024L + 1L)) //
+        .removalListener((RemovalNotification<Key, Entry> n) -> delete(n.getValue().file())) //
+        .build();
+
+    /** Spools in progress, guarded by 'this'. */
+    private final Map<Key, Spool> m_spools = new HashMap<>();
+
+    /** Lazily created, deleted on shutdown. */
+    private Path m_directory;
+
+    private QueryResultCache() {
+    }
+
+    static QueryResultCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Looks up the query result. Returns a {@link Reader} if there is an entry that is not older than the given time to
+     * live or if the identical query is currently running (in which case the reader follows that query), otherwise a
+     * new {@link Spool} that the caller is expected to fill and to {@linkplain Spool#commit() commit} or
+     * {@linkplain Spool#abort() abort}.
+     *
+     * @param key the key
+     * @param timeToLive the maximum age of a cached result to be reused
+     * @return a reader or a spool
+     * @throws IOException if the spool file can't be created
+     */
+    synchronized Lookup open(final Key key, final Duration timeToLive) throws IOException {
+        final var entry = m_entries.getIfPresent(key);
+        if (entry != null && System.nanoTime() - entry.createdNanos() <= timeToLive.toNanos()) {
+            try {
+                return new Reader(entry);
+            } catch (IOException ex) { // NOSONAR file got deleted, re-run the query
+                m_entries.invalidate(key);
+            }
+        }
+        final var running = m_spools.get(key);
+        if (running != null) {
+            return new Reader(running);
+        }
+        if (m_directory == null) {
+            m_directory = FileUtil.createTempDir("salesforce-soql-cache").toPath();
+        }
+        final var spool = new Spool(key, m_directory.resolve(key.toFileNamePrefix() + "-" + UUID.randomUUID()));
+        m_spools.put(key, spool);
+        return spool;
+    }
+
+    private synchronized void onSpoolDone(final Spool spool, final boolean isCommit) {
+        m_spools.remove(spool.m_key, spool);
+        if (isCommit) {
+            m_entries.put(spool.m_key, new Entry(spool.m_file,
+                spool.m_pageOffsets.stream().mapToLong(Long::longValue).toArray(), System.nanoTime()));
+        }
+    }
+
+    /**
+     * Pages of a query that is currently running, written by the leader. Pages are appended to a file (without any
+     * framing, the offsets are kept in memory) and can be read concurrently by {@link Reader readers}.
+     */
+    final class Spool implements Lookup {
+
+        private final Key m_key;
+
+        private final Path m_file;
+
+        private final FileChannel m_channel;
+
+        /** Start offsets of all pages plus the end offset of the last page; guarded by 'this'. */
+        private final List<Long> m_pageOffsets = new ArrayList<>(List.of(0L));
+
+        /** Guarded by 'this'. */
+        private boolean m_isDone;
+
+        /** Guarded by 'this'. */
+        private boolean m_isAborted;
+
+        private Spool(final Key key, final Path file) throws IOException {
+            m_key = key;
+            m_file = file;
+            m_channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        }
+
+        /**
+         * Appends a page. The spool is aborted if the result gets larger than the cache.
+         *
+         * @param page the raw page
+         * @return false if the spool was aborted, either due to its size or an I/O problem
+         */
+        boolean append(final byte[] page) {
+            final long end;
+            synchronized (this) {
+                if (m_isDone) {
+                    return false;
+                }
+                end = m_pageOffsets.get(m_pageOffsets.size() - 1) + page.length;
+            }
+            if (end > MAX_SIZE_BYTES) {
+                LOGGER.debugWithFormat("Query result exceeds cache size (%d MB), not caching it",
+                    MAX_SIZE_BYTES / (1024 * 1024));
+                abort();
+                return false;
+            }
+            try {
+                final var buffer = ByteBuffer.wrap(page);
+                while (buffer.hasRemaining()) {
+                    m_channel.write(buffer);
+                }
+            } catch (IOException ex) {
+                LOGGER.debug("Unable to write query result cache file, not caching result: " + ex.getMessage(), ex);
+                abort();
+                return false;
+            }
+            synchronized (this) {
+                m_pageOffsets.add(end);
+                notifyAll();
+            }
+            return true;
+        }
+
+        /** Called by the leader after the last page has been appended, makes it a cache entry. */
+        void commit() {
+            if (finish(false)) {
+                onSpoolDone(this, true);
+            }
+        }
+
+        /** Called by the leader if the query is not read to the end (error, cancelation), readers fall back. */
+        void abort() {
+            if (finish(true)) {
+                onSpoolDone(this, false);
+                delete(m_file);
+            }
+        }
+
+        private boolean finish(final boolean isAbort) {
+            synchronized (this) {
+                if (m_isDone) {
+                    return false;
+                }
+                m_isDone = true;
+                m_isAborted = isAbort;
+                notifyAll();
+            }
+            try {
+                m_channel.close();
+            } catch (IOException ex) {
+                LOGGER.debug("Unable to close query result cache file: " + ex.getMessage(), ex);
+            }
+            return true;
+        }
+
+        /**
+         * @return start and end offset of the page, null if there are no more pages; waits for the leader, calling
+         *         the abort check (if not null) periodically
+         */
+        private synchronized long[] awaitPage(final int index, final AbortCheck abortCheck)
+            throws IOException, InterruptedException, CanceledExecutionException, SalesforceResponseException {
+            while (!m_isDone && index + 1 >= m_pageOffsets.size()) {
+                if (abortCheck != null) {
+                    abortCheck.check();
+                }
+                wait(WAIT_INTERVAL_MS);
+            }
+            if (m_isAborted) {
+                throw new IOException("Identical query running concurrently was aborted");
+            }
+            if (index + 1 >= m_pageOffsets.size()) {
+                return null; // NOSONAR
+            }
+            return new long[]{m_pageOffsets.get(index), m_pageOffsets.get(index + 1)};
+        }
+    }
+
+    /** Reads the pages of a cache entry or a running {@link Spool}. Not thread-safe. */
+    static final class Reader implements Lookup, AutoCloseable {
+
+        private final Entry m_entry;
+
+        private final Spool m_spool;
+
+        private final FileChannel m_channel;
+
+        private int m_nextPageIndex;
+
+        private Reader(final Entry entry) throws IOException {
+            m_entry = entry;
+            m_spool = null;
+            m_channel = FileChannel.open(entry.file(), StandardOpenOption.READ);
+        }
+
+        private Reader(final Spool spool) throws IOException {
+            m_entry = null;
+            m_spool = spool;
+            m_channel = FileChannel.open(spool.m_file, StandardOpenOption.READ);
+        }
+
+        /** @return whether this reader follows a running query (rather than reading a completed entry) */
+        boolean isFollowing() {
+            return m_spool != null;
+        }
+
+        /**
+         * @param abortCheck called while waiting for the followed query, may be null
+         * @return the next page, null if there are no more pages
+         * @throws IOException if the page can't be read or the followed query was aborted
+         * @throws InterruptedException if interrupted while waiting for the followed query
+         * @throws CanceledExecutionException if thrown by the abort check
+         * @throws SalesforceResponseException if thrown by the abort check
+         */
+        byte[] next(final AbortCheck abortCheck)
+            throws IOException, InterruptedException, CanceledExecutionException, SalesforceResponseException {
+            final long[] range;
+            if (m_spool != null) {
+                range = m_spool.awaitPage(m_nextPageIndex, abortCheck);
+            } else if (m_nextPageIndex + 1 < m_entry.pageOffsets().length) {
+                range = new long[]{m_entry.pageOffsets()[m_nextPageIndex], m_entry.pageOffsets()[m_nextPageIndex + 1]};
+            } else {
+                range = null;
+            }
+            if (range == null) {
+                return null; // NOSONAR
+            }
+            final var buffer = ByteBuffer.allocate(Math.toIntExact(range[1] - range[0]));
+            while (buffer.hasRemaining()) {
+                if (m_channel.read(buffer, range[0] + buffer.position()) < 0) {
+                    throw new IOException("Query result cache file is truncated");
+                }
+            }
+            m_nextPageIndex++;
+            return buffer.array();
+        }
+
+        @Override
+        public void close() {
+            try {
+                m_channel.close();
+            } catch (IOException ex) {
+                LOGGER.debug("Unable to close query result cache file: " + ex.getMessage(), ex);
+            }
+        }
+    }
+
+    private static void delete(final Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ex) { // NOSONAR e.g. still open by a reader on Windows
+            file.toFile().deleteOnExit();
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+}
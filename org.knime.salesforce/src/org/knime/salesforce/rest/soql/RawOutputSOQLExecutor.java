@@ -51,21 +51,28 @@
 import java.util.Optional;
 
 import org.knime.base.util.flowvariable.FlowVariableProvider;
+import org.knime.core.data.DataCell;
 import org.knime.core.data.DataColumnSpecCreator;
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.RowKey;
 import org.knime.core.data.def.DefaultRow;
 import org.knime.core.data.json.JSONCellFactory;
-import org.knime.core.node.BufferedDataContainer;
-import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionContext;
 import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.streamable.RowOutput;
+import org.knime.core.util.JsonUtil;
 import org.knime.salesforce.auth.credential.SalesforceAccessTokenCredential;
 import org.knime.salesforce.rest.SalesforceResponseException;
 import org.knime.salesforce.rest.Timeouts;
 import org.knime.salesforce.soql.SalesforceSOQLNodeSettings;
 
+import jakarta.json.JsonArray;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonStructure;
+import jakarta.json.JsonValue;
+import jakarta.json.JsonValue.ValueType;
+
 /**
  * Runs the SOQL and returns it in
  * {@linkplain org.knime.salesforce.soql.SalesforceSOQLNodeSettings.SOQLOutputRepresentation#RAW raw} format.
@@ -86,9 +93,20 @@ public class RawOutputSOQLExecutor extends AbstractSOQLExecutor {
     public RawOutputSOQLExecutor(final SalesforceAccessTokenCredential credential, final Timeouts timeouts,
         final SalesforceSOQLNodeSettings settings, final FlowVariableProvider flowVarProvider)
         throws InvalidSettingsException {
-        super(credential, timeouts, settings.getSOQLWithFlowVarsReplaced(flowVarProvider),
-            settings.isRetrieveDeletedAndArchived());
+        this(credential, timeouts, settings, settings.getSOQLWithFlowVarsReplaced(flowVarProvider));
+    }
+
+    /**
+     * @param credential
+     * @param timeouts
+     * @param settings
+     * @param soql the final SOQL (placeholders already replaced)
+     */
+    public RawOutputSOQLExecutor(final SalesforceAccessTokenCredential credential, final Timeouts timeouts,
+        final SalesforceSOQLNodeSettings settings, final String soql) {
+        super(credential, timeouts, soql, settings.isRetrieveDeletedAndArchived(), settings.getBatchSize());
         m_settings = settings;
+        settings.getResultCacheTimeToLive().ifPresent(this::enableResultCache);
     }
 
     @Override
@@ -106,10 +124,8 @@ SalesforceSOQLNodeSettings getSettings() {
     }
 
     @Override
-    public BufferedDataTable execute(final ExecutionContext context)
-        throws SalesforceResponseException, CanceledExecutionException {
-
-        BufferedDataContainer container = context.createDataContainer(createFixedOutputSpec());
+    protected void executeQuery(final RowOutput output, final ExecutionContext context)
+        throws SalesforceResponseException, CanceledExecutionException, InterruptedException {
         context.setMessage("Invoking Salesforce REST API");
 
         var nextResults = execute();
@@ -119,13 +135,41 @@ public BufferedDataTable execute(final ExecutionContext context)
         do {
             context.setMessage("Processing result set " + chunkIndex + sizeAsString);
             context.checkCanceled();
-            container
-                .addRowToTable(new DefaultRow(RowKey.createRowKey(chunkIndex), JSONCellFactory.create(nextResults)));
+            output.push(new DefaultRow(RowKey.createRowKey(chunkIndex),
+                createJSONCell(nextResults, m_settings.isStripAttributes())));
             chunkIndex++;
             context.setMessage("Invoking Salesforce REST API for next chunk (index " + chunkIndex + ")");
         } while ((nextResults = readNext().orElse(null)) != null);
-        container.close();
-        return container.getTable();
+        output.close();
+    }
+
+    /**
+     * Creates a JSON cell from (a part of) the response.
+     *
+     * @param json the JSON
+     * @param stripAttributes whether to remove 'attributes' objects (on all levels)
+     * @return a new cell
+     */
+    static DataCell createJSONCell(final JsonStructure json, final boolean stripAttributes) {
+        return JSONCellFactory.create(stripAttributes ? removeAttributes(json) : json);
+    }
+
+    /** Copies the value, omitting members named 'attributes' with object value. */
+    private static JsonValue removeAttributes(final JsonValue value) {
+        if (value instanceof JsonObject object) {
+            final var builder = JsonUtil.getProvider().createObjectBuilder();
+            object.forEach((key, member) -> {
+                if (!("attributes".equals(key) && member.getValueType() == ValueType.OBJECT)) {
+                    builder.add(key, removeAttributes(member));
+                }
+            });
+            return builder.build();
+        } else if (value instanceof JsonArray array) {
+            final var builder = JsonUtil.getProvider().createArrayBuilder();
+            array.forEach(element -> builder.add(removeAttributes(element)));
+            return builder.build();
+        }
+        return value;
     }
 
 }
@@ -52,15 +52,18 @@
 import org.knime.core.data.RowKey;
 import org.knime.core.data.def.DefaultRow;
 import org.knime.core.data.json.JSONCellFactory;
-import org.knime.core.node.BufferedDataContainer;
-import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionContext;
 import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.NodeLogger;
+import org.knime.core.node.streamable.RowOutput;
 import org.knime.core.util.JsonUtil;
 import org.knime.salesforce.auth.credential.SalesforceAccessTokenCredential;
 import org.knime.salesforce.rest.SalesforceResponseException;
 import org.knime.salesforce.rest.Timeouts;
+import org.knime.salesforce.soql.SOQLParseException;
+import org.knime.salesforce.soql.SOQLParser;
+import org.knime.salesforce.soql.SOQLQuery;
 import org.knime.salesforce.soql.SalesforceSOQLNodeSettings;
 
 import jakarta.json.JsonObject;
@@ -74,6 +77,7 @@
  */
 public class RecordsOutputSOQLExecutor extends RawOutputSOQLExecutor {
 
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(RecordsOutputSOQLExecutor.class);
 
     /**
      * @param credential
@@ -85,14 +89,40 @@ public class RecordsOutputSOQLExecutor extends RawOutputSOQLExecutor {
     public RecordsOutputSOQLExecutor(final SalesforceAccessTokenCredential credential, final Timeouts timeouts,
         final SalesforceSOQLNodeSettings settings, final FlowVariableProvider flowVarProvider)
         throws InvalidSettingsException {
-        super(credential, timeouts, settings, flowVarProvider);
+        this(credential, timeouts, settings, settings.getSOQLWithFlowVarsReplaced(flowVarProvider));
+    }
+
+    /**
+     * @param credential
+     * @param timeouts
+     * @param settings
+     * @param soql the final SOQL (placeholders already replaced)
+     */
+    public RecordsOutputSOQLExecutor(final SalesforceAccessTokenCredential credential, final Timeouts timeouts,
+        final SalesforceSOQLNodeSettings settings, final String soql) {
+        super(credential, timeouts, settings, settings.isOutputAsCount() ? toCountQuery(soql) : soql);
+    }
+
+    /**
+     * Only the 'totalSize' is used if the output is the count, a <tt>SELECT COUNT()</tt> query determines it without
+     * transferring the first page of records. The query is used as-is if it can't be rewritten.
+     */
+    private static String toCountQuery(final String soql) {
+        try {
+            final var countQuery = SOQLParser.parse(soql).toCountQuery().map(SOQLQuery::toSOQL).orElse(soql);
+            if (!countQuery.equals(soql)) {
+                LOGGER.debugWithFormat("Running count query \"%s\"", countQuery);
+            }
+            return countQuery;
+        } catch (SOQLParseException ex) {
+            LOGGER.debug("Unable to parse SOQL, running it as-is: " + ex.getMessage(), ex);
+            return soql;
+        }
     }
 
     @Override
-    public
-        BufferedDataTable execute(final ExecutionContext context)
-            throws SalesforceResponseException, CanceledExecutionException {
-        BufferedDataContainer container = context.createDataContainer(createFixedOutputSpec());
+    protected void executeQuery(final RowOutput output, final ExecutionContext context)
+        throws SalesforceResponseException, CanceledExecutionException, InterruptedException {
         context.setMessage("Invoking Salesforce REST API");
         JsonStructure nextResults = execute();
         String sizeAsString = String.format("(%s total records)",
@@ -103,25 +133,25 @@ BufferedDataTable execute(final ExecutionContext context)
                     getTotalSize().orElseThrow(
                         () -> new SalesforceResponseException("No 'totalSize' key in Salesforce API response")))
                 .build();
-            container.addRowToTable(
+            output.push(
                 new DefaultRow(RowKey.createRowKey(0L), JSONCellFactory.create(sizeObject)));
         } else {
             long rowIndex = 0L;
             long chunkIndex = 0L;
+            final boolean isStripAttributes = getSettings().isStripAttributes();
             do {
                 context.setMessage("Processing result set " + chunkIndex + sizeAsString);
                 for (JsonStructure split : splitJsonStructureByRecords(nextResults)) {
                     context.checkCanceled();
-                    container.addRowToTable(
-                        new DefaultRow(RowKey.createRowKey(rowIndex), JSONCellFactory.create(split)));
+                    output.push(new DefaultRow(RowKey.createRowKey(rowIndex),
+                        createJSONCell(split, isStripAttributes)));
                     rowIndex++;
                 }
                 chunkIndex++;
                 context.setMessage("Invoking Salesforce REST API for next chunk (index " + chunkIndex + ")");
             } while ((nextResults = readNext().orElse(null)) != null);
         }
-        container.close();
-        return container.getTable();
+        output.close();
     }
 
 }
@@ -0,0 +1,256 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.salesforce.rest.soql;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import org.knime.core.util.JsonUtil;
+import org.knime.salesforce.rest.SalesforceResponseException;
+import org.knime.salesforce.rest.soql.FileOutputSOQLExecutor.FileFormat;
+import org.knime.salesforce.rest.soql.FileOutputSOQLExecutor.FileOptions;
+
+import com.google.common.io.CountingOutputStream;
+
+import jakarta.json.JsonException;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonString;
+import jakarta.json.JsonValue;
+import jakarta.json.JsonValue.ValueType;
+
+/**
+ * Writes records into a sequence of files, starting a new file once the current one reached the configured size
+ * (measured on disk, i.e. after compression). The size is checked between records, a file therefore contains at least
+ * one record and can be slightly larger than the limit (compressed files by up to the data held by the compressor).
+ *
+ * @author agent
+ */
+final class RollingFileWriter implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /** A completely written file. */
+    record WrittenFile(Path path, long recordCount, long size, String sha256) {
+    }
+
+    private final FileOptions m_options;
+
+    private final List<WrittenFile> m_closedFiles = new ArrayList<>();
+
+    /** CSV only: the column names, determined by the first record. */
+    private List<String> m_csvColumns;
+
+    private int m_fileIndex;
+
+    private Path m_currentPath;
+
+    private CountingOutputStream m_currentFileCounter;
+
+    private DigestOutputStream m_currentDigestStream;
+
+    private OutputStream m_currentOut;
+
+    private long m_currentRecordCount;
+
+    RollingFileWriter(final FileOptions options) {
+        m_options = options;
+    }
+
+    /**
+     * Writes the record with the given index of the page.
+     *
+     * @param page the page
+     * @param index the record index
+     * @throws IOException if writing fails
+     * @throws SalesforceResponseException if the record is malformed
+     */
+    void write(final JsonPageScanner page, final int index) throws IOException, SalesforceResponseException {
+        if (m_currentOut != null && m_currentRecordCount > 0
+            && m_currentFileCounter.getCount() >= m_options.maxBytesPerFile()) {
+            closeCurrentFile();
+        }
+        if (m_options.format() == FileFormat.CSV) {
+            final var record = parseRecord(page.getRecord(index, true));
+            if (m_csvColumns == null) {
+                m_csvColumns = new ArrayList<>(record.keySet());
+            }
+            final var out = getCurrentStream();
+            writeCSVLine(out, m_csvColumns.stream().map(c -> toCSVValue(record.get(c))).toList());
+        } else {
+            final var out = getCurrentStream();
+            page.writeRecord(index, m_options.stripAttributes(), out);
+            out.write('\n');
+        }
+        m_currentRecordCount++;
+    }
+
+    /** @return the files completed since the last call (excluding the one currently written) */
+    List<WrittenFile> pollClosedFiles() {
+        final var result = List.copyOf(m_closedFiles);
+        m_closedFiles.clear();
+        return result;
+    }
+
+    /**
+     * Closes the current file (if any). Its description is available via {@link #pollClosedFiles()} afterwards.
+     */
+    @Override
+    public void close() throws IOException {
+        if (m_currentOut != null) {
+            closeCurrentFile();
+        }
+    }
+
+    /** Closes the current file without recording it, e.g. when the query failed or was canceled. */
+    void abort() {
+        if (m_currentOut != null) {
+            try {
+                m_currentOut.close();
+            } catch (IOException ex) { // NOSONAR file is incomplete anyway
+                // ignore
+            }
+            m_currentOut = null;
+        }
+    }
+
+    private OutputStream getCurrentStream() throws IOException {
+        if (m_currentOut == null) {
+            m_fileIndex++;
+            m_currentPath = m_options.folder().resolve(String.format("%s-%05d%s%s", m_options.filePrefix(),
+                m_fileIndex, m_options.format().getExtension(), m_options.gzip() ? ".gz" : ""));
+            if (!m_options.overwrite() && Files.exists(m_currentPath)) {
+                throw new FileAlreadyExistsException(m_currentPath.toString(), null,
+                    "File already exists (enable overwrite to replace it)");
+            }
+            // counted above the buffer so that the size reflects all bytes written so far (except those still
+            // held by the compressor)
+            final OutputStream fileOut = Files.newOutputStream(m_currentPath, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            m_currentFileCounter = new CountingOutputStream(new BufferedOutputStream(fileOut, BUFFER_SIZE));
+            m_currentDigestStream = new DigestOutputStream(m_currentFileCounter, newDigest());
+            m_currentOut = m_options.gzip() ? new GZIPOutputStream(m_currentDigestStream, BUFFER_SIZE)
+                : m_currentDigestStream;
+            m_currentRecordCount = 0L;
+            if (m_options.format() == FileFormat.CSV && m_csvColumns != null) {
+                writeCSVLine(m_currentOut, m_csvColumns);
+            }
+        }
+        return m_currentOut;
+    }
+
+    private void closeCurrentFile() throws IOException {
+        m_currentOut.close();
+        m_currentOut = null;
+        m_closedFiles.add(new WrittenFile(m_currentPath, m_currentRecordCount, m_currentFileCounter.getCount(),
+            HexFormat.of().formatHex(m_currentDigestStream.getMessageDigest().digest())));
+    }
+
+    private static JsonObject parseRecord(final String json) throws SalesforceResponseException {
+        try (var reader = JsonUtil.getProvider().createReader(new StringReader(json))) {
+            final var value = reader.readValue();
+            if (value.getValueType() != ValueType.OBJECT) {
+                throw new SalesforceResponseException("Record is not a JSON object but " + value.getValueType());
+            }
+            return value.asJsonObject();
+        } catch (JsonException ex) {
+            throw new SalesforceResponseException("Invalid JSON in Salesforce response: " + ex.getMessage(), ex);
+        }
+    }
+
+    /** Strings as-is, null as empty field, numbers and booleans as literal, relationships (objects) as JSON. */
+    private static String toCSVValue(final JsonValue value) {
+        if (value == null || value.getValueType() == ValueType.NULL) {
+            return "";
+        }
+        if (value.getValueType() == ValueType.STRING) {
+            return ((JsonString)value).getString();
+        }
+        return value.toString();
+    }
+
+    /** Writes a line as per RFC 4180: fields containing separators, quotes or line breaks are quoted. */
+    private static void writeCSVLine(final OutputStream out, final List<String> values) throws IOException {
+        final var line = new StringBuilder();
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            final String v = values.get(i);
+            if (v.indexOf(',') >= 0 || v.indexOf('"') >= 0 || v.indexOf('\n') >= 0 || v.indexOf('\r') >= 0) {
+                line.append('"').append(v.replace("\"", "\"\"")).append('"');
+            } else {
+                line.append(v);
+            }
+        }
+        line.append("\r\n");
+        out.write(line.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+}
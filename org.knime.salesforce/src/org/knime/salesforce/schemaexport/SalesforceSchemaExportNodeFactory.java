@@ -0,0 +1,101 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.salesforce.schemaexport;
+
+import org.knime.core.node.BufferedDataTable;
+import org.knime.credentials.base.CredentialPortObject;
+import org.knime.node.parameters.legacy.nodeimpl.WebUINodeConfiguration;
+import org.knime.node.parameters.legacy.nodeimpl.WebUINodeFactory;
+
+/**
+ * Factory of the Salesforce Schema Export node.
+ *
+ * @author agent
+ */
+@SuppressWarnings("restriction") // New Node UI is not yet API
+public final class SalesforceSchemaExportNodeFactory extends WebUINodeFactory<SalesforceSchemaExportNodeModel> {
+
+    private static final String FULL_DESCRIPTION = """
+<p>
+Exports the metadata of all objects and fields of a Salesforce org as table, e.g. for data cataloging. The node lists
+the objects of the org and describes each of them; the output contains a row per field with the object, the field
+name and label, type, length, whether it's nillable, the objects it references (for lookup fields) and the picklist
+values.
+</p>
+<p>
+Objects are described in parallel, several objects per request
+(<a href="https://developer.salesforce.com/docs/atlas.en-us.api_rest.meta/api_rest/resources_composite_batch.htm">
+Composite Batch</a>). With <i>Incremental refresh</i> enabled, re-executions only read the metadata that changed
+since the previous execution, which usually takes seconds rather than minutes for large orgs. The metadata of the
+previous execution is kept in the <i>Catalog folder</i>, by default in the KNIME home directory.
+</p>
+""";
+
+    private static final WebUINodeConfiguration CONFIG = WebUINodeConfiguration.builder()//
+        .name("Salesforce Schema Export")//
+        .icon("./salesforce.png").shortDescription("Export the objects and fields of a Salesforce org")//
+        .fullDescription(FULL_DESCRIPTION)//
+        .modelSettingsClass(SalesforceSchemaExportNodeParameters.class)//
+        .nodeType(NodeType.Source)//
+        .addInputPort("Salesforce Connection", CredentialPortObject.TYPE, "Salesforce connection")//
+        .addOutputPort("Schema Catalog", BufferedDataTable.TYPE, """
+                A row per field of each exported object, with the metadata of the object and the field.
+                """)//
+        .sinceVersion(5, 11, 0).build();
+
+    /** Called by framework. */
+    public SalesforceSchemaExportNodeFactory() {
+        super(CONFIG);
+    }
+
+    @Override
+    public SalesforceSchemaExportNodeModel createNodeModel() {
+        return new SalesforceSchemaExportNodeModel(CONFIG);
+    }
+}
@@ -0,0 +1,441 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.salesforce.schemaexport;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Future;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.collection.CollectionCellFactory;
+import org.knime.core.data.collection.ListCell;
+import org.knime.core.data.def.BooleanCell;
+import org.knime.core.data.def.BooleanCell.BooleanCellFactory;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.NodeLogger;
+import org.knime.core.node.port.PortObject;
+import org.knime.core.node.port.PortObjectSpec;
+import org.knime.core.node.util.CheckUtils;
+import org.knime.core.util.ThreadPool;
+import org.knime.credentials.base.NoSuchCredentialException;
+import org.knime.filehandling.core.connections.FSCategory;
+import org.knime.filehandling.core.connections.FSLocation;
+import org.knime.node.parameters.legacy.nodeimpl.WebUINodeConfiguration;
+import org.knime.node.parameters.legacy.nodeimpl.WebUINodeModel;
+import org.knime.salesforce.auth.credential.SalesforceAccessTokenCredential;
+import org.knime.salesforce.auth.port.SalesforceConnectionPortObjectSpec;
+import org.knime.salesforce.rest.FutureUtil;
+import org.knime.salesforce.rest.SalesforceRESTUtil;
+import org.knime.salesforce.rest.SalesforceResponseException;
+import org.knime.salesforce.rest.Timeouts;
+import org.knime.salesforce.rest.gsonbindings.fields.Field;
+import org.knime.salesforce.rest.gsonbindings.fields.PicklistValue;
+import org.knime.salesforce.rest.gsonbindings.sobjects.SObject;
+import org.knime.salesforce.util.FSLocationUtil;
+
+import com.google.common.hash.Hashing;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+/**
+ * Model of the Salesforce Schema Export node. Lists the objects of the org and describes them with a bounded number
+ * of parallel requests, objects not read before in Composite Batch requests, objects read by the previous execution
+ * with conditional ("If-Modified-Since") requests.
+ *
+ * @author agent
+ */
+@SuppressWarnings("restriction") // New Node UI is not yet API
+final class SalesforceSchemaExportNodeModel extends WebUINodeModel<SalesforceSchemaExportNodeParameters> {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(SalesforceSchemaExportNodeModel.class);
+
+    /** Objects described per (Composite Batch) request. */
+    private static final int DESCRIBE_BATCH_SIZE = 25;
+
+    private static final DataTableSpec OUTPUT_SPEC = new DataTableSpec( //
+        new DataColumnSpecCreator("Object", StringCell.TYPE).createSpec(), //
+        new DataColumnSpecCreator("Object Label", StringCell.TYPE).createSpec(), //
+        new DataColumnSpecCreator("Field", StringCell.TYPE).createSpec(), //
+        new DataColumnSpecCreator("Field Label", StringCell.TYPE).createSpec(), //
+        new DataColumnSpecCreator("Type", StringCell.TYPE).createSpec(), //
+        new DataColumnSpecCreator("Length", IntCell.TYPE).createSpec(), //
+        new DataColumnSpecCreator("Nillable", BooleanCell.TYPE).createSpec(), //
+        new DataColumnSpecCreator("Reference To", ListCell.getCollectionType(StringCell.TYPE)).createSpec(), //
+        new DataColumnSpecCreator("Relationship Name", StringCell.TYPE).createSpec(), //
+        new DataColumnSpecCreator("Picklist Values", ListCell.getCollectionType(StringCell.TYPE)).createSpec());
+
+    /**
+     * The metadata read by an execution.
+     *
+     * @param instanceUrl the org it was read from
+     * @param userId the user it was read by (the metadata depends on the permissions of the user)
+     * @param date the "Date" of the object list response, all metadata was read after that date
+     * @param objects all objects of the org (not only the exported ones)
+     * @param fieldsByObject the fields of the exported objects, by object name
+     */
+    private record Catalog(URI instanceUrl, String userId, String date, SObject[] objects,
+        Map<String, Field[]> fieldsByObject) {
+    }
+
+    /**
+     * Default folder (in the KNIME home directory) of the catalogs kept for incremental refresh, one gzipped JSON file
+     * per org and user, see {@link SalesforceSchemaExportNodeParameters#m_catalogFolder}. The catalogs are kept
+     * outside of the node as a re-execution is always preceded by a reset, and survive closing the workflow.
+     */
+    private static final String CATALOG_FOLDER = "salesforce-schema-export";
+
+    SalesforceSchemaExportNodeModel(final WebUINodeConfiguration configuration) {
+        super(configuration, SalesforceSchemaExportNodeParameters.class);
+    }
+
+    @Override
+    protected PortObjectSpec[] configure(final PortObjectSpec[] inSpecs,
+        final SalesforceSchemaExportNodeParameters settings) throws InvalidSettingsException {
+        if (!(inSpecs[0] instanceof SalesforceConnectionPortObjectSpec)) {
+            throw new InvalidSettingsException(
+                "Incompatible input connection. Connect the Salesforce Connector output port.");
+        }
+        compileObjectNamePattern(settings);
+        CheckUtils.checkSetting(settings.m_maxConcurrentRequests >= 1,
+            "Maximum concurrent requests must be at least 1: %d", settings.m_maxConcurrentRequests);
+        return new PortObjectSpec[]{OUTPUT_SPEC};
+    }
+
+    private static Optional<Pattern> compileObjectNamePattern(final SalesforceSchemaExportNodeParameters settings)
+        throws InvalidSettingsException {
+        if (StringUtils.isEmpty(settings.m_objectNamePattern)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Pattern.compile(settings.m_objectNamePattern));
+        } catch (PatternSyntaxException ex) {
+            throw new InvalidSettingsException(
+                String.format("Invalid object name pattern \"%s\": %s", settings.m_objectNamePattern,
+                    ex.getDescription()), ex);
+        }
+    }
+
+    @Override
+    protected PortObject[] execute(final PortObject[] inObjects, final ExecutionContext exec,
+        final SalesforceSchemaExportNodeParameters settings) throws Exception {
+        final var connectionSpec = (SalesforceConnectionPortObjectSpec)inObjects[0].getSpec();
+        final SalesforceAccessTokenCredential credential;
+        try {
+            credential = connectionSpec.resolveCredential(SalesforceAccessTokenCredential.class);
+        } catch (NoSuchCredentialException e) {
+            throw new InvalidSettingsException(e.getMessage(), e);
+        }
+        final var timeouts = connectionSpec.getTimeouts();
+        final var objectNamePattern = compileObjectNamePattern(settings);
+        final var instanceUrl = credential.getSalesforceInstanceUrl();
+        final Optional<String> userId =
+            settings.m_incrementalRefresh ? readUserId(credential, timeouts, exec) : Optional.empty();
+        // the connection to the file system of the folder is kept open while the catalog is read and written
+        try (var catalogFolder = userId.isPresent() ? resolveCatalogFolder(settings) : null) {
+            final Optional<Path> catalogFile =
+                userId.map(id -> getCatalogFile(catalogFolder.getPath(), instanceUrl, id));
+            final Catalog previous = catalogFile.flatMap(f -> readCatalog(f, instanceUrl, userId.get())).orElse(null);
+
+            exec.setMessage("Reading objects");
+            final SalesforceRESTUtil.ConditionalResponse<SObject[]> objectsResponse;
+            try (var scope = SalesforceRESTUtil.openAbortScope(exec::checkCanceled)) {
+                objectsResponse = SalesforceRESTUtil.getSObjectsIfModifiedSince(
+                    previous != null ? previous.date() : null, credential, timeouts);
+            }
+            // not modified only if the condition was sent, i.e. there is a previous catalog
+            final boolean isUnchanged = objectsResponse.value().isEmpty();
+            final SObject[] allObjects = objectsResponse.value().orElseGet(() -> previous.objects());
+            final List<SObject> objects = Arrays.stream(allObjects) //
+                .filter(o -> !settings.m_queryableOnly || o.isQueryable()) //
+                .filter(o -> objectNamePattern.map(p -> p.matcher(o.getName()).matches()).orElse(Boolean.TRUE)) //
+                .sorted(Comparator.comparing(SObject::getName)) //
+                .toList();
+
+            final Map<String, Field[]> fieldsByObject = new HashMap<>();
+            final List<SObject> toDescribe = new ArrayList<>();
+            final List<SObject> toRevalidate = new ArrayList<>();
+            for (var object : objects) {
+                final Field[] cached = previous != null ? previous.fieldsByObject().get(object.getName()) : null;
+                if (cached == null) {
+                    toDescribe.add(object);
+                } else if (isUnchanged) {
+                    fieldsByObject.put(object.getName(), cached);
+                } else {
+                    toRevalidate.add(object);
+                }
+            }
+            LOGGER.debugWithFormat("Exporting %d objects: %d to describe, %d to check for changes, %d unchanged",
+                objects.size(), toDescribe.size(), toRevalidate.size(), fieldsByObject.size());
+
+            fieldsByObject.putAll(describe(toDescribe, toRevalidate, previous, credential, timeouts,
+                settings.m_maxConcurrentRequests, exec));
+            final long failedCount = objects.stream().filter(o -> !fieldsByObject.containsKey(o.getName())).count();
+            if (failedCount > 0) {
+                setWarningMessage(String.format("The fields of %d object(s) could not be read (see log for details)",
+                    failedCount));
+            }
+            if (catalogFile.isPresent()) {
+                writeCatalog(catalogFile.get(),
+                    new Catalog(instanceUrl, userId.get(), objectsResponse.date(), allObjects, fieldsByObject));
+            }
+
+            exec.setMessage("Writing catalog");
+            final var container = exec.createDataContainer(OUTPUT_SPEC);
+            long rowIndex = 0;
+            for (var object : objects) {
+                final Field[] fields = fieldsByObject.get(object.getName());
+                if (fields == null) {
+                    continue;
+                }
+                for (var field : fields) {
+                    container.addRowToTable(new DefaultRow(RowKey.createRowKey(rowIndex), createCells(object, field)));
+                    rowIndex++;
+                }
+                exec.checkCanceled();
+            }
+            container.close();
+            return new PortObject[]{container.getTable()};
+        }
+    }
+
+    /**
+     * @return the ID of the user, empty if it can't be read (then the catalog is neither reused nor kept)
+     */
+    private static Optional<String> readUserId(final SalesforceAccessTokenCredential credential,
+        final Timeouts timeouts, final ExecutionContext exec) throws CanceledExecutionException {
+        try (var scope = SalesforceRESTUtil.openAbortScope(exec::checkCanceled)) {
+            return Optional.of(SalesforceRESTUtil.getUserId(credential, timeouts));
+        } catch (SalesforceResponseException ex) {
+            final var canceled = ExceptionUtils.throwableOfType(ex, CanceledExecutionException.class);
+            if (canceled != null) {
+                throw canceled;
+            }
+            LOGGER.warn("Unable to read the user of the connection, incremental refresh is not possible: "
+                + ex.getMessage(), ex);
+            return Optional.empty();
+        }
+    }
+
+    /** @return the selected catalog folder, the {@link #CATALOG_FOLDER} in the KNIME home directory if not set */
+    private static FSLocationUtil.ResolvedPath resolveCatalogFolder(final SalesforceSchemaExportNodeParameters settings)
+        throws InvalidSettingsException {
+        final FSLocation folder = FSLocationUtil.isSelected(settings.m_catalogFolder)
+            ? settings.m_catalogFolder.getFSLocation()
+            : new FSLocation(FSCategory.LOCAL, Paths.get(KNIMEConstants.getKNIMEHomeDir(), CATALOG_FOLDER).toString());
+        return FSLocationUtil.resolve(folder, "catalog folder");
+    }
+
+    private static Path getCatalogFile(final Path catalogFolder, final URI instanceUrl, final String userId) {
+        final var name = Hashing.sha256().hashString(instanceUrl + "\n" + userId, StandardCharsets.UTF_8);
+        return catalogFolder.resolve(name + ".json.gz");
+    }
+
+    /** @return the catalog of a previous execution, empty if there is none (or it can't be read) */
+    private static Optional<Catalog> readCatalog(final Path file, final URI instanceUrl, final String userId) {
+        if (!Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+        try (var reader = new InputStreamReader(new GZIPInputStream(Files.newInputStream(file)),
+            StandardCharsets.UTF_8)) {
+            return Optional.ofNullable(new Gson().fromJson(reader, Catalog.class))
+                .filter(c -> instanceUrl.equals(c.instanceUrl()) && userId.equals(c.userId()) && c.date() != null
+                    && c.objects() != null && c.fieldsByObject() != null);
+        } catch (JsonParseException | IOException ex) {
+            // only a cache, the full metadata is read then
+            LOGGER.debug(String.format("Unable to read catalog file \"%s\": %s", file, ex.getMessage()), ex);
+            return Optional.empty();
+        }
+    }
+
+    /** Writes the catalog to a temporary file that then replaces the file, failures are only logged. */
+    private static void writeCatalog(final Path file, final Catalog catalog) {
+        try {
+            Files.createDirectories(file.getParent());
+            // unique name, other nodes may write the catalog of the same org and user at the same time
+            final var tempFile = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            try {
+                try (var writer = new OutputStreamWriter(new GZIPOutputStream(Files.newOutputStream(tempFile)),
+                    StandardCharsets.UTF_8)) {
+                    new Gson().toJson(catalog, writer);
+                }
+                try {
+                    Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException ex) { // NOSONAR e.g. remote file systems
+                    Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(tempFile); // only if not moved
+            }
+        } catch (IOException ex) {
+            LOGGER.warn(String.format("Unable to write catalog file \"%s\", the next execution reads the full "
+                + "metadata: %s", file, ex.getMessage()), ex);
+        }
+    }
+
+    /**
+     * Describes the objects in parallel, returns their fields by object name. Objects whose describe request fails
+     * are missing (the failure is logged).
+     */
+    private static Map<String, Field[]> describe(final List<SObject> toDescribe, final List<SObject> toRevalidate,
+        final Catalog previous, final SalesforceAccessTokenCredential credential, final Timeouts timeouts,
+        final int maxConcurrentRequests, final ExecutionContext exec)
+        throws SalesforceResponseException, CanceledExecutionException, InterruptedException {
+        final ThreadPool pool = KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool(maxConcurrentRequests);
+        final List<Future<Map<String, Field[]>>> futures = new ArrayList<>();
+        final Map<String, Field[]> result = new HashMap<>();
+        try {
+            for (int from = 0; from < toDescribe.size(); from += DESCRIBE_BATCH_SIZE) {
+                final var batch = toDescribe.subList(from, Math.min(toDescribe.size(), from + DESCRIBE_BATCH_SIZE));
+                futures.add(pool.enqueue(() -> describeBatch(batch, credential, timeouts, exec)));
+            }
+            for (var object : toRevalidate) {
+                final Field[] cached = previous.fieldsByObject().get(object.getName());
+                futures.add(pool.enqueue(
+                    () -> describeIfModified(object, cached, previous.date(), credential, timeouts, exec)));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                result.putAll(FutureUtil.waitFor(futures.get(i), exec, "Describing objects failed"));
+                final int done = i + 1;
+                exec.setProgress(done / (double)futures.size(),
+                    () -> String.format("Described %d/%d requests", done, futures.size()));
+            }
+        } finally {
+            futures.forEach(f -> f.cancel(true));
+        }
+        return result;
+    }
+
+    /** Runs on a pool thread. */
+    private static Map<String, Field[]> describeBatch(final List<SObject> batch,
+        final SalesforceAccessTokenCredential credential, final Timeouts timeouts, final ExecutionContext exec)
+        throws SalesforceResponseException {
+        try (var scope = SalesforceRESTUtil.openAbortScope(exec::checkCanceled)) {
+            final Map<String, Field[]> result = new HashMap<>();
+            SalesforceRESTUtil.getSObjectFields(batch, credential, timeouts)
+                .forEach((object, fields) -> result.put(object.getName(), fields));
+            return result;
+        }
+    }
+
+    /** Runs on a pool thread. Returns the cached fields if the object wasn't modified, nothing if the request fails. */
+    private static Map<String, Field[]> describeIfModified(final SObject object, final Field[] cached,
+        final String since, final SalesforceAccessTokenCredential credential, final Timeouts timeouts,
+        final ExecutionContext exec) throws SalesforceResponseException {
+        try (var scope = SalesforceRESTUtil.openAbortScope(exec::checkCanceled)) {
+            final var fields = SalesforceRESTUtil.getSObjectFieldsIfModifiedSince(object, since, credential, timeouts);
+            return Map.of(object.getName(), fields.orElse(cached));
+        } catch (SalesforceResponseException ex) {
+            if (ExceptionUtils.throwableOfType(ex, CanceledExecutionException.class) != null) {
+                throw ex;
+            }
+            LOGGER.debug(String.format("Unable to read fields of object \"%s\": %s", object.getName(),
+                ex.getMessage()), ex);
+            return Map.of();
+        }
+    }
+
+    private static DataCell[] createCells(final SObject object, final Field field) {
+        return new DataCell[]{ //
+            toStringCell(object.getName()), //
+            toStringCell(object.getLabel()), //
+            toStringCell(field.getName()), //
+            toStringCell(field.getLabel()), //
+            toStringCell(field.getType()), //
+            new IntCell(field.getLength()), //
+            BooleanCellFactory.create(field.isNillable()), //
+            toListCell(Arrays.asList(field.getReferenceTo())), //
+            field.getRelationshipName().map(StringCell::new).map(DataCell.class::cast)
+                .orElseGet(DataType::getMissingCell), //
+            toListCell(Arrays.stream(field.getPicklistValues()).map(PicklistValue::getValue).toList())};
+    }
+
+    private static DataCell toStringCell(final String value) {
+        return value != null ? new StringCell(value) : DataType.getMissingCell();
+    }
+
+    /** A list of the values, missing if there are none (e.g. picklist values of non-picklist fields). */
+    private static DataCell toListCell(final List<String> values) {
+        if (values.isEmpty()) {
+            return DataType.getMissingCell();
+        }
+        return CollectionCellFactory.createListCell(values.stream().map(SalesforceSchemaExportNodeModel::toStringCell)
+            .toList());
+    }
+}
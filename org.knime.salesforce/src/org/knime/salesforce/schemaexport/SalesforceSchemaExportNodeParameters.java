@@ -0,0 +1,143 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.salesforce.schemaexport;
+
+import org.knime.core.webui.node.dialog.defaultdialog.internal.file.FileSelection;
+import org.knime.core.webui.node.dialog.defaultdialog.internal.file.FileSelectionWidget;
+import org.knime.core.webui.node.dialog.defaultdialog.internal.file.SingleFileSelectionMode;
+import org.knime.node.parameters.NodeParameters;
+import org.knime.node.parameters.Widget;
+import org.knime.node.parameters.migration.LoadDefaultsForAbsentFields;
+import org.knime.node.parameters.updates.Effect;
+import org.knime.node.parameters.updates.Effect.EffectType;
+import org.knime.node.parameters.updates.EffectPredicate;
+import org.knime.node.parameters.updates.EffectPredicateProvider;
+import org.knime.node.parameters.updates.ParameterReference;
+import org.knime.node.parameters.updates.ValueReference;
+import org.knime.node.parameters.widget.number.NumberInputWidget;
+import org.knime.node.parameters.widget.number.NumberInputWidgetValidation.MaxValidation;
+import org.knime.node.parameters.widget.number.NumberInputWidgetValidation.MinValidation;
+
+/**
+ * Node parameters for the Salesforce Schema Export node.
+ *
+ * @author agent
+ */
+@SuppressWarnings("restriction") // New Node UI is not yet API
+@LoadDefaultsForAbsentFields // for new instances of the node when dragged onto the workbench
+final class SalesforceSchemaExportNodeParameters implements NodeParameters {
+
+    /** Default number of parallel describe requests. */
+    static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 4;
+
+    static final class MaxConcurrentRequestsMinValidation extends MinValidation {
+        @Override
+        protected double getMin() {
+            return 1;
+        }
+    }
+
+    static final class MaxConcurrentRequestsMaxValidation extends MaxValidation {
+        @Override
+        protected double getMax() {
+            return 25;
+        }
+    }
+
+    static final class IncrementalRefreshRef implements ParameterReference<Boolean> {
+    }
+
+    static final class IsIncrementalRefresh implements EffectPredicateProvider {
+        @Override
+        public EffectPredicate init(final PredicateInitializer i) {
+            return i.getBoolean(IncrementalRefreshRef.class).isTrue();
+        }
+    }
+
+    @Widget(title = "Object name pattern", description = """
+            A regular expression the (API) names of the exported objects must match, e.g. <tt>.*__c</tt> for custom
+            objects only. Leave empty to export all objects.""")
+    String m_objectNamePattern = "";
+
+    @Widget(title = "Queryable objects only", description = """
+            If selected, objects that can't be queried (e.g. some system objects) are not exported.""")
+    boolean m_queryableOnly = true;
+
+    @Widget(title = "Incremental refresh", description = """
+            If selected, the catalog read by the last execution is saved in the catalog folder (separately for each
+            org and user, as the metadata depends on the permissions of the user) and the next execution only reads
+            the metadata that changed since then, also after the workflow was closed and reopened. Unchanged objects
+            are detected with the <i>If-Modified-Since</i> header of the describe requests, which is much faster
+            than reading the full metadata of all objects again. If the list of objects is unchanged, no further
+            request is needed; otherwise (i.e. once any object of the org changed) one conditional describe request
+            is sent per previously exported object, which counts against the API request limit of the org even if
+            the object is unchanged. Identifying the user requires a connection with the <i>openid</i>, <i>id</i>
+            or <i>full</i> scope; without it, the full metadata is read on every execution.""")
+    @ValueReference(IncrementalRefreshRef.class)
+    boolean m_incrementalRefresh = true;
+
+    @Widget(title = "Catalog folder", description = """
+            The folder the catalogs for the incremental refresh are saved in, e.g. a local folder or a folder
+            relative to the workflow (to keep them with the workflow). It's created if it doesn't exist. If not
+            set, the folder <i>salesforce-schema-export</i> in the KNIME home directory is used, i.e. the catalogs
+            are shared by all workflows of the installation. The catalogs are gzipped JSON files named after a hash
+            of the org and user; they contain metadata only and can be deleted at any time.""", advanced = true)
+    @FileSelectionWidget(SingleFileSelectionMode.FOLDER)
+    @Effect(predicate = IsIncrementalRefresh.class, type = EffectType.SHOW)
+    FileSelection m_catalogFolder = new FileSelection();
+
+    @Widget(title = "Maximum concurrent requests", description = """
+            The number of describe requests sent in parallel. Objects that are read in full are described in
+            batches of up to 25 objects per request. Salesforce limits the number of concurrent long-running
+            requests per org, so keep this number low if other applications use the same org.""", advanced = true)
+    @NumberInputWidget(minValidation = MaxConcurrentRequestsMinValidation.class,
+        maxValidation = MaxConcurrentRequestsMaxValidation.class)
+    int m_maxConcurrentRequests = DEFAULT_MAX_CONCURRENT_REQUESTS;
+
+}
@@ -0,0 +1,371 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.salesforce.simplequery;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+import org.apache.commons.lang3.function.FailableConsumer;
+import org.knime.core.node.NodeLogger;
+import org.knime.salesforce.rest.SalesforceResponseException;
+
+/**
+ * Record IDs and content hashes of the previous execution, persisted in a file so that the next execution outputs
+ * only inserted, changed and removed records (see {@link SalesforceSimpleQueryNodeSettings#getHashIndexFile()}).
+ *
+ * <p>
+ * The file holds a header (magic number and version) followed by fixed size entries, sorted by ID: the 15 character
+ * (case-sensitive) form of the record ID as ASCII and the 64 bit hash of the record. As the records of the query are
+ * sorted by ID as well, the previous index is merge-joined with the records: it's read window by window into an
+ * off-heap buffer and the new index is written sequentially, so neither index is held in memory. (The file is not
+ * memory mapped as a mapped file can't be replaced on Windows until the mapping is garbage collected; it's read via a
+ * byte channel, which all file systems support, e.g. for an index relative to the workflow.) The new index is written
+ * to a uniquely named temporary file next to the index, which replaces the previous index on {@link #commit()}, i.e.
+ * only if the execution succeeds.
+ *
+ * @author agent
+ */
+final class RecordHashIndex implements AutoCloseable {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(RecordHashIndex.class);
+
+    /** Length of the ID key, the 3 character suffix of the 18 character form is a checksum. */
+    static final int KEY_LENGTH = 15;
+
+    private static final int MAGIC = 0x4B534648; // "KSFH"
+
+    private static final int VERSION = 1;
+
+    private static final int HEADER_SIZE = 2 * Integer.BYTES;
+
+    private static final int ENTRY_SIZE = KEY_LENGTH + Long.BYTES;
+
+    /** Entries read at a time. */
+    private static final int ENTRIES_PER_WINDOW = 1 << 16;
+
+    /** Characters appended to the 15 character ID to get the 18 character form. */
+    private static final String ID_SUFFIX_CHARS = "ABCDEFGHIJKLMNOPQRSTUVWXYZ012345";
+
+    /** How a record compares to the previous execution. */
+    enum Change {
+            INSERTED("Inserted"), CHANGED("Changed"), UNCHANGED("Unchanged"), REMOVED("Removed");
+
+        private final String m_label;
+
+        Change(final String label) {
+            m_label = label;
+        }
+
+        /** @return the value in the output column */
+        String getLabel() {
+            return m_label;
+        }
+    }
+
+    private final Path m_file;
+
+    private final Path m_tempFile;
+
+    /** The previous index, null if there is none. */
+    private final SeekableByteChannel m_previousChannel;
+
+    private final long m_previousEntryCount;
+
+    /** Holds the entries of the previous index read last, null if there is no previous index. */
+    private final ByteBuffer m_window;
+
+    /** Index of the first entry in {@link #m_window}. */
+    private long m_windowStart;
+
+    /** Index of the current entry of the previous index, equal to the entry count when all entries are consumed. */
+    private long m_previousIndex;
+
+    private final byte[] m_keyBuffer = new byte[KEY_LENGTH];
+
+    private final DataOutputStream m_out;
+
+    private String m_lastKey;
+
+    private boolean m_isCommitted;
+
+    private RecordHashIndex(final Path file, final SeekableByteChannel previousChannel,
+        final long previousEntryCount)
+        throws IOException {
+        m_file = file;
+        // unique name, other nodes (or executions) using the same index must not write the same temporary file
+        m_tempFile = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName() + ".", ".tmp");
+        m_previousChannel = previousChannel;
+        m_previousEntryCount = previousEntryCount;
+        m_window = previousChannel != null
+            ? ByteBuffer.allocateDirect((int)Math.min(ENTRIES_PER_WINDOW, previousEntryCount) * ENTRY_SIZE) : null;
+        m_windowStart = -ENTRIES_PER_WINDOW; // nothing read yet
+        try {
+            m_out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(m_tempFile)));
+            m_out.writeInt(MAGIC);
+            m_out.writeInt(VERSION);
+        } catch (IOException ex) {
+            Files.deleteIfExists(m_tempFile);
+            throw ex;
+        }
+    }
+
+    /**
+     * Opens the index in the given file, all records count as inserted if the file doesn't exist yet.
+     *
+     * @param file the file
+     * @return the index, to be closed by the caller
+     * @throws SalesforceResponseException if the file can't be read or isn't an index file
+     */
+    static RecordHashIndex open(final Path file) throws SalesforceResponseException {
+        try {
+            final var parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            if (!Files.exists(file)) {
+                LOGGER.debugWithFormat("No hash index at \"%s\", all records are reported as inserted", file);
+                return new RecordHashIndex(file, null, 0L);
+            }
+            final var channel = Files.newByteChannel(file, StandardOpenOption.READ);
+            try {
+                final long size = channel.size();
+                final var header = ByteBuffer.allocate(HEADER_SIZE);
+                while (header.hasRemaining()) {
+                    if (channel.read(header) < 0) {
+                        break;
+                    }
+                }
+                header.flip();
+                if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC
+                    || (size - HEADER_SIZE) % ENTRY_SIZE != 0) {
+                    throw new SalesforceResponseException(
+                        String.format("File \"%s\" is not a valid hash index, delete it to start over", file));
+                }
+                final int version = header.getInt();
+                if (version != VERSION) {
+                    throw new SalesforceResponseException(
+                        String.format("Unsupported version %d of hash index \"%s\"", version, file));
+                }
+                return new RecordHashIndex(file, channel, (size - HEADER_SIZE) / ENTRY_SIZE);
+            } catch (SalesforceResponseException | IOException | RuntimeException ex) {
+                channel.close();
+                throw ex;
+            }
+        } catch (IOException ex) {
+            throw new SalesforceResponseException(
+                String.format("Unable to open hash index \"%s\": %s", file, ex.getMessage()), ex);
+        }
+    }
+
+    /**
+     * Adds a record to the new index and compares it to the previous index. Records of the previous index with a
+     * smaller ID are reported as removed.
+     *
+     * @param <E> exception thrown by the consumer
+     * @param id the record ID (15 or 18 characters), IDs must be passed in ascending order
+     * @param hash the hash of the record content
+     * @param removedIds consumes the (18 character) IDs of removed records
+     * @return how the record compares to the previous execution
+     * @throws SalesforceResponseException if the IDs are not ascending or the index can't be read or written
+     * @throws E if thrown by the consumer
+     */
+    <E extends Exception> Change next(final String id, final long hash,
+        final FailableConsumer<String, E> removedIds) throws SalesforceResponseException, E {
+        final String key = toKey(id);
+        if (m_lastKey != null && key.compareTo(m_lastKey) <= 0) {
+            throw new SalesforceResponseException(String.format(
+                "Records are not sorted by ID as expected (%s after %s), unable to compare with hash index", key,
+                m_lastKey));
+        }
+        m_lastKey = key;
+        try {
+            m_out.write(key.getBytes(StandardCharsets.US_ASCII));
+            m_out.writeLong(hash);
+            int comparison = -1;
+            while (m_previousIndex < m_previousEntryCount && (comparison = readPreviousKey().compareTo(key)) < 0) {
+                removedIds.accept(toId18(readPreviousKey()));
+                m_previousIndex++;
+            }
+            if (m_previousIndex >= m_previousEntryCount || comparison > 0) {
+                return Change.INSERTED;
+            }
+            final long previousHash = readPreviousHash();
+            m_previousIndex++;
+            return previousHash == hash ? Change.UNCHANGED : Change.CHANGED;
+        } catch (IOException ex) {
+            throw new SalesforceResponseException(
+                String.format("Unable to access hash index \"%s\": %s", m_file, ex.getMessage()), ex);
+        }
+    }
+
+    /**
+     * Reports the remaining records of the previous index as removed, to be called after the last record.
+     *
+     * @param <E> exception thrown by the consumer
+     * @param removedIds consumes the (18 character) IDs of removed records
+     * @throws SalesforceResponseException if the index can't be read
+     * @throws E if thrown by the consumer
+     */
+    <E extends Exception> void finish(final FailableConsumer<String, E> removedIds)
+        throws SalesforceResponseException, E {
+        try {
+            while (m_previousIndex < m_previousEntryCount) {
+                removedIds.accept(toId18(readPreviousKey()));
+                m_previousIndex++;
+            }
+        } catch (IOException ex) {
+            throw new SalesforceResponseException(
+                String.format("Unable to read hash index \"%s\": %s", m_file, ex.getMessage()), ex);
+        }
+    }
+
+    /**
+     * Replaces the previous index by the new one.
+     *
+     * @throws SalesforceResponseException if writing fails
+     */
+    void commit() throws SalesforceResponseException {
+        try {
+            m_out.close();
+            closePrevious();
+            try {
+                Files.move(m_tempFile, m_file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException ex) { // NOSONAR e.g. remote file systems
+                Files.move(m_tempFile, m_file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            m_isCommitted = true;
+        } catch (IOException ex) {
+            throw new SalesforceResponseException(
+                String.format("Unable to write hash index \"%s\": %s", m_file, ex.getMessage()), ex);
+        }
+    }
+
+    /** Discards the new index unless committed. */
+    @Override
+    public void close() {
+        try {
+            m_out.close();
+            closePrevious();
+            if (!m_isCommitted) {
+                Files.deleteIfExists(m_tempFile);
+            }
+        } catch (IOException ex) {
+            LOGGER.debug("Unable to clean up hash index: " + ex.getMessage(), ex);
+        }
+    }
+
+    private void closePrevious() throws IOException {
+        if (m_previousChannel != null) {
+            m_previousChannel.close();
+        }
+    }
+
+    /** Reads the window containing the current entry of the previous index and positions the buffer on the entry. */
+    private ByteBuffer seekPrevious() throws IOException {
+        if (m_previousIndex >= m_windowStart + ENTRIES_PER_WINDOW) {
+            m_windowStart = m_previousIndex;
+            final long entries = Math.min(ENTRIES_PER_WINDOW, m_previousEntryCount - m_windowStart);
+            m_window.clear().limit((int)entries * ENTRY_SIZE);
+            m_previousChannel.position(HEADER_SIZE + m_windowStart * ENTRY_SIZE);
+            while (m_window.hasRemaining()) {
+                if (m_previousChannel.read(m_window) < 0) {
+                    throw new IOException("Unexpected end of file");
+                }
+            }
+        }
+        m_window.position((int)(m_previousIndex - m_windowStart) * ENTRY_SIZE);
+        return m_window;
+    }
+
+    private String readPreviousKey() throws IOException {
+        seekPrevious().get(m_keyBuffer);
+        return new String(m_keyBuffer, StandardCharsets.US_ASCII);
+    }
+
+    private long readPreviousHash() throws IOException {
+        final var window = seekPrevious();
+        return window.getLong(window.position() + KEY_LENGTH);
+    }
+
+    /** The first 15 characters, their ASCII order (0-9, A-Z, a-z) is the order of 'ORDER BY Id'. */
+    static String toKey(final String id) {
+        return id.substring(0, Math.min(id.length(), KEY_LENGTH));
+    }
+
+    /**
+     * Converts the 15 character (case-sensitive) ID into the 18 character (case-insensitive) form as returned by
+     * queries: each suffix character encodes which of 5 characters are upper case letters.
+     */
+    static String toId18(final String key) {
+        if (key.length() != KEY_LENGTH) {
+            return key;
+        }
+        final var result = new StringBuilder(key);
+        for (int block = 0; block < 3; block++) {
+            int flags = 0;
+            for (int i = 0; i < 5; i++) {
+                final char c = key.charAt(block * 5 + i);
+                if (c >= 'A' && c <= 'Z') {
+                    flags |= 1 << i;
+                }
+            }
+            result.append(ID_SUFFIX_CHARS.charAt(flags));
+        }
+        return result.toString();
+    }
+}
@@ -48,11 +48,16 @@
  */
 package org.knime.salesforce.simplequery;
 
+import java.util.Arrays;
 import java.util.Objects;
 import java.util.Optional;
 
+import org.knime.core.node.ExecutionContext;
 import org.knime.core.node.NodeLogger;
 import org.knime.salesforce.rest.gsonbindings.fields.Field;
+import org.knime.salesforce.rest.gsonbindings.fields.PicklistValue;
+import org.knime.salesforce.simplequery.SalesforceFieldType.BlobDownloader;
+import org.knime.salesforce.simplequery.SalesforceFieldType.CellCreator;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
@@ -61,17 +66,23 @@ final class SalesforceField {
 
     private static final NodeLogger LOGGER = NodeLogger.getLogger(SalesforceField.class);
 
+    /** Salesforce types whose values are taken from a list, see {@link #isPicklist()}. */
+    private static final String[] PICKLIST_TYPES_IN_SF = {"picklist", "multipicklist"};
+
     private final String m_name;
     private final String m_label;
     private final SalesforceFieldType m_type;
+    private final boolean m_isPicklist;
 
     @JsonCreator
     SalesforceField(@JsonProperty("name") final String name, //
         @JsonProperty("label") final String label, //
-        @JsonProperty("type") final SalesforceFieldType type) {
+        @JsonProperty("type") final SalesforceFieldType type, //
+        @JsonProperty("picklist") final boolean isPicklist) {
         m_name = name;
         m_label = label;
         m_type = type;
+        m_isPicklist = isPicklist;
     }
 
     @JsonProperty("name")
@@ -89,10 +100,44 @@ SalesforceFieldType getType() {
         return m_type;
     }
 
+    /**
+     * @return whether the field is a (multi-)picklist, i.e. has few distinct values that repeat a lot; values are then
+     *         {@linkplain ValueDictionary deduplicated} during conversion. Not the case for reference fields, whose
+     *         values (record IDs) are mostly distinct.
+     */
+    @JsonProperty("picklist")
+    boolean isPicklist() {
+        return m_isPicklist;
+    }
+
+    /**
+     * @return the possible values of a picklist field as per the describe metadata of the field (the values of all
+     *         picklist entries, including inactive ones, as records may still contain them); empty for other fields
+     *         (multipicklist values are combinations of the picklist values)
+     */
+    static Optional<String[]> getPicklistValues(final Field field) {
+        if (!"picklist".equals(field.getType()) || field.getPicklistValues().length == 0) {
+            return Optional.empty();
+        }
+        return Optional.of(
+            Arrays.stream(field.getPicklistValues()).map(PicklistValue::getValue).distinct().toArray(String[]::new));
+    }
+
+    /**
+     * A creator used to create the cells for this field; shares cells of equal values for picklist fields.
+     *
+     * @see SalesforceFieldType#newCellCreator(ExecutionContext, BlobDownloader)
+     */
+    CellCreator newCellCreator(final ExecutionContext ctx, final BlobDownloader blobDownloader) {
+        return m_isPicklist && m_type == SalesforceFieldType.STRING ? SalesforceFieldType.newDictionaryCellCreator()
+            : m_type.newCellCreator(ctx, blobDownloader);
+    }
+
     static Optional<SalesforceField> fromField(final Field field) {
         Optional<SalesforceFieldType> typeOpt = SalesforceFieldType.fromIdentifierInSalesforce(field.getType());
         if (typeOpt.isPresent()) {
-            return Optional.of(new SalesforceField(field.getName(), field.getLabel(), typeOpt.get()));
+            final var isPicklist = Arrays.asList(PICKLIST_TYPES_IN_SF).contains(field.getType());
+            return Optional.of(new SalesforceField(field.getName(), field.getLabel(), typeOpt.get(), isPicklist));
         } else {
             LOGGER.debugWithFormat("Field \"%s\" has an unsupported type (\"%s\") - skipping", field.getName(),
                 field.getType());
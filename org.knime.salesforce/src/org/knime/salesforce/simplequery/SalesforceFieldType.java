@@ -49,12 +49,19 @@
 package org.knime.salesforce.simplequery;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
+import java.util.Base64;
+import java.util.Objects;
 import java.util.Optional;
 
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.function.FailableFunction;
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataType;
 import org.knime.core.data.blob.BinaryObjectCellFactory;
@@ -70,6 +77,8 @@
 import org.knime.core.node.ExecutionContext;
 import org.knime.core.node.InvalidSettingsException;
 import org.knime.core.node.util.CheckUtils;
+import org.knime.core.util.FileUtil;
+import org.knime.salesforce.rest.SalesforceRESTUtil;
 import org.knime.salesforce.rest.SalesforceResponseException;
 
 import jakarta.json.JsonNumber;
@@ -107,12 +116,16 @@ enum SalesforceFieldType {
     BASE64(BinaryObjectDataCell.TYPE, null, "base64") {
 
         @Override
-        CellCreator newCellCreator(final ExecutionContext ctx) {
-            return json -> jsonToBinary(new BinaryObjectCellFactory(ctx), json);
+        CellCreator newCellCreator(final ExecutionContext ctx, final BlobDownloader blobDownloader) {
+            final var cellFactory = new BinaryObjectCellFactory(ctx);
+            return json -> jsonToBinary(cellFactory, blobDownloader, json);
         }
 
     };
 
+    /** Prefix of blob URLs returned in place of the base64 content. */
+    private static final String BLOB_URL_PREFIX = "/services/data/";
+
     private final DataType m_knimeType;
     private final String[] m_identifiersInSF;
     private final CellCreator m_jsonToCellFunction;
@@ -134,12 +147,24 @@ DataType getKNIMEType() {
     /**
      * A creator used to create the cells for a single column.
      * @param ctx used for file store backed cell types (binary)
+     * @param blobDownloader used to resolve blob URLs (binary)
      * @return the cell creator.
      */
-    CellCreator newCellCreator(final ExecutionContext ctx) {
+    CellCreator newCellCreator(final ExecutionContext ctx, final BlobDownloader blobDownloader) { // NOSONAR
         return m_jsonToCellFunction;
     }
 
+    /**
+     * A cell creator for string columns with few distinct values (picklists, references), which returns the same cell
+     * instance for equal values as long as the number of distinct values is small.
+     *
+     * @return a new creator with its own {@link ValueDictionary}
+     */
+    static CellCreator newDictionaryCellCreator() {
+        final var dictionary = new ValueDictionary<DataCell>();
+        return json -> dictionary.get(jsonToStringValue(json), StringCell::new);
+    }
+
     static SalesforceFieldType readType(final String s) throws InvalidSettingsException {
         CheckUtils.checkSetting(StringUtils.isNotEmpty(s), "Field type must not be null or empty");
         try {
@@ -155,13 +180,26 @@ static Optional<SalesforceFieldType> fromIdentifierInSalesforce(final String ide
             .findFirst();
     }
 
-    private static DataCell jsonToBinary(final BinaryObjectCellFactory cellFactory, final JsonValue json) // NOSONAR
-        throws SalesforceResponseException {
+    /**
+     * Creates the binary cell, either from the base64 content or, if the value is a blob URL (which is what the REST
+     * API returns for base64 fields in query results), by downloading the content. In both cases the bytes are
+     * streamed into the cell factory (file store) without materializing the decoded content in memory.
+     *
+     * The cell factory is shared by the concurrent conversion threads but file store creation is not thread-safe, so
+     * it's synchronized on. Blob content is downloaded into a temporary file first, without holding the lock, so that
+     * downloads run concurrently.
+     */
+    private static DataCell jsonToBinary(final BinaryObjectCellFactory cellFactory, // NOSONAR
+        final BlobDownloader blobDownloader, final JsonValue json) throws SalesforceResponseException {
         if (json.getValueType() == ValueType.STRING) {
-            String base64 = ((JsonString)json).getString();
-            byte[] decode = java.util.Base64.getDecoder().decode(base64);
-            try {
-                return cellFactory.create(decode);
+            final String value = ((JsonString)json).getString();
+            if (value.startsWith(BLOB_URL_PREFIX)) {
+                return downloadToBinary(cellFactory, blobDownloader, value);
+            }
+            try (var in = Base64.getDecoder().wrap(new AsciiCharSequenceInputStream(value))) {
+                synchronized (cellFactory) {
+                    return cellFactory.create(in);
+                }
             } catch (IOException ex) {
                 throw new SalesforceResponseException("Creating file store failed: " + ex.getMessage(), ex);
             }
@@ -171,6 +209,35 @@ private static DataCell jsonToBinary(final BinaryObjectCellFactory cellFactory,
         }
     }
 
+    private static DataCell downloadToBinary(final BinaryObjectCellFactory cellFactory,
+        final BlobDownloader blobDownloader, final String blobUrl) throws SalesforceResponseException {
+        final Path tempFile;
+        try {
+            tempFile = FileUtil.createTempFile("salesforce-blob", ".bin").toPath();
+        } catch (IOException ex) {
+            throw new SalesforceResponseException("Creating temporary file failed: " + ex.getMessage(), ex);
+        }
+        try {
+            blobDownloader.download(blobUrl, in -> {
+                Files.copy(in, tempFile, StandardCopyOption.REPLACE_EXISTING);
+                return null;
+            });
+            try (var in = Files.newInputStream(tempFile)) {
+                synchronized (cellFactory) {
+                    return cellFactory.create(in);
+                }
+            } catch (IOException ex) {
+                throw new SalesforceResponseException("Creating file store failed: " + ex.getMessage(), ex);
+            }
+        } finally {
+            try {
+                Files.deleteIfExists(tempFile);
+            } catch (IOException ex) { // NOSONAR
+                tempFile.toFile().deleteOnExit();
+            }
+        }
+    }
+
     private static DataCell jsonToLocalDate(final JsonValue json) throws SalesforceResponseException {
         if (json.getValueType() == ValueType.STRING) {
             return LocalDateCellFactory.create(((JsonString)json).getString());
@@ -220,8 +287,12 @@ private static DataCell jsonToBoolean(final JsonValue json) throws SalesforceRes
     }
 
     private static DataCell jsonToString(final JsonValue json) throws SalesforceResponseException {
+        return new StringCell(jsonToStringValue(json));
+    }
+
+    private static String jsonToStringValue(final JsonValue json) throws SalesforceResponseException {
         if (json.getValueType() == ValueType.STRING) {
-            return new StringCell(((JsonString)json).getString());
+            return ((JsonString)json).getString();
         } else {
             throw new SalesforceResponseException(
                 String.format("not a string json value but %s: %s", json.getValueType(), json.toString()));
@@ -237,6 +308,53 @@ private static DataCell jsonToDouble(final JsonValue json) throws SalesforceResp
         }
     }
 
+    /** Downloads the content of a blob URL, see {@link SalesforceRESTUtil#doGetBinary}. */
+    @FunctionalInterface
+    interface BlobDownloader {
+
+        DataCell download(final String path, final FailableFunction<InputStream, DataCell, IOException> consumer)
+            throws SalesforceResponseException;
+
+    }
+
+    /** Input stream on the (ASCII) characters of a string, avoids copying base64 content into a byte[]. */
+    private static final class AsciiCharSequenceInputStream extends InputStream {
+
+        private final CharSequence m_chars;
+
+        private int m_position;
+
+        AsciiCharSequenceInputStream(final CharSequence chars) {
+            m_chars = chars;
+        }
+
+        @Override
+        public int read() {
+            return m_position < m_chars.length() ? (m_chars.charAt(m_position++) & 0xFF) : -1;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) {
+            Objects.checkFromIndexSize(off, len, b.length);
+            if (len == 0) {
+                return 0;
+            }
+            final int count = Math.min(len, m_chars.length() - m_position);
+            if (count <= 0) {
+                return -1;
+            }
+            for (int i = 0; i < count; i++) {
+                b[off + i] = (byte)m_chars.charAt(m_position++);
+            }
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return m_chars.length() - m_position;
+        }
+    }
+
     /** The lambda that does the actual mapping. */
     @FunctionalInterface
     interface CellCreator {
@@ -108,6 +108,9 @@ <p> Read fields from a Salesforce object. In the configuration dialog select the
                 table in Salesforce such <i>Account</i>) and the corresponding object fields (columns, such as
                 <i>Account Name</i>); the data is returned in a KNIME table at the output. An optional <i>WHERE</i> and
                 <i>LIMIT</i> statement can be specified to narrow the search result. </p>
+            <p> The possible values (domain) of picklist columns are the values of the picklist as defined in
+                Salesforce, including values not contained in the result. They are read when the node is executed,
+                hence the table specification available before execution doesn't list them. </p>
             """;
     private static final List<PortDescription> INPUT_PORTS = List.of(
             fixedPort("Authentication", """
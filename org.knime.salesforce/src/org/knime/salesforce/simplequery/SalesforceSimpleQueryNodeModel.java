@@ -62,11 +62,20 @@
 import org.knime.core.node.port.PortObject;
 import org.knime.core.node.port.PortObjectSpec;
 import org.knime.core.node.port.PortType;
+import org.knime.core.node.streamable.InputPortRole;
+import org.knime.core.node.streamable.OutputPortRole;
+import org.knime.core.node.streamable.PartitionInfo;
+import org.knime.core.node.streamable.PortInput;
+import org.knime.core.node.streamable.PortObjectInput;
+import org.knime.core.node.streamable.PortOutput;
+import org.knime.core.node.streamable.RowOutput;
+import org.knime.core.node.streamable.StreamableOperator;
 import org.knime.core.node.util.CheckUtils;
 import org.knime.credentials.base.CredentialPortObject;
 import org.knime.credentials.base.NoSuchCredentialException;
 import org.knime.salesforce.auth.credential.SalesforceAccessTokenCredential;
 import org.knime.salesforce.auth.port.SalesforceConnectionPortObjectSpec;
+import org.knime.salesforce.rest.soql.AbstractSOQLExecutor;
 
 /**
  *
@@ -96,10 +105,42 @@ protected PortObjectSpec[] configure(final PortObjectSpec[] inSpecs) throws Inva
     protected PortObject[] execute(final PortObject[] inObjects, final ExecutionContext exec) throws Exception {
         final var inSpec = (SalesforceConnectionPortObjectSpec)inObjects[0].getSpec();
         final var executor = createSoqlExecutor(inSpec);
+        executor.readPicklistValues(exec);
         final BufferedDataTable table = executor.execute(exec);
+        AbstractSOQLExecutor.createRequestWaitWarning(executor.getRequestWaitTime()).ifPresent(this::setWarningMessage);
         return new PortObject[] {table};
     }
 
+    @Override
+    public InputPortRole[] getInputPortRoles() {
+        return new InputPortRole[]{InputPortRole.NONDISTRIBUTED_NONSTREAMABLE};
+    }
+
+    @Override
+    public OutputPortRole[] getOutputPortRoles() {
+        return new OutputPortRole[]{OutputPortRole.NONDISTRIBUTED};
+    }
+
+    @Override
+    public StreamableOperator createStreamableOperator(final PartitionInfo partitionInfo,
+        final PortObjectSpec[] inSpecs) throws InvalidSettingsException {
+        return new StreamableOperator() {
+
+            @Override
+            public void runFinal(final PortInput[] inputs, final PortOutput[] outputs, final ExecutionContext exec)
+                throws Exception {
+                final var inSpec =
+                    (SalesforceConnectionPortObjectSpec)((PortObjectInput)inputs[0]).getPortObject().getSpec();
+                // rows are pushed page by page so that downstream nodes can start early
+                final var executor = createSoqlExecutor(inSpec);
+                executor.readPicklistValues(exec);
+                executor.execute((RowOutput)outputs[0], exec);
+                AbstractSOQLExecutor.createRequestWaitWarning(executor.getRequestWaitTime())
+                    .ifPresent(SalesforceSimpleQueryNodeModel.this::setWarningMessage);
+            }
+        };
+    }
+
     private TableOutputSOQLExecutor createSoqlExecutor(final SalesforceConnectionPortObjectSpec inSpec)
         throws InvalidSettingsException {
 
@@ -63,6 +63,9 @@
 import org.knime.core.node.NodeLogger;
 import org.knime.core.node.NodeSettingsRO;
 import org.knime.core.node.NodeSettingsWO;
+import org.knime.core.webui.node.dialog.defaultdialog.internal.file.FileSelection;
+import org.knime.core.webui.node.dialog.defaultdialog.internal.file.FileSelectionWidget;
+import org.knime.core.webui.node.dialog.defaultdialog.internal.file.SingleFileSelectionMode;
 import org.knime.node.parameters.updates.StateComputationAbortException;
 import org.knime.node.parameters.NodeParameters;
 import org.knime.node.parameters.NodeParametersInput;
@@ -85,6 +88,8 @@
 import org.knime.node.parameters.widget.message.TextMessage.Message;
 import org.knime.node.parameters.widget.message.TextMessage.MessageType;
 import org.knime.node.parameters.widget.number.NumberInputWidget;
+import org.knime.node.parameters.widget.number.NumberInputWidgetValidation.MaxValidation;
+import org.knime.node.parameters.widget.number.NumberInputWidgetValidation.MinValidation;
 import org.knime.node.parameters.widget.number.NumberInputWidgetValidation.MinValidation.IsNonNegativeValidation;
 import org.knime.node.parameters.widget.text.TextAreaWidget;
 import org.knime.salesforce.auth.credential.SalesforceAccessTokenCredential;
@@ -95,6 +100,7 @@
 import org.knime.salesforce.rest.gsonbindings.fields.Field;
 import org.knime.salesforce.rest.gsonbindings.sobjects.SObject;
 import org.knime.salesforce.simplequery.SalesforceSimpleQueryNodeSettings.DisplayName;
+import org.knime.salesforce.util.FSLocationUtil;
 
 /**
  * Node parameters for Salesforce Simple Query.
@@ -146,8 +152,9 @@ public MessageAndData<SObject[]> computeState(final NodeParametersInput context)
             if (cred == null) {
                 return new MessageAndData<>(NOT_CONNECTED_MESSAGE, new SObject[0]);
             }
-            try {
-                // TODO currently not cancelable - https://knime-com.atlassian.net/browse/UIEXT-2604
+            // TODO currently not cancelable - https://knime-com.atlassian.net/browse/UIEXT-2604
+            // (the scope aborts the request once the thread is interrupted)
+            try (var scope = SalesforceRESTUtil.openAbortScope(() -> {})) {
                 return new MessageAndData<>(null,
                     SalesforceRESTUtil.getSObjects(cred, salesforcePOSOpt.orElseThrow().getTimeouts()));
             } catch (SalesforceResponseException | RuntimeException ex) { // NOSONAR error shown in text message (separate field)
@@ -252,7 +259,8 @@ public MessageAndData<SalesforceField[]> computeState(final NodeParametersInput
             }
             final String sObjectName = m_sObjectNameValueSupplier.get();
             Field[] fields = new Field[0];
-            try {
+            // the scope aborts the request once the thread is interrupted
+            try (var scope = SalesforceRESTUtil.openAbortScope(() -> {})) {
                 // ignores technical and label name differences, as the API call needs the technical name
                 final SObject sObject = SObject.of(sObjectName, sObjectName);
                 final Timeouts timeouts = salesforcePOSOpt.orElseThrow().getTimeouts();
@@ -409,6 +417,69 @@ public String[] computeState(final NodeParametersInput context) {
     @Migrate(loadDefaultIfAbsent = true)
     boolean m_retrieveDeletedAndArchived = false; // NOSONAR (explicit assignment)
 
+    @Widget(title = "Fixed batch size", description = """
+            The number of records requested per result chunk (between 200 and 2000, sent as <a \
+            href="https://developer.salesforce.com/docs/atlas.en-us.api_rest.meta/api_rest/headers_queryoptions.htm">\
+            query option</a>). If not set, the batch size is adapted during execution based on the measured \
+            response times, i.e. it's reduced for very wide records in order to avoid read timeouts and increased \
+            for narrow records to save round trips. Salesforce may choose a different size than requested.""",
+        advanced = true)
+    @NumberInputWidget(minValidation = BatchSizeMinValidation.class, maxValidation = BatchSizeMaxValidation.class)
+    @Persistor(BatchSizePersistor.class)
+    Optional<Integer> m_batchSize = Optional.empty();
+
+    @Widget(title = "Fields per query", description = """
+            Splits the selected fields into groups of the given size and runs one query per group concurrently, \
+            each sorted by record ID. The results are joined on the record ID. Use this for objects with hundreds \
+            of (custom) fields whose query exceeds the SOQL length limit or whose result pages time out. Records \
+            created or deleted while the queries run may be incomplete (missing values in some columns). At most \
+            10 queries are run (Salesforce allows a user 10 open query cursors at a time), the group size is \
+            increased if needed. If not set, all fields are retrieved in a single query.""", advanced = true)
+    @NumberInputWidget(minValidation = FieldsPerQueryMinValidation.class)
+    @Persistor(FieldsPerQueryPersistor.class)
+    Optional<Integer> m_fieldsPerQuery = Optional.empty();
+
+    @Widget(title = "Output only changes (hash index file)", description = """
+            A file (e.g. local or relative to the workflow) in which the IDs of the records and a hash of their \
+            field values are stored at the end of each execution. If set, the output only contains the records \
+            inserted, changed or removed since the previous execution, marked in an additional column \
+            <i>Change</i>. Removed records (deleted or no longer matching the WHERE clause) have missing values \
+            except for their ID, which is appended as column if the <i>Id</i> field isn't selected. Changes are \
+            detected by the values of the selected fields as returned by Salesforce, incl. formula and roll-up \
+            summary fields that don't update the modification timestamp. Only inserted and changed records are \
+            converted, unchanged records are skipped before their binary content is downloaded. For binary \
+            (base64) fields Salesforce returns the URL of the content, which is what is compared; as the URL \
+            doesn't change when the content does, select a field such as <i>LastModifiedDate</i> to detect \
+            changed content. The query is sorted by record ID. The file is only updated if the execution \
+            succeeds; changing the selected fields reports all records as changed once. In streaming mode the file is \
+            updated once all records have been passed on, i.e. possibly before downstream nodes processed them; if \
+            one of them fails, the reported changes are not reported again. If not set, all records are \
+            output.""", advanced = true)
+    @FileSelectionWidget(SingleFileSelectionMode.FILE)
+    @Persistor(HashIndexFilePersistor.class)
+    FileSelection m_hashIndexFile = new FileSelection();
+
+    static final class BatchSizeMinValidation extends MinValidation {
+        @Override
+        protected double getMin() {
+            return 200;
+        }
+    }
+
+    static final class BatchSizeMaxValidation extends MaxValidation {
+        @Override
+        protected double getMax() {
+            return 2000;
+        }
+    }
+
+    static final class FieldsPerQueryMinValidation extends MinValidation {
+        @Override
+        protected double getMin() {
+            return SalesforceSimpleQueryNodeSettings.MIN_FIELDS_PER_QUERY;
+        }
+    }
+
     static final class WhereClausePersistor implements NodeParametersPersistor<String> {
         // needed because @Persist does not support empty string -> null conversion
 
@@ -448,6 +519,67 @@ public String[][] getConfigPaths() {
         }
     }
 
+    static final class BatchSizePersistor implements NodeParametersPersistor<Optional<Integer>> {
+
+        @Override
+        public Optional<Integer> load(final NodeSettingsRO settings) throws InvalidSettingsException {
+            // added in 5.11, negative value means 'adaptive'
+            int value = settings.getInt(SalesforceSimpleQueryNodeSettings.CFG_BATCH_SIZE, -1);
+            return value < 0 ? Optional.empty() : Optional.of(Integer.valueOf(value));
+        }
+
+        @Override
+        public void save(final Optional<Integer> obj, final NodeSettingsWO settings) {
+            settings.addInt(SalesforceSimpleQueryNodeSettings.CFG_BATCH_SIZE, obj.orElse(-1));
+        }
+
+        @Override
+        public String[][] getConfigPaths() {
+            return new String[][]{{SalesforceSimpleQueryNodeSettings.CFG_BATCH_SIZE}};
+        }
+    }
+
+    static final class FieldsPerQueryPersistor implements NodeParametersPersistor<Optional<Integer>> {
+
+        @Override
+        public Optional<Integer> load(final NodeSettingsRO settings) throws InvalidSettingsException {
+            // added in 5.11, negative value means 'all fields in one query'
+            int value = settings.getInt(SalesforceSimpleQueryNodeSettings.CFG_FIELDS_PER_QUERY, -1);
+            return value < 0 ? Optional.empty() : Optional.of(Integer.valueOf(value));
+        }
+
+        @Override
+        public void save(final Optional<Integer> obj, final NodeSettingsWO settings) {
+            settings.addInt(SalesforceSimpleQueryNodeSettings.CFG_FIELDS_PER_QUERY, obj.orElse(-1));
+        }
+
+        @Override
+        public String[][] getConfigPaths() {
+            return new String[][]{{SalesforceSimpleQueryNodeSettings.CFG_FIELDS_PER_QUERY}};
+        }
+    }
+
+    static final class HashIndexFilePersistor implements NodeParametersPersistor<FileSelection> {
+
+        @Override
+        public FileSelection load(final NodeSettingsRO settings) throws InvalidSettingsException {
+            // added in 5.11, empty means 'output all records'
+            return FSLocationUtil.loadLocation(settings, SalesforceSimpleQueryNodeSettings.CFG_HASH_INDEX_FILE)
+                .map(FileSelection::new).orElseGet(FileSelection::new);
+        }
+
+        @Override
+        public void save(final FileSelection obj, final NodeSettingsWO settings) {
+            FSLocationUtil.saveLocation(obj != null ? obj.getFSLocation() : null, settings,
+                SalesforceSimpleQueryNodeSettings.CFG_HASH_INDEX_FILE);
+        }
+
+        @Override
+        public String[][] getConfigPaths() {
+            return FSLocationUtil.getConfigPaths(SalesforceSimpleQueryNodeSettings.CFG_HASH_INDEX_FILE);
+        }
+    }
+
     static final class SalesforceFieldArrayPersistor implements NodeParametersPersistor<SalesforceField[]> {
 
         @Override
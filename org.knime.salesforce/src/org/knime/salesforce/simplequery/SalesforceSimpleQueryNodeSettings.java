@@ -63,8 +63,10 @@
 import org.knime.core.node.NodeSettingsRO;
 import org.knime.core.node.NodeSettingsWO;
 import org.knime.core.node.util.CheckUtils;
+import org.knime.filehandling.core.connections.FSLocation;
 import org.knime.node.parameters.widget.choices.Label;
 import org.knime.salesforce.rest.gsonbindings.sobjects.SObject;
+import org.knime.salesforce.util.FSLocationUtil;
 
 /**
  *
@@ -109,10 +111,17 @@ static final Optional<DisplayName> of(final String s) {
     private static final String CFG_FIELD_NAME = "fieldName";
     private static final String CFG_FIELD_LABEL = "fieldLabel";
     private static final String CFG_FIELD_TYPE = "fieldType";
+    private static final String CFG_FIELD_PICKLIST = "picklist";
     static final String CFG_WHERE_CLAUSE = "where";
     static final String CFG_LIMIT_CLAUSE = "limit";
     static final String CFG_DISPLAY_TYPE = "display";
     static final String CFG_RETRIEVE_DELETED_ARCHIVED = "retrieveDeletedArchived";
+    static final String CFG_BATCH_SIZE = "batchSize";
+    static final String CFG_FIELDS_PER_QUERY = "fieldsPerQuery";
+    static final String CFG_HASH_INDEX_FILE = "hashIndexFile";
+
+    /** Lower bound for {@link #getFieldsPerQuery()}, smaller groups mostly add round trips. */
+    static final int MIN_FIELDS_PER_QUERY = 10;
 
     private String m_objectName;
     private SalesforceField[] m_objectFields = new SalesforceField[0];
@@ -120,6 +129,9 @@ static final Optional<DisplayName> of(final String s) {
     private OptionalInt m_limit;
     private DisplayName m_displayName = DisplayName.Label;
     private boolean m_retrieveDeletedAndArchived;
+    private OptionalInt m_batchSize = OptionalInt.empty();
+    private OptionalInt m_fieldsPerQuery = OptionalInt.empty();
+    private Optional<FSLocation> m_hashIndexFile = Optional.empty();
 
     String getObjectName() {
         return m_objectName;
@@ -169,6 +181,38 @@ void setRetrieveDeletedAndArchived(final boolean value) {
         m_retrieveDeletedAndArchived = value;
     }
 
+    OptionalInt getBatchSize() {
+        return m_batchSize;
+    }
+
+    void setBatchSize(final int batchSizeOrNegative) {
+        m_batchSize = batchSizeOrNegative < 0 ? OptionalInt.empty() : OptionalInt.of(batchSizeOrNegative);
+    }
+
+    /**
+     * @return the number of fields queried per column group, empty if all fields are queried in a single query
+     */
+    OptionalInt getFieldsPerQuery() {
+        return m_fieldsPerQuery;
+    }
+
+    void setFieldsPerQuery(final int fieldsPerQueryOrNegative) {
+        m_fieldsPerQuery =
+            fieldsPerQueryOrNegative < 0 ? OptionalInt.empty() : OptionalInt.of(fieldsPerQueryOrNegative);
+    }
+
+    /**
+     * @return the file holding the IDs and content hashes of the previous execution if only changed records are to be
+     *         output, see {@link RecordHashIndex}
+     */
+    Optional<FSLocation> getHashIndexFile() {
+        return m_hashIndexFile;
+    }
+
+    void setHashIndexFile(final Optional<FSLocation> hashIndexFile) {
+        m_hashIndexFile = Objects.requireNonNull(hashIndexFile);
+    }
+
     SalesforceSimpleQueryNodeSettings loadInDialog(final NodeSettingsRO settings) {
         m_objectName = settings.getString(CFG_OBJECT_NAME, null);
         NodeSettingsRO fields;
@@ -190,6 +234,13 @@ SalesforceSimpleQueryNodeSettings loadInDialog(final NodeSettingsRO settings) {
         setLimit(settings.getInt(CFG_LIMIT_CLAUSE, -1));
         setDisplayName(DisplayName.of(settings.getString(CFG_DISPLAY_TYPE, null)).orElse(DisplayName.Label));
         setRetrieveDeletedAndArchived(settings.getBoolean(CFG_RETRIEVE_DELETED_ARCHIVED, false));
+        setBatchSize(settings.getInt(CFG_BATCH_SIZE, -1));
+        setFieldsPerQuery(settings.getInt(CFG_FIELDS_PER_QUERY, -1));
+        try {
+            setHashIndexFile(FSLocationUtil.loadLocation(settings, CFG_HASH_INDEX_FILE));
+        } catch (InvalidSettingsException ex) { // NOSONAR ignore in dialog code
+            setHashIndexFile(Optional.empty());
+        }
         return this;
     }
 
@@ -209,6 +260,12 @@ SalesforceSimpleQueryNodeSettings loadInModel(final NodeSettingsRO settings) thr
             .orElseThrow(() -> new InvalidSettingsException("Na valid display option")));
         // added in 5.7
         m_retrieveDeletedAndArchived = settings.getBoolean(CFG_RETRIEVE_DELETED_ARCHIVED, false);
+        // added in 5.11
+        setBatchSize(settings.getInt(CFG_BATCH_SIZE, -1));
+        setFieldsPerQuery(settings.getInt(CFG_FIELDS_PER_QUERY, -1));
+        CheckUtils.checkSetting(m_fieldsPerQuery.orElse(MIN_FIELDS_PER_QUERY) >= MIN_FIELDS_PER_QUERY,
+            "Fields per query must be at least %d: %d", MIN_FIELDS_PER_QUERY, m_fieldsPerQuery.orElse(-1));
+        setHashIndexFile(FSLocationUtil.loadLocation(settings, CFG_HASH_INDEX_FILE));
         return this;
     }
 
@@ -223,6 +280,9 @@ void save(final NodeSettingsWO settings) {
         settings.addInt(CFG_LIMIT_CLAUSE, m_limit.orElse(-1));
         settings.addString(CFG_DISPLAY_TYPE, m_displayName.name());
         settings.addBoolean(CFG_RETRIEVE_DELETED_ARCHIVED, m_retrieveDeletedAndArchived);
+        settings.addInt(CFG_BATCH_SIZE, m_batchSize.orElse(-1));
+        settings.addInt(CFG_FIELDS_PER_QUERY, m_fieldsPerQuery.orElse(-1));
+        FSLocationUtil.saveLocation(m_hashIndexFile.orElse(null), settings, CFG_HASH_INDEX_FILE);
     }
 
     static SalesforceField readSalesforceFieldFromSettings(final NodeSettingsRO fields, final String key)
@@ -231,13 +291,18 @@ static SalesforceField readSalesforceFieldFromSettings(final NodeSettingsRO fiel
         String fieldName = field.getString(CFG_FIELD_NAME);
         String fieldLabel = field.getString(CFG_FIELD_LABEL);
         String type = field.getString(CFG_FIELD_TYPE);
-        return new SalesforceField(fieldName, fieldLabel, SalesforceFieldType.readType(type));
+        // added in 5.11
+        boolean isPicklist = field.getBoolean(CFG_FIELD_PICKLIST, false);
+        return new SalesforceField(fieldName, fieldLabel, SalesforceFieldType.readType(type), isPicklist);
     }
 
     static void writeSalesforceFieldToSettings(final NodeSettingsWO settings, final SalesforceField field) {
         settings.addString(CFG_FIELD_NAME, field.getName());
         settings.addString(CFG_FIELD_LABEL, field.getLabel());
         settings.addString(CFG_FIELD_TYPE, field.getType().name());
+        if (field.isPicklist()) {
+            settings.addBoolean(CFG_FIELD_PICKLIST, true);
+        }
     }
 
     @Override
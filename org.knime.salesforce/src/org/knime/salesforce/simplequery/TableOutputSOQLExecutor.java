@@ -48,33 +48,70 @@
  */
 package org.knime.salesforce.simplequery;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.apache.commons.lang3.function.FailableFunction;
 import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnDomainCreator;
 import org.knime.core.data.DataColumnSpec;
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.DataType;
 import org.knime.core.data.MissingCell;
 import org.knime.core.data.RowKey;
 import org.knime.core.data.def.DefaultRow;
-import org.knime.core.node.BufferedDataContainer;
-import org.knime.core.node.BufferedDataTable;
+import org.knime.core.data.def.StringCell;
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.NodeLogger;
+import org.knime.core.node.streamable.RowOutput;
 import org.knime.core.util.JsonUtil;
+import org.knime.core.util.ThreadPool;
 import org.knime.core.util.UniqueNameGenerator;
+import org.knime.filehandling.core.connections.FSLocation;
 import org.knime.salesforce.auth.credential.SalesforceAccessTokenCredential;
+import org.knime.salesforce.rest.FutureUtil;
+import org.knime.salesforce.rest.SalesforceRESTUtil;
 import org.knime.salesforce.rest.SalesforceResponseException;
 import org.knime.salesforce.rest.Timeouts;
+import org.knime.salesforce.rest.gsonbindings.fields.Field;
+import org.knime.salesforce.rest.gsonbindings.sobjects.SObject;
 import org.knime.salesforce.rest.soql.AbstractSOQLExecutor;
+import org.knime.salesforce.simplequery.SalesforceFieldType.BlobDownloader;
 import org.knime.salesforce.simplequery.SalesforceFieldType.CellCreator;
 import org.knime.salesforce.simplequery.SalesforceSimpleQueryNodeSettings.DisplayName;
+import org.knime.salesforce.util.FSLocationUtil;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
 
 import jakarta.json.JsonPointer;
+import jakarta.json.JsonString;
 import jakarta.json.JsonStructure;
 import jakarta.json.JsonValue;
 import jakarta.json.JsonValue.ValueType;
@@ -86,9 +123,57 @@
  */
 final class TableOutputSOQLExecutor extends AbstractSOQLExecutor {
 
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(TableOutputSOQLExecutor.class);
+
+    /**
+     * Maximum number of pages (each up to 2000 records) whose conversion is pending, bounds the memory held by parsed
+     * but not yet committed records.
+     */
+    private static final int MAX_PAGES_IN_FLIGHT = 4;
+
+    /** Records per conversion task, a page is split into tasks of that size. */
+    private static final int RECORDS_PER_TASK = 64;
+
+    /**
+     * Maximum number of threads converting records of a single execution, taken from KNIME's global thread pool (so
+     * that concurrently executing nodes share the threads).
+     */
+    private static final int MAX_CONVERSION_THREADS = Math.max(1, Runtime.getRuntime().availableProcessors());
+
+    /**
+     * Maximum number of column groups, i.e. of concurrent queries (and threads) of an execution. Salesforce allows a
+     * user up to 10 open query cursors at a time (more fail with INVALID_QUERY_LOCATOR), larger groups are used
+     * instead.
+     */
+    static final int MAX_COLUMN_GROUPS = 10;
+
+    /** Pages per column group that are read ahead of the merge. */
+    private static final int MAX_PAGES_PER_COLUMN_GROUP = 2;
+
+    /** Put into the page queue of a column group after its last page. */
+    private static final JsonStructure[] END_OF_COLUMN_GROUP = new JsonStructure[0];
+
+    /** Name of the record ID field, the join key of column groups. */
+    private static final String ID_FIELD = "Id";
+
+    /**
+     * Record IDs are compared by their case-sensitive 15 character form, whose ASCII order (0-9, A-Z, a-z) is the
+     * order of 'ORDER BY Id'. The 3 character suffix of the 18 character form is a checksum.
+     */
+    private static final int ID_KEY_LENGTH = RecordHashIndex.KEY_LENGTH;
+
+    private static final JsonPointer ID_POINTER = JsonUtil.getProvider().createPointer("/" + ID_FIELD);
+
+    /** Name of the column appended in diff mode, see {@link SalesforceSimpleQueryNodeSettings#getHashIndexFile()}. */
+    private static final String CHANGE_COLUMN = "Change";
 
     private final SalesforceSimpleQueryNodeSettings m_settings;
 
+    private final boolean m_isRetrieveDeletedAndArchived;
+
+    /** Picklist values by field name, the initial domain of the columns, see {@link #readPicklistValues(ExecutionContext)}. */
+    private Map<String, String[]> m_picklistValues = Map.of();
+
     /**
      * @param cred
      * @param timeouts
@@ -97,23 +182,65 @@ final class TableOutputSOQLExecutor extends AbstractSOQLExecutor {
      */
     TableOutputSOQLExecutor(final SalesforceAccessTokenCredential cred, final Timeouts timeouts,
         final SalesforceSimpleQueryNodeSettings settings, final boolean isRetrieveDeletedAndArchived) {
-        super(cred, timeouts, createSOQL(settings), isRetrieveDeletedAndArchived);
+        this(cred, timeouts, settings, isRetrieveDeletedAndArchived,
+            createSOQL(settings, settings.getObjectFields(), settings.getHashIndexFile().isPresent()));
+    }
+
+    /** Used for the queries of the individual column groups. */
+    private TableOutputSOQLExecutor(final SalesforceAccessTokenCredential cred, final Timeouts timeouts,
+        final SalesforceSimpleQueryNodeSettings settings, final boolean isRetrieveDeletedAndArchived,
+        final String soql) {
+        super(cred, timeouts, soql, isRetrieveDeletedAndArchived, settings.getBatchSize());
         m_settings = settings;
+        m_isRetrieveDeletedAndArchived = isRetrieveDeletedAndArchived;
     }
 
-    private static String createSOQL(final SalesforceSimpleQueryNodeSettings settings) {
+    /**
+     * @param fields the fields to select
+     * @param isOrderedById whether to (also) select the record ID and sort by it, as required for column groups
+     */
+    private static String createSOQL(final SalesforceSimpleQueryNodeSettings settings,
+        final SalesforceField[] fields, final boolean isOrderedById) {
+        Stream<String> fieldNames = Arrays.stream(fields).map(SalesforceField::getName);
+        if (isOrderedById) {
+            fieldNames = Stream.concat(Stream.of(ID_FIELD), fieldNames.filter(n -> !ID_FIELD.equals(n)));
+        }
         StringBuilder soqlBuilder = new StringBuilder();
         soqlBuilder.append("SELECT ");
-        soqlBuilder.append(Arrays.stream(settings.getObjectFields()) //
-            .map(f -> settings.getObjectName() + "." + f.getName()) //
+        soqlBuilder.append(fieldNames //
+            .map(n -> settings.getObjectName() + "." + n) //
             .collect(Collectors.joining(", ")));
         soqlBuilder.append(" FROM ");
         soqlBuilder.append(settings.getObjectName());
         settings.getWhereClause().ifPresent(w -> soqlBuilder.append(" WHERE ").append(w));
+        if (isOrderedById) {
+            soqlBuilder.append(" ORDER BY ").append(ID_FIELD);
+        }
         settings.getLimit().ifPresent(l -> soqlBuilder.append(" LIMIT ").append(l));
         return soqlBuilder.toString();
     }
 
+    /**
+     * Splits the fields into groups of {@link SalesforceSimpleQueryNodeSettings#getFieldsPerQuery()} fields, keeping
+     * their order (a single group if not set). The group size is increased if there were more than
+     * {@link #MAX_COLUMN_GROUPS} groups otherwise.
+     */
+    private List<SalesforceField[]> createColumnGroups() {
+        final SalesforceField[] fields = m_settings.getObjectFields();
+        final int configuredSize = Math.max(1, m_settings.getFieldsPerQuery().orElse(fields.length));
+        final int minSize = (fields.length + MAX_COLUMN_GROUPS - 1) / MAX_COLUMN_GROUPS;
+        if (configuredSize < minSize) {
+            LOGGER.warnWithFormat("Querying %d fields in groups of %d fields instead of %d (at most %d concurrent "
+                + "queries)", fields.length, minSize, configuredSize, MAX_COLUMN_GROUPS);
+        }
+        final int groupSize = Math.max(configuredSize, minSize);
+        final List<SalesforceField[]> groups = new ArrayList<>();
+        for (int from = 0; from < fields.length; from += groupSize) {
+            groups.add(Arrays.copyOfRange(fields, from, Math.min(fields.length, from + groupSize)));
+        }
+        return groups;
+    }
+
     @Override
     public Optional<DataTableSpec> createOutputSpec() {
         return Optional.of(createSpec());
@@ -123,43 +250,638 @@ private DataTableSpec createSpec() {
         UniqueNameGenerator nameGen = new UniqueNameGenerator(Collections.emptySet());
         Function<SalesforceField, String> nameExtractor =
             f -> m_settings.getDisplayName() == DisplayName.Label ? f.getLabel() : f.getName();
-        return new DataTableSpec( //
+        final var fieldSpec = new DataTableSpec( //
             Arrays.stream(m_settings.getObjectFields()) //
-            .map(f -> nameGen.newColumn(nameExtractor.apply(f), f.getType().getKNIMEType())) //
+            .map(f -> {
+                final var creator = nameGen.newCreator(nameExtractor.apply(f), f.getType().getKNIMEType());
+                // picklist values are known from the describe metadata, the container adds values not listed there
+                final String[] values = m_picklistValues.get(f.getName());
+                if (values != null) {
+                    creator.setDomain(new DataColumnDomainCreator(Arrays.stream(values).map(StringCell::new)
+                        .collect(Collectors.toCollection(LinkedHashSet::new))).createDomain());
+                }
+                return creator.createSpec();
+            }) //
             .toArray(DataColumnSpec[]::new));
+        if (m_settings.getHashIndexFile().isEmpty()) {
+            return fieldSpec;
+        }
+        final List<DataColumnSpec> changeColumns = new ArrayList<>();
+        if (getIdFieldIndex() < 0) {
+            changeColumns.add(nameGen.newColumn(ID_FIELD, StringCell.TYPE));
+        }
+        changeColumns.add(nameGen.newColumn(CHANGE_COLUMN, StringCell.TYPE));
+        return new DataTableSpec(fieldSpec, new DataTableSpec(changeColumns.toArray(DataColumnSpec[]::new)));
+    }
+
+    /**
+     * Reads the picklist values of the selected fields from the describe metadata of the object. They are the initial
+     * possible values of the column domains in the {@linkplain #createOutputSpec() output spec}, i.e. the domain lists
+     * all values of the picklist, also those not contained in the result. The domain is still updated with the data
+     * (values not in the metadata are added, e.g. of unrestricted picklists, and the domains of the other columns are
+     * computed), so without the metadata (e.g. if the describe request fails) it lists the values in the data only.
+     * The values are not part of the node settings as they can be large and change in Salesforce; consequently, the
+     * spec created during configure doesn't contain them.
+     *
+     * @param context for cancelation
+     * @throws CanceledExecutionException if canceled
+     */
+    void readPicklistValues(final ExecutionContext context) throws CanceledExecutionException {
+        if (Arrays.stream(m_settings.getObjectFields())
+            .noneMatch(f -> f.isPicklist() && f.getType() == SalesforceFieldType.STRING)) {
+            return;
+        }
+        final Set<String> selectedFieldNames = Arrays.stream(m_settings.getObjectFields())
+            .map(SalesforceField::getName).collect(Collectors.toSet());
+        final Field[] fields;
+        try (var scope = SalesforceRESTUtil.openAbortScope(context::checkCanceled)) {
+            fields = SalesforceRESTUtil.getSObjectFields(
+                SObject.of(m_settings.getObjectName(), m_settings.getObjectName()), getCredential(), getTimeouts());
+        } catch (SalesforceResponseException ex) {
+            final var canceled = ExceptionUtils.throwableOfType(ex, CanceledExecutionException.class);
+            if (canceled != null) {
+                throw canceled;
+            }
+            LOGGER.warn("Unable to read picklist values of object \"" + m_settings.getObjectName()
+                + "\", column domains are computed from the data only: " + ex.getMessage(), ex);
+            return;
+        }
+        final Map<String, String[]> picklistValues = new HashMap<>();
+        for (Field field : fields) {
+            if (selectedFieldNames.contains(field.getName())) {
+                SalesforceField.getPicklistValues(field).ifPresent(v -> picklistValues.put(field.getName(), v));
+            }
+        }
+        m_picklistValues = picklistValues;
+    }
+
+    /** @return the index of the 'Id' field in the selected fields, -1 if not selected */
+    private int getIdFieldIndex() {
+        final SalesforceField[] fields = m_settings.getObjectFields();
+        for (int i = 0; i < fields.length; i++) {
+            if (ID_FIELD.equals(fields[i].getName())) {
+                return i;
+            }
+        }
+        return -1;
     }
 
     @Override
-    public BufferedDataTable execute(final ExecutionContext context)
-        throws SalesforceResponseException, CanceledExecutionException {
-        BufferedDataContainer container = context.createDataContainer(createSpec());
-        FieldReader[] fieldReaders = Arrays.stream(m_settings.getObjectFields()) //
-            .map(f -> new FieldReader(JsonUtil.getProvider().createPointer("/" + f.getName()), f.getType(), context))//
-                .toArray(FieldReader[]::new);
+    protected void executeQuery(final RowOutput output, final ExecutionContext context)
+        throws SalesforceResponseException, CanceledExecutionException, InterruptedException {
+        final var hashIndexFile = m_settings.getHashIndexFile();
+        if (hashIndexFile.isEmpty()) {
+            executeQueries(output, null, context);
+        } else {
+            try (var indexPath = resolveHashIndexFile(hashIndexFile.get());
+                    var changes = new ChangeOutput(RecordHashIndex.open(indexPath.getPath()), output,
+                        m_settings.getObjectFields().length, getIdFieldIndex())) {
+                executeQueries(output, changes, context);
+                context.setMessage("Writing removed records and hash index");
+                changes.finish();
+            }
+        }
+        output.close();
+    }
+
+    private static FSLocationUtil.ResolvedPath resolveHashIndexFile(final FSLocation location)
+        throws SalesforceResponseException {
+        try {
+            return FSLocationUtil.resolve(location, "hash index file");
+        } catch (InvalidSettingsException ex) {
+            throw new SalesforceResponseException(ex.getMessage(), ex);
+        }
+    }
+
+    /** @param changes the output of changed records in diff mode, null to output all records */
+    private void executeQueries(final RowOutput output, final ChangeOutput changes, final ExecutionContext context)
+        throws SalesforceResponseException, CanceledExecutionException, InterruptedException {
+        final List<SalesforceField[]> columnGroups = createColumnGroups();
+        if (columnGroups.size() > 1) {
+            executeColumnGroupQueries(columnGroups, output, changes, context);
+        } else {
+            executeSingleQuery(output, changes, context);
+        }
+    }
+
+    /**
+     * Runs a single query, the records of each page are converted in parallel while the next page is downloaded. In
+     * diff mode the records are compared with the hash index first and only inserted and changed records are
+     * converted (which includes downloading the content of binary fields).
+     *
+     * @param changes the output of changed records in diff mode, null to output all records
+     */
+    private void executeSingleQuery(final RowOutput output, final ChangeOutput changes,
+        final ExecutionContext context)
+        throws SalesforceResponseException, CanceledExecutionException, InterruptedException {
+        FieldReader[] fieldReaders = createFieldReaders(m_settings.getObjectFields(), context);
         context.setMessage("Invoking Salesforce REST API");
         JsonStructure nextResults = execute();
         String sizeAsString = String.format("(%s total records)",
             getTotalSize().isPresent() ? Integer.toString(getTotalSize().getAsInt()) : "unknown number of ");
         long rowIndex = 0L;
         long chunkIndex = 0L;
-        do {
-            context.setMessage("Processing result set " + chunkIndex + sizeAsString);
-            for (JsonStructure split : splitJsonStructureByRecords(nextResults)) {
-                DataCell[] cells = new DataCell[fieldReaders.length];
-                for (int i = 0; i < cells.length; i++) {
-                    cells[i] = fieldReaders[i].read(split);
+        // records are converted in parallel while the next page is downloaded, rows are committed in original order
+        final var pool = KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool(MAX_CONVERSION_THREADS);
+        final Deque<PendingPage> pagesInFlight = new ArrayDeque<>();
+        try {
+            do {
+                context.checkCanceled();
+                JsonStructure[] records = splitJsonStructureByRecords(nextResults);
+                final var page = new PendingPage(records.length, changes != null);
+                if (changes != null) {
+                    compareWithIndex(records, fieldReaders, page, changes);
+                }
+                for (int from = 0; from < records.length; from += RECORDS_PER_TASK) {
+                    page.addTask(pool.enqueue(new ConvertRecordsTask(records, page, fieldReaders, from,
+                        Math.min(records.length, from + RECORDS_PER_TASK))));
+                }
+                pagesInFlight.addLast(page);
+                while (pagesInFlight.size() >= MAX_PAGES_IN_FLIGHT) {
+                    rowIndex = commitPage(pagesInFlight.removeFirst(), output, changes, rowIndex, context);
+                }
+                chunkIndex++;
+                context.setMessage("Invoking Salesforce REST API for next chunk (index " + chunkIndex + ") "
+                    + sizeAsString);
+            } while ((nextResults = readNext().orElse(null)) != null);
+            context.setMessage("Processing remaining records " + sizeAsString);
+            while (!pagesInFlight.isEmpty()) {
+                rowIndex = commitPage(pagesInFlight.removeFirst(), output, changes, rowIndex, context);
+            }
+        } finally {
+            pagesInFlight.forEach(PendingPage::cancel); // only if failed or canceled
+        }
+    }
+
+    /**
+     * Runs one query per column group concurrently, each sorted by record ID, and merge-joins the results on the
+     * record ID. Records missing in the result of a group (e.g. created or deleted while the queries ran) get missing
+     * cells for the fields of that group. Each group has its own thread of a sub pool of the global thread pool, as
+     * the merge waits for all groups (at most {@link #MAX_COLUMN_GROUPS}); the merge itself runs invisibly to the
+     * pool, so that it doesn't block a thread the readers need.
+     */
+    private void executeColumnGroupQueries(final List<SalesforceField[]> columnGroups, final RowOutput output,
+        final ChangeOutput changes, final ExecutionContext context)
+        throws SalesforceResponseException, CanceledExecutionException, InterruptedException {
+        context.setMessage(String.format("Invoking Salesforce REST API (%d queries of up to %d fields each)",
+            columnGroups.size(), columnGroups.get(0).length));
+        final ThreadPool pool = KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool(columnGroups.size());
+        final List<Future<Void>> readers = new ArrayList<>();
+        try {
+            final List<ColumnGroupCursor> cursors = new ArrayList<>();
+            for (SalesforceField[] fields : columnGroups) {
+                final var groupExecutor = new TableOutputSOQLExecutor(getCredential(), getTimeouts(), m_settings,
+                    m_isRetrieveDeletedAndArchived, createSOQL(m_settings, fields, true));
+                final BlockingQueue<JsonStructure[]> pages = new ArrayBlockingQueue<>(MAX_PAGES_PER_COLUMN_GROUP);
+                final Future<Void> reader = pool.enqueue(() -> readColumnGroup(groupExecutor, pages));
+                readers.add(reader);
+                cursors.add(new ColumnGroupCursor(createFieldReaders(fields, context), pages, reader));
+            }
+            FutureUtil.runInvisible(() -> mergeColumnGroups(cursors, output, changes, context));
+        } finally {
+            readers.forEach(r -> r.cancel(true)); // interrupts readers blocked on a full queue
+        }
+    }
+
+    /** Merge-joins the sorted records of the column groups, see {@link #executeColumnGroupQueries}. */
+    private Void mergeColumnGroups(final List<ColumnGroupCursor> cursors, final RowOutput output,
+        final ChangeOutput changes, final ExecutionContext context)
+        throws SalesforceResponseException, CanceledExecutionException, InterruptedException {
+        for (ColumnGroupCursor cursor : cursors) {
+            cursor.advance(context);
+        }
+        final int columnCount = m_settings.getObjectFields().length;
+        // the current record of each group, null if the group doesn't contain the record
+        final var records = new JsonStructure[cursors.size()];
+        long rowIndex = 0L;
+        String key;
+        while ((key = cursors.stream().map(ColumnGroupCursor::getKey) //
+            .filter(Objects::nonNull).min(String::compareTo).orElse(null)) != null) {
+            context.checkCanceled();
+            String id = null;
+            for (int c = 0; c < records.length; c++) {
+                final var cursor = cursors.get(c);
+                records[c] = null;
+                if (key.equals(cursor.getKey())) {
+                    id = id != null ? id : cursor.getId();
+                    records[c] = cursor.getRecord();
+                    cursor.advance(context);
+                }
+            }
+            // in diff mode only inserted and changed records are converted
+            RecordHashIndex.Change change = null;
+            List<String> removedIds = List.of();
+            if (changes != null) {
+                final Hasher hasher = newRecordHasher();
+                for (int c = 0; c < records.length; c++) {
+                    cursors.get(c).putValues(records[c], hasher);
+                }
+                removedIds = new ArrayList<>();
+                change = changes.compare(id, hasher.hash().asLong(), removedIds);
+            }
+            DataCell[] cells = null;
+            if (change != RecordHashIndex.Change.UNCHANGED) {
+                cells = new DataCell[columnCount];
+                int offset = 0;
+                for (int c = 0; c < records.length; c++) {
+                    cursors.get(c).read(records[c], cells, offset);
+                    offset += cursors.get(c).getColumnCount();
+                }
+            }
+            if (changes != null) {
+                changes.push(cells, id, change, removedIds);
+            } else {
+                output.push(new DefaultRow(RowKey.createRowKey(rowIndex), cells));
+            }
+            rowIndex++;
+            if (rowIndex % 1000 == 0) {
+                context.setMessage(String.format("Merging results of %d queries (%d records)",
+                    cursors.size(), rowIndex));
+            }
+        }
+        return null;
+    }
+
+    /** Reads all pages of a column group into the queue, run in a separate thread. */
+    private Void readColumnGroup(final TableOutputSOQLExecutor groupExecutor,
+        final BlockingQueue<JsonStructure[]> pages) throws SalesforceResponseException, InterruptedException {
+        JsonStructure page = callAbortable(groupExecutor::execute);
+        while (page != null) {
+            pages.put(splitJsonStructureByRecords(page));
+            page = callAbortable(groupExecutor::readNext).orElse(null);
+        }
+        pages.put(END_OF_COLUMN_GROUP);
+        return null;
+    }
+
+    private FieldReader[] createFieldReaders(final SalesforceField[] fields, final ExecutionContext context) {
+        return Arrays.stream(fields) //
+            .map(f -> new FieldReader(JsonUtil.getProvider().createPointer("/" + f.getName()), f, context,
+                this::downloadBlob)) //
+            .toArray(FieldReader[]::new);
+    }
+
+    /** Streams the content of a blob URL (returned for base64 fields) into a cell. */
+    private DataCell downloadBlob(final String path,
+        final FailableFunction<InputStream, DataCell, IOException> cellCreator) throws SalesforceResponseException {
+        // called from the conversion pool
+        return callAbortable(() -> SalesforceRESTUtil.doGetBinary(path, getCredential(), cellCreator, getTimeouts()));
+    }
+
+    /**
+     * Waits for the conversion of a page to finish and pushes its rows to the output (or only the changed rows to the
+     * change output, if not null).
+     *
+     * @return the row index of the next row
+     */
+    private static long commitPage(final PendingPage page, final RowOutput output, final ChangeOutput changes,
+        final long firstRowIndex, final ExecutionContext context)
+        throws SalesforceResponseException, CanceledExecutionException, InterruptedException {
+        try {
+            for (Future<Void> task : page.tasks()) {
+                FutureUtil.waitFor(task, context);
+            }
+        } finally {
+            page.cancel(); // no-op unless a task failed
+        }
+        long rowIndex = firstRowIndex;
+        final DataCell[][] rows = page.rows();
+        for (int r = 0; r < rows.length; r++) {
+            context.checkCanceled();
+            if (changes != null) {
+                changes.push(rows[r], page.getId(r), page.getChange(r), page.getRemovedIds(r));
+            } else {
+                output.push(new DefaultRow(RowKey.createRowKey(rowIndex), rows[r]));
+            }
+            rowIndex++;
+        }
+        return rowIndex;
+    }
+
+    /** @return a hasher for the content of a record, fed with the values of all fields in order */
+    private static Hasher newRecordHasher() {
+        return Hashing.murmur3_128().newHasher();
+    }
+
+    /**
+     * Diff mode: hashes the records as returned by Salesforce (i.e. prior conversion) and compares them with the hash
+     * index. Runs in the thread reading the pages as the index is merge-joined in ID order.
+     */
+    private static void compareWithIndex(final JsonStructure[] records, final FieldReader[] fieldReaders,
+        final PendingPage page, final ChangeOutput changes) throws SalesforceResponseException {
+        for (int r = 0; r < records.length; r++) {
+            final Hasher hasher = newRecordHasher();
+            for (FieldReader fieldReader : fieldReaders) {
+                fieldReader.putValue(records[r], hasher);
+            }
+            final String id = readId(records[r]);
+            final List<String> removedIds = new ArrayList<>();
+            page.setChange(r, id, changes.compare(id, hasher.hash().asLong(), removedIds), removedIds);
+        }
+    }
+
+    private static String readId(final JsonStructure jsonRecord) throws SalesforceResponseException {
+        if (!ID_POINTER.containsValue(jsonRecord)
+            || !(ID_POINTER.getValue(jsonRecord) instanceof JsonString idValue)) {
+            throw new SalesforceResponseException("Record without ID in query result");
+        }
+        return idValue.getString();
+    }
+
+    /**
+     * Pushes only the records inserted or changed since the previous execution, and the records removed since then,
+     * with their change type appended (diff mode). Rows are numbered consecutively.
+     */
+    private static final class ChangeOutput implements AutoCloseable {
+
+        private final RecordHashIndex m_index;
+        private final RowOutput m_output;
+        private final int m_fieldCount;
+        /** Index of the 'Id' field in the cells, -1 if it's appended. */
+        private final int m_idFieldIndex;
+
+        private long m_rowIndex;
+
+        ChangeOutput(final RecordHashIndex index, final RowOutput output, final int fieldCount,
+            final int idFieldIndex) {
+            m_index = index;
+            m_output = output;
+            m_fieldCount = fieldCount;
+            m_idFieldIndex = idFieldIndex;
+        }
+
+        /**
+         * Compares the record with the previous execution, records must be passed in ascending ID order. The IDs of
+         * records of the previous execution preceding the record that are not in the result (i.e. removed) are added
+         * to the list, they are pushed along with the record, see {@link #push}.
+         */
+        RecordHashIndex.Change compare(final String id, final long hash, final List<String> removedIds)
+            throws SalesforceResponseException {
+            return m_index.next(id, hash, removedIds::add);
+        }
+
+        /**
+         * Pushes the removed records preceding the record, then the record itself unless unchanged.
+         *
+         * @param cells the cells of the record, null if unchanged (records are converted only if needed)
+         */
+        void push(final DataCell[] cells, final String id, final RecordHashIndex.Change change,
+            final List<String> removedIds) throws InterruptedException {
+            for (String removedId : removedIds) {
+                pushRemoved(removedId);
+            }
+            if (change != RecordHashIndex.Change.UNCHANGED) {
+                pushRow(cells, id, change);
+            }
+        }
+
+        /** Pushes the records not seen in this execution and replaces the previous index. */
+        void finish() throws SalesforceResponseException, InterruptedException {
+            m_index.finish(this::pushRemoved);
+            m_index.commit();
+        }
+
+        private void pushRemoved(final String id) throws InterruptedException {
+            final var cells = new DataCell[m_fieldCount];
+            Arrays.fill(cells, DataType.getMissingCell());
+            if (m_idFieldIndex >= 0) {
+                cells[m_idFieldIndex] = new StringCell(id);
+            }
+            pushRow(cells, id, RecordHashIndex.Change.REMOVED);
+        }
+
+        private void pushRow(final DataCell[] cells, final String id, final RecordHashIndex.Change change)
+            throws InterruptedException {
+            final var row = Arrays.copyOf(cells, m_fieldCount + (m_idFieldIndex < 0 ? 2 : 1));
+            if (m_idFieldIndex < 0) {
+                row[m_fieldCount] = new StringCell(id);
+            }
+            row[row.length - 1] = new StringCell(change.getLabel());
+            m_output.push(new DefaultRow(RowKey.createRowKey(m_rowIndex), row));
+            m_rowIndex++;
+        }
+
+        /** Discards the new index if {@link #finish()} wasn't called. */
+        @Override
+        public void close() {
+            m_index.close();
+        }
+    }
+
+    /** The position in the (sorted) records of a column group, consumed by the merge. */
+    private static final class ColumnGroupCursor {
+
+        private final FieldReader[] m_fieldReaders;
+        private final BlockingQueue<JsonStructure[]> m_pages;
+        private final Future<?> m_reader;
+
+        private JsonStructure[] m_page = new JsonStructure[0];
+        private int m_index = -1;
+        /** Key of the current record, null when all records are consumed. */
+        private String m_key;
+        /** ID of the current record. */
+        private String m_id;
+
+        ColumnGroupCursor(final FieldReader[] fieldReaders, final BlockingQueue<JsonStructure[]> pages,
+            final Future<?> reader) {
+            m_fieldReaders = fieldReaders;
+            m_pages = pages;
+            m_reader = reader;
+        }
+
+        String getKey() {
+            return m_key;
+        }
+
+        String getId() {
+            return m_id;
+        }
+
+        /** @return the current record */
+        JsonStructure getRecord() {
+            return m_page[m_index];
+        }
+
+        int getColumnCount() {
+            return m_fieldReaders.length;
+        }
+
+        /** Moves to the next record, possibly waiting for the next page. */
+        void advance(final ExecutionContext context)
+            throws SalesforceResponseException, CanceledExecutionException, InterruptedException {
+            m_index++;
+            while (m_index >= m_page.length) {
+                if (m_page == END_OF_COLUMN_GROUP) { // NOSONAR (identity intended)
+                    m_key = null;
+                    return;
+                }
+                m_page = nextPage(context);
+                m_index = 0;
+            }
+            final JsonStructure jsonRecord = m_page[m_index];
+            if (!ID_POINTER.containsValue(jsonRecord)
+                || !(ID_POINTER.getValue(jsonRecord) instanceof JsonString idValue)) {
+                throw new SalesforceResponseException("Record without ID in result of column group query");
+            }
+            final String id = idValue.getString();
+            final String key = id.substring(0, Math.min(id.length(), ID_KEY_LENGTH));
+            if (m_key != null && key.compareTo(m_key) <= 0) {
+                throw new SalesforceResponseException(String.format("Records of column group query are not sorted "
+                    + "by ID as expected (%s after %s), unset \"Fields per query\" to use a single query", key,
+                    m_key));
+            }
+            m_key = key;
+            m_id = id;
+        }
+
+        private JsonStructure[] nextPage(final ExecutionContext context)
+            throws SalesforceResponseException, CanceledExecutionException, InterruptedException {
+            while (true) {
+                final JsonStructure[] page = m_pages.poll(200, TimeUnit.MILLISECONDS);
+                if (page != null) {
+                    return page;
                 }
                 context.checkCanceled();
-                container.addRowToTable(new DefaultRow(RowKey.createRowKey(rowIndex), cells));
-                rowIndex++;
+                if (m_reader.isDone()) {
+                    // either failed or the end marker is in the queue by now
+                    try {
+                        m_reader.get();
+                    } catch (ExecutionException ex) {
+                        var sre = ExceptionUtils.throwableOfType(ex, SalesforceResponseException.class);
+                        if (sre != null) {
+                            throw sre;
+                        }
+                        throw new SalesforceResponseException(
+                            "Reading column group failed: " + ex.getCause().getMessage(), ex.getCause());
+                    }
+                }
             }
-            chunkIndex++;
-            context.setMessage("Invoking Salesforce REST API for next chunk (index " + chunkIndex + ")");
-        } while ((nextResults = readNext().orElse(null)) != null);
-        container.close();
-        return container.getTable();
+        }
+
+        /**
+         * Converts the fields of a record of this group into the cells, missing cells if the record is null (not
+         * contained in the result of this group).
+         */
+        void read(final JsonStructure jsonRecord, final DataCell[] cells, final int offset)
+            throws SalesforceResponseException {
+            if (jsonRecord == null) {
+                final var missing = new MissingCell("Record not contained in the result of the column group query "
+                    + "(created or deleted during execution?)");
+                Arrays.fill(cells, offset, offset + m_fieldReaders.length, missing);
+                return;
+            }
+            for (int i = 0; i < m_fieldReaders.length; i++) {
+                cells[offset + i] = m_fieldReaders[i].read(jsonRecord);
+            }
+        }
+
+        /** Feeds the fields of a record of this group into the hasher, null if not contained in this group. */
+        void putValues(final JsonStructure jsonRecord, final Hasher hasher) {
+            for (FieldReader fieldReader : m_fieldReaders) {
+                if (jsonRecord != null) {
+                    fieldReader.putValue(jsonRecord, hasher);
+                } else {
+                    FieldReader.putMissing(hasher);
+                }
+            }
+        }
     }
 
+    /**
+     * The records of a page, converted asynchronously into 'rows' by 'tasks'. In diff mode also the IDs, the change
+     * compared to the hash index and the IDs of removed records preceding each record are set before the conversion
+     * (only inserted and changed records are converted), otherwise these arrays are null.
+     */
+    private static final class PendingPage {
+        private final DataCell[][] m_rows;
+        private final String[] m_ids;
+        private final RecordHashIndex.Change[] m_changes;
+        private final List<List<String>> m_removedIds;
+        private final List<Future<Void>> m_tasks = new ArrayList<>();
+
+        PendingPage(final int recordCount, final boolean isDiff) {
+            m_rows = new DataCell[recordCount][];
+            m_ids = isDiff ? new String[recordCount] : null;
+            m_changes = isDiff ? new RecordHashIndex.Change[recordCount] : null;
+            m_removedIds = isDiff ? new ArrayList<>(recordCount) : null;
+        }
+
+        void setChange(final int index, final String id, final RecordHashIndex.Change change,
+            final List<String> removedIds) {
+            m_ids[index] = id;
+            m_changes[index] = change;
+            m_removedIds.add(removedIds);
+        }
+
+        /** @return whether the record is to be converted, i.e. not in diff mode or not unchanged */
+        boolean isConverted(final int index) {
+            return m_changes == null || m_changes[index] != RecordHashIndex.Change.UNCHANGED;
+        }
+
+        String getId(final int index) {
+            return m_ids[index];
+        }
+
+        RecordHashIndex.Change getChange(final int index) {
+            return m_changes[index];
+        }
+
+        List<String> getRemovedIds(final int index) {
+            return m_removedIds.get(index);
+        }
+
+        void addTask(final Future<Void> task) {
+            m_tasks.add(task);
+        }
+
+        List<Future<Void>> tasks() {
+            return m_tasks;
+        }
+
+        void cancel() {
+            m_tasks.forEach(t -> t.cancel(true));
+        }
+
+        DataCell[][] rows() {
+            return m_rows;
+        }
+    }
+
+    /** Converts a range of records to cells, skipping unchanged records in diff mode. */
+    private static final class ConvertRecordsTask implements Callable<Void> {
+
+        private final JsonStructure[] m_records;
+        private final PendingPage m_page;
+        private final FieldReader[] m_fieldReaders;
+        private final int m_from;
+        private final int m_to;
+
+        ConvertRecordsTask(final JsonStructure[] records, final PendingPage page, final FieldReader[] fieldReaders,
+            final int from, final int to) {
+            m_records = records;
+            m_page = page;
+            m_fieldReaders = fieldReaders;
+            m_from = from;
+            m_to = to;
+        }
+
+        @Override
+        public Void call() throws SalesforceResponseException {
+            for (int r = m_from; r < m_to; r++) {
+                if (!m_page.isConverted(r)) {
+                    continue;
+                }
+                DataCell[] cells = new DataCell[m_fieldReaders.length];
+                for (int i = 0; i < cells.length; i++) {
+                    cells[i] = m_fieldReaders[i].read(m_records[r]);
+                }
+                m_page.rows()[r] = cells;
+            }
+            return null;
+        }
+    }
+
+    /** Reads a single field. Thread-safe as cell creators are (the binary creator synchronizes file store access). */
     private static final class FieldReader {
         private final JsonPointer m_jsonPointer;
         private final CellCreator m_cellCreator;
@@ -168,10 +890,11 @@ private static final class FieldReader {
          * @param jsonPointer
          * @param cellFactory
          */
-        FieldReader(final JsonPointer jsonPointer, final SalesforceFieldType salesforceFieldType, final ExecutionContext exec) {
+        FieldReader(final JsonPointer jsonPointer, final SalesforceField field, final ExecutionContext exec,
+            final BlobDownloader blobDownloader) {
             m_jsonPointer = jsonPointer;
-            m_salesforceFieldType = salesforceFieldType;
-            m_cellCreator = salesforceFieldType.newCellCreator(exec);
+            m_salesforceFieldType = field.getType();
+            m_cellCreator = field.newCellCreator(exec, blobDownloader);
         }
 
         DataCell read(final JsonStructure structure) throws SalesforceResponseException {
@@ -192,6 +915,26 @@ DataCell read(final JsonStructure structure) throws SalesforceResponseException
             }
         }
 
+        /**
+         * Feeds the value into the hasher of the record content, the JSON text as returned by Salesforce (i.e. for
+         * base64 fields the URL of the content, not the content itself).
+         */
+        void putValue(final JsonStructure structure, final Hasher hasher) {
+            if (m_jsonPointer.containsValue(structure)) {
+                final JsonValue value = m_jsonPointer.getValue(structure);
+                if (value.getValueType() != ValueType.NULL) {
+                    final String json = value.toString();
+                    hasher.putBoolean(true).putInt(json.length()).putString(json, StandardCharsets.UTF_8);
+                    return;
+                }
+            }
+            putMissing(hasher);
+        }
+
+        static void putMissing(final Hasher hasher) {
+            hasher.putBoolean(false);
+        }
+
     }
 
 }
@@ -0,0 +1,104 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.salesforce.snapshot;
+
+import org.knime.core.node.BufferedDataTable;
+import org.knime.credentials.base.CredentialPortObject;
+import org.knime.node.parameters.legacy.nodeimpl.WebUINodeConfiguration;
+import org.knime.node.parameters.legacy.nodeimpl.WebUINodeFactory;
+
+/**
+ * Factory of the Salesforce Multi-Object Snapshot node.
+ *
+ * @author agent
+ */
+@SuppressWarnings("restriction") // New Node UI is not yet API
+public final class SalesforceSnapshotNodeFactory extends WebUINodeFactory<SalesforceSnapshotNodeModel> {
+
+    private static final String FULL_DESCRIPTION = """
+<p>
+Extracts the records of several objects into files, e.g. for a nightly snapshot of an org. For each object either
+all fields or a list of fields is queried; the records of each object are written to their own (rolling) files in
+the output folder, named after the object.
+</p>
+<p>
+All objects are extracted by a single job: a bounded number of objects is extracted in parallel, the largest objects
+(as per the approximate record counts of the org) first, so that the job isn't prolonged by a large object started
+last. An optional API request budget limits the total number of requests of the job. The failure of an object doesn't
+stop the extraction of the others; the status of each object is listed in the summary output.
+</p>
+""";
+
+    private static final WebUINodeConfiguration CONFIG = WebUINodeConfiguration.builder()//
+        .name("Salesforce Multi-Object Snapshot")//
+        .icon("./salesforce.png").shortDescription("Extract the records of several Salesforce objects into files")//
+        .fullDescription(FULL_DESCRIPTION)//
+        .modelSettingsClass(SalesforceSnapshotNodeParameters.class)//
+        .nodeType(NodeType.Source)//
+        .addInputPort("Salesforce Connection", CredentialPortObject.TYPE, "Salesforce connection")//
+        .addOutputPort("Files", BufferedDataTable.TYPE, """
+                The files written, with the object, the path, the number of records, the size in bytes and the
+                SHA-256 checksum of each file.
+                """)//
+        .addOutputPort("Summary", BufferedDataTable.TYPE, """
+                A row per object with its status, the estimated and the extracted number of records, the number of
+                files, the duration of the extraction and the error message, if any.
+                """)//
+        .sinceVersion(5, 11, 0).build();
+
+    /** Called by framework. */
+    public SalesforceSnapshotNodeFactory() {
+        super(CONFIG);
+    }
+
+    @Override
+    public SalesforceSnapshotNodeModel createNodeModel() {
+        return new SalesforceSnapshotNodeModel(CONFIG);
+    }
+}
@@ -0,0 +1,478 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.salesforce.snapshot;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.LongValue;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.LongCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.NodeLogger;
+import org.knime.core.node.port.PortObject;
+import org.knime.core.node.port.PortObjectSpec;
+import org.knime.core.node.util.CheckUtils;
+import org.knime.core.util.ThreadPool;
+import org.knime.credentials.base.NoSuchCredentialException;
+import org.knime.node.parameters.legacy.nodeimpl.WebUINodeConfiguration;
+import org.knime.node.parameters.legacy.nodeimpl.WebUINodeModel;
+import org.knime.salesforce.auth.credential.SalesforceAccessTokenCredential;
+import org.knime.salesforce.auth.port.SalesforceConnectionPortObjectSpec;
+import org.knime.salesforce.rest.FutureUtil;
+import org.knime.salesforce.rest.RequestBudget;
+import org.knime.salesforce.rest.SalesforceRESTUtil;
+import org.knime.salesforce.rest.SalesforceResponseException;
+import org.knime.salesforce.rest.Timeouts;
+import org.knime.salesforce.rest.gsonbindings.fields.Field;
+import org.knime.salesforce.rest.gsonbindings.sobjects.SObject;
+import org.knime.salesforce.rest.soql.FileOutputSOQLExecutor;
+import org.knime.salesforce.rest.soql.FileOutputSOQLExecutor.FileOptions;
+import org.knime.salesforce.util.FSLocationUtil;
+
+import jakarta.ws.rs.ProcessingException;
+
+/**
+ * Model of the Salesforce Multi-Object Snapshot node. Extracts the configured objects into files on a shared pool of
+ * {@link SalesforceSnapshotNodeParameters#m_maxConcurrentObjects} threads, largest objects first, with all queries
+ * taking their requests from a common {@link RequestBudget}.
+ *
+ * @author agent
+ */
+@SuppressWarnings("restriction") // New Node UI is not yet API
+final class SalesforceSnapshotNodeModel extends WebUINodeModel<SalesforceSnapshotNodeParameters> {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(SalesforceSnapshotNodeModel.class);
+
+    private static final long BYTES_PER_MB = 1024L * 1024L;
+
+    /** Objects described per (Composite Batch) request. */
+    private static final int DESCRIBE_BATCH_SIZE = 25;
+
+    private static final Pattern OBJECT_NAME_PATTERN = Pattern.compile("[a-zA-Z]\\w*");
+
+    /** Field names, incl. fields of related objects ("Owner.Name"). */
+    private static final Pattern FIELD_NAME_PATTERN = Pattern.compile("[a-zA-Z][\\w.]*");
+
+    /**
+     * Field types not queried when extracting all fields: compound fields (their components are fields of their own)
+     * and base64 fields (which are returned as URL only).
+     */
+    private static final Set<String> EXCLUDED_FIELD_TYPES = Set.of("address", "location", "base64");
+
+    private static final DataTableSpec FILES_SPEC = new DataTableSpec(
+        new DataTableSpec(new DataColumnSpecCreator("Object", StringCell.TYPE).createSpec()),
+        FileOutputSOQLExecutor.createManifestSpec());
+
+    private static final DataTableSpec SUMMARY_SPEC = new DataTableSpec( //
+        new DataColumnSpecCreator("Object", StringCell.TYPE).createSpec(), //
+        new DataColumnSpecCreator("Status", StringCell.TYPE).createSpec(), //
+        new DataColumnSpecCreator("Estimated Records", LongCell.TYPE).createSpec(), //
+        new DataColumnSpecCreator("Records", LongCell.TYPE).createSpec(), //
+        new DataColumnSpecCreator("Files", IntCell.TYPE).createSpec(), //
+        new DataColumnSpecCreator("Duration (ms)", LongCell.TYPE).createSpec(), //
+        new DataColumnSpecCreator("Error", StringCell.TYPE).createSpec());
+
+    /**
+     * An object to extract.
+     *
+     * @param name the object name
+     * @param fields the fields to query, empty for all fields
+     */
+    private record SnapshotObject(String name, List<String> fields) {
+    }
+
+    private enum Status {
+            SUCCEEDED, FAILED, SKIPPED;
+
+        String getLabel() {
+            return StringUtils.capitalize(name().toLowerCase(Locale.ROOT));
+        }
+    }
+
+    /**
+     * The outcome of the extraction of an object.
+     *
+     * @param status the status
+     * @param manifest the files written, null unless succeeded
+     * @param durationMs the duration of the extraction, 0 if not started
+     * @param error the error message, null if succeeded
+     */
+    private record ObjectResult(Status status, BufferedDataTable manifest, long durationMs, String error) {
+
+        static ObjectResult failed(final String error, final long durationMs) {
+            return new ObjectResult(Status.FAILED, null, durationMs, error);
+        }
+
+        static ObjectResult skipped(final String reason) {
+            return new ObjectResult(Status.SKIPPED, null, 0L, reason);
+        }
+    }
+
+    SalesforceSnapshotNodeModel(final WebUINodeConfiguration configuration) {
+        super(configuration, SalesforceSnapshotNodeParameters.class);
+    }
+
+    @Override
+    protected PortObjectSpec[] configure(final PortObjectSpec[] inSpecs,
+        final SalesforceSnapshotNodeParameters settings) throws InvalidSettingsException {
+        if (!(inSpecs[0] instanceof SalesforceConnectionPortObjectSpec)) {
+            throw new InvalidSettingsException(
+                "Incompatible input connection. Connect the Salesforce Connector output port.");
+        }
+        validate(settings);
+        return new PortObjectSpec[]{FILES_SPEC, SUMMARY_SPEC};
+    }
+
+    private static List<SnapshotObject> validate(final SalesforceSnapshotNodeParameters settings)
+        throws InvalidSettingsException {
+        final var objects = parseObjects(settings.m_objects);
+        FSLocationUtil.checkSelected(settings.m_outputFolder, "output folder");
+        CheckUtils.checkSetting(settings.m_maxFileSizeMB >= 1, "Maximum file size must be at least 1 MB: %d",
+            settings.m_maxFileSizeMB);
+        CheckUtils.checkSetting(settings.m_maxConcurrentObjects >= 1,
+            "Maximum concurrent objects must be at least 1: %d", settings.m_maxConcurrentObjects);
+        CheckUtils.checkSetting(settings.m_maxApiRequests >= 0, "API request budget must not be negative: %d",
+            settings.m_maxApiRequests);
+        return objects;
+    }
+
+    /** Parses the lines of the "Objects" setting, e.g. "Account" or "Contact: Id, Name". */
+    private static List<SnapshotObject> parseObjects(final String objectsString) throws InvalidSettingsException {
+        final List<SnapshotObject> objects = new ArrayList<>();
+        // the files are named after the objects, i.e. names must be unique even on case-insensitive file systems
+        final Set<String> lowerCaseNames = new HashSet<>();
+        for (var line : StringUtils.defaultString(objectsString).split("\\R")) {
+            final var trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                continue;
+            }
+            final var name = StringUtils.substringBefore(trimmed, ":").trim();
+            CheckUtils.checkSetting(OBJECT_NAME_PATTERN.matcher(name).matches(), "Invalid object name \"%s\"", name);
+            CheckUtils.checkSetting(lowerCaseNames.add(name.toLowerCase(Locale.ROOT)), "Object \"%s\" listed twice",
+                name);
+            final List<String> fields = new ArrayList<>();
+            if (trimmed.contains(":")) {
+                for (var field : StringUtils.substringAfter(trimmed, ":").split(",")) {
+                    final var fieldName = field.trim();
+                    CheckUtils.checkSetting(FIELD_NAME_PATTERN.matcher(fieldName).matches(),
+                        "Invalid field name \"%s\" for object \"%s\"", fieldName, name);
+                    fields.add(fieldName);
+                }
+            }
+            objects.add(new SnapshotObject(name, List.copyOf(fields)));
+        }
+        CheckUtils.checkSetting(!objects.isEmpty(), "No objects specified");
+        return objects;
+    }
+
+    @Override
+    protected PortObject[] execute(final PortObject[] inObjects, final ExecutionContext exec,
+        final SalesforceSnapshotNodeParameters settings) throws Exception {
+        final var objects = validate(settings);
+        final var connectionSpec = (SalesforceConnectionPortObjectSpec)inObjects[0].getSpec();
+        final SalesforceAccessTokenCredential credential;
+        try {
+            credential = connectionSpec.resolveCredential(SalesforceAccessTokenCredential.class);
+        } catch (NoSuchCredentialException e) {
+            throw new InvalidSettingsException(e.getMessage(), e);
+        }
+        final var timeouts = connectionSpec.getTimeouts();
+        final var budget = settings.m_maxApiRequests > 0 ? new RequestBudget(settings.m_maxApiRequests) : null;
+
+        final Map<String, ObjectResult> results = new HashMap<>();
+        final Map<String, Long> recordCounts;
+        final Map<String, List<String>> allFields;
+        try (var scope = SalesforceRESTUtil.openAbortScope(exec::checkCanceled)) {
+            exec.setMessage("Reading record counts");
+            recordCounts = readRecordCounts(objects, credential, timeouts, budget);
+            exec.setMessage("Reading fields");
+            allFields = readAllFields(objects, credential, timeouts, budget, results);
+        } catch (SalesforceResponseException ex) {
+            final var canceled = ExceptionUtils.throwableOfType(ex, CanceledExecutionException.class);
+            if (canceled != null) {
+                throw canceled;
+            }
+            throw ex;
+        }
+
+        final Map<String, String> queries = new HashMap<>();
+        for (var object : objects) {
+            if (!results.containsKey(object.name())) {
+                createQuery(object, allFields.get(object.name())).ifPresentOrElse(q -> queries.put(object.name(), q),
+                    () -> results.put(object.name(), ObjectResult.failed(String.format(
+                        "The query selecting all fields of the object exceeds the maximum query length of %d "
+                            + "characters; list the fields to extract (\"%s: <field>, <field>, ...\")",
+                        SalesforceRESTUtil.MAX_QUERY_LENGTH, object.name()), 0L)));
+            }
+        }
+
+        // largest objects first; objects without statistics are assumed to be small
+        final List<SnapshotObject> schedule = objects.stream() //
+            .filter(o -> !results.containsKey(o.name())) //
+            .sorted(Comparator.comparingLong((SnapshotObject o) -> recordCounts.getOrDefault(o.name(), 0L))
+                .reversed()) //
+            .toList();
+        final double totalWeight = schedule.stream().mapToLong(o -> getWeight(o, recordCounts)).sum();
+        final ThreadPool pool = KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool(settings.m_maxConcurrentObjects);
+        final Map<String, Future<ObjectResult>> futures = new LinkedHashMap<>();
+        try (var folder = FSLocationUtil.resolve(settings.m_outputFolder, "output folder")) {
+            for (var object : schedule) {
+                final var query = queries.get(object.name());
+                final var options = createFileOptions(object.name(), folder.getPath(), settings);
+                final var subExec = exec.createSubExecutionContext(getWeight(object, recordCounts) / totalWeight);
+                futures.put(object.name(), pool.enqueue(
+                    () -> extract(object.name(), query, options, credential, timeouts, settings, budget, subExec)));
+            }
+            for (var entry : futures.entrySet()) {
+                results.put(entry.getKey(), FutureUtil.waitFor(entry.getValue(), exec, "Extraction failed"));
+            }
+        } finally {
+            futures.values().forEach(f -> f.cancel(true));
+        }
+        if (budget != null) {
+            LOGGER.infoWithFormat("Snapshot of %d objects used %d of %d API requests", objects.size(),
+                budget.getUsedRequests(), budget.getMaxRequests());
+        }
+        return createOutput(objects, results, recordCounts, exec);
+    }
+
+    /** Record counts from the storage statistics, empty if not available (e.g. due to missing permissions). */
+    private static Map<String, Long> readRecordCounts(final List<SnapshotObject> objects,
+        final SalesforceAccessTokenCredential credential, final Timeouts timeouts, final RequestBudget budget)
+        throws SalesforceResponseException {
+        if (budget != null) {
+            budget.acquire();
+        }
+        try {
+            return SalesforceRESTUtil.getRecordCounts(objects.stream().map(SnapshotObject::name).toList(),
+                credential, timeouts);
+        } catch (SalesforceResponseException ex) {
+            if (ExceptionUtils.throwableOfType(ex, CanceledExecutionException.class) != null) {
+                throw ex;
+            }
+            LOGGER.warn("Unable to read record counts, objects are extracted in the configured order: "
+                + ex.getMessage(), ex);
+            return Map.of();
+        }
+    }
+
+    /**
+     * Describes the objects for which all fields are extracted and returns their queryable fields by object name.
+     * Objects that can't be described (also if the describe request of their batch fails) are added as failed to the
+     * results.
+     *
+     * @throws SalesforceResponseException only if canceled
+     */
+    private static Map<String, List<String>> readAllFields(final List<SnapshotObject> objects,
+        final SalesforceAccessTokenCredential credential, final Timeouts timeouts, final RequestBudget budget,
+        final Map<String, ObjectResult> results) throws SalesforceResponseException {
+        final List<SObject> toDescribe = objects.stream() //
+            .filter(o -> o.fields().isEmpty()) //
+            .map(o -> SObject.of(o.name(), o.name())) //
+            .toList();
+        final Map<String, List<String>> allFields = new HashMap<>();
+        for (int from = 0; from < toDescribe.size(); from += DESCRIBE_BATCH_SIZE) {
+            final var batch = toDescribe.subList(from, Math.min(toDescribe.size(), from + DESCRIBE_BATCH_SIZE));
+            if (budget != null && !budget.tryAcquire(1)) {
+                batch.forEach(o -> results.put(o.getName(), ObjectResult.skipped("API request budget used up")));
+                continue;
+            }
+            final Map<SObject, Field[]> described;
+            try {
+                described = SalesforceRESTUtil.getSObjectFields(batch, credential, timeouts);
+            } catch (SalesforceResponseException ex) {
+                if (ExceptionUtils.throwableOfType(ex, CanceledExecutionException.class) != null) {
+                    throw ex;
+                }
+                final var message = StringUtils.defaultIfBlank(ex.getMessage(), ex.getClass().getSimpleName());
+                LOGGER.debug(String.format("Describing objects %s failed: %s",
+                    batch.stream().map(SObject::getName).toList(), message), ex);
+                batch.forEach(o -> results.put(o.getName(),
+                    ObjectResult.failed("Unable to read the fields of the object: " + message, 0L)));
+                continue;
+            }
+            for (var object : batch) {
+                final Field[] fields = described.get(object);
+                if (fields == null) {
+                    results.put(object.getName(),
+                        ObjectResult.failed("Unable to read the fields of the object (see log for details)", 0L));
+                    continue;
+                }
+                allFields.put(object.getName(), Arrays.stream(fields) //
+                    .filter(f -> !EXCLUDED_FIELD_TYPES.contains(f.getType())) //
+                    .map(Field::getName) //
+                    .toList());
+            }
+        }
+        return allFields;
+    }
+
+    private static long getWeight(final SnapshotObject object, final Map<String, Long> recordCounts) {
+        return Math.max(1L, recordCounts.getOrDefault(object.name(), 0L));
+    }
+
+    /**
+     * Creates the query of the object, empty if it would exceed {@link SalesforceRESTUtil#MAX_QUERY_LENGTH}, e.g.
+     * for all fields of wide objects. (The fields are not split into several queries as these wouldn't read a
+     * consistent state of the records - records changed in between would be merged from different versions.)
+     */
+    private static Optional<String> createQuery(final SnapshotObject object, final List<String> allFields) {
+        final var fields = object.fields().isEmpty() ? allFields : object.fields();
+        final var soql = "SELECT " + String.join(", ", fields) + " FROM " + object.name();
+        return soql.length() <= SalesforceRESTUtil.MAX_QUERY_LENGTH ? Optional.of(soql) : Optional.empty();
+    }
+
+    /** The files of an object are named after the object, e.g. "Account-00001.ndjson". */
+    private static FileOptions createFileOptions(final String objectName, final Path folder,
+        final SalesforceSnapshotNodeParameters settings) {
+        return new FileOptions(folder, objectName, settings.m_format.getFileFormat(),
+            settings.m_maxFileSizeMB * BYTES_PER_MB, settings.m_gzip, true, settings.m_overwrite);
+    }
+
+    /** Runs on a pool thread. Failures other than cancelation are returned as result. */
+    private static ObjectResult extract(final String objectName, final String query, // NOSONAR
+        final FileOptions options, final SalesforceAccessTokenCredential credential, final Timeouts timeouts,
+        final SalesforceSnapshotNodeParameters settings, final RequestBudget budget, final ExecutionContext exec)
+        throws CanceledExecutionException, InterruptedException {
+        if (budget != null && budget.isUsedUp()) {
+            return ObjectResult.skipped("API request budget used up");
+        }
+        final long start = System.nanoTime();
+        try {
+            final var executor = new FileOutputSOQLExecutor(credential, timeouts, query,
+                settings.m_retrieveDeletedAndArchived, OptionalInt.empty(), options);
+            executor.setRequestBudget(budget);
+            final var manifest = executor.execute(exec);
+            return new ObjectResult(Status.SUCCEEDED, manifest, getMillisSince(start), null);
+        } catch (SalesforceResponseException | ProcessingException ex) {
+            final var message = StringUtils.defaultIfBlank(ex.getMessage(), ex.getClass().getSimpleName());
+            LOGGER.debug(String.format("Extracting object \"%s\" failed: %s", objectName, message), ex);
+            return ObjectResult.failed(message, getMillisSince(start));
+        }
+    }
+
+    private static long getMillisSince(final long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    private PortObject[] createOutput(final List<SnapshotObject> objects, final Map<String, ObjectResult> results,
+        final Map<String, Long> recordCounts, final ExecutionContext exec) throws CanceledExecutionException {
+        final var files = exec.createDataContainer(FILES_SPEC);
+        final var summary = exec.createDataContainer(SUMMARY_SPEC);
+        long fileIndex = 0;
+        long objectIndex = 0;
+        int unsuccessfulCount = 0;
+        for (var object : objects) {
+            exec.checkCanceled();
+            final var result = results.get(object.name());
+            final var objectCell = new StringCell(object.name());
+            long recordCount = 0;
+            int fileCount = 0;
+            if (result.manifest() != null) {
+                for (DataRow row : result.manifest()) {
+                    final List<DataCell> cells = new ArrayList<>();
+                    cells.add(objectCell);
+                    row.forEach(cells::add);
+                    files.addRowToTable(new DefaultRow(RowKey.createRowKey(fileIndex), cells));
+                    fileIndex++;
+                    recordCount += ((LongValue)row.getCell(1)).getLongValue();
+                    fileCount++;
+                }
+            } else {
+                unsuccessfulCount++;
+            }
+            final Long estimate = recordCounts.get(object.name());
+            final boolean isStarted = result.status() != Status.SKIPPED;
+            summary.addRowToTable(new DefaultRow(RowKey.createRowKey(objectIndex), objectCell, //
+                new StringCell(result.status().getLabel()), //
+                estimate != null ? new LongCell(estimate) : DataType.getMissingCell(), //
+                result.manifest() != null ? new LongCell(recordCount) : DataType.getMissingCell(), //
+                new IntCell(fileCount), //
+                isStarted ? new LongCell(result.durationMs()) : DataType.getMissingCell(), //
+                result.error() != null ? new StringCell(result.error()) : DataType.getMissingCell()));
+            objectIndex++;
+        }
+        files.close();
+        summary.close();
+        if (unsuccessfulCount > 0) {
+            setWarningMessage(String.format("%d of %d objects failed or were skipped, see the summary output",
+                unsuccessfulCount, objects.size()));
+        }
+        return new PortObject[]{files.getTable(), summary.getTable()};
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.salesforce.snapshot;
+
+import org.knime.core.webui.node.dialog.defaultdialog.internal.file.FileSelection;
+import org.knime.core.webui.node.dialog.defaultdialog.internal.file.FileSelectionWidget;
+import org.knime.core.webui.node.dialog.defaultdialog.internal.file.SingleFileSelectionMode;
+import org.knime.node.parameters.NodeParameters;
+import org.knime.node.parameters.Widget;
+import org.knime.node.parameters.migration.LoadDefaultsForAbsentFields;
+import org.knime.node.parameters.widget.choices.Label;
+import org.knime.node.parameters.widget.choices.ValueSwitchWidget;
+import org.knime.node.parameters.widget.number.NumberInputWidget;
+import org.knime.node.parameters.widget.number.NumberInputWidgetValidation.MaxValidation;
+import org.knime.node.parameters.widget.number.NumberInputWidgetValidation.MinValidation;
+import org.knime.node.parameters.widget.text.TextAreaWidget;
+import org.knime.salesforce.rest.soql.FileOutputSOQLExecutor.FileFormat;
+
+/**
+ * Node parameters for the Salesforce Multi-Object Snapshot node.
+ *
+ * @author agent
+ */
+@SuppressWarnings("restriction") // New Node UI is not yet API
+@LoadDefaultsForAbsentFields // for new instances of the node when dragged onto the workbench
+final class SalesforceSnapshotNodeParameters implements NodeParameters {
+
+    /** Default number of objects extracted in parallel. */
+    static final int DEFAULT_MAX_CONCURRENT_OBJECTS = 4;
+
+    enum Format {
+            @Label(value = "NDJSON", description = "One JSON object per line, records are copied as returned")
+            NDJSON(FileFormat.NDJSON), //
+            @Label(value = "CSV", description = "Comma separated values with header line")
+            CSV(FileFormat.CSV);
+
+        private final FileFormat m_fileFormat;
+
+        Format(final FileFormat fileFormat) {
+            m_fileFormat = fileFormat;
+        }
+
+        FileFormat getFileFormat() {
+            return m_fileFormat;
+        }
+    }
+
+    static final class MinOneValidation extends MinValidation {
+        @Override
+        protected double getMin() {
+            return 1;
+        }
+    }
+
+    static final class MinZeroValidation extends MinValidation {
+        @Override
+        protected double getMin() {
+            return 0;
+        }
+    }
+
+    static final class MaxConcurrentObjectsMaxValidation extends MaxValidation {
+        @Override
+        protected double getMax() {
+            return 25;
+        }
+    }
+
+    @Widget(title = "Objects", description = """
+            The objects to extract, one per line. A line contains the (API) name of the object to extract all of its
+            fields, e.g. <tt>Account</tt>, or the name followed by a colon and a comma separated list of fields, e.g.
+            <tt>Contact: Id, Name, Email</tt>. Empty lines and lines starting with <tt>#</tt> are ignored. If the
+            fields of an object are too many for a single query (the query length is limited to 8000 characters),
+            the object fails; list the fields to extract in that case. (The fields are not split into several
+            queries as the records could change between the queries, the files wouldn't be a consistent
+            snapshot.)""")
+    @TextAreaWidget
+    String m_objects = "";
+
+    @Widget(title = "Output folder", description = """
+            The folder the files are written to, e.g. a local folder or a folder relative to the workflow. It's
+            created if it doesn't exist. The files of an object are named after the object, e.g.
+            <i>Account-00001.ndjson</i>.""")
+    @FileSelectionWidget(SingleFileSelectionMode.FOLDER)
+    FileSelection m_outputFolder = new FileSelection();
+
+    @Widget(title = "Format", description = """
+            <ul>
+              <li><b>NDJSON</b>: One record per line. The records are copied from the Salesforce response without
+                  being parsed.</li>
+              <li><b>CSV</b>: One record per line, the columns are determined by the first record.</li>
+            </ul>""")
+    @ValueSwitchWidget
+    Format m_format = Format.NDJSON;
+
+    @Widget(title = "Maximum file size (MB)", description = """
+            A new file is started once the current file of an object reached this size (on disk, i.e. after
+            compression).""")
+    @NumberInputWidget(minValidation = MinOneValidation.class)
+    int m_maxFileSizeMB = 256;
+
+    @Widget(title = "Compress (gzip)", description = "If selected, the files are gzip compressed (suffix '.gz').")
+    boolean m_gzip = false; // NOSONAR (explicit assignment)
+
+    @Widget(title = "Overwrite existing files", description = """
+            If selected, existing files with the same name are replaced, otherwise the extraction of the respective
+            object fails.""")
+    boolean m_overwrite = false; // NOSONAR (explicit assignment)
+
+    @Widget(title = "Maximum concurrent objects", description = """
+            The number of objects extracted in parallel. Objects are started in order of their (approximate) record
+            count, the largest first, so that a large object started last doesn't prolong the job. Note that the
+            number of concurrent requests against the org is additionally limited across all nodes.""")
+    @NumberInputWidget(minValidation = MinOneValidation.class,
+        maxValidation = MaxConcurrentObjectsMaxValidation.class)
+    int m_maxConcurrentObjects = DEFAULT_MAX_CONCURRENT_OBJECTS;
+
+    @Widget(title = "API request budget", description = """
+            The maximum number of API requests the node may send (counted towards the daily API request allocation
+            of the org), 0 for no limit. Objects whose extraction would exceed the budget fail, objects not started
+            yet are skipped; the remaining objects are reported in the summary output.""", advanced = true)
+    @NumberInputWidget(minValidation = MinZeroValidation.class)
+    long m_maxApiRequests = 0;
+
+    @Widget(title = "Also retrieve deleted and archived records", description = """
+            When selected, the node will use Salesforce's <a \
+            href="https://developer.salesforce.com/docs/atlas.en-us.api_rest.meta/api_rest/resources_queryall.htm"> \
+            queryAll</a> endpoint to include deleted and archived records in the results.""", advanced = true)
+    boolean m_retrieveDeletedAndArchived = false; // NOSONAR (explicit assignment)
+
+}
@@ -0,0 +1,376 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.salesforce.soql;
+
+import java.math.BigDecimal;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.StringUtils;
+import org.knime.core.data.BooleanValue;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DoubleValue;
+import org.knime.core.data.LongValue;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.StringValue;
+import org.knime.core.data.append.AppendedColumnRow;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.data.time.localdate.LocalDateValue;
+import org.knime.core.data.time.localdatetime.LocalDateTimeValue;
+import org.knime.core.data.time.zoneddatetime.ZonedDateTimeValue;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.streamable.BufferedDataTableRowOutput;
+import org.knime.core.node.streamable.RowOutput;
+import org.knime.core.node.util.CheckUtils;
+import org.knime.core.util.UniqueNameGenerator;
+import org.knime.salesforce.rest.FutureUtil;
+import org.knime.salesforce.rest.SalesforceResponseException;
+import org.knime.salesforce.rest.soql.AbstractSOQLExecutor;
+
+/**
+ * Runs the SOQL once per row of a parameter table. Placeholders <code>$ColumnName$</code> in the SOQL (after flow
+ * variables have been replaced) are substituted with the value of the respective column. Queries are run on a bounded
+ * number of threads, the outputs are concatenated in the order of the parameter table and get an additional column
+ * holding the row ID of the parameter row.
+ *
+ * @author agent
+ */
+final class ParameterizedSOQLRunner {
+
+    /** Name of the column appended to the output, holding the row ID of the parameter row. */
+    static final String PARAMETER_ROW_ID_COLUMN = "Parameter Row ID";
+
+    /** Date-times in SOQL are in UTC, fractions of seconds are not supported. */
+    private static final DateTimeFormatter SOQL_DATE_TIME_FORMAT =
+        DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH:mm:ss'Z'").withZone(ZoneOffset.UTC);
+
+    /**
+     * Values allowed in unquoted placeholders: numbers, dates, date-times, booleans, date literals such as
+     * <code>TODAY</code> or <code>LAST_N_DAYS:30</code>, and record IDs (15 or 18 characters).
+     */
+    private static final Pattern UNQUOTED_VALUE_PATTERN = Pattern.compile("-?\\d+(\\.\\d+)?" //
+        + "|\\d{4}-\\d{2}-\\d{2}(T\\d{2}:\\d{2}:\\d{2}(\\.\\d{1,3})?(Z|[+-]\\d{2}:\\d{2}))?" //
+        + "|(?i:true|false)" //
+        + "|[A-Z]+(_[A-Z0-9]+)*(:\\d+)?" //
+        + "|[a-zA-Z0-9]{15}|[a-zA-Z0-9]{18}");
+
+    /** Creates the executor for a single, fully resolved SOQL. */
+    @FunctionalInterface
+    interface ExecutorFactory {
+        AbstractSOQLExecutor create(String soql);
+    }
+
+    private final String m_soqlTemplate;
+
+    /** Indices of the columns used in the SOQL, by column name. */
+    private final Map<String, Integer> m_usedColumnIndices;
+
+    /**
+     * Matches the placeholders of all used columns, either enclosed in quotes (group 1) or not (group 2). All of them
+     * are replaced in a single pass, so that values containing placeholders are not replaced again.
+     */
+    private final Pattern m_placeholderPattern;
+
+    private final int m_maxConcurrentQueries;
+
+    /**
+     * @param soqlTemplate the SOQL with flow variables already replaced
+     * @param parameterSpec the spec of the parameter table
+     * @param maxConcurrentQueries maximum number of queries run at the same time
+     * @throws InvalidSettingsException if the SOQL doesn't reference any column
+     */
+    ParameterizedSOQLRunner(final String soqlTemplate, final DataTableSpec parameterSpec,
+        final int maxConcurrentQueries) throws InvalidSettingsException {
+        m_soqlTemplate = soqlTemplate;
+        m_maxConcurrentQueries = Math.max(1, maxConcurrentQueries);
+        m_usedColumnIndices = Arrays.stream(parameterSpec.getColumnNames()) //
+            .filter(name -> soqlTemplate.contains(toPlaceholder(name))) //
+            .collect(Collectors.toMap(Function.identity(), parameterSpec::findColumnIndex));
+        if (m_usedColumnIndices.isEmpty()) {
+            throw new InvalidSettingsException("The SOQL does not reference any column of the parameter table "
+                + "(use placeholders such as " + toPlaceholder("ColumnName") + ")");
+        }
+        // longer names first, names may contain '$'
+        final String names = m_usedColumnIndices.keySet().stream() //
+            .sorted(Comparator.comparingInt(String::length).reversed()) //
+            .map(Pattern::quote) //
+            .collect(Collectors.joining("|"));
+        m_placeholderPattern = Pattern.compile("'\\$(" + names + ")\\$'|\\$(" + names + ")\\$");
+    }
+
+    /**
+     * @param executorSpec the spec as created by the executor of a single query
+     * @return that spec with the parameter row ID column appended
+     */
+    static DataTableSpec createOutputSpec(final DataTableSpec executorSpec) {
+        final var nameGen = new UniqueNameGenerator(executorSpec);
+        return new DataTableSpec(executorSpec, new DataTableSpec(nameGen.newColumn(PARAMETER_ROW_ID_COLUMN,
+            StringCell.TYPE)));
+    }
+
+    static String toPlaceholder(final String columnName) {
+        return "$" + columnName + "$";
+    }
+
+    /**
+     * Replaces all placeholders in a single pass. Values are formatted as SOQL literals according to their type (see
+     * {@link #toSOQLValue(DataCell)}). Values of quoted placeholders (<code>'$col$'</code>) are escaped according to
+     * the SOQL rules for string literals; values of unquoted placeholders must be numbers, dates, date-times,
+     * booleans, date literals (e.g. <code>LAST_N_DAYS:30</code>) or record IDs, anything else is rejected as it could
+     * alter the query. Missing values are substituted as <code>NULL</code>, whereby the quotes enclosing the
+     * placeholder are removed (<code>'$col$'</code> becomes <code>NULL</code>, not the string literal
+     * <code>'null'</code>).
+     *
+     * @param row a row of the parameter table
+     * @return the SOQL with all placeholders replaced by the values of the row
+     * @throws InvalidSettingsException if a value of an unquoted placeholder is not a valid SOQL literal
+     */
+    String resolve(final DataRow row) throws InvalidSettingsException {
+        final Matcher matcher = m_placeholderPattern.matcher(m_soqlTemplate);
+        final var soql = new StringBuilder();
+        while (matcher.find()) {
+            final boolean isQuoted = matcher.group(1) != null;
+            final String name = isQuoted ? matcher.group(1) : matcher.group(2);
+            final DataCell cell = row.getCell(m_usedColumnIndices.get(name));
+            final String replacement;
+            if (cell.isMissing()) {
+                replacement = "NULL";
+            } else if (isQuoted) {
+                replacement = "'" + escape(toSOQLValue(cell)) + "'";
+            } else {
+                replacement = toSOQLValue(cell);
+                CheckUtils.checkSetting(UNQUOTED_VALUE_PATTERN.matcher(replacement).matches(),
+                    "The value \"%s\" of column \"%s\" in row \"%s\" is not a number, date, boolean or ID; enclose "
+                        + "the placeholder in quotes ('%s') to use it as string",
+                    StringUtils.abbreviate(replacement, 50), name, row.getKey(), toPlaceholder(name));
+            }
+            matcher.appendReplacement(soql, Matcher.quoteReplacement(replacement));
+        }
+        matcher.appendTail(soql);
+        return soql.toString();
+    }
+
+    /**
+     * Formats a value as SOQL literal: numbers in plain notation (no exponent), local dates as <code>yyyy-MM-dd</code>,
+     * date-times in UTC as <code>yyyy-MM-ddTHH:mm:ssZ</code> (local date-times are taken as UTC), booleans as
+     * <code>true</code>/<code>false</code>, anything else as its string representation.
+     */
+    static String toSOQLValue(final DataCell cell) throws InvalidSettingsException {
+        // booleans are also numbers, check first
+        if (cell instanceof BooleanValue bv) {
+            return Boolean.toString(bv.getBooleanValue());
+        } else if (cell instanceof LongValue lv) {
+            return Long.toString(lv.getLongValue());
+        } else if (cell instanceof DoubleValue dv) {
+            final double d = dv.getDoubleValue();
+            CheckUtils.checkSetting(Double.isFinite(d), "The value %s can't be used in SOQL", d);
+            return BigDecimal.valueOf(d).stripTrailingZeros().toPlainString();
+        } else if (cell instanceof LocalDateValue ldv) {
+            return ldv.getLocalDate().format(DateTimeFormatter.ISO_LOCAL_DATE);
+        } else if (cell instanceof ZonedDateTimeValue zdtv) {
+            return SOQL_DATE_TIME_FORMAT.format(zdtv.getZonedDateTime());
+        } else if (cell instanceof LocalDateTimeValue ldtv) {
+            return SOQL_DATE_TIME_FORMAT.format(ldtv.getLocalDateTime().atZone(ZoneOffset.UTC));
+        } else if (cell instanceof StringValue sv) {
+            return sv.getStringValue();
+        }
+        return cell.toString();
+    }
+
+    /** Escapes a value according to the SOQL rules for string literals, quotes need to be part of the query. */
+    static String escape(final String value) {
+        return value.replace("\\", "\\\\").replace("'", "\\'").replace("\"", "\\\"").replace("\n", "\\n")
+            .replace("\r", "\\r").replace("\t", "\\t").replace("\b", "\\b").replace("\f", "\\f");
+    }
+
+    /**
+     * Runs the query for all rows of the parameter table.
+     *
+     * @param parameterTable the parameter table
+     * @param outputSpec the final output spec (see {@link #createOutputSpec(DataTableSpec)})
+     * @param executorFactory creates the executor for each query
+     * @param exec for progress, cancelation and table creation
+     * @return the concatenated result
+     * @throws SalesforceResponseException if any query fails
+     * @throws InvalidSettingsException if a value can't be used in the SOQL, see {@link #resolve(DataRow)}
+     * @throws CanceledExecutionException if canceled
+     * @throws InterruptedException if interrupted
+     */
+    BufferedDataTable execute(final BufferedDataTable parameterTable, final DataTableSpec outputSpec,
+        final ExecutorFactory executorFactory, final ExecutionContext exec)
+        throws SalesforceResponseException, InvalidSettingsException, CanceledExecutionException, InterruptedException {
+        final List<BufferedDataTable> tables = new ArrayList<>();
+        run(parameterTable, outputSpec, executorFactory, exec, tables::add);
+        if (tables.isEmpty()) {
+            final var container = exec.createDataContainer(outputSpec);
+            container.close();
+            return container.getTable();
+        }
+        return exec.createConcatenateTable(exec, tables.toArray(BufferedDataTable[]::new));
+    }
+
+    /**
+     * Runs the query for all rows of the parameter table and pushes the rows of each query to the output as soon as
+     * it and the queries of all preceding parameter rows are done (streaming execution). Closes the output when done.
+     *
+     * @param parameterTable the parameter table
+     * @param outputSpec the final output spec (see {@link #createOutputSpec(DataTableSpec)})
+     * @param executorFactory creates the executor for each query
+     * @param output the output to push the rows to
+     * @param exec for progress, cancelation and table creation
+     * @throws SalesforceResponseException if any query fails
+     * @throws InvalidSettingsException if a value can't be used in the SOQL, see {@link #resolve(DataRow)}
+     * @throws CanceledExecutionException if canceled
+     * @throws InterruptedException if interrupted
+     */
+    void execute(final BufferedDataTable parameterTable, final DataTableSpec outputSpec,
+        final ExecutorFactory executorFactory, final RowOutput output, final ExecutionContext exec)
+        throws SalesforceResponseException, InvalidSettingsException, CanceledExecutionException, InterruptedException {
+        run(parameterTable, outputSpec, executorFactory, exec, table -> {
+            try {
+                for (DataRow row : table) {
+                    exec.checkCanceled();
+                    output.push(row);
+                }
+            } finally {
+                exec.clearTable(table);
+            }
+        });
+        output.close();
+    }
+
+    /** Receives the results of the queries in the order of the parameter table. */
+    @FunctionalInterface
+    private interface ResultConsumer {
+        void accept(BufferedDataTable table) throws CanceledExecutionException, InterruptedException;
+    }
+
+    private void run(final BufferedDataTable parameterTable, final DataTableSpec outputSpec,
+        final ExecutorFactory executorFactory, final ExecutionContext exec, final ResultConsumer consumer)
+        throws SalesforceResponseException, InvalidSettingsException, CanceledExecutionException, InterruptedException {
+        final long rowCount = parameterTable.size();
+        final var pool = KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool(m_maxConcurrentQueries);
+        final List<Future<BufferedDataTable>> futures = new ArrayList<>();
+        try {
+            try (var it = parameterTable.iterator()) {
+                while (it.hasNext()) {
+                    exec.checkCanceled();
+                    final DataRow row = it.next();
+                    final var soql = resolve(row);
+                    final var parameterRowID = row.getKey().getString();
+                    final var subExec = exec.createSilentSubExecutionContext(0.0);
+                    futures.add(pool.enqueue(
+                        () -> runSingle(executorFactory.create(soql), parameterRowID, outputSpec, subExec)));
+                }
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                consumer.accept(FutureUtil.waitFor(futures.get(i), exec));
+                exec.setProgress((i + 1) / (double)rowCount,
+                    String.format("Query %d/%d done", i + 1, rowCount));
+            }
+        } finally {
+            futures.forEach(f -> f.cancel(true)); // no-op for completed ones
+        }
+    }
+
+    private static BufferedDataTable runSingle(final AbstractSOQLExecutor executor, final String parameterRowID,
+        final DataTableSpec outputSpec, final ExecutionContext exec) throws Exception {
+        final var output = new BufferedDataTableRowOutput(exec.createDataContainer(outputSpec));
+        try {
+            executor.execute(new ParameterRowOutput(output, parameterRowID), exec);
+        } catch (SalesforceResponseException ex) {
+            throw new SalesforceResponseException(
+                String.format("Query for parameter row \"%s\" failed: %s", parameterRowID, ex.getMessage()), ex);
+        }
+        return output.getDataTable();
+    }
+
+    /** Prefixes the row keys with the parameter row ID and appends the column holding that ID. */
+    private static final class ParameterRowOutput extends RowOutput {
+
+        private final RowOutput m_delegate;
+
+        private final String m_parameterRowID;
+
+        private final StringCell m_parameterRowIDCell;
+
+        ParameterRowOutput(final RowOutput delegate, final String parameterRowID) {
+            m_delegate = delegate;
+            m_parameterRowID = parameterRowID;
+            m_parameterRowIDCell = new StringCell(parameterRowID);
+        }
+
+        @Override
+        public void push(final DataRow row) throws InterruptedException {
+            final var key = new RowKey(m_parameterRowID + "_" + row.getKey().getString());
+            m_delegate.push(new AppendedColumnRow(key, row, m_parameterRowIDCell));
+        }
+
+        @Override
+        public void close() throws InterruptedException {
+            m_delegate.close();
+        }
+    }
+}
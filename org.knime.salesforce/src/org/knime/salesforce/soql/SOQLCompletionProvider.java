@@ -0,0 +1,219 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.salesforce.soql;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+import javax.swing.text.BadLocationException;
+import javax.swing.text.JTextComponent;
+
+import org.fife.ui.autocomplete.BasicCompletion;
+import org.fife.ui.autocomplete.Completion;
+import org.fife.ui.autocomplete.DefaultCompletionProvider;
+import org.knime.salesforce.rest.gsonbindings.fields.Field;
+import org.knime.salesforce.rest.gsonbindings.sobjects.SObject;
+
+/**
+ * Completion in the SOQL editor, based on the objects and fields in the {@link SalesforceObjectSchemaCache}. Completes
+ * keywords and object names, the fields and relationships of the objects in the <i>FROM</i> clauses and, after a dot,
+ * the fields of the object or relationship before the dot (e.g. <tt>Account.Owner.</tt>). Fields of objects that are
+ * referenced but not cached yet are requested via the prefetch callback and offered once they're fetched.
+ *
+ * @author agent
+ */
+final class SOQLCompletionProvider extends DefaultCompletionProvider {
+
+    /** The popup gets unusable with more entries, the user needs to type more. */
+    private static final int MAX_COMPLETIONS = 200;
+
+    private static final List<String> KEYWORDS = List.of("SELECT", "FROM", "WHERE", "AND", "OR", "NOT", "IN",
+        "INCLUDES", "EXCLUDES", "LIKE", "NULL", "TRUE", "FALSE", "GROUP BY", "HAVING", "ORDER BY", "ASC", "DESC",
+        "NULLS FIRST", "NULLS LAST", "LIMIT", "OFFSET", "WITH", "USING SCOPE", "TYPEOF", "WHEN", "THEN", "ELSE",
+        "END", "FOR VIEW", "FOR REFERENCE", "FOR UPDATE", "COUNT()", "COUNT_DISTINCT", "AVG", "MIN", "MAX", "SUM",
+        "FORMAT", "toLabel", "convertCurrency", "TODAY", "YESTERDAY", "LAST_N_DAYS:", "THIS_MONTH", "THIS_YEAR");
+
+    private static final Pattern FROM_PATTERN = Pattern.compile("\\bFROM\\s+(\\w+)", Pattern.CASE_INSENSITIVE);
+
+    private final SalesforceObjectSchemaCache m_cache;
+
+    private final Consumer<Collection<SObject>> m_fieldsRequester;
+
+    /**
+     * @param cache the cache providing objects and fields
+     * @param fieldsRequester called with objects whose fields are needed but not cached
+     */
+    SOQLCompletionProvider(final SalesforceObjectSchemaCache cache,
+        final Consumer<Collection<SObject>> fieldsRequester) {
+        m_cache = cache;
+        m_fieldsRequester = fieldsRequester;
+        setAutoActivationRules(true, ".");
+    }
+
+    @Override
+    protected List<Completion> getCompletionsImpl(final JTextComponent comp) {
+        final String prefix = getAlreadyEnteredText(comp);
+        final String qualifier = getQualifier(comp, prefix.length());
+        final List<Completion> result = new ArrayList<>();
+        if (!qualifier.isEmpty()) {
+            resolve(qualifier, getReferencedObjects(comp.getText())).ifPresent(o -> addFields(o, prefix, result));
+            return result;
+        }
+        final String upperPrefix = prefix.toUpperCase(Locale.ROOT);
+        KEYWORDS.stream().filter(k -> k.toUpperCase(Locale.ROOT).startsWith(upperPrefix))
+            .forEach(k -> result.add(new BasicCompletion(this, k)));
+        if (prefix.isEmpty()) {
+            return result; // all objects and fields is too much
+        }
+        for (SObject sObject : getReferencedObjects(comp.getText())) {
+            addFields(sObject, prefix, result);
+        }
+        for (SObject sObject : m_cache.findSObjects(prefix, MAX_COMPLETIONS)) {
+            result.add(new BasicCompletion(this, sObject.getName(), sObject.getLabel(), "Object"));
+        }
+        return result;
+    }
+
+    /** Adds the fields (and relationships) of the object matching the prefix, requests them if not cached. */
+    private void addFields(final SObject sObject, final String prefix, final List<Completion> result) {
+        final var fieldIndex = m_cache.getFieldIndex(sObject);
+        if (fieldIndex.isEmpty()) {
+            m_fieldsRequester.accept(List.of(sObject));
+            return;
+        }
+        for (Field field : fieldIndex.get().fields().findByPrefix(prefix, MAX_COMPLETIONS)) {
+            final var summary = String.format("%s.%s (%s)", sObject.getName(), field.getName(), field.getType());
+            if (field.getName().regionMatches(true, 0, prefix, 0, prefix.length())
+                || field.getLabel().regionMatches(true, 0, prefix, 0, prefix.length())) {
+                result.add(new BasicCompletion(this, field.getName(), field.getLabel(), summary));
+            }
+            field.getRelationshipName().filter(r -> r.regionMatches(true, 0, prefix, 0, prefix.length()))
+                .ifPresent(r -> result.add(new BasicCompletion(this, r,
+                    "Relationship to " + String.join(", ", field.getReferenceTo()), summary)));
+        }
+    }
+
+    /**
+     * Resolves a dot separated path like <tt>Account.Owner</tt> to an object. The first element is either an object
+     * name or a relationship of one of the objects in the <i>FROM</i> clauses, the following elements are
+     * relationships.
+     */
+    private Optional<SObject> resolve(final String qualifier, final Set<SObject> referencedObjects) {
+        final String[] path = qualifier.split("\\.");
+        Optional<SObject> current = m_cache.findSObject(path[0]);
+        if (current.isEmpty()) {
+            current = referencedObjects.stream() //
+                .map(o -> followRelationship(o, path[0])) //
+                .flatMap(Optional::stream) //
+                .findFirst();
+        }
+        for (int i = 1; i < path.length && current.isPresent(); i++) {
+            final String relationship = path[i];
+            current = current.flatMap(o -> followRelationship(o, relationship));
+        }
+        return current;
+    }
+
+    private Optional<SObject> followRelationship(final SObject sObject, final String relationship) {
+        final var fieldIndex = m_cache.getFieldIndex(sObject);
+        if (fieldIndex.isEmpty()) {
+            m_fieldsRequester.accept(List.of(sObject));
+            return Optional.empty();
+        }
+        // polymorphic relationships (e.g. "Owner": "User" or "Group") are completed with the fields of the first
+        return Optional.ofNullable(fieldIndex.get().relationships().get(relationship.toLowerCase(Locale.ROOT)))
+            .flatMap(referenceTo -> m_cache.findSObject(referenceTo[0]));
+    }
+
+    /**
+     * @param soql the query
+     * @return the (known) objects in the <i>FROM</i> clauses of the query and its sub-queries
+     */
+    Set<SObject> getReferencedObjects(final String soql) {
+        final Set<SObject> result = new LinkedHashSet<>();
+        final var matcher = FROM_PATTERN.matcher(soql);
+        while (matcher.find()) {
+            m_cache.findSObject(matcher.group(1)).ifPresent(result::add);
+        }
+        return result;
+    }
+
+    /** The dot separated identifiers directly before the entered text, e.g. "Account.Owner" for "Account.Owner.Na". */
+    private static String getQualifier(final JTextComponent comp, final int enteredLength) {
+        final int end = comp.getCaretPosition() - enteredLength;
+        try {
+            final String before = comp.getDocument().getText(0, end);
+            int start = end;
+            while (start > 0 && before.charAt(start - 1) == '.') {
+                int wordStart = start - 1;
+                while (wordStart > 0 && isIdentifierChar(before.charAt(wordStart - 1))) {
+                    wordStart--;
+                }
+                if (wordStart == start - 1) {
+                    break; // a dot without identifier
+                }
+                start = wordStart;
+            }
+            return start == end ? "" : before.substring(start, end - 1);
+        } catch (BadLocationException ex) { // NOSONAR caret always within the document
+            return "";
+        }
+    }
+
+    private static boolean isIdentifierChar(final char ch) {
+        return Character.isLetterOrDigit(ch) || ch == '_';
+    }
+}
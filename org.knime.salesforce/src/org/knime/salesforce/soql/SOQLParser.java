@@ -0,0 +1,548 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.salesforce.soql;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.knime.core.node.util.CheckUtils;
+import org.knime.salesforce.soql.SOQLQuery.Clause;
+import org.knime.salesforce.soql.SOQLQuery.ClauseType;
+import org.knime.salesforce.soql.SOQLQuery.FieldItem;
+import org.knime.salesforce.soql.SOQLQuery.FieldPath;
+import org.knime.salesforce.soql.SOQLQuery.From;
+import org.knime.salesforce.soql.SOQLQuery.FunctionItem;
+import org.knime.salesforce.soql.SOQLQuery.InList;
+import org.knime.salesforce.soql.SOQLQuery.SelectItem;
+import org.knime.salesforce.soql.SOQLQuery.SubqueryItem;
+import org.knime.salesforce.soql.SOQLQuery.TypeOfItem;
+
+/**
+ * Parses SOQL queries into a {@link SOQLQuery} for local checks and rewrites, see <a href=
+ * "https://developer.salesforce.com/docs/atlas.en-us.soql_sosl.meta/soql_sosl/sforce_api_calls_soql_select.htm">
+ * SOQL SELECT Syntax</a>. Placeholders of the form <tt>$Column$</tt> (as used with the parameter table) are accepted
+ * wherever a value is expected. The parser is lenient where the syntax doesn't matter for checks and rewrites (e.g.
+ * <i>WITH</i> and <i>FOR</i> clauses are not validated); a query accepted by the parser is therefore not necessarily
+ * valid, whereas a query rejected by the parser is not accepted by Salesforce either.
+ *
+ * @author agent
+ */
+public final class SOQLParser {
+
+    private enum TokenType {
+            IDENTIFIER, STRING, NUMBER, PLACEHOLDER, SYMBOL, END
+    }
+
+    private record Token(TokenType type, String text, int start, int end) {
+    }
+
+    /** Words that end a select item or object name, i.e. that can't be an alias. */
+    private static final Set<String> RESERVED = Set.of("SELECT", "FROM", "WHERE", "WITH", "GROUP", "HAVING", "ORDER",
+        "LIMIT", "OFFSET", "FOR", "UPDATE", "USING", "AND", "OR", "NOT", "ASC", "DESC", "NULLS", "TYPEOF", "END");
+
+    private static final Set<String> COMPARISON_OPERATORS = Set.of("=", "!=", "<>", "<", ">", "<=", ">=");
+
+    private static final Set<String> KEYWORD_OPERATORS = Set.of("LIKE", "IN", "INCLUDES", "EXCLUDES");
+
+    /** The arguments of <tt>FIELDS()</tt>, which selects a group of fields (not a field named like that). */
+    private static final Set<String> FIELDS_GROUPS = Set.of("ALL", "STANDARD", "CUSTOM");
+
+    private final String m_soql;
+
+    private final List<Token> m_tokens;
+
+    private int m_index;
+
+    private SOQLParser(final String soql) throws SOQLParseException {
+        m_soql = soql;
+        m_tokens = tokenize(soql);
+    }
+
+    /**
+     * Parses a query.
+     *
+     * @param soql the query (with flow variables replaced)
+     * @return the syntax tree
+     * @throws SOQLParseException if the query is invalid
+     */
+    public static SOQLQuery parse(final String soql) throws SOQLParseException {
+        final var parser = new SOQLParser(CheckUtils.checkArgumentNotNull(soql));
+        final var query = parser.parseQuery();
+        if (parser.peek().type() != TokenType.END) {
+            throw parser.unexpected("end of query");
+        }
+        return query;
+    }
+
+    private SOQLQuery parseQuery() throws SOQLParseException {
+        expectKeyword("SELECT");
+        final List<SelectItem> selectItems = new ArrayList<>();
+        do {
+            selectItems.add(parseSelectItem());
+        } while (acceptSymbol(","));
+        expectKeyword("FROM");
+        final var from = parseFrom();
+        final Map<ClauseType, Clause> clauses = new EnumMap<>(ClauseType.class);
+        ClauseType type;
+        while ((type = peekClauseType()) != null) {
+            final var keywordToken = peek();
+            final var current = type;
+            if (clauses.keySet().stream().anyMatch(t -> t.compareTo(current) >= 0)) {
+                throw new SOQLParseException(String.format("%s clause not allowed here (duplicate or wrong order)",
+                    current.getKeyword()), keywordToken.start());
+            }
+            next();
+            if (type == ClauseType.GROUP_BY || type == ClauseType.ORDER_BY) {
+                expectKeyword("BY");
+            }
+            clauses.put(type, parseClause(type));
+        }
+        return new SOQLQuery(selectItems, from, clauses);
+    }
+
+    private SelectItem parseSelectItem() throws SOQLParseException {
+        final var first = peek();
+        if (isSymbol(first, "(")) {
+            next();
+            final var subquery = parseQuery();
+            expectSymbol(")");
+            return new SubqueryItem(subquery, textFrom(first));
+        }
+        if (isKeyword(first, "TYPEOF")) {
+            while (!isKeyword(next(), "END")) {
+                if (peek().type() == TokenType.END) {
+                    throw unexpected("END of TYPEOF");
+                }
+            }
+            return new TypeOfItem(textFrom(first));
+        }
+        final List<FieldPath> fields = new ArrayList<>();
+        final var function = parseOperand(fields);
+        final var alias = parseAlias();
+        final var text = textFrom(first);
+        return function.isPresent() ? new FunctionItem(function.get(), fields, alias, text)
+            : new FieldItem(fields.get(0), alias, text);
+    }
+
+    private From parseFrom() throws SOQLParseException {
+        final var first = peek();
+        final var object = parsePath().toString();
+        final var alias = parseAlias();
+        while (acceptSymbol(",")) { // e.g. "FROM Contact c, c.Account a"
+            parsePath();
+            parseAlias();
+        }
+        if (acceptKeyword("USING")) {
+            expectKeyword("SCOPE");
+            expect(TokenType.IDENTIFIER, "scope");
+        }
+        return new From(object, alias, textFrom(first));
+    }
+
+    private Clause parseClause(final ClauseType type) throws SOQLParseException {
+        final var first = peek();
+        final List<FieldPath> fields = new ArrayList<>();
+        final List<SOQLQuery> subqueries = new ArrayList<>();
+        final List<InList> inLists = new ArrayList<>();
+        switch (type) {
+            case WHERE, HAVING -> parseCondition(fields, subqueries, inLists, false);
+            case GROUP_BY -> {
+                do {
+                    parseOperand(fields);
+                } while (acceptSymbol(","));
+            }
+            case ORDER_BY -> {
+                do {
+                    parseOperand(fields);
+                    if (!acceptKeyword("ASC")) {
+                        acceptKeyword("DESC");
+                    }
+                    if (acceptKeyword("NULLS") && !acceptKeyword("FIRST")) {
+                        expectKeyword("LAST");
+                    }
+                } while (acceptSymbol(","));
+            }
+            case LIMIT, OFFSET -> {
+                if (peek().type() != TokenType.PLACEHOLDER) {
+                    expect(TokenType.NUMBER, "number");
+                } else {
+                    next();
+                }
+            }
+            default -> skipToNextClause(); // WITH, FOR, UPDATE
+        }
+        if (peek() == first) {
+            throw unexpected(type.getKeyword() + " clause");
+        }
+        // offsets of the lists relative to the clause text
+        return new Clause(textFrom(first), fields, subqueries, inLists.stream()
+            .map(l -> new InList(l.values(), l.start() - first.start(), l.end() - first.start())).toList());
+    }
+
+    /** Skips tokens not interpreted by the parser (up to the next clause or end of (sub)query). */
+    private void skipToNextClause() throws SOQLParseException {
+        var depth = 0;
+        while (peek().type() != TokenType.END && (depth > 0 || peekClauseType() == null && !isSymbol(peek(), ")"))) {
+            final var token = next();
+            if (isSymbol(token, "(")) {
+                depth++;
+            } else if (isSymbol(token, ")")) {
+                depth--;
+            }
+        }
+        if (depth > 0) {
+            throw unexpected("\")\"");
+        }
+    }
+
+    /**
+     * @param inLists the value lists of IN operators are added to this list, unless negated (offsets are absolute)
+     * @param isNegated whether the condition is negated using NOT
+     */
+    private void parseCondition(final List<FieldPath> fields, final List<SOQLQuery> subqueries,
+        final List<InList> inLists, final boolean isNegated) throws SOQLParseException {
+        parseConditionTerm(fields, subqueries, inLists, isNegated);
+        while (acceptKeyword("AND") || acceptKeyword("OR")) {
+            parseConditionTerm(fields, subqueries, inLists, isNegated);
+        }
+    }
+
+    private void parseConditionTerm(final List<FieldPath> fields, final List<SOQLQuery> subqueries,
+        final List<InList> inLists, final boolean isNegated) throws SOQLParseException {
+        if (acceptKeyword("NOT")) {
+            parseConditionTerm(fields, subqueries, inLists, !isNegated);
+        } else if (acceptSymbol("(")) {
+            parseCondition(fields, subqueries, inLists, isNegated);
+            expectSymbol(")");
+        } else {
+            parseOperand(fields);
+            final boolean isIn = parseComparisonOperator();
+            if (isIn && isSymbol(peek(), "(") && !isKeyword(peek(1), "SELECT")) {
+                final var inList = parseValueList(subqueries);
+                if (!isNegated) {
+                    inLists.add(inList);
+                }
+            } else {
+                parseValue(subqueries);
+            }
+        }
+    }
+
+    /**
+     * @return whether the operator is IN (but not NOT IN)
+     */
+    private boolean parseComparisonOperator() throws SOQLParseException {
+        final var token = peek();
+        if (token.type() == TokenType.SYMBOL && COMPARISON_OPERATORS.contains(token.text())) {
+            next();
+        } else if (acceptKeyword("NOT")) {
+            expectKeyword("IN");
+        } else if (token.type() == TokenType.IDENTIFIER
+            && KEYWORD_OPERATORS.contains(token.text().toUpperCase(Locale.ROOT))) {
+            return isKeyword(next(), "IN");
+        } else {
+            throw unexpected("comparison operator");
+        }
+        return false;
+    }
+
+    /** Parses the parenthesized values of an IN operator, the offsets of the list are absolute. */
+    private InList parseValueList(final List<SOQLQuery> subqueries) throws SOQLParseException {
+        final var open = next();
+        final List<String> values = new ArrayList<>();
+        do {
+            final var first = peek();
+            parseValue(subqueries);
+            values.add(textFrom(first));
+        } while (acceptSymbol(","));
+        expectSymbol(")");
+        return new InList(values, open.start(), m_tokens.get(m_index - 1).end());
+    }
+
+    private void parseValue(final List<SOQLQuery> subqueries) throws SOQLParseException {
+        final var token = peek();
+        if (acceptSymbol("(")) {
+            if (isKeyword(peek(), "SELECT")) { // semi-join or anti-join
+                subqueries.add(parseQuery());
+            } else {
+                do {
+                    parseValue(subqueries);
+                } while (acceptSymbol(","));
+            }
+            expectSymbol(")");
+        } else if (token.type() == TokenType.STRING || token.type() == TokenType.NUMBER
+            || token.type() == TokenType.PLACEHOLDER) {
+            next();
+        } else if (token.type() == TokenType.IDENTIFIER) { // TRUE, NULL, TODAY, LAST_N_DAYS:n, USD5000, ...
+            next();
+            if (acceptSymbol(":")) {
+                if (peek().type() != TokenType.PLACEHOLDER) {
+                    expect(TokenType.NUMBER, "number");
+                } else {
+                    next();
+                }
+            }
+        } else if (acceptSymbol(":")) { // bind variable
+            expect(TokenType.IDENTIFIER, "bind variable");
+        } else {
+            throw unexpected("value");
+        }
+    }
+
+    /**
+     * Parses a field or function call (whose field arguments are added to the list).
+     *
+     * @return the function name or empty if the operand is a field
+     */
+    private Optional<String> parseOperand(final List<FieldPath> fields) throws SOQLParseException {
+        final var first = peek();
+        if (first.type() == TokenType.IDENTIFIER && isSymbol(peek(1), "(")) {
+            next();
+            next();
+            if (first.text().equalsIgnoreCase("FIELDS")) {
+                final var group = peek();
+                if (group.type() != TokenType.IDENTIFIER
+                    || !FIELDS_GROUPS.contains(group.text().toUpperCase(Locale.ROOT))) {
+                    throw unexpected("ALL, STANDARD or CUSTOM");
+                }
+                next();
+                expectSymbol(")");
+            } else if (!acceptSymbol(")")) {
+                do {
+                    final var arg = peek();
+                    if (arg.type() == TokenType.IDENTIFIER) {
+                        parseOperand(fields);
+                    } else if (arg.type() == TokenType.STRING || arg.type() == TokenType.NUMBER
+                        || arg.type() == TokenType.PLACEHOLDER) {
+                        next();
+                    } else {
+                        throw unexpected("function argument");
+                    }
+                } while (acceptSymbol(","));
+                expectSymbol(")");
+            }
+            return Optional.of(first.text());
+        }
+        fields.add(parsePath());
+        return Optional.empty();
+    }
+
+    private FieldPath parsePath() throws SOQLParseException {
+        final List<String> segments = new ArrayList<>();
+        do {
+            // reserved words are fine, e.g. the objects "Order" and "Group"
+            segments.add(expect(TokenType.IDENTIFIER, segments.isEmpty() ? "field or object name" : "field name")
+                .text());
+        } while (acceptSymbol("."));
+        return new FieldPath(segments);
+    }
+
+    private Optional<String> parseAlias() {
+        final var token = peek();
+        if (token.type() == TokenType.IDENTIFIER && !RESERVED.contains(token.text().toUpperCase(Locale.ROOT))) {
+            return Optional.of(next().text());
+        }
+        return Optional.empty();
+    }
+
+    private ClauseType peekClauseType() {
+        final var token = peek();
+        if (token.type() != TokenType.IDENTIFIER) {
+            return null;
+        }
+        return switch (token.text().toUpperCase(Locale.ROOT)) {
+            case "WHERE" -> ClauseType.WHERE;
+            case "WITH" -> ClauseType.WITH;
+            case "GROUP" -> ClauseType.GROUP_BY;
+            case "HAVING" -> ClauseType.HAVING;
+            case "ORDER" -> ClauseType.ORDER_BY;
+            case "LIMIT" -> ClauseType.LIMIT;
+            case "OFFSET" -> ClauseType.OFFSET;
+            case "FOR" -> ClauseType.FOR;
+            case "UPDATE" -> ClauseType.UPDATE;
+            default -> null;
+        };
+    }
+
+    /** The query text from the given token up to the last consumed token. */
+    private String textFrom(final Token first) {
+        return m_soql.substring(first.start(), m_tokens.get(m_index - 1).end());
+    }
+
+    private Token peek() {
+        return peek(0);
+    }
+
+    private Token peek(final int ahead) {
+        return m_tokens.get(Math.min(m_index + ahead, m_tokens.size() - 1));
+    }
+
+    private Token next() {
+        final var token = peek();
+        if (token.type() != TokenType.END) {
+            m_index++;
+        }
+        return token;
+    }
+
+    private static boolean isSymbol(final Token token, final String symbol) {
+        return token.type() == TokenType.SYMBOL && token.text().equals(symbol);
+    }
+
+    private static boolean isKeyword(final Token token, final String keyword) {
+        return token.type() == TokenType.IDENTIFIER && token.text().equalsIgnoreCase(keyword);
+    }
+
+    private boolean acceptSymbol(final String symbol) {
+        if (isSymbol(peek(), symbol)) {
+            next();
+            return true;
+        }
+        return false;
+    }
+
+    private boolean acceptKeyword(final String keyword) {
+        if (isKeyword(peek(), keyword)) {
+            next();
+            return true;
+        }
+        return false;
+    }
+
+    private void expectSymbol(final String symbol) throws SOQLParseException {
+        if (!acceptSymbol(symbol)) {
+            throw unexpected("\"" + symbol + "\"");
+        }
+    }
+
+    private void expectKeyword(final String keyword) throws SOQLParseException {
+        if (!acceptKeyword(keyword)) {
+            throw unexpected(keyword);
+        }
+    }
+
+    private Token expect(final TokenType type, final String description) throws SOQLParseException {
+        if (peek().type() != type) {
+            throw unexpected(description);
+        }
+        return next();
+    }
+
+    private SOQLParseException unexpected(final String expected) {
+        final var token = peek();
+        final var found = token.type() == TokenType.END ? "end of query" : ("\"" + token.text() + "\"");
+        return new SOQLParseException(String.format("Expected %s but found %s", expected, found), token.start());
+    }
+
+    private static List<Token> tokenize(final String soql) throws SOQLParseException {
+        final List<Token> tokens = new ArrayList<>();
+        final int length = soql.length();
+        var i = 0;
+        while (i < length) {
+            final char c = soql.charAt(i);
+            final int start = i;
+            if (Character.isWhitespace(c)) {
+                i++;
+                continue;
+            }
+            final TokenType type;
+            if (Character.isLetter(c) || c == '_') {
+                while (i < length && isIdentifierChar(soql.charAt(i))) {
+                    i++;
+                }
+                type = TokenType.IDENTIFIER;
+            } else if (Character.isDigit(c)
+                || ((c == '-' || c == '+') && i + 1 < length && Character.isDigit(soql.charAt(i + 1)))) {
+                // numbers, dates and date times (2020-01-31T23:59:00+01:00)
+                i++;
+                while (i < length && (isIdentifierChar(soql.charAt(i)) || ".:+-".indexOf(soql.charAt(i)) >= 0)) {
+                    i++;
+                }
+                type = TokenType.NUMBER;
+            } else if (c == '\'') {
+                i++;
+                while (i < length && soql.charAt(i) != '\'') {
+                    i += soql.charAt(i) == '\\' ? 2 : 1;
+                }
+                if (i >= length) {
+                    throw new SOQLParseException("Unterminated string literal", start);
+                }
+                i++;
+                type = TokenType.STRING;
+            } else if (c == '$') { // $Column$ or flow variable $${Sname}$$
+                final int end = soql.startsWith("$${", i) ? soql.indexOf("}$$", i) : soql.indexOf('$', i + 1);
+                if (end < 0) {
+                    throw new SOQLParseException("Unterminated placeholder", start);
+                }
+                i = soql.startsWith("$${", i) ? end + 3 : end + 1;
+                type = TokenType.PLACEHOLDER;
+            } else if (i + 1 < length && COMPARISON_OPERATORS.contains(soql.substring(i, i + 2))) {
+                i += 2; // !=, <>, <=, >=
+                type = TokenType.SYMBOL;
+            } else if ("=<>(),.:".indexOf(c) >= 0) {
+                i++;
+                type = TokenType.SYMBOL;
+            } else {
+                throw new SOQLParseException(String.format("Unexpected character '%c'", c), start);
+            }
+            tokens.add(new Token(type, soql.substring(start, i), start, i));
+        }
+        tokens.add(new Token(TokenType.END, "", length, length));
+        return tokens;
+    }
+
+    private static boolean isIdentifierChar(final char c) {
+        return Character.isLetterOrDigit(c) || c == '_';
+    }
+}
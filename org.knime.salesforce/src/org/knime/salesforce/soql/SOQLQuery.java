@@ -0,0 +1,443 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.salesforce.soql;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.stream.Collectors;
+
+/**
+ * Syntax tree of a SOQL query as created by the {@link SOQLParser}. Select items are parsed, the remaining clauses are
+ * kept as text (as written in the query) along with the fields and sub-queries they reference. The query is immutable,
+ * rewrites (e.g. {@link #toCountQuery()}) create new instances that are turned into SOQL using {@link #toSOQL()}.
+ *
+ * @param selectItems the items in the <i>SELECT</i> clause, not empty
+ * @param from the <i>FROM</i> clause
+ * @param clauses the clauses following <i>FROM</i>, in query order
+ *
+ * @author agent
+ */
+public record SOQLQuery(List<SelectItem> selectItems, From from, Map<ClauseType, Clause> clauses) {
+
+    /** Functions that aggregate records, the result of a query using them depends on all records at once. */
+    private static final Set<String> AGGREGATE_FUNCTIONS =
+        Set.of("AVG", "COUNT", "COUNT_DISTINCT", "MIN", "MAX", "SUM");
+
+    /**
+     * @param selectItems the items in the <i>SELECT</i> clause, not empty
+     * @param from the <i>FROM</i> clause
+     * @param clauses the clauses following <i>FROM</i>
+     */
+    public SOQLQuery {
+        selectItems = List.copyOf(selectItems);
+        final var sorted = new EnumMap<ClauseType, Clause>(ClauseType.class);
+        sorted.putAll(clauses);
+        clauses = Collections.unmodifiableMap(sorted);
+    }
+
+    /** The optional clauses following <i>FROM</i>, in the order required by SOQL. */
+    public enum ClauseType {
+            /** Filter condition. */
+            WHERE("WHERE"),
+            /** Data category or security filter. */
+            WITH("WITH"),
+            /** Grouping. */
+            GROUP_BY("GROUP BY"),
+            /** Filter condition on groups. */
+            HAVING("HAVING"),
+            /** Sorting. */
+            ORDER_BY("ORDER BY"),
+            /** Maximum number of rows. */
+            LIMIT("LIMIT"),
+            /** Number of rows to skip. */
+            OFFSET("OFFSET"),
+            /** Tracking of views and references or locking. */
+            FOR("FOR"),
+            /** Update of view statistics. */
+            UPDATE("UPDATE");
+
+        private final String m_keyword;
+
+        ClauseType(final String keyword) {
+            m_keyword = keyword;
+        }
+
+        /**
+         * @return the keyword(s) introducing the clause, e.g. "ORDER BY"
+         */
+        public String getKeyword() {
+            return m_keyword;
+        }
+    }
+
+    /**
+     * A path of a field, possibly following relationships, e.g. <tt>Account.Owner.Name</tt>.
+     *
+     * @param segments the dot separated segments, not empty
+     */
+    public record FieldPath(List<String> segments) {
+
+        /**
+         * @param segments the dot separated segments, not empty
+         */
+        public FieldPath {
+            segments = List.copyOf(segments);
+        }
+
+        @Override
+        public String toString() {
+            return String.join(".", segments);
+        }
+    }
+
+    /**
+     * A clause following <i>FROM</i>.
+     *
+     * @param text the clause as written in the query, without the keyword
+     * @param fields the fields referenced in the clause
+     * @param subqueries the sub-queries in the clause (semi- and anti-joins)
+     * @param inLists the value lists of <i>IN</i> operators in the clause that aren't negated, i.e. the operators
+     *            whose list can be split with the union of the results being the original result (not including those
+     *            of sub-queries)
+     */
+    public record Clause(String text, List<FieldPath> fields, List<SOQLQuery> subqueries, List<InList> inLists) {
+
+        /**
+         * @param text the clause as written in the query, without the keyword
+         * @param fields the fields referenced in the clause
+         * @param subqueries the sub-queries in the clause (semi- and anti-joins)
+         * @param inLists the value lists of <i>IN</i> operators in the clause that aren't negated
+         */
+        public Clause {
+            fields = List.copyOf(fields);
+            subqueries = List.copyOf(subqueries);
+            inLists = List.copyOf(inLists);
+        }
+
+        /**
+         * A clause without (known) <i>IN</i> lists.
+         *
+         * @param text the clause as written in the query, without the keyword
+         * @param fields the fields referenced in the clause
+         * @param subqueries the sub-queries in the clause (semi- and anti-joins)
+         */
+        public Clause(final String text, final List<FieldPath> fields, final List<SOQLQuery> subqueries) {
+            this(text, fields, subqueries, List.of());
+        }
+    }
+
+    /**
+     * The parenthesized value list of an <i>IN</i> operator, e.g. <tt>('a', 'b')</tt>.
+     *
+     * @param values the values as written in the query
+     * @param start the offset of the opening parenthesis in the clause text
+     * @param end the offset after the closing parenthesis in the clause text
+     */
+    public record InList(List<String> values, int start, int end) {
+
+        /**
+         * @param values the values as written in the query
+         * @param start the offset of the opening parenthesis in the clause text
+         * @param end the offset after the closing parenthesis in the clause text
+         */
+        public InList {
+            values = List.copyOf(values);
+        }
+    }
+
+    /**
+     * The <i>FROM</i> clause.
+     *
+     * @param object the name of the queried object (in a sub-query in the <i>SELECT</i> clause the name of the child
+     *            relationship)
+     * @param alias the alias of the object, if any
+     * @param text the clause as written in the query, without the keyword (including further objects and the
+     *            <i>USING SCOPE</i> part)
+     */
+    public record From(String object, Optional<String> alias, String text) {
+    }
+
+    /** An item in the <i>SELECT</i> clause. */
+    public sealed interface SelectItem permits FieldItem, FunctionItem, SubqueryItem, TypeOfItem {
+
+        /**
+         * @return the item as written in the query, including the alias
+         */
+        String text();
+
+        /**
+         * @return the alias of the item, if any
+         */
+        Optional<String> alias();
+
+        /**
+         * @return the fields referenced by the item (not including the fields of sub-queries)
+         */
+        List<FieldPath> fields();
+    }
+
+    /**
+     * A field, e.g. <tt>Name</tt> or <tt>Account.Name</tt>.
+     *
+     * @param path the field
+     * @param alias the alias, if any
+     * @param text the item as written in the query
+     */
+    public record FieldItem(FieldPath path, Optional<String> alias, String text) implements SelectItem {
+
+        @Override
+        public List<FieldPath> fields() {
+            return List.of(path);
+        }
+    }
+
+    /**
+     * A function call, e.g. <tt>COUNT(Id) cnt</tt> or <tt>toLabel(Status)</tt>.
+     *
+     * @param function the function name as written in the query
+     * @param fields the fields in the arguments
+     * @param alias the alias, if any
+     * @param text the item as written in the query
+     */
+    public record FunctionItem(String function, List<FieldPath> fields, Optional<String> alias, String text)
+        implements SelectItem {
+
+        /**
+         * @param function the function name as written in the query
+         * @param fields the fields in the arguments
+         * @param alias the alias, if any
+         * @param text the item as written in the query
+         */
+        public FunctionItem {
+            fields = List.copyOf(fields);
+        }
+    }
+
+    /**
+     * A sub-query on a child relationship, e.g. <tt>(SELECT LastName FROM Contacts)</tt>.
+     *
+     * @param query the sub-query
+     * @param text the item as written in the query, including the parentheses
+     */
+    public record SubqueryItem(SOQLQuery query, String text) implements SelectItem {
+
+        @Override
+        public Optional<String> alias() {
+            return Optional.empty();
+        }
+
+        @Override
+        public List<FieldPath> fields() {
+            return List.of();
+        }
+    }
+
+    /**
+     * A polymorphic <i>TYPEOF</i> expression, kept as text.
+     *
+     * @param text the item as written in the query
+     */
+    public record TypeOfItem(String text) implements SelectItem {
+
+        @Override
+        public Optional<String> alias() {
+            return Optional.empty();
+        }
+
+        @Override
+        public List<FieldPath> fields() {
+            return List.of();
+        }
+    }
+
+    /**
+     * @param type the clause type
+     * @return the clause, if present in the query
+     */
+    public Optional<Clause> getClause(final ClauseType type) {
+        return Optional.ofNullable(clauses.get(type));
+    }
+
+    /**
+     * @return whether the query selects <tt>COUNT()</tt> only (and hence returns no records but the count in the
+     *         <i>totalSize</i>)
+     */
+    public boolean isCount() {
+        return selectItems.size() == 1 && selectItems.get(0) instanceof FunctionItem f
+            && f.function().equalsIgnoreCase("COUNT") && f.fields().isEmpty() && f.alias().isEmpty();
+    }
+
+    /**
+     * Rewrites the query to <tt>SELECT COUNT() ...</tt> with the same filters, so that the number of records is
+     * determined without transferring any record. Not possible for aggregate queries (which count groups) and for
+     * clauses not allowed with <tt>COUNT()</tt>; an <i>ORDER BY</i> clause is removed as it doesn't change the count.
+     *
+     * @return the count query, empty if the query can't be rewritten
+     */
+    public Optional<SOQLQuery> toCountQuery() {
+        if (isCount()) {
+            return Optional.of(this);
+        }
+        if (clauses.containsKey(ClauseType.GROUP_BY) || clauses.containsKey(ClauseType.HAVING)
+            || clauses.containsKey(ClauseType.OFFSET) || clauses.containsKey(ClauseType.FOR)
+            || clauses.containsKey(ClauseType.UPDATE)
+            || selectItems.stream().anyMatch(i -> i instanceof FunctionItem || i instanceof TypeOfItem)) {
+            return Optional.empty(); // aggregate functions or TYPEOF make the query invalid with COUNT()
+        }
+        return Optional.of(withSelectItems(List.of(new FunctionItem("COUNT", List.of(), Optional.empty(), "COUNT()")))
+            .withoutClause(ClauseType.ORDER_BY));
+    }
+
+    /**
+     * Splits the longest value list of an <i>IN</i> operator in the <i>WHERE</i> clause into several queries, each at
+     * most the given number of characters long. The union of the results of these queries is the result of this
+     * query, whereby a record may be contained in more than one result (if the list is combined with other
+     * conditions using <i>OR</i>). Duplicate values are removed. Not possible for queries whose result depends on
+     * all matching records (aggregates, <i>ORDER BY</i>, <i>LIMIT</i>, ...) or whose text without the list exceeds
+     * the length already.
+     *
+     * @param maxLength the maximum length of the resulting queries (in characters of {@link #toSOQL()})
+     * @return the queries, empty if this query isn't longer than the given length or can't be split
+     */
+    public Optional<List<SOQLQuery>> splitInList(final int maxLength) {
+        final var soql = toSOQL();
+        final var where = clauses.get(ClauseType.WHERE);
+        if (soql.length() <= maxLength || where == null || isCount()
+            || clauses.keySet().stream().anyMatch(t -> t != ClauseType.WHERE && t != ClauseType.WITH)
+            || selectItems.stream().anyMatch(i -> i instanceof FunctionItem f
+                && AGGREGATE_FUNCTIONS.contains(f.function().toUpperCase(Locale.ROOT)))) {
+            return Optional.empty();
+        }
+        final var inList = where.inLists().stream().max(Comparator.comparingInt(l -> l.end() - l.start()));
+        if (inList.isEmpty()) {
+            return Optional.empty();
+        }
+        final var list = inList.get();
+        // the values of a single query, separated by ", " and enclosed in parentheses
+        final int maxValuesLength = maxLength - (soql.length() - (list.end() - list.start())) - 2;
+        final List<SOQLQuery> result = new ArrayList<>();
+        var values = new StringJoiner(", ");
+        for (String value : list.values().stream().distinct().toList()) {
+            if (value.length() > maxValuesLength) {
+                return Optional.empty();
+            }
+            if (values.length() > 0 && values.length() + 2 + value.length() > maxValuesLength) {
+                result.add(withInListValues(where, list, values.toString()));
+                values = new StringJoiner(", ");
+            }
+            values.add(value);
+        }
+        result.add(withInListValues(where, list, values.toString()));
+        return Optional.of(result);
+    }
+
+    /** A copy of this query with the given values in the list, the new <i>WHERE</i> clause has no known lists. */
+    private SOQLQuery withInListValues(final Clause where, final InList list, final String values) {
+        final var text = where.text().substring(0, list.start()) + "(" + values + ")"
+            + where.text().substring(list.end());
+        final var newClauses = new EnumMap<ClauseType, Clause>(ClauseType.class);
+        newClauses.putAll(clauses);
+        newClauses.put(ClauseType.WHERE, new Clause(text, where.fields(), where.subqueries()));
+        return new SOQLQuery(selectItems, from, newClauses);
+    }
+
+    /**
+     * @param items the new select items
+     * @return a copy of this query with the given select items
+     */
+    public SOQLQuery withSelectItems(final List<SelectItem> items) {
+        return new SOQLQuery(items, from, clauses);
+    }
+
+    /**
+     * @param type the clause to remove
+     * @return a copy of this query without the given clause
+     */
+    public SOQLQuery withoutClause(final ClauseType type) {
+        final var newClauses = new EnumMap<ClauseType, Clause>(ClauseType.class);
+        newClauses.putAll(clauses);
+        newClauses.remove(type);
+        return new SOQLQuery(selectItems, from, newClauses);
+    }
+
+    /**
+     * @return all fields referenced in the select items and clauses of this query, not including sub-queries
+     */
+    public List<FieldPath> getFieldReferences() {
+        final List<FieldPath> result = new ArrayList<>();
+        selectItems.forEach(i -> result.addAll(i.fields()));
+        clauses.values().forEach(c -> result.addAll(c.fields()));
+        return result;
+    }
+
+    /**
+     * @return the query as SOQL text, clauses are written as in the original query
+     */
+    public String toSOQL() {
+        final var result = new StringBuilder("SELECT ");
+        result.append(selectItems.stream().map(SelectItem::text).collect(Collectors.joining(", ")));
+        result.append(" FROM ").append(from.text());
+        clauses.forEach((type, clause) -> result.append(' ').append(type.getKeyword()).append(' ')
+            .append(clause.text()));
+        return result.toString();
+    }
+
+    @Override
+    public String toString() {
+        return toSOQL();
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.salesforce.soql;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.knime.salesforce.rest.gsonbindings.sobjects.SObject;
+import org.knime.salesforce.soql.SOQLQuery.FieldPath;
+import org.knime.salesforce.soql.SOQLQuery.SelectItem;
+
+/**
+ * Checks a parsed query against the objects and fields in the {@link SalesforceObjectSchemaCache}, i.e. without any
+ * request. Objects and fields whose metadata isn't cached are not reported, neither are sub-queries on child
+ * relationships (which aren't part of the cached metadata).
+ *
+ * @author agent
+ */
+final class SOQLValidator {
+
+    private final SalesforceObjectSchemaCache m_cache;
+
+    /**
+     * @param cache the cache with the metadata, used in the EDT only
+     */
+    SOQLValidator(final SalesforceObjectSchemaCache cache) {
+        m_cache = cache;
+    }
+
+    /**
+     * @param query the query
+     * @return the problems found, e.g. unknown fields; empty if none are found
+     */
+    List<String> validate(final SOQLQuery query) {
+        final List<String> problems = new ArrayList<>();
+        validate(query, problems);
+        return problems;
+    }
+
+    private void validate(final SOQLQuery query, final List<String> problems) {
+        final var from = query.from();
+        final Optional<SObject> sObject = m_cache.findSObject(from.object());
+        if (sObject.isEmpty()) {
+            if (m_cache.hasSObjects()) {
+                problems.add(String.format("Unknown object \"%s\"", from.object()));
+            }
+            return;
+        }
+        // aliases of select items may be used in HAVING and ORDER BY
+        final Set<String> itemAliases = query.selectItems().stream().map(SelectItem::alias) //
+            .flatMap(Optional::stream).map(a -> a.toLowerCase(Locale.ROOT)).collect(Collectors.toSet());
+        for (FieldPath path : query.getFieldReferences()) {
+            final var segments = path.segments();
+            if (segments.size() == 1 && itemAliases.contains(segments.get(0).toLowerCase(Locale.ROOT))) {
+                continue;
+            }
+            // fields can be prefixed by the object name or alias, e.g. "Account.Name" in "FROM Account"
+            final var first = segments.get(0);
+            final boolean isQualified = segments.size() > 1 && (first.equalsIgnoreCase(from.object())
+                || from.alias().filter(first::equalsIgnoreCase).isPresent());
+            validatePath(sObject.get(), segments.subList(isQualified ? 1 : 0, segments.size()), path, problems);
+        }
+        query.clauses().values().forEach(c -> c.subqueries().forEach(q -> validate(q, problems)));
+    }
+
+    private void validatePath(final SObject sObject, final List<String> segments, final FieldPath path,
+        final List<String> problems) {
+        var current = sObject;
+        for (int i = 0; i < segments.size(); i++) {
+            final var fieldIndex = m_cache.getFieldIndex(current);
+            if (fieldIndex.isEmpty()) {
+                return; // fields not cached
+            }
+            final var segment = segments.get(i);
+            if (i == segments.size() - 1) {
+                final boolean isField = fieldIndex.get().fields().get(segment).stream()
+                    .anyMatch(f -> f.getName().equalsIgnoreCase(segment));
+                if (!isField) {
+                    problems.add(String.format("No field \"%s\" in object \"%s\" (%s)", segment, current.getName(),
+                        path));
+                }
+                return;
+            }
+            final var referenceTo = fieldIndex.get().relationships().get(segment.toLowerCase(Locale.ROOT));
+            if (referenceTo == null) {
+                problems.add(String.format("No relationship \"%s\" in object \"%s\" (%s)", segment,
+                    current.getName(), path));
+                return;
+            }
+            final var next = m_cache.findSObject(referenceTo[0]);
+            if (referenceTo.length > 1 || next.isEmpty()) {
+                return; // fields of polymorphic relationships depend on the referenced record
+            }
+            current = next.get();
+        }
+    }
+}
@@ -48,20 +48,32 @@
  */
 package org.knime.salesforce.soql;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
 import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutionException;
 import java.util.function.Consumer;
 
 import javax.swing.SwingUtilities;
+import javax.swing.Timer;
 
+import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.NodeLogger;
 import org.knime.core.util.SwingWorkerWithContext;
 import org.knime.salesforce.auth.credential.SalesforceAccessTokenCredential;
 import org.knime.salesforce.rest.SalesforceRESTUtil;
+import org.knime.salesforce.rest.SalesforceResponseException;
 import org.knime.salesforce.rest.Timeouts;
 import org.knime.salesforce.rest.gsonbindings.fields.Field;
 import org.knime.salesforce.rest.gsonbindings.sobjects.SObject;
@@ -74,6 +86,12 @@ public final class SalesforceObjectSchemaCache {
 
     private static final NodeLogger LOGGER = NodeLogger.getLogger(SalesforceObjectSchemaCache.class);
 
+    /** Delay before fields are fetched, so that quickly browsing through the objects doesn't fire requests. */
+    private static final int FETCH_FIELDS_DELAY_MS = 300;
+
+    /** Objects described per request when prefetching (the maximum of a Composite Batch request). */
+    private static final int PREFETCH_BATCH_SIZE = 25;
+
     public static final SObject NO_AUTH_CONTENT =
             SObject.of("No Authentication Object available from Node Input", "Not connected to salesforce.com");
     public static final SObject FETCHING_CONTENT =
@@ -91,6 +109,29 @@ public final class SalesforceObjectSchemaCache {
 
     private FetchFieldsSwingWorker m_fetchFieldsSwingWorker;
 
+    /** Starts {@link #m_fetchFieldsSwingWorker} after {@link #FETCH_FIELDS_DELAY_MS}. */
+    private Timer m_fetchFieldsTimer;
+
+    /** Objects by (API) name, lower case. */
+    private final Map<String, SObject> m_sObjectsByName = new HashMap<>();
+
+    /** Objects by name and label, for completion. */
+    private final SchemaNameIndex<SObject> m_sObjectIndex = new SchemaNameIndex<>();
+
+    /** Fields and relationships of the objects whose fields are cached, for completion. */
+    private final Map<SObject, FieldIndex> m_fieldIndexes = new HashMap<>();
+
+    /** Objects whose fields are to be fetched by the {@link #m_prefetchFieldsSwingWorker}, polled in the worker. */
+    private final Queue<SObject> m_prefetchQueue = new ConcurrentLinkedQueue<>();
+
+    /** Objects ever queued for prefetching, not queued again (e.g. if fetching fails). */
+    private final Set<SObject> m_prefetchRequested = new HashSet<>();
+
+    private PrefetchFieldsSwingWorker m_prefetchFieldsSwingWorker;
+
+    /** Called (in the EDT) when fields were prefetched. */
+    private Runnable m_fieldsPrefetchedListener = () -> {};
+
     /**
      *
      */
@@ -122,11 +163,19 @@ public void executeNewSObjectsSwingWorker(final SalesforceAccessTokenCredential
      */
     public void executeNewFieldsSwingWorker(final SalesforceAccessTokenCredential cred, final Timeouts timeouts,
         final SObject sobject, final Consumer<SObject> afterCompletionConsumer) {
-        m_fetchFieldsSwingWorker = new FetchFieldsSwingWorker(cred, timeouts, sobject, afterCompletionConsumer);
-        m_fetchFieldsSwingWorker.execute();
+        cancelFetchFieldsSwingWorker();
+        final var worker = new FetchFieldsSwingWorker(cred, timeouts, sobject, afterCompletionConsumer);
+        m_fetchFieldsSwingWorker = worker;
+        m_fetchFieldsTimer = new Timer(FETCH_FIELDS_DELAY_MS, e -> worker.execute());
+        m_fetchFieldsTimer.setRepeats(false);
+        m_fetchFieldsTimer.start();
     }
 
     public void cancelFetchFieldsSwingWorker() {
+        if (m_fetchFieldsTimer != null) {
+            m_fetchFieldsTimer.stop();
+            m_fetchFieldsTimer = null;
+        }
         if (m_fetchFieldsSwingWorker != null && !m_fetchFieldsSwingWorker.isDone()) {
             m_fetchFieldsSwingWorker.cancel(true);
         }
@@ -143,6 +192,117 @@ private void cancelFetchSObjectsSwingWorker() {
     public void onClose() {
         cancelFetchFieldsSwingWorker();
         cancelFetchSObjectsSwingWorker();
+        m_prefetchQueue.clear();
+        if (m_prefetchFieldsSwingWorker != null) {
+            m_prefetchFieldsSwingWorker.cancel(true);
+            m_prefetchFieldsSwingWorker = null;
+        }
+    }
+
+    /**
+     * Fetches the fields of the given objects in the background (one request per object, in the given order) unless
+     * they are cached or were requested before. Used to complete fields of objects referenced in the SOQL editor.
+     *
+     * @param cred the credential
+     * @param timeouts the timeouts
+     * @param sObjects the objects
+     */
+    void prefetchFields(final SalesforceAccessTokenCredential cred, final Timeouts timeouts,
+        final Collection<SObject> sObjects) {
+        assert SwingUtilities.isEventDispatchThread() : "not called in EDT";
+        sObjects.stream() //
+            .filter(s -> m_sObjectFieldCache.get(s) == null && m_prefetchRequested.add(s)) //
+            .forEach(m_prefetchQueue::add);
+        if (!m_prefetchQueue.isEmpty() && m_prefetchFieldsSwingWorker == null) {
+            m_prefetchFieldsSwingWorker = new PrefetchFieldsSwingWorker(cred, timeouts);
+            m_prefetchFieldsSwingWorker.execute();
+        }
+    }
+
+    /**
+     * @param listener called (in the EDT) whenever fields were added by {@link #prefetchFields(
+     *            SalesforceAccessTokenCredential, Timeouts, Collection)}
+     */
+    void setFieldsPrefetchedListener(final Runnable listener) {
+        m_fieldsPrefetchedListener = listener;
+    }
+
+    /**
+     * @param name the API name of an object, ignoring case
+     * @return that object, if known
+     */
+    Optional<SObject> findSObject(final String name) {
+        return Optional.ofNullable(m_sObjectsByName.get(name.toLowerCase(Locale.ROOT)));
+    }
+
+    /**
+     * @return whether the objects were fetched successfully, i.e. {@link #findSObject(String)} knows all objects
+     */
+    boolean hasSObjects() {
+        return !m_sObjectsByName.isEmpty();
+    }
+
+    /**
+     * @param prefix a prefix of the objects' names or labels, ignoring case
+     * @param limit the maximum number of objects returned
+     * @return the matching objects
+     */
+    List<SObject> findSObjects(final String prefix, final int limit) {
+        return m_sObjectIndex.findByPrefix(prefix, limit);
+    }
+
+    /**
+     * @param sObject an object
+     * @return the index of its fields, if they're cached
+     */
+    Optional<FieldIndex> getFieldIndex(final SObject sObject) {
+        return Optional.ofNullable(m_fieldIndexes.get(sObject));
+    }
+
+    /** Replaces the cached objects (and drops all cached fields), called in the EDT. */
+    void putSObjects(final SObject[] sObjects) {
+        m_sObjectFieldCache.clear();
+        m_sObjectsByName.clear();
+        m_sObjectIndex.clear();
+        m_fieldIndexes.clear();
+        m_prefetchRequested.clear();
+        for (SObject sObject : sObjects) {
+            m_sObjectFieldCache.put(sObject, null);
+            if (sObject != FAILED_CONTENT) {
+                m_sObjectsByName.put(sObject.getName().toLowerCase(Locale.ROOT), sObject);
+                m_sObjectIndex.put(sObject.getName(), sObject);
+                m_sObjectIndex.put(sObject.getLabel(), sObject);
+            }
+        }
+    }
+
+    /** Caches the fields of an object (sorted by label) and indexes them, called in the EDT. */
+    void putFields(final SObject sObject, final Field[] fields) {
+        Arrays.sort(fields, (a, b) -> a.getLabel().compareTo(b.getLabel()));
+        m_sObjectFieldCache.put(sObject, fields);
+        final var fieldIndex = new FieldIndex(new SchemaNameIndex<>(), new HashMap<>());
+        for (Field field : fields) {
+            fieldIndex.fields().put(field.getName(), field);
+            fieldIndex.fields().put(field.getLabel(), field);
+            final String[] referenceTo = field.getReferenceTo();
+            field.getRelationshipName() //
+                .filter(r -> referenceTo != null && referenceTo.length > 0) //
+                .ifPresent(r -> {
+                    fieldIndex.fields().put(r, field);
+                    fieldIndex.relationships().put(r.toLowerCase(Locale.ROOT), referenceTo);
+                });
+        }
+        m_fieldIndexes.put(sObject, fieldIndex);
+    }
+
+    /**
+     * Fields of an object, indexed by name, label and relationship name.
+     *
+     * @param fields the fields, indexed by name, label and (for reference fields) relationship name
+     * @param relationships the names of the referenced objects by (lower case) relationship name, more than one for
+     *            polymorphic relationships (e.g. "Owner": "User" and "Group")
+     */
+    record FieldIndex(SchemaNameIndex<Field> fields, Map<String, String[]> relationships) {
     }
 
     /**
@@ -170,8 +330,15 @@ private FetchFieldsSwingWorker(final SalesforceAccessTokenCredential cred, final
 
         @Override
         protected Field[] doInBackgroundWithContext() throws Exception {
-            Thread.sleep(500);
-            return SalesforceRESTUtil.getSObjectFields(m_sObject, m_credential, m_timeouts);
+            try (var scope = SalesforceRESTUtil.openAbortScope(this::checkCanceled)) {
+                return SalesforceRESTUtil.getSObjectFields(m_sObject, m_credential, m_timeouts);
+            }
+        }
+
+        private void checkCanceled() throws CanceledExecutionException {
+            if (isCancelled()) {
+                throw new CanceledExecutionException();
+            }
         }
 
         @Override
@@ -180,9 +347,8 @@ protected void doneWithContext() {
             SObject selectedObject = FAILED_CONTENT;
             try {
                 fields = get();
-                Arrays.sort(fields, (a, b) -> a.getLabel().compareTo(b.getLabel()));
+                putFields(m_sObject, fields);
                 selectedObject = m_sObject;
-                m_sObjectFieldCache.put(m_sObject, fields);
             } catch (InterruptedException | CancellationException ex) {
             } catch (ExecutionException ex) {
                 LOGGER.error(String.format("Unable to fetch fields for object \"%s\" from salesforce (%s): %s",//
@@ -210,8 +376,15 @@ private final class FetchSObjectsSwingWorker extends SwingWorkerWithContext<SObj
 
         @Override
         protected SObject[] doInBackgroundWithContext() throws Exception {
-            Thread.sleep(500);
-            return SalesforceRESTUtil.getSObjects(m_credential, m_timeouts);
+            try (var scope = SalesforceRESTUtil.openAbortScope(this::checkCanceled)) {
+                return SalesforceRESTUtil.getSObjects(m_credential, m_timeouts);
+            }
+        }
+
+        private void checkCanceled() throws CanceledExecutionException {
+            if (isCancelled()) {
+                throw new CanceledExecutionException();
+            }
         }
 
         @Override
@@ -226,9 +399,77 @@ protected void doneWithContext() {
                     ex.getCause().getMessage()),//
                     ex.getCause());
             }
-            m_sObjectFieldCache.clear();
-            Arrays.stream(sObjects).forEach(s -> m_sObjectFieldCache.put(s, null));
+            putSObjects(sObjects);
             m_afterCompletionRunnable.run();
         }
     }
+
+    /**
+     * Fetches the fields of the objects in {@link #m_prefetchQueue}, up to 25 objects per (Composite Batch) request.
+     */
+    private final class PrefetchFieldsSwingWorker extends SwingWorkerWithContext<Void, Map.Entry<SObject, Field[]>> {
+
+        private final SalesforceAccessTokenCredential m_credential;
+        private final Timeouts m_timeouts;
+
+        PrefetchFieldsSwingWorker(final SalesforceAccessTokenCredential cred, final Timeouts timeouts) {
+            m_credential = cred;
+            m_timeouts = timeouts;
+        }
+
+        @Override
+        protected Void doInBackgroundWithContext() throws Exception {
+            try (var scope = SalesforceRESTUtil.openAbortScope(this::checkCanceled)) {
+                final List<SObject> sObjects = new ArrayList<>();
+                while (!isCancelled()) {
+                    sObjects.clear();
+                    SObject sObject;
+                    while (sObjects.size() < PREFETCH_BATCH_SIZE && (sObject = m_prefetchQueue.poll()) != null) {
+                        sObjects.add(sObject);
+                    }
+                    if (sObjects.isEmpty()) {
+                        break;
+                    }
+                    try {
+                        // objects whose describe failed are missing (and logged)
+                        for (var entry : SalesforceRESTUtil.getSObjectFields(sObjects, m_credential, m_timeouts)
+                            .entrySet()) {
+                            publish(entry);
+                        }
+                    } catch (SalesforceResponseException ex) {
+                        LOGGER.debug(String.format("Unable to prefetch fields for %d objects: %s", sObjects.size(),
+                            ex.getMessage()), ex);
+                    }
+                }
+            }
+            return null;
+        }
+
+        private void checkCanceled() throws CanceledExecutionException {
+            if (isCancelled()) {
+                throw new CanceledExecutionException();
+            }
+        }
+
+        @Override
+        protected void processWithContext(final List<Map.Entry<SObject, Field[]>> chunks) {
+            if (!isCancelled()) {
+                chunks.stream().filter(e -> m_sObjectFieldCache.get(e.getKey()) == null)
+                    .forEach(e -> putFields(e.getKey(), e.getValue()));
+                m_fieldsPrefetchedListener.run();
+            }
+        }
+
+        @Override
+        protected void doneWithContext() {
+            if (m_prefetchFieldsSwingWorker != this) {
+                return; // canceled
+            }
+            m_prefetchFieldsSwingWorker = null;
+            if (!m_prefetchQueue.isEmpty()) { // queued after the worker's last poll
+                m_prefetchFieldsSwingWorker = new PrefetchFieldsSwingWorker(m_credential, m_timeouts);
+                m_prefetchFieldsSwingWorker.execute();
+            }
+        }
+    }
 }
@@ -57,6 +57,7 @@
 import static org.knime.salesforce.soql.SalesforceSOQLNodeSettings.SOQLOutputRepresentation.RECORDS;
 
 import java.awt.BorderLayout;
+import java.awt.Color;
 import java.awt.FlowLayout;
 import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
@@ -65,6 +66,7 @@
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Set;
 
 import javax.swing.AbstractButton;
@@ -79,9 +81,15 @@
 import javax.swing.JPanel;
 import javax.swing.JRadioButton;
 import javax.swing.JScrollPane;
+import javax.swing.JSpinner;
 import javax.swing.JSplitPane;
+import javax.swing.SpinnerNumberModel;
+import javax.swing.Timer;
 import javax.swing.border.Border;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 
+import org.fife.ui.autocomplete.AutoCompletion;
 import org.fife.ui.rsyntaxtextarea.RSyntaxTextArea;
 import org.fife.ui.rtextarea.RTextScrollPane;
 import org.knime.base.util.flowvariable.FlowVariableResolver;
@@ -124,8 +132,28 @@ final class SalesforceSOQLNodeDialogPane extends NodeDialogPane {
 
     private final JCheckBox m_retrieveDeletedArchivedCheckbox;
 
+    private final JCheckBox m_stripAttributesCheckbox;
+
+    private final JCheckBox m_fixedBatchSizeCheckbox;
+
+    private final JSpinner m_batchSizeSpinner;
+
+    private final JSpinner m_maxConcurrentQueriesSpinner;
+
+    private final JSpinner m_resultCacheMinutesSpinner;
+
     private final SalesforceObjectSchemaCache m_cache;
 
+    private final SOQLCompletionProvider m_completionProvider;
+
+    /** Prefetches the fields of the objects in the query and validates it once the user pauses typing. */
+    private final Timer m_prefetchTimer;
+
+    private final SOQLValidator m_validator;
+
+    /** Shows syntax errors and unknown fields in the query (as far as the fields are known). */
+    private final JLabel m_validationLabel;
+
     SalesforceSOQLNodeDialogPane() {
         m_fieldList = new JList<>(new DefaultListModel<>());
         m_flowVarsList = new JList<>(new DefaultListModel<>());
@@ -138,6 +166,37 @@ final class SalesforceSOQLNodeDialogPane extends NodeDialogPane {
         });
         m_cache = new SalesforceObjectSchemaCache();
 
+        m_completionProvider = new SOQLCompletionProvider(m_cache, this::prefetchFields);
+        final var autoCompletion = new AutoCompletion(m_completionProvider);
+        autoCompletion.setAutoActivationEnabled(true);
+        autoCompletion.setAutoActivationDelay(200);
+        autoCompletion.install(m_soqlTextArea);
+        m_validator = new SOQLValidator(m_cache);
+        m_validationLabel = new JLabel(" ");
+        m_validationLabel.setForeground(Color.RED);
+        m_cache.setFieldsPrefetchedListener(this::validateQuery);
+        m_prefetchTimer = new Timer(500, e -> {
+            prefetchFields(m_completionProvider.getReferencedObjects(m_soqlTextArea.getText()));
+            validateQuery();
+        });
+        m_prefetchTimer.setRepeats(false);
+        m_soqlTextArea.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(final DocumentEvent e) {
+                m_prefetchTimer.restart();
+            }
+
+            @Override
+            public void removeUpdate(final DocumentEvent e) {
+                m_prefetchTimer.restart();
+            }
+
+            @Override
+            public void changedUpdate(final DocumentEvent e) {
+                // attribute changes only
+            }
+        });
+
         m_outputAsCount = new JCheckBox("Only output size (for `count()` queries)");
 
         m_rawOutputRadio = new JRadioButton(RAW.getLabel());
@@ -152,6 +211,19 @@ final class SalesforceSOQLNodeDialogPane extends NodeDialogPane {
 
         m_retrieveDeletedArchivedCheckbox = new JCheckBox("Also retrieve deleted and archived records");
 
+        m_stripAttributesCheckbox = new JCheckBox("Remove 'attributes' from records");
+
+        m_batchSizeSpinner = new JSpinner(new SpinnerNumberModel(2000, 200, 2000, 100));
+        m_fixedBatchSizeCheckbox = new JCheckBox("Fixed batch size (otherwise adapted to response times)");
+        m_fixedBatchSizeCheckbox
+            .addItemListener(e -> m_batchSizeSpinner.setEnabled(m_fixedBatchSizeCheckbox.isSelected()));
+        m_batchSizeSpinner.setEnabled(false);
+
+        m_maxConcurrentQueriesSpinner = new JSpinner(
+            new SpinnerNumberModel(SalesforceSOQLNodeSettings.DEFAULT_MAX_CONCURRENT_QUERIES, 1, 25, 1));
+
+        m_resultCacheMinutesSpinner = new JSpinner(new SpinnerNumberModel(0, 0, 1440, 5));
+
         addTab("SOQL Editor", createPanel());
     }
 
@@ -211,7 +283,10 @@ public void mouseClicked(final MouseEvent e) {
         RTextScrollPane soqlEditorScroller = new RTextScrollPane(m_soqlTextArea);
         soqlEditorScroller.setLineNumbersEnabled(true);
         soqlEditorScroller.setBorder(createEmptyTitledBorder("SOQL"));
-        rightPanel.add(soqlEditorScroller, BorderLayout.CENTER);
+        JPanel editorPanel = new JPanel(new BorderLayout());
+        editorPanel.add(soqlEditorScroller, BorderLayout.CENTER);
+        editorPanel.add(m_validationLabel, BorderLayout.SOUTH);
+        rightPanel.add(editorPanel, BorderLayout.CENTER);
 
         rightPanel.add(createControlPanelBelowMainSOQLEditorArea(), BorderLayout.SOUTH);
 
@@ -235,6 +310,12 @@ private JPanel createControlPanelBelowMainSOQLEditorArea() {
             new JLabel(" "), m_outputAsCount));
         panel.add(new JLabel("")); // empty label to fill space
         panel.add(m_retrieveDeletedArchivedCheckbox);
+        panel.add(m_stripAttributesCheckbox);
+        panel.add(ViewUtils.getInFlowLayout(FlowLayout.LEADING, 0, 2, m_fixedBatchSizeCheckbox, m_batchSizeSpinner));
+        panel.add(ViewUtils.getInFlowLayout(FlowLayout.LEADING, 0, 2,
+            new JLabel("Concurrent queries (parameter table, split IN lists) "), m_maxConcurrentQueriesSpinner));
+        panel.add(ViewUtils.getInFlowLayout(FlowLayout.LEADING, 0, 2,
+            new JLabel("Reuse results of identical queries for (minutes, 0 = off) "), m_resultCacheMinutesSpinner));
         return panel;
     }
 
@@ -271,6 +352,11 @@ protected void saveSettingsTo(final NodeSettingsWO settings) throws InvalidSetti
         soqlSettings.setOutputRepresentation(outputRepresentation);
         soqlSettings.setOutputAsCount(m_outputAsCount.isSelected());
         soqlSettings.setRetrieveDeletedAndArchived(m_retrieveDeletedArchivedCheckbox.isSelected());
+        soqlSettings.setStripAttributes(m_stripAttributesCheckbox.isSelected());
+        soqlSettings.setMaxConcurrentQueries(((Number)m_maxConcurrentQueriesSpinner.getValue()).intValue());
+        soqlSettings.setResultCacheMinutes(((Number)m_resultCacheMinutesSpinner.getValue()).intValue());
+        soqlSettings.setBatchSize(
+            m_fixedBatchSizeCheckbox.isSelected() ? ((Number)m_batchSizeSpinner.getValue()).intValue() : -1);
         soqlSettings.saveSettingsTo(settings);
     }
 
@@ -310,6 +396,7 @@ protected void loadSettingsFrom(final NodeSettingsRO settings, final PortObjectS
                 boolean success = !sObjects.contains(FAILED_CONTENT);
                 sObjects.stream().sorted().forEach(comboBoxModel::addElement);
                 m_sObjectsCombo.setEnabled(success);
+                m_prefetchTimer.restart(); // objects in the query are known now
             });
         } else {
             m_portSpec = null;
@@ -323,6 +410,12 @@ protected void loadSettingsFrom(final NodeSettingsRO settings, final PortObjectS
             .findFirst().ifPresent(AbstractButton::doClick);
         m_outputAsCount.setSelected(soqlSettings.isOutputAsCount());
         m_retrieveDeletedArchivedCheckbox.setSelected(soqlSettings.isRetrieveDeletedAndArchived());
+        m_stripAttributesCheckbox.setSelected(soqlSettings.isStripAttributes());
+        m_maxConcurrentQueriesSpinner.setValue(Math.min(25, soqlSettings.getMaxConcurrentQueries()));
+        m_resultCacheMinutesSpinner.setValue(Math.min(1440, soqlSettings.getResultCacheMinutes()));
+        m_fixedBatchSizeCheckbox.setSelected(soqlSettings.getBatchSize().isPresent());
+        m_batchSizeSpinner.setValue(soqlSettings.getBatchSize().orElse(2000));
+        m_batchSizeSpinner.setEnabled(m_fixedBatchSizeCheckbox.isSelected());
         m_soqlTextArea.requestFocus();
     }
 
@@ -349,8 +442,35 @@ private void onNewSalesforceObjectSelected(final SObject selected) {
         }
     }
 
+    /** Checks the query locally, i.e. without sending it to Salesforce. */
+    private void validateQuery() {
+        final var soql = m_soqlTextArea.getText();
+        if (soql.isBlank() || soql.contains("$${")) { // flow variables may contain any part of the query
+            m_validationLabel.setText(" ");
+            return;
+        }
+        String message;
+        try {
+            final var problems = m_validator.validate(SOQLParser.parse(soql));
+            message = problems.isEmpty() ? " " : (problems.get(0)
+                + (problems.size() > 1 ? String.format(" (and %d more problems)", problems.size() - 1) : ""));
+        } catch (SOQLParseException ex) {
+            message = "Syntax error: " + ex.getMessage();
+        }
+        m_validationLabel.setText(message);
+    }
+
+    /** Fetches the fields of the objects in the background so that they can be completed in the editor. */
+    private void prefetchFields(final Collection<SObject> sObjects) {
+        if (m_portSpec != null && m_portSpec.isPresent() && !sObjects.isEmpty()) {
+            final var cred = m_portSpec.getCredential(SalesforceAccessTokenCredential.class).get(); // NOSONAR
+            m_cache.prefetchFields(cred, m_portSpec.getTimeouts(), sObjects);
+        }
+    }
+
     @Override
     public void onClose() {
+        m_prefetchTimer.stop();
         m_cache.onClose();
         m_portSpec = null;
     }
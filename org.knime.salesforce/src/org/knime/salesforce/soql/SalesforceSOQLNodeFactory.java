@@ -48,19 +48,40 @@
  */
 package org.knime.salesforce.soql;
 
+import java.util.Optional;
+
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.ConfigurableNodeFactory;
 import org.knime.core.node.NodeDialogPane;
-import org.knime.core.node.NodeFactory;
 import org.knime.core.node.NodeView;
+import org.knime.core.node.context.NodeCreationConfiguration;
+import org.knime.credentials.base.CredentialPortObject;
 
 /**
  *
  * @author wiswedel
  */
-public final class SalesforceSOQLNodeFactory extends NodeFactory<SalesforceSOQLNodeModel> {
+public final class SalesforceSOQLNodeFactory extends ConfigurableNodeFactory<SalesforceSOQLNodeModel> {
+
+    private static final String INPUT_PORT_GROUP = "Authentication";
+
+    /** Optional, so that the port is not added to nodes of workflows created before it existed. */
+    private static final String PARAMETER_PORT_GROUP = "Parameter table";
+
+    private static final String OUTPUT_PORT_GROUP = "JSON Result";
+
+    @Override
+    protected Optional<PortsConfigurationBuilder> createPortsConfigBuilder() {
+        final var b = new PortsConfigurationBuilder();
+        b.addFixedInputPortGroup(INPUT_PORT_GROUP, CredentialPortObject.TYPE);
+        b.addOptionalInputPortGroup(PARAMETER_PORT_GROUP, BufferedDataTable.TYPE);
+        b.addFixedOutputPortGroup(OUTPUT_PORT_GROUP, BufferedDataTable.TYPE);
+        return Optional.of(b);
+    }
 
     @Override
-    public SalesforceSOQLNodeModel createNodeModel() {
-        return new SalesforceSOQLNodeModel();
+    protected SalesforceSOQLNodeModel createNodeModel(final NodeCreationConfiguration creationConfig) {
+        return new SalesforceSOQLNodeModel(creationConfig.getPortConfig().orElseThrow());
     }
 
     @Override
@@ -69,7 +90,8 @@ protected int getNrNodeViews() {
     }
 
     @Override
-    public NodeView<SalesforceSOQLNodeModel> createNodeView(final int viewIndex, final SalesforceSOQLNodeModel nodeModel) {
+    public NodeView<SalesforceSOQLNodeModel> createNodeView(final int viewIndex,
+        final SalesforceSOQLNodeModel nodeModel) {
         throw new IllegalStateException("Not to be called");
     }
 
@@ -79,7 +101,7 @@ protected boolean hasDialog() {
     }
 
     @Override
-    protected NodeDialogPane createNodeDialogPane() {
+    protected NodeDialogPane createNodeDialogPane(final NodeCreationConfiguration creationConfig) {
         return new SalesforceSOQLNodeDialogPane();
     }
 
@@ -50,8 +50,16 @@
 
 import java.io.File;
 import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import org.knime.base.util.flowvariable.FlowVariableProvider;
+import org.knime.core.data.DataTableSpec;
 import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionContext;
@@ -60,16 +68,26 @@
 import org.knime.core.node.NodeModel;
 import org.knime.core.node.NodeSettingsRO;
 import org.knime.core.node.NodeSettingsWO;
+import org.knime.core.node.context.ports.PortsConfiguration;
 import org.knime.core.node.port.PortObject;
 import org.knime.core.node.port.PortObjectSpec;
-import org.knime.core.node.port.PortType;
-import org.knime.credentials.base.CredentialPortObject;
+import org.knime.core.node.streamable.BufferedDataTableRowOutput;
+import org.knime.core.node.streamable.InputPortRole;
+import org.knime.core.node.streamable.OutputPortRole;
+import org.knime.core.node.streamable.PartitionInfo;
+import org.knime.core.node.streamable.PortInput;
+import org.knime.core.node.streamable.PortObjectInput;
+import org.knime.core.node.streamable.PortOutput;
+import org.knime.core.node.streamable.RowOutput;
+import org.knime.core.node.streamable.StreamableOperator;
 import org.knime.credentials.base.NoSuchCredentialException;
 import org.knime.salesforce.auth.credential.SalesforceAccessTokenCredential;
 import org.knime.salesforce.auth.port.SalesforceConnectionPortObjectSpec;
 import org.knime.salesforce.rest.soql.AbstractSOQLExecutor;
 import org.knime.salesforce.rest.soql.RawOutputSOQLExecutor;
 import org.knime.salesforce.rest.soql.RecordsOutputSOQLExecutor;
+import org.knime.salesforce.soql.ParameterizedSOQLRunner.ExecutorFactory;
+import org.knime.salesforce.soql.SalesforceSOQLNodeSettings.SOQLOutputRepresentation;
 
 /**
  * Model of 'Salesforce SOQL' node.
@@ -80,8 +98,12 @@ final class SalesforceSOQLNodeModel extends NodeModel implements FlowVariablePro
 
     private SalesforceSOQLNodeSettings m_settings = new SalesforceSOQLNodeSettings();
 
-    SalesforceSOQLNodeModel() {
-        super(new PortType[] {CredentialPortObject.TYPE}, new PortType[] {BufferedDataTable.TYPE});
+    /**
+     * @param portsConfig the authentication input, optionally followed by the parameter table (an optional port group,
+     *            so that workflows created prior its introduction load unchanged)
+     */
+    SalesforceSOQLNodeModel(final PortsConfiguration portsConfig) {
+        super(portsConfig.getInputPorts(), portsConfig.getOutputPorts());
     }
 
     @Override
@@ -92,27 +114,167 @@ protected PortObjectSpec[] configure(final PortObjectSpec[] inSpecs) throws Inva
         }
 
         final var inSpec = (SalesforceConnectionPortObjectSpec)inSpecs[0];
-        final var outSpec = createSoqlExecutor(inSpec).createOutputSpec();
+        final var soql = m_settings.getSOQLWithFlowVarsReplaced(this);
+        try {
+            SOQLParser.parse(soql); // pre-flight check, the query is sent as-is
+        } catch (SOQLParseException ex) {
+            setWarningMessage("The SOQL is probably invalid: " + ex.getMessage());
+        }
+        final var outSpec = createSoqlExecutor(inSpec, soql).createOutputSpec();
+        if (inSpecs.length > 1 && inSpecs[1] instanceof DataTableSpec parameterSpec) {
+            new ParameterizedSOQLRunner(soql, parameterSpec, m_settings.getMaxConcurrentQueries()); // validation
+            return outSpec.map(s -> new PortObjectSpec[]{ParameterizedSOQLRunner.createOutputSpec(s)}).orElse(null);
+        }
         return outSpec.map(s -> new PortObjectSpec[]{s}).orElse(null);
     }
 
     @Override
     protected PortObject[] execute(final PortObject[] inObjects, final ExecutionContext exec) throws Exception {
         final var inSpec = (SalesforceConnectionPortObjectSpec)inObjects[0].getSpec();
-        final var executor = createSoqlExecutor(inSpec);
-        return new PortObject[]{executor.execute(exec)};
+        if (inObjects.length > 1 && inObjects[1] instanceof BufferedDataTable parameterTable) {
+            return new PortObject[]{executeParameterized(inSpec, parameterTable, null, exec)};
+        }
+        final var soql = m_settings.getSOQLWithFlowVarsReplaced(this);
+        final var splitRunner = createSplitRunner(soql);
+        if (splitRunner.isPresent()) {
+            return new PortObject[]{executeSplit(inSpec, soql, splitRunner.get(), null, exec)};
+        }
+        final var executor = createSoqlExecutor(inSpec, soql);
+        final var table = executor.execute(exec);
+        warnAboutRequestWaitTime(List.of(executor));
+        return new PortObject[]{table};
+    }
+
+    /** Sets a warning if the executors waited a significant time for free request slots. */
+    private void warnAboutRequestWaitTime(final Collection<AbstractSOQLExecutor> executors) {
+        final var waitTime = executors.stream().map(AbstractSOQLExecutor::getRequestWaitTime) //
+            .reduce(Duration.ZERO, Duration::plus);
+        AbstractSOQLExecutor.createRequestWaitWarning(waitTime).ifPresent(this::setWarningMessage);
+    }
+
+    /** Used as executor factory of the runners, remembers the created executors (for their request wait time). */
+    private static AbstractSOQLExecutor track(final Queue<AbstractSOQLExecutor> executors,
+        final AbstractSOQLExecutor executor) {
+        executors.add(executor);
+        return executor;
+    }
+
+    /** Queries with a long IN list are split if output as records, see {@link SplitInListSOQLRunner}. */
+    private Optional<SplitInListSOQLRunner> createSplitRunner(final String soql) {
+        if (m_settings.getOutputRepresentation() != SOQLOutputRepresentation.RECORDS || m_settings.isOutputAsCount()) {
+            return Optional.empty();
+        }
+        return SplitInListSOQLRunner.create(soql, m_settings.getMaxConcurrentQueries());
+    }
+
+    /**
+     * Runs the split queries, see {@link SplitInListSOQLRunner}.
+     *
+     * @param output the output to push the rows to in streaming execution, null to return a table
+     * @return the table, null if pushed to the output
+     */
+    private BufferedDataTable executeSplit(final SalesforceConnectionPortObjectSpec inSpec, final String soql,
+        final SplitInListSOQLRunner runner, final RowOutput output, final ExecutionContext exec) throws Exception {
+        final var credential = inSpec.resolveCredential(SalesforceAccessTokenCredential.class);
+        final var timeouts = inSpec.getTimeouts();
+        final var tableOutput = output != null ? null : new BufferedDataTableRowOutput(exec.createDataContainer(
+            createSoqlExecutor(inSpec, soql).createOutputSpec()
+                .orElseThrow(() -> new IllegalStateException("No output spec"))));
+        exec.setMessage(String.format("Running %d queries (IN list split)", runner.getQueryCount()));
+        final Queue<AbstractSOQLExecutor> executors = new ConcurrentLinkedQueue<>();
+        runner.execute(s -> track(executors, new RecordsOutputSOQLExecutor(credential, timeouts, m_settings, s)),
+            output != null ? output : tableOutput, exec);
+        warnAboutRequestWaitTime(executors);
+        return tableOutput != null ? tableOutput.getDataTable() : null;
+    }
+
+    /**
+     * Runs the SOQL for each row in the parameter table, see {@link ParameterizedSOQLRunner}.
+     *
+     * @param output the output to push the rows to in streaming execution, null to return a table
+     * @return the table, null if pushed to the output
+     */
+    private BufferedDataTable executeParameterized(final SalesforceConnectionPortObjectSpec inSpec,
+        final BufferedDataTable parameterTable, final RowOutput output, final ExecutionContext exec)
+        throws Exception {
+        final var soql = m_settings.getSOQLWithFlowVarsReplaced(this);
+        final var runner = new ParameterizedSOQLRunner(soql, parameterTable.getDataTableSpec(),
+            m_settings.getMaxConcurrentQueries());
+        final var outSpec = ParameterizedSOQLRunner.createOutputSpec(createSoqlExecutor(inSpec, soql)
+            .createOutputSpec().orElseThrow(() -> new IllegalStateException("No output spec")));
+        // credential is resolved once, the executor factory must not fail
+        final var credential = inSpec.resolveCredential(SalesforceAccessTokenCredential.class);
+        final var timeouts = inSpec.getTimeouts();
+        final Queue<AbstractSOQLExecutor> executors = new ConcurrentLinkedQueue<>();
+        final ExecutorFactory executorFactory = s -> track(executors,
+            switch (m_settings.getOutputRepresentation()) {
+                case RAW -> new RawOutputSOQLExecutor(credential, timeouts, m_settings, s);
+                case RECORDS -> new RecordsOutputSOQLExecutor(credential, timeouts, m_settings, s);
+            });
+        BufferedDataTable table = null;
+        if (output != null) {
+            runner.execute(parameterTable, outSpec, executorFactory, output, exec);
+        } else {
+            table = runner.execute(parameterTable, outSpec, executorFactory, exec);
+        }
+        warnAboutRequestWaitTime(executors);
+        return table;
+    }
+
+    @Override
+    public InputPortRole[] getInputPortRoles() {
+        // the parameter table (if connected) is read as a whole as the queries of its rows run concurrently
+        final var roles = new InputPortRole[getNrInPorts()];
+        Arrays.fill(roles, InputPortRole.NONDISTRIBUTED_NONSTREAMABLE);
+        return roles;
+    }
+
+    @Override
+    public OutputPortRole[] getOutputPortRoles() {
+        return new OutputPortRole[]{OutputPortRole.NONDISTRIBUTED};
+    }
+
+    @Override
+    public StreamableOperator createStreamableOperator(final PartitionInfo partitionInfo,
+        final PortObjectSpec[] inSpecs) throws InvalidSettingsException {
+        return new StreamableOperator() {
+
+            @Override
+            public void runFinal(final PortInput[] inputs, final PortOutput[] outputs, final ExecutionContext exec)
+                throws Exception {
+                final var inSpec =
+                    (SalesforceConnectionPortObjectSpec)((PortObjectInput)inputs[0]).getPortObject().getSpec();
+                final var output = (RowOutput)outputs[0];
+                // the rows of each query are pushed as soon as it and all preceding queries are done
+                if (inputs.length > 1 && inputs[1] instanceof PortObjectInput parameterInput
+                    && parameterInput.getPortObject() instanceof BufferedDataTable parameterTable) {
+                    executeParameterized(inSpec, parameterTable, output, exec);
+                    return;
+                }
+                final var soql = m_settings.getSOQLWithFlowVarsReplaced(SalesforceSOQLNodeModel.this);
+                final var splitRunner = createSplitRunner(soql);
+                if (splitRunner.isPresent()) {
+                    executeSplit(inSpec, soql, splitRunner.get(), output, exec);
+                    return;
+                }
+                // rows are pushed page by page so that downstream nodes can start early
+                final var executor = createSoqlExecutor(inSpec, soql);
+                executor.execute(output, exec);
+                warnAboutRequestWaitTime(List.of(executor));
+            }
+        };
     }
 
-    private AbstractSOQLExecutor createSoqlExecutor(final SalesforceConnectionPortObjectSpec inSpec)
-        throws InvalidSettingsException {
+    private AbstractSOQLExecutor createSoqlExecutor(final SalesforceConnectionPortObjectSpec inSpec,
+        final String soql) throws InvalidSettingsException {
 
         try {
             final var credential = inSpec.resolveCredential(SalesforceAccessTokenCredential.class);
             final var timeouts = inSpec.getTimeouts();
 
             return switch (m_settings.getOutputRepresentation()) {
-                case RAW -> new RawOutputSOQLExecutor(credential, timeouts, m_settings, this);
-                case RECORDS -> new RecordsOutputSOQLExecutor(credential, timeouts, m_settings, this);
+                case RAW -> new RawOutputSOQLExecutor(credential, timeouts, m_settings, soql);
+                case RECORDS -> new RecordsOutputSOQLExecutor(credential, timeouts, m_settings, soql);
                 default -> throw new IllegalStateException(
                     "Type not implementation: " + m_settings.getOutputRepresentation());
             };
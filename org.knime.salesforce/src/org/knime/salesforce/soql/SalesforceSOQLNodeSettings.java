@@ -48,9 +48,11 @@
  */
 package org.knime.salesforce.soql;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.OptionalInt;
 
 import org.apache.commons.lang3.StringUtils;
 import org.eclipse.jetty.util.StringUtil;
@@ -103,11 +105,19 @@ String getDescription() {
         }
 
     }
+
+    /** Default for {@link #getMaxConcurrentQueries()}. */
+    static final int DEFAULT_MAX_CONCURRENT_QUERIES = 4;
+
     private String m_soql = "Select Id, Name from Account LIMIT 10";
     private String m_outputColumnName = "json";
     private SOQLOutputRepresentation m_outputRepresentation = SOQLOutputRepresentation.RAW;
     private boolean m_isOutputACounter;
     private boolean m_retrieveDeletedAndArchived;
+    private OptionalInt m_batchSize = OptionalInt.empty();
+    private boolean m_stripAttributes;
+    private int m_maxConcurrentQueries = DEFAULT_MAX_CONCURRENT_QUERIES;
+    private int m_resultCacheMinutes;
 
     /**
      * @return the soql
@@ -194,6 +204,74 @@ void setRetrieveDeletedAndArchived(final boolean retrieveDeletedAndArchived) {
         m_retrieveDeletedAndArchived = retrieveDeletedAndArchived;
     }
 
+    /**
+     * @return the batch size requested from Salesforce or empty if it's determined adaptively
+     */
+    public OptionalInt getBatchSize() {
+        return m_batchSize;
+    }
+
+    /**
+     * @param batchSizeOrNegative the batch size to request or a negative value to determine it adaptively
+     */
+    void setBatchSize(final int batchSizeOrNegative) {
+        m_batchSize = batchSizeOrNegative < 0 ? OptionalInt.empty() : OptionalInt.of(batchSizeOrNegative);
+    }
+
+    /**
+     * @return whether the 'attributes' objects (type and url of each record) are removed from the JSON output
+     */
+    public boolean isStripAttributes() {
+        return m_stripAttributes;
+    }
+
+    /**
+     * @param stripAttributes the stripAttributes to set
+     */
+    void setStripAttributes(final boolean stripAttributes) {
+        m_stripAttributes = stripAttributes;
+    }
+
+    /**
+     * @return the maximum number of queries run concurrently when a parameter table is connected
+     */
+    int getMaxConcurrentQueries() {
+        return m_maxConcurrentQueries;
+    }
+
+    /**
+     * @param maxConcurrentQueries the maxConcurrentQueries to set
+     * @throws InvalidSettingsException if not positive
+     */
+    void setMaxConcurrentQueries(final int maxConcurrentQueries) throws InvalidSettingsException {
+        CheckUtils.checkSetting(maxConcurrentQueries > 0, "Number of concurrent queries must be positive: %d",
+            maxConcurrentQueries);
+        m_maxConcurrentQueries = maxConcurrentQueries;
+    }
+
+    /**
+     * @return for how long results of identical queries are reused, empty if results are not cached (the default)
+     */
+    public Optional<Duration> getResultCacheTimeToLive() {
+        return m_resultCacheMinutes > 0 ? Optional.of(Duration.ofMinutes(m_resultCacheMinutes)) : Optional.empty();
+    }
+
+    /**
+     * @return the result cache time to live in minutes, 0 if disabled
+     */
+    int getResultCacheMinutes() {
+        return m_resultCacheMinutes;
+    }
+
+    /**
+     * @param resultCacheMinutes the result cache time to live in minutes, 0 to disable
+     * @throws InvalidSettingsException if negative
+     */
+    void setResultCacheMinutes(final int resultCacheMinutes) throws InvalidSettingsException {
+        CheckUtils.checkSetting(resultCacheMinutes >= 0, "Cache time must not be negative: %d", resultCacheMinutes);
+        m_resultCacheMinutes = resultCacheMinutes;
+    }
+
     void saveSettingsTo(final NodeSettingsWO settings) {
         if (StringUtils.isNotEmpty(m_soql)) {
             settings.addString("SOQL", m_soql);
@@ -201,6 +279,10 @@ void saveSettingsTo(final NodeSettingsWO settings) {
             settings.addString("outputRepresentation", m_outputRepresentation.name());
             settings.addBoolean("outputAsCount", m_isOutputACounter);
             settings.addBoolean("retrieveDeletedAndArchived", m_retrieveDeletedAndArchived);
+            settings.addInt("batchSize", m_batchSize.orElse(-1));
+            settings.addBoolean("stripAttributes", m_stripAttributes);
+            settings.addInt("maxConcurrentQueries", m_maxConcurrentQueries);
+            settings.addInt("resultCacheMinutes", m_resultCacheMinutes);
         }
     }
 
@@ -214,6 +296,10 @@ SalesforceSOQLNodeSettings loadSettingsInModel(final NodeSettingsRO settings) th
             .orElseThrow(() -> new InvalidSettingsException("Invalid Output Represenation: " + outputRepresenationS));
         m_isOutputACounter = settings.getBoolean("outputAsCount");
         m_retrieveDeletedAndArchived = settings.getBoolean("retrieveDeletedAndArchived", false); // new in 5.7, AP-24773
+        setBatchSize(settings.getInt("batchSize", -1)); // new in 5.11
+        m_stripAttributes = settings.getBoolean("stripAttributes", false); // new in 5.11
+        setMaxConcurrentQueries(settings.getInt("maxConcurrentQueries", DEFAULT_MAX_CONCURRENT_QUERIES)); // 5.11
+        setResultCacheMinutes(settings.getInt("resultCacheMinutes", 0)); // new in 5.11
         return this;
     }
 
@@ -225,6 +311,11 @@ SalesforceSOQLNodeSettings loadSettingsInDialog(final NodeSettingsRO settings) {
             SOQLOutputRepresentation.from(outputRepresenationS).orElse(SOQLOutputRepresentation.RAW);
         m_isOutputACounter = settings.getBoolean("outputAsCount", false);
         m_retrieveDeletedAndArchived = settings.getBoolean("retrieveDeletedAndArchived", false);
+        setBatchSize(settings.getInt("batchSize", -1));
+        m_stripAttributes = settings.getBoolean("stripAttributes", false);
+        m_maxConcurrentQueries =
+            Math.max(1, settings.getInt("maxConcurrentQueries", DEFAULT_MAX_CONCURRENT_QUERIES));
+        m_resultCacheMinutes = Math.max(0, settings.getInt("resultCacheMinutes", 0));
         return this;
     }
 }
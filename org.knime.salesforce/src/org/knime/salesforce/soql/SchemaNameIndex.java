@@ -0,0 +1,119 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.salesforce.soql;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Case-insensitive prefix index over names and labels of Salesforce objects, fields and relationships, used for
+ * completion in the SOQL editor. Lookups are logarithmic in the number of keys (plus the number of matches), so that
+ * completion stays interactive in orgs with thousands of objects. Not thread-safe, used in the EDT only.
+ *
+ * @param <V> the indexed values (e.g. objects or fields)
+ * @author agent
+ */
+final class SchemaNameIndex<V> {
+
+    private final NavigableMap<String, List<V>> m_index = new TreeMap<>();
+
+    /**
+     * Adds a value under the given key, ignored if the key is null or empty.
+     *
+     * @param key the name or label
+     * @param value the value
+     */
+    void put(final String key, final V value) {
+        if (key == null || key.isEmpty()) {
+            return;
+        }
+        final var values = m_index.computeIfAbsent(key.toLowerCase(Locale.ROOT), k -> new ArrayList<>(1));
+        if (!values.contains(value)) {
+            values.add(value);
+        }
+    }
+
+    /**
+     * @param key the name or label
+     * @return the values indexed under the key (ignoring case), possibly empty
+     */
+    List<V> get(final String key) {
+        return m_index.getOrDefault(key.toLowerCase(Locale.ROOT), List.of());
+    }
+
+    /**
+     * @param prefix the prefix (ignoring case), empty to enumerate all values
+     * @param limit the maximum number of values returned
+     * @return the distinct values with a key starting with the prefix, in the order of their keys
+     */
+    List<V> findByPrefix(final String prefix, final int limit) {
+        final var lower = prefix.toLowerCase(Locale.ROOT);
+        final Set<V> result = new LinkedHashSet<>();
+        final var range = lower.isEmpty() ? m_index : m_index.subMap(lower, true, lower + Character.MAX_VALUE, false);
+        for (List<V> values : range.values()) {
+            for (V value : values) {
+                result.add(value);
+                if (result.size() >= limit) {
+                    return new ArrayList<>(result);
+                }
+            }
+        }
+        return new ArrayList<>(result);
+    }
+
+    /** Removes all values. */
+    void clear() {
+        m_index.clear();
+    }
+}
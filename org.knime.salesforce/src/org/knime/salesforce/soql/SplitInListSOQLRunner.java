@@ -0,0 +1,258 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.salesforce.soql;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.json.JSONCellFactory;
+import org.knime.core.data.json.JSONValue;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.NodeLogger;
+import org.knime.core.node.streamable.RowOutput;
+import org.knime.core.util.JsonUtil;
+import org.knime.salesforce.rest.FutureUtil;
+import org.knime.salesforce.rest.SalesforceRESTUtil;
+import org.knime.salesforce.rest.SalesforceResponseException;
+import org.knime.salesforce.soql.ParameterizedSOQLRunner.ExecutorFactory;
+import org.knime.salesforce.soql.SOQLQuery.FieldItem;
+import org.knime.salesforce.soql.SOQLQuery.FieldPath;
+import org.knime.salesforce.soql.SOQLQuery.SelectItem;
+
+import jakarta.json.JsonObject;
+import jakarta.json.JsonString;
+
+/**
+ * Runs queries whose <i>IN</i> list is too long for a single request (e.g. a list of IDs inserted via a flow variable)
+ * as several queries, each with a part of the list, see {@link SOQLQuery#splitInList(int)}. The queries run on a
+ * bounded number of threads, their records are concatenated in the order of the list and deduplicated by record ID
+ * (which is added to the queries if not selected, and removed from the output again). At most as many intermediate
+ * tables as queries may run concurrently exist at a time; each is cleared once its records are copied.
+ *
+ * @author agent
+ */
+final class SplitInListSOQLRunner {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(SplitInListSOQLRunner.class);
+
+    /** Maximum length of a single query, see {@link SalesforceRESTUtil#MAX_QUERY_LENGTH}. */
+    static final int MAX_QUERY_LENGTH = SalesforceRESTUtil.MAX_QUERY_LENGTH;
+
+    private static final String ID_FIELD = "Id";
+
+    private final List<String> m_queries;
+
+    private final boolean m_isIdAdded;
+
+    private final int m_maxConcurrentQueries;
+
+    private SplitInListSOQLRunner(final List<String> queries, final boolean isIdAdded,
+        final int maxConcurrentQueries) {
+        m_queries = queries;
+        m_isIdAdded = isIdAdded;
+        m_maxConcurrentQueries = Math.max(1, maxConcurrentQueries);
+    }
+
+    /**
+     * @param soql the query, flow variables replaced
+     * @param maxConcurrentQueries maximum number of queries run at the same time
+     * @return the runner, empty if the query is short enough to be run as-is (or can't be split)
+     */
+    static Optional<SplitInListSOQLRunner> create(final String soql, final int maxConcurrentQueries) {
+        if (soql.length() <= MAX_QUERY_LENGTH) {
+            return Optional.empty();
+        }
+        final SOQLQuery query;
+        try {
+            query = SOQLParser.parse(soql);
+        } catch (SOQLParseException ex) {
+            LOGGER.debug("Unable to parse SOQL, running it as-is: " + ex.getMessage(), ex);
+            return Optional.empty();
+        }
+        final boolean isIdSelected = isIdSelected(query);
+        final SOQLQuery queryWithId;
+        if (isIdSelected) {
+            queryWithId = query;
+        } else {
+            final List<SelectItem> items = new ArrayList<>(query.selectItems());
+            items.add(new FieldItem(new FieldPath(List.of(ID_FIELD)), Optional.empty(), ID_FIELD));
+            queryWithId = query.withSelectItems(items);
+        }
+        final var queries = queryWithId.splitInList(MAX_QUERY_LENGTH);
+        if (queries.isEmpty()) {
+            LOGGER.debugWithFormat("SOQL is %d characters long but has no IN list that can be split, running it as-is",
+                soql.length());
+            return Optional.empty();
+        }
+        LOGGER.debugWithFormat("Splitting IN list of SOQL (%d characters) into %d queries", soql.length(),
+            queries.get().size());
+        return Optional.of(new SplitInListSOQLRunner(queries.get().stream().map(SOQLQuery::toSOQL).toList(),
+            !isIdSelected, maxConcurrentQueries));
+    }
+
+    /** Whether the record ID of the queried object is selected (unqualified or qualified by object name or alias). */
+    private static boolean isIdSelected(final SOQLQuery query) {
+        return query.selectItems().stream().anyMatch(i -> i instanceof FieldItem f && f.alias().isEmpty()
+            && switch (f.path().segments().size()) {
+                case 1 -> f.path().segments().get(0).equalsIgnoreCase(ID_FIELD);
+                case 2 -> f.path().segments().get(1).equalsIgnoreCase(ID_FIELD)
+                    && (f.path().segments().get(0).equalsIgnoreCase(query.from().object())
+                        || query.from().alias().filter(f.path().segments().get(0)::equalsIgnoreCase).isPresent());
+                default -> false;
+            });
+    }
+
+    /**
+     * @return number of queries run
+     */
+    int getQueryCount() {
+        return m_queries.size();
+    }
+
+    /**
+     * @return the queries run, in the order their records are output
+     */
+    List<String> getQueries() {
+        return m_queries;
+    }
+
+    /**
+     * Runs all queries and pushes the deduplicated records to the output as soon as a query and all preceding ones
+     * are done. Closes the output when done.
+     *
+     * @param executorFactory creates the executor for each query
+     * @param output the output to push the records to, its spec is the one created by the executor of a single query
+     *            (a single JSON column)
+     * @param exec for progress, cancelation and table creation
+     * @throws SalesforceResponseException if any query fails
+     * @throws CanceledExecutionException if canceled
+     * @throws InterruptedException if interrupted
+     */
+    void execute(final ExecutorFactory executorFactory, final RowOutput output, final ExecutionContext exec)
+        throws SalesforceResponseException, CanceledExecutionException, InterruptedException {
+        final var pool = KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool(m_maxConcurrentQueries);
+        // queries are only submitted while fewer than the allowed number of result tables are pending
+        final Deque<Future<BufferedDataTable>> pending = new ArrayDeque<>();
+        int nextQuery = 0;
+        try {
+            final Set<String> ids = new HashSet<>();
+            long rowIndex = 0L;
+            for (int i = 0; i < m_queries.size(); i++) {
+                while (nextQuery < m_queries.size() && pending.size() < m_maxConcurrentQueries) {
+                    final var soql = m_queries.get(nextQuery);
+                    final var subExec = exec.createSilentSubExecutionContext(0.0);
+                    pending.add(pool.enqueue(() -> executorFactory.create(soql).execute(subExec)));
+                    nextQuery++;
+                }
+                final var table = FutureUtil.waitFor(pending.remove(), exec);
+                try {
+                    for (DataRow row : table) {
+                        exec.checkCanceled();
+                        final var cell = deduplicate(row.getCell(0), ids);
+                        if (cell != null) {
+                            output.push(new DefaultRow(RowKey.createRowKey(rowIndex), cell));
+                            rowIndex++;
+                        }
+                    }
+                } finally {
+                    exec.clearTable(table);
+                }
+                exec.setProgress((i + 1) / (double)m_queries.size(),
+                    String.format("Query %d/%d done", i + 1, m_queries.size()));
+            }
+            output.close();
+        } finally {
+            pending.forEach(f -> discard(f, exec));
+        }
+    }
+
+    /** Cancels the query or, if it completed already, clears its result table. */
+    private static void discard(final Future<BufferedDataTable> future, final ExecutionContext exec) {
+        if (!future.cancel(true) && future.isDone()) {
+            try {
+                exec.clearTable(future.get());
+            } catch (ExecutionException | CancellationException ex) { // NOSONAR nothing to clear
+            } catch (InterruptedException ex) { // NOSONAR get() doesn't block for a completed future
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * @return the cell to output (without the added ID), null if the record was output already
+     */
+    private DataCell deduplicate(final DataCell cell, final Set<String> ids) {
+        if (!(cell instanceof JSONValue json) || !(json.getJsonValue() instanceof JsonObject jsonRecord)
+            || !(jsonRecord.get(ID_FIELD) instanceof JsonString id)) {
+            return cell; // not a record, e.g. an unexpected response kept as a whole
+        }
+        if (!ids.add(id.getString())) {
+            return null;
+        }
+        if (!m_isIdAdded) {
+            return cell;
+        }
+        return JSONCellFactory.create(JsonUtil.getProvider().createObjectBuilder(jsonRecord).remove(ID_FIELD).build());
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.salesforce.soqltofile;
+
+import org.knime.core.node.BufferedDataTable;
+import org.knime.credentials.base.CredentialPortObject;
+import org.knime.node.parameters.legacy.nodeimpl.WebUINodeConfiguration;
+import org.knime.node.parameters.legacy.nodeimpl.WebUINodeFactory;
+
+/**
+ * Factory of the Salesforce SOQL to File node.
+ *
+ * @author agent
+ */
+@SuppressWarnings("restriction") // New Node UI is not yet API
+public final class SalesforceSOQLToFileNodeFactory extends WebUINodeFactory<SalesforceSOQLToFileNodeModel> {
+
+    private static final String FULL_DESCRIPTION = """
+<p>
+Runs a SOQL statement and writes the result records directly into files, without creating a KNIME table. This is
+useful for landing large extracts in a data lake. The records are written as NDJSON (copied from the Salesforce
+response without being parsed) or CSV, optionally gzip compressed. A new file is started whenever the current file
+reaches the configured size.
+</p>
+<p>
+The output is a manifest table with one row per file, listing its path, the number of records, the size on disk and
+the SHA-256 checksum.
+</p>
+""";
+
+    private static final WebUINodeConfiguration CONFIG = WebUINodeConfiguration.builder()//
+        .name("Salesforce SOQL to File")//
+        .icon("./salesforce.png").shortDescription("Write the result of a SOQL statement into files")//
+        .fullDescription(FULL_DESCRIPTION)//
+        .modelSettingsClass(SalesforceSOQLToFileNodeParameters.class)//
+        .nodeType(NodeType.Sink)//
+        .addInputPort("Salesforce Connection", CredentialPortObject.TYPE, "Salesforce connection")//
+        .addOutputPort("Manifest", BufferedDataTable.TYPE, "The files written, with record count, size and checksum")//
+        .sinceVersion(5, 11, 0).build();
+
+    /** Called by framework. */
+    public SalesforceSOQLToFileNodeFactory() {
+        super(CONFIG);
+    }
+
+    @Override
+    public SalesforceSOQLToFileNodeModel createNodeModel() {
+        return new SalesforceSOQLToFileNodeModel(CONFIG);
+    }
+}
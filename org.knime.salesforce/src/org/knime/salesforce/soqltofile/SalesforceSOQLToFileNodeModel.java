@@ -0,0 +1,129 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.salesforce.soqltofile;
+
+import java.util.OptionalInt;
+
+import org.apache.commons.lang3.StringUtils;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.port.PortObject;
+import org.knime.core.node.port.PortObjectSpec;
+import org.knime.core.node.util.CheckUtils;
+import org.knime.credentials.base.NoSuchCredentialException;
+import org.knime.node.parameters.legacy.nodeimpl.WebUINodeConfiguration;
+import org.knime.node.parameters.legacy.nodeimpl.WebUINodeModel;
+import org.knime.salesforce.auth.credential.SalesforceAccessTokenCredential;
+import org.knime.salesforce.auth.port.SalesforceConnectionPortObjectSpec;
+import org.knime.salesforce.rest.soql.AbstractSOQLExecutor;
+import org.knime.salesforce.rest.soql.FileOutputSOQLExecutor;
+import org.knime.salesforce.rest.soql.FileOutputSOQLExecutor.FileOptions;
+import org.knime.salesforce.util.FSLocationUtil;
+
+/**
+ * Model of the Salesforce SOQL to File node.
+ *
+ * @author agent
+ */
+@SuppressWarnings("restriction") // New Node UI is not yet API
+final class SalesforceSOQLToFileNodeModel extends WebUINodeModel<SalesforceSOQLToFileNodeParameters> {
+
+    private static final long BYTES_PER_MB = 1024L * 1024L;
+
+    SalesforceSOQLToFileNodeModel(final WebUINodeConfiguration configuration) {
+        super(configuration, SalesforceSOQLToFileNodeParameters.class);
+    }
+
+    @Override
+    protected PortObjectSpec[] configure(final PortObjectSpec[] inSpecs,
+        final SalesforceSOQLToFileNodeParameters settings) throws InvalidSettingsException {
+        if (!(inSpecs[0] instanceof SalesforceConnectionPortObjectSpec)) {
+            throw new InvalidSettingsException(
+                "Incompatible input connection. Connect the Salesforce Connector output port.");
+        }
+        validate(settings);
+        return new PortObjectSpec[]{FileOutputSOQLExecutor.createManifestSpec()};
+    }
+
+    private static void validate(final SalesforceSOQLToFileNodeParameters settings) throws InvalidSettingsException {
+        CheckUtils.checkSetting(StringUtils.isNotBlank(settings.m_soql), "No SOQL statement specified");
+        FSLocationUtil.checkSelected(settings.m_outputFolder, "output folder");
+        CheckUtils.checkSetting(StringUtils.isNotBlank(settings.m_filePrefix), "No file name prefix specified");
+        CheckUtils.checkSetting(StringUtils.containsNone(settings.m_filePrefix, '/', '\\'),
+            "File name prefix must not contain path separators: \"%s\"", settings.m_filePrefix);
+        CheckUtils.checkSetting(settings.m_maxFileSizeMB >= 1, "Maximum file size must be at least 1 MB: %d",
+            settings.m_maxFileSizeMB);
+    }
+
+    @Override
+    protected PortObject[] execute(final PortObject[] inObjects, final ExecutionContext exec,
+        final SalesforceSOQLToFileNodeParameters settings) throws Exception {
+        validate(settings);
+        final var connectionSpec = (SalesforceConnectionPortObjectSpec)inObjects[0].getSpec();
+        final SalesforceAccessTokenCredential credential;
+        try {
+            credential = connectionSpec.resolveCredential(SalesforceAccessTokenCredential.class);
+        } catch (NoSuchCredentialException e) {
+            throw new InvalidSettingsException(e.getMessage(), e);
+        }
+        final BufferedDataTable manifest;
+        final FileOutputSOQLExecutor executor;
+        try (var folder = FSLocationUtil.resolve(settings.m_outputFolder, "output folder")) {
+            final var options = new FileOptions(folder.getPath(), settings.m_filePrefix.trim(),
+                settings.m_format.getFileFormat(), settings.m_maxFileSizeMB * BYTES_PER_MB, settings.m_gzip,
+                settings.m_stripAttributes, settings.m_overwrite);
+            executor = new FileOutputSOQLExecutor(credential, connectionSpec.getTimeouts(), settings.m_soql,
+                settings.m_retrieveDeletedAndArchived, OptionalInt.empty(), options);
+            manifest = executor.execute(exec);
+        }
+        AbstractSOQLExecutor.createRequestWaitWarning(executor.getRequestWaitTime()).ifPresent(this::setWarningMessage);
+        return new PortObject[]{manifest};
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.salesforce.soqltofile;
+
+import org.knime.core.webui.node.dialog.defaultdialog.internal.file.FileSelection;
+import org.knime.core.webui.node.dialog.defaultdialog.internal.file.FileSelectionWidget;
+import org.knime.core.webui.node.dialog.defaultdialog.internal.file.SingleFileSelectionMode;
+import org.knime.node.parameters.NodeParameters;
+import org.knime.node.parameters.Widget;
+import org.knime.node.parameters.migration.LoadDefaultsForAbsentFields;
+import org.knime.node.parameters.updates.Effect;
+import org.knime.node.parameters.updates.Effect.EffectType;
+import org.knime.node.parameters.updates.EffectPredicate;
+import org.knime.node.parameters.updates.EffectPredicateProvider;
+import org.knime.node.parameters.updates.ParameterReference;
+import org.knime.node.parameters.updates.ValueReference;
+import org.knime.node.parameters.widget.choices.Label;
+import org.knime.node.parameters.widget.choices.ValueSwitchWidget;
+import org.knime.node.parameters.widget.number.NumberInputWidget;
+import org.knime.node.parameters.widget.number.NumberInputWidgetValidation.MinValidation;
+import org.knime.node.parameters.widget.text.TextAreaWidget;
+import org.knime.salesforce.rest.soql.FileOutputSOQLExecutor.FileFormat;
+
+/**
+ * Node parameters for the Salesforce SOQL to File node.
+ *
+ * @author agent
+ */
+@SuppressWarnings("restriction") // New Node UI is not yet API
+@LoadDefaultsForAbsentFields // for new instances of the node when dragged onto the workbench
+final class SalesforceSOQLToFileNodeParameters implements NodeParameters {
+
+    static final class FormatRef implements ParameterReference<Format> {
+    }
+
+    enum Format {
+            @Label(value = "NDJSON", description = "One JSON object per line, records are copied as returned")
+            NDJSON(FileFormat.NDJSON), //
+            @Label(value = "CSV", description = "Comma separated values with header line")
+            CSV(FileFormat.CSV);
+
+        private final FileFormat m_fileFormat;
+
+        Format(final FileFormat fileFormat) {
+            m_fileFormat = fileFormat;
+        }
+
+        FileFormat getFileFormat() {
+            return m_fileFormat;
+        }
+
+        static final class IsNDJSON implements EffectPredicateProvider {
+            @Override
+            public EffectPredicate init(final PredicateInitializer i) {
+                return i.getEnum(FormatRef.class).isOneOf(NDJSON);
+            }
+        }
+    }
+
+    static final class MaxFileSizeMinValidation extends MinValidation {
+        @Override
+        protected double getMin() {
+            return 1;
+        }
+    }
+
+    @Widget(title = "SOQL", description = """
+            The SOQL statement to run, e.g. <tt>SELECT Id, Name FROM Account</tt>. Use flow variables to control
+            the statement dynamically.""")
+    @TextAreaWidget
+    String m_soql = "";
+
+    @Widget(title = "Output folder", description = """
+            The folder the files are written to, e.g. a local folder or a folder relative to the workflow. It's
+            created if it doesn't exist.""")
+    @FileSelectionWidget(SingleFileSelectionMode.FOLDER)
+    FileSelection m_outputFolder = new FileSelection();
+
+    @Widget(title = "File name prefix", description = """
+            Files are named <i>&lt;prefix&gt;-00001.ndjson</i>, <i>&lt;prefix&gt;-00002.ndjson</i>, etc.""")
+    String m_filePrefix = "salesforce";
+
+    @Widget(title = "Format", description = """
+            <ul>
+              <li><b>NDJSON</b>: One record per line. The records are copied from the Salesforce response without
+                  being parsed.</li>
+              <li><b>CSV</b>: One record per line, the columns are determined by the first record. Nested objects
+                  (e.g. from relationship queries) are written as JSON.</li>
+            </ul>""")
+    @ValueSwitchWidget
+    @ValueReference(FormatRef.class)
+    Format m_format = Format.NDJSON;
+
+    @Widget(title = "Maximum file size (MB)", description = """
+            A new file is started once the current file reached this size (on disk, i.e. after compression). Files
+            can be slightly larger as records are not split across files.""")
+    @NumberInputWidget(minValidation = MaxFileSizeMinValidation.class)
+    int m_maxFileSizeMB = 256;
+
+    @Widget(title = "Compress (gzip)", description = "If selected, the files are gzip compressed (suffix '.gz').")
+    boolean m_gzip = false; // NOSONAR (explicit assignment)
+
+    @Widget(title = "Remove 'attributes' from records", description = """
+            Salesforce adds an <i>attributes</i> object (type and URL) to each record and nested object. If
+            selected, these objects are removed. They are never written to CSV.""")
+    @Effect(predicate = Format.IsNDJSON.class, type = EffectType.SHOW)
+    boolean m_stripAttributes = true;
+
+    @Widget(title = "Overwrite existing files", description = """
+            If selected, existing files with the same name are replaced, otherwise the node fails.""")
+    boolean m_overwrite = false; // NOSONAR (explicit assignment)
+
+    @Widget(title = "Also retrieve deleted and archived records", description = """
+            When selected, the node will use Salesforce's <a \
+            href="https://developer.salesforce.com/docs/atlas.en-us.api_rest.meta/api_rest/resources_queryall.htm"> \
+            queryAll</a> endpoint to include deleted and archived records in the results.""", advanced = true)
+    boolean m_retrieveDeletedAndArchived = false; // NOSONAR (explicit assignment)
+
+}
@@ -0,0 +1,227 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.salesforce.util;
+
+import java.util.Optional;
+
+import org.apache.commons.lang3.StringUtils;
+import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.NodeSettingsRO;
+import org.knime.core.node.NodeSettingsWO;
+import org.knime.core.node.util.CheckUtils;
+import org.knime.core.webui.node.dialog.defaultdialog.internal.file.FileSelection;
+import org.knime.filehandling.core.connections.FSCategory;
+import org.knime.filehandling.core.connections.FSConnection;
+import org.knime.filehandling.core.connections.FSLocation;
+import org.knime.filehandling.core.connections.FSPath;
+import org.knime.filehandling.core.defaultnodesettings.FileSystemHelper;
+
+/**
+ * Resolves files and folders selected in node dialogs ({@link FileSelection}, i.e. local, workflow/mountpoint
+ * relative, hub space or URL locations) to paths of the respective file system.
+ *
+ * @author agent
+ */
+@SuppressWarnings("restriction") // New Node UI is not yet API
+public final class FSLocationUtil {
+
+    private static final String CFG_CATEGORY = "fs_category";
+
+    private static final String CFG_SPECIFIER = "fs_specifier";
+
+    private static final String CFG_PATH = "path";
+
+    private FSLocationUtil() {
+    }
+
+    /**
+     * A path on the file system of a location. Closing it closes the connection to that file system, the path can't
+     * be used afterwards.
+     */
+    public static final class ResolvedPath implements AutoCloseable {
+
+        private final FSConnection m_connection;
+
+        private final FSPath m_path;
+
+        private ResolvedPath(final FSConnection connection, final FSPath path) {
+            m_connection = connection;
+            m_path = path;
+        }
+
+        /** @return the path */
+        public FSPath getPath() {
+            return m_path;
+        }
+
+        @Override
+        public void close() {
+            m_connection.close();
+        }
+    }
+
+    /**
+     * Checks that a location is selected, used during configure.
+     *
+     * @param selection the selection
+     * @param what describes the location in the error message, e.g. "output folder"
+     * @throws InvalidSettingsException if no location is selected
+     */
+    public static void checkSelected(final FileSelection selection, final String what)
+        throws InvalidSettingsException {
+        CheckUtils.checkSetting(isSelected(selection), "No %s specified", what);
+    }
+
+    /**
+     * @param selection the selection, may be null
+     * @return whether a location is selected
+     */
+    public static boolean isSelected(final FileSelection selection) {
+        return selection != null && selection.getFSLocation() != null
+            && StringUtils.isNotBlank(selection.getFSLocation().getPath());
+    }
+
+    /**
+     * Connects to the file system of the selected location, to be called from the node execution thread (relative
+     * locations are resolved against the workflow of the node).
+     *
+     * @param selection the selection
+     * @param what describes the location in error messages, e.g. "output folder"
+     * @return the path, to be closed by the caller
+     * @throws InvalidSettingsException if no location is selected or the file system is not available
+     */
+    public static ResolvedPath resolve(final FileSelection selection, final String what)
+        throws InvalidSettingsException {
+        checkSelected(selection, what);
+        return resolve(selection.getFSLocation(), what);
+    }
+
+    /**
+     * Connects to the file system of a location, see {@link #resolve(FileSelection, String)}.
+     *
+     * @param location the location
+     * @param what describes the location in error messages, e.g. "output folder"
+     * @return the path, to be closed by the caller
+     * @throws InvalidSettingsException if the file system is not available
+     */
+    public static ResolvedPath resolve(final FSLocation location, final String what)
+        throws InvalidSettingsException {
+        final Optional<FSConnection> connection = FileSystemHelper.retrieveFSConnection(Optional.empty(), location);
+        CheckUtils.checkSetting(connection.isPresent(), "The file system of the %s (%s) is not available", what,
+            location);
+        final var fsConnection = connection.get(); // NOSONAR checked above
+        try {
+            return new ResolvedPath(fsConnection, fsConnection.getFileSystem().getPath(location));
+        } catch (RuntimeException ex) { // NOSONAR e.g. invalid path
+            fsConnection.close();
+            throw new InvalidSettingsException(
+                String.format("Invalid %s \"%s\": %s", what, location.getPath(), ex.getMessage()), ex);
+        }
+    }
+
+    /**
+     * Saves a location as child settings (used by settings classes of nodes not based on {@link FileSelection}).
+     *
+     * @param location the location, null or empty if not set
+     * @param settings to save to
+     * @param key the key of the child settings
+     */
+    public static void saveLocation(final FSLocation location, final NodeSettingsWO settings, final String key) {
+        final var child = settings.addNodeSettings(key);
+        final boolean isSet = location != null && StringUtils.isNotBlank(location.getPath());
+        child.addString(CFG_CATEGORY, isSet ? location.getFileSystemCategory() : FSCategory.LOCAL.name());
+        child.addString(CFG_SPECIFIER, isSet ? location.getFileSystemSpecifier().orElse(null) : null);
+        child.addString(CFG_PATH, isSet ? location.getPath() : "");
+    }
+
+    /**
+     * Loads a location saved with {@link #saveLocation(FSLocation, NodeSettingsWO, String)}. A plain string (the
+     * path of a local file) is read as well.
+     *
+     * @param settings to load from
+     * @param key the key of the child settings
+     * @return the location, empty if not set or absent
+     * @throws InvalidSettingsException if the file system category is invalid
+     */
+    public static Optional<FSLocation> loadLocation(final NodeSettingsRO settings, final String key)
+        throws InvalidSettingsException {
+        if (!settings.containsKey(key)) {
+            return Optional.empty();
+        }
+        final NodeSettingsRO child;
+        try {
+            child = settings.getNodeSettings(key);
+        } catch (InvalidSettingsException ex) { // NOSONAR plain string
+            return Optional.ofNullable(StringUtils.trimToNull(settings.getString(key, null)))
+                .map(path -> new FSLocation(FSCategory.LOCAL, path));
+        }
+        final var path = StringUtils.trimToNull(child.getString(CFG_PATH, null));
+        if (path == null) {
+            return Optional.empty();
+        }
+        final var category = child.getString(CFG_CATEGORY, FSCategory.LOCAL.name());
+        try {
+            FSCategory.valueOf(category);
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidSettingsException("Invalid file system category: " + category, ex);
+        }
+        final var specifier = child.getString(CFG_SPECIFIER, null);
+        return Optional.of(specifier == null ? new FSLocation(category, path) : new FSLocation(category, specifier,
+            path));
+    }
+
+    /**
+     * @param key the key of the child settings
+     * @return the config paths of a location saved with {@link #saveLocation(FSLocation, NodeSettingsWO, String)},
+     *         for persistors
+     */
+    public static String[][] getConfigPaths(final String key) {
+        return new String[][]{{key, CFG_CATEGORY}, {key, CFG_SPECIFIER}, {key, CFG_PATH}};
+    }
+}